@@ -0,0 +1,54 @@
+package org.abrohamovich.benchmark.jmh;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.dataset.DatasetGenerator;
+import org.abrohamovich.dataset.DatasetSize;
+import org.abrohamovich.repository.ReadWriteRouter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Embedded H2 catalog shared by the benchmarks, generated by {@link DatasetGenerator} with a fixed
+ * seed: {@code books} books, one patron per ten books and one loan per twenty.
+ */
+final class BenchmarkCatalog implements AutoCloseable {
+    private static final long SEED = 42;
+
+    final EntityManagerFactory emf;
+    final List<Long> bookIds;
+    final List<Long> patronIds;
+    final List<Long> genreIds;
+
+    private BenchmarkCatalog(EntityManagerFactory emf) {
+        this.emf = emf;
+        this.bookIds = ids("SELECT b.id FROM Book b ORDER BY b.id");
+        this.patronIds = ids("SELECT p.id FROM Patron p ORDER BY p.id");
+        this.genreIds = ids("SELECT g.id FROM Genre g ORDER BY g.id");
+    }
+
+    static BenchmarkCatalog seed(String database, int books) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("test-persistence-unit", Map.of(
+                "jakarta.persistence.jdbc.url",
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=PostgreSQL",
+                "hibernate.show_sql", "false",
+                "hibernate.jdbc.batch_size", "1000"
+        ));
+        DatasetSize size = new DatasetSize(books, Math.max(1, books / 10), Math.max(1, books / 50), 20, 30, 30, books / 20);
+        new DatasetGenerator(ReadWriteRouter.primaryOnly(emf), size, SEED).generate();
+        return new BenchmarkCatalog(emf);
+    }
+
+    private List<Long> ids(String query) {
+        try (EntityManager em = emf.createEntityManager()) {
+            return em.createQuery(query, Long.class).getResultList();
+        }
+    }
+
+    @Override
+    public void close() {
+        emf.close();
+    }
+}
@@ -0,0 +1,88 @@
+package org.abrohamovich.benchmark.jmh;
+
+import org.abrohamovich.entity.Book;
+import org.abrohamovich.entity.Status;
+import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.search.BookFacet;
+import org.abrohamovich.search.BookFilter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.abrohamovich.search.BookFilter.*;
+
+/**
+ * "Books having all of these genres" through the {@code GROUP BY ... HAVING} repository query, the
+ * {@code EXISTS} filter query and the in-memory {@link BookBitmapIndex}, plus a compound filter
+ * that only the last two can answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-jmh.xml")
+public class BookFilterBenchmark {
+    @Param({"1000", "10000"})
+    private int books;
+
+    private BenchmarkCatalog catalog;
+    private BookRepository repository;
+    private BookBitmapIndex index;
+    private List<Long> genreIds;
+    private BookFilter genres;
+    private BookFilter compound;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkCatalog.seed("filter_benchmark", books);
+        repository = new BookRepository(catalog.emf);
+        index = new BookBitmapIndex();
+        index.rebuild(fresh -> {
+            for (BookFacet facet : BookFacet.values()) {
+                try (Stream<Object[]> values = repository.streamFacetValues(facet)) {
+                    values.forEach(row -> fresh.add((Long) row[0], facet, row[1]));
+                }
+            }
+        });
+        genreIds = catalog.genreIds.subList(0, 2);
+        genres = BookFilter.allOf(BookFacet.GENRE, genreIds);
+        compound = and(genre(genreIds.getFirst()), not(status(Status.CHECKED_OUT)));
+        if (!index.ids(compound).equals(repository.findIdsByFilter(compound))) {
+            throw new IllegalStateException("Bitmap index and filter query disagree on " + compound);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        catalog.close();
+    }
+
+    @Benchmark
+    public List<Book> genresByGroupBy() {
+        return repository.findByGenreIds(genreIds);
+    }
+
+    @Benchmark
+    public List<Long> genresByExists() {
+        return repository.findIdsByFilter(genres);
+    }
+
+    @Benchmark
+    public List<Long> genresByBitmap() {
+        return index.ids(genres);
+    }
+
+    @Benchmark
+    public List<Long> compoundByExists() {
+        return repository.findIdsByFilter(compound);
+    }
+
+    @Benchmark
+    public List<Long> compoundByBitmap() {
+        return index.ids(compound);
+    }
+}
@@ -0,0 +1,77 @@
+package org.abrohamovich.benchmark.jmh;
+
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BookSummary;
+import org.abrohamovich.entity.Book;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.repository.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Book reads through the repository. Listing the whole catalog compares loading entities
+ * ({@code findAll}, also mapped to DTOs), streaming them ({@code streamAll}) and the
+ * {@code findSummaries} projection; run with {@code -prof gc} to compare their allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-jmh.xml")
+public class BookRepositoryBenchmark {
+    @Param({"1000", "10000"})
+    private int books;
+
+    private BenchmarkCatalog catalog;
+    private BookRepository repository;
+    private List<Long> genreIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkCatalog.seed("repository_benchmark", books);
+        repository = new BookRepository(catalog.emf);
+        genreIds = catalog.genreIds.subList(0, 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        catalog.close();
+    }
+
+    @Benchmark
+    public List<Book> findByTitle() {
+        return repository.findByTitle("Silent River");
+    }
+
+    @Benchmark
+    public List<Book> findByGenreIds() {
+        return repository.findByGenreIds(genreIds);
+    }
+
+    @Benchmark
+    public List<Book> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<BookDto> findAllAsDtos() {
+        return repository.findAll().stream().map(BookMapper.INSTANCE::toDto).toList();
+    }
+
+    @Benchmark
+    public void streamAll(Blackhole blackhole) {
+        try (Stream<Book> stream = repository.streamAll()) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public List<BookSummary> findSummaries() {
+        return repository.findSummaries();
+    }
+}
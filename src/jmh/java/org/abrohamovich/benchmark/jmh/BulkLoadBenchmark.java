@@ -0,0 +1,93 @@
+package org.abrohamovich.benchmark.jmh;
+
+import jakarta.persistence.EntityManager;
+import org.abrohamovich.entity.*;
+import org.abrohamovich.repository.BookRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a chunk of new books with their author, genre and category links through the direct
+ * bulk insert of {@code saveAll} and through the staging-table {@code upsertAllByIsbn}. On H2 both
+ * write with JDBC batches; their COPY path needs PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-jmh.xml")
+public class BulkLoadBenchmark {
+    @Param({"1000"})
+    private int books;
+
+    @Param({"1000"})
+    private int chunk;
+
+    private BenchmarkCatalog catalog;
+    private BookRepository repository;
+    private List<Author> authors;
+    private List<Genre> genres;
+    private List<Category> categories;
+    private List<Publisher> publishers;
+    private List<Book> pending;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkCatalog.seed("bulk_load_benchmark", books);
+        repository = new BookRepository(catalog.emf);
+        try (EntityManager em = catalog.emf.createEntityManager()) {
+            authors = em.createQuery("SELECT a FROM Author a ORDER BY a.id", Author.class).getResultList();
+            genres = em.createQuery("SELECT g FROM Genre g ORDER BY g.id", Genre.class).getResultList();
+            categories = em.createQuery("SELECT c FROM Category c ORDER BY c.id", Category.class).getResultList();
+            publishers = em.createQuery("SELECT p FROM Publisher p ORDER BY p.id", Publisher.class).getResultList();
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void nextChunk() {
+        pending = new ArrayList<>(chunk);
+        for (int i = 0; i < chunk; i++) {
+            long n = ++sequence;
+            int k = (int) n;
+            pending.add(Book.builder()
+                    .title("Loaded title " + n).isbn("loaded-" + n).language("english")
+                    .numberOfPages(100 + k % 900).status(Status.AVAILABLE).format(Format.PAPERBACK)
+                    .receiptDate(LocalDate.of(2020, 1, 1))
+                    .authors(new HashSet<>(List.of(authors.get(k % authors.size()), authors.get((k * 7 + 1) % authors.size()))))
+                    .genres(Set.of(genres.get(k % genres.size())))
+                    .categories(Set.of(categories.get(k % categories.size())))
+                    .publisher(publishers.get(k % publishers.size()))
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        catalog.close();
+    }
+
+    @Benchmark
+    public List<Book> saveAll() {
+        return loaded(repository.saveAll(pending));
+    }
+
+    @Benchmark
+    public List<Book> upsertAllByIsbn() {
+        return loaded(repository.upsertAllByIsbn(pending));
+    }
+
+    private List<Book> loaded(List<Book> result) {
+        if (result.size() != pending.size()) {
+            throw new IllegalStateException("Loaded " + result.size() + " of " + pending.size() + " books");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,73 @@
+package org.abrohamovich.benchmark.jmh;
+
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.entity.*;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.mapper.PatronMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct conversions of fully populated, detached objects; no database involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-jmh.xml")
+public class MapperBenchmark {
+    private Book book;
+    private BookDto bookDto;
+    private Patron patron;
+    private PatronDto patronDto;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        patron = Patron.builder().id(1L).cardId("card-1").fullName("Patron 1").email("patron1@example.com")
+                .phone("555-1").address("1 Main St").dateOfBirth(LocalDate.of(1990, 1, 1))
+                .registerDate(LocalDate.of(2024, 1, 1))
+                .build();
+        book = Book.builder().id(1L).title("Benchmark title").isbn("isbn-1").language("english").numberOfPages(320)
+                .status(Status.CHECKED_OUT).format(Format.HARDCOVER).receiptDate(LocalDate.of(2020, 1, 1))
+                .dueDate(LocalDate.of(2025, 1, 15)).patron(patron)
+                .authors(Set.of(author(1), author(2)))
+                .genres(Set.of(Genre.builder().id(1L).name("Genre 1").description("d").build(),
+                        Genre.builder().id(2L).name("Genre 2").description("d").build()))
+                .categories(Set.of(Category.builder().id(1L).name("Category 1").description("d").build()))
+                .publisher(Publisher.builder().id(1L).name("Publisher 1").foundationDate(LocalDate.of(1900, 1, 1)).build())
+                .build();
+        bookDto = BookMapper.INSTANCE.toDto(book);
+        patronDto = PatronMapper.INSTANCE.toDto(patron);
+    }
+
+    @Benchmark
+    public BookDto bookToDto() {
+        return BookMapper.INSTANCE.toDto(book);
+    }
+
+    @Benchmark
+    public Book bookToEntity() {
+        return BookMapper.INSTANCE.toEntity(bookDto);
+    }
+
+    @Benchmark
+    public PatronDto patronToDto() {
+        return PatronMapper.INSTANCE.toDto(patron);
+    }
+
+    @Benchmark
+    public Patron patronToEntity() {
+        return PatronMapper.INSTANCE.toEntity(patronDto);
+    }
+
+    private static Author author(long id) {
+        return Author.builder().id(id).fullName("Author " + id).dateOfBirth(LocalDate.of(1950, 1, 1))
+                .sex(Sex.FEMALE).nationality("Ukrainian")
+                .build();
+    }
+}
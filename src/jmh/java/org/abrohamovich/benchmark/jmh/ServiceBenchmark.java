@@ -0,0 +1,89 @@
+package org.abrohamovich.benchmark.jmh;
+
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.mapper.PatronMapper;
+import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.repository.PatronRepository;
+import org.abrohamovich.service.BookServiceCRUD;
+import org.abrohamovich.service.PatronServiceCRUD;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row writes through the services, including validation, mapping and index upkeep.
+ * Updates cycle through a fixed set of rows loaded at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlog4j.configurationFile=log4j2-jmh.xml")
+public class ServiceBenchmark {
+    private static final int UPDATE_ROWS = 256;
+
+    @Param({"1000", "10000"})
+    private int books;
+
+    private BenchmarkCatalog catalog;
+    private BookServiceCRUD bookService;
+    private PatronServiceCRUD patronService;
+    private BookDto bookTemplate;
+    private List<BookDto> booksToUpdate;
+    private List<PatronDto> patronsToUpdate;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkCatalog.seed("service_benchmark", books);
+        bookService = new BookServiceCRUD(new BookRepository(catalog.emf), BookMapper.INSTANCE);
+        patronService = new PatronServiceCRUD(new PatronRepository(catalog.emf), PatronMapper.INSTANCE);
+        booksToUpdate = catalog.bookIds.stream().limit(UPDATE_ROWS).map(bookService::findFullById).toList();
+        patronsToUpdate = catalog.patronIds.stream().limit(UPDATE_ROWS).map(patronService::findById).toList();
+        bookTemplate = booksToUpdate.getFirst();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        catalog.close();
+    }
+
+    @Benchmark
+    public BookDto saveBook() {
+        long n = ++sequence;
+        bookTemplate.setId(0);
+        bookTemplate.setIsbn("saved-" + n);
+        bookTemplate.setTitle("Saved title " + n);
+        return bookService.save(bookTemplate);
+    }
+
+    @Benchmark
+    public BookDto updateBook() {
+        long n = ++sequence;
+        BookDto book = booksToUpdate.get((int) (n % booksToUpdate.size()));
+        book.setTitle("Updated title " + n);
+        return bookService.update(book);
+    }
+
+    @Benchmark
+    public PatronDto savePatron() {
+        long n = ++sequence;
+        return patronService.save(PatronDto.builder().cardId("saved-" + n).fullName("Saved patron " + n)
+                .email("saved" + n + "@example.com").phone("777-" + n).address(n + " Saved St")
+                .dateOfBirth(LocalDate.of(1990, 1, 1)).registerDate(LocalDate.of(2024, 1, 1))
+                .build());
+    }
+
+    @Benchmark
+    public PatronDto updatePatron() {
+        long n = ++sequence;
+        PatronDto patron = patronsToUpdate.get((int) (n % patronsToUpdate.size()));
+        patron.setFullName("Updated patron " + n);
+        return patronService.update(patron);
+    }
+}
@@ -7,11 +7,14 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import org.abrohamovich.config.EntityManagerFactoryProvider;
 import org.abrohamovich.controller.MainController;
+import org.abrohamovich.search.SearchIndexProvider;
 
 public class LibraryApplication extends Application {
 
     public static void main(String[] args) {
         EntityManagerFactoryProvider.initialize("library");
+        SearchIndexProvider.initializeInBackground(EntityManagerFactoryProvider.getEntityManagerFactory(),
+                EntityManagerFactoryProvider.getSearchRefreshInterval());
 
         launch(args);
     }
@@ -0,0 +1,71 @@
+package org.abrohamovich.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public record CacheStatistics(List<Region> regions) {
+
+    public static CacheStatistics of(EntityManagerFactory emf) {
+        SessionFactory sessionFactory = emf.unwrap(SessionFactory.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        List<Region> regions = new ArrayList<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(new Region(name, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), region.getElementCountInMemory()));
+            }
+        }
+        return new CacheStatistics(List.copyOf(regions));
+    }
+
+    public Region region(String name) {
+        return regions.stream()
+                .filter(region -> region.name().equals(name))
+                .findFirst()
+                .orElse(new Region(name, 0, 0, 0, 0));
+    }
+
+    public long hits() {
+        return regions.stream().mapToLong(Region::hits).sum();
+    }
+
+    public long misses() {
+        return regions.stream().mapToLong(Region::misses).sum();
+    }
+
+    public double hitRatio() {
+        return Region.ratio(hits(), misses());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "hits=%d misses=%d hitRatio=%.2f [%s]", hits(), misses(), hitRatio(),
+                regions.stream().map(Region::toString).collect(Collectors.joining(", ")));
+    }
+
+    public record Region(String name, long hits, long misses, long puts, long elements) {
+
+        public double hitRatio() {
+            return ratio(hits, misses);
+        }
+
+        private static double ratio(long hits, long misses) {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s hits=%d misses=%d puts=%d hitRatio=%.2f",
+                    name, hits, misses, puts, hitRatio());
+        }
+    }
+}
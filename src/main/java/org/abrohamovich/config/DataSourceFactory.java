@@ -0,0 +1,58 @@
+package org.abrohamovich.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+@Slf4j
+public class DataSourceFactory {
+    public static final String PROFILE_PROPERTY = "app.profile";
+    public static final String PROFILE_ENV = "APP_PROFILE";
+    public static final String DEFAULT_PROFILE = "dev";
+
+    private DataSourceFactory() {
+    }
+
+    public static String activeProfile() {
+        String profile = System.getProperty(PROFILE_PROPERTY, System.getenv(PROFILE_ENV));
+        return profile == null || profile.isBlank() ? DEFAULT_PROFILE : profile.trim();
+    }
+
+    public static Properties loadProfile(String profile) {
+        String resource = String.format("/profiles/%s.properties", profile);
+        Properties properties = new Properties();
+        try (InputStream in = DataSourceFactory.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown deployment profile: " + profile);
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + resource, e);
+        }
+        return properties;
+    }
+
+    public static HikariDataSource create(Properties profile, String prefix, String jdbcUrl, String username, String password,
+                                          ConnectionPoolMetricsTracker tracker) {
+        Properties poolProperties = new Properties();
+        profile.stringPropertyNames().stream()
+                .filter(key -> key.startsWith(prefix))
+                .forEach(key -> poolProperties.setProperty(key.substring(prefix.length()), profile.getProperty(key)));
+
+        HikariConfig config = new HikariConfig(poolProperties);
+        config.setJdbcUrl(jdbcUrl);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMetricsTrackerFactory(tracker);
+
+        log.info("Creating connection pool '{}' for {} (max={}, minIdle={}, connectionTimeout={}ms, idleTimeout={}ms, leakDetection={}ms)",
+                config.getPoolName(), jdbcUrl, config.getMaximumPoolSize(), config.getMinimumIdle(),
+                config.getConnectionTimeout(), config.getIdleTimeout(), config.getLeakDetectionThreshold());
+        return new HikariDataSource(config);
+    }
+}
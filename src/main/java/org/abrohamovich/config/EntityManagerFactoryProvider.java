@@ -1,27 +1,128 @@
 package org.abrohamovich.config;
 
+import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.metrics.MetricsProvider;
+import org.abrohamovich.metrics.MetricsReporter;
+import org.abrohamovich.repository.ReadWriteRouter;
+import org.abrohamovich.repository.ReplicaLag;
+import org.abrohamovich.service.DatabaseExecutor;
 
+import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Properties;
 
+@Slf4j
 public class EntityManagerFactoryProvider {
+    public static final String REPLICA_URL_ENV = "DB_REPLICA_URL";
 
     private static EntityManagerFactory entityManagerFactory;
+    private static HikariDataSource dataSource;
+    private static ConnectionPoolMetricsTracker poolMetrics;
+    private static EntityManagerFactory replicaEntityManagerFactory;
+    private static HikariDataSource replicaDataSource;
+    private static ConnectionPoolMetricsTracker replicaPoolMetrics;
+    private static ReadWriteRouter readWriteRouter;
+    private static DatabaseExecutor databaseExecutor;
+    private static MetricsReporter metricsReporter;
+    private static SlowQueryLog slowQueryLog;
+    private static int topQueries;
+    private static Duration searchRefreshInterval = Duration.ZERO;
 
     private EntityManagerFactoryProvider() {
     }
 
     public static void initialize(String persistenceUnitName) {
         if (entityManagerFactory == null || !entityManagerFactory.isOpen()) {
-            Map<String, String> jpaConfig = new HashMap<>();
-            jpaConfig.put("jakarta.persistence.jdbc.url", String.format("jdbc:postgresql://localhost:5432/%s", System.getenv("DB_NAME")));
-            jpaConfig.put("jakarta.persistence.jdbc.user", System.getenv("DB_USERNAME"));
-            jpaConfig.put("jakarta.persistence.jdbc.password", System.getenv("DB_PASSWORD"));
+            String profileName = DataSourceFactory.activeProfile();
+            Properties profile = DataSourceFactory.loadProfile(profileName);
+
+            poolMetrics = new ConnectionPoolMetricsTracker();
+            dataSource = DataSourceFactory.create(profile, "pool.",
+                    String.format("jdbc:postgresql://localhost:5432/%s", System.getenv("DB_NAME")),
+                    System.getenv("DB_USERNAME"),
+                    System.getenv("DB_PASSWORD"),
+                    poolMetrics);
+
+            Map<String, Object> jpaConfig = new HashMap<>();
+            profile.stringPropertyNames().stream()
+                    .filter(key -> key.startsWith("hibernate."))
+                    .forEach(key -> jpaConfig.put(key, profile.getProperty(key)));
+            slowQueryLog = createSlowQueryLog(profile);
+            topQueries = Integer.parseInt(profile.getProperty("diagnostics.topQueries", "10"));
+            searchRefreshInterval = Duration.ofSeconds(Long.parseLong(profile.getProperty("search.refreshIntervalSeconds", "0")));
+            jpaConfig.put("jakarta.persistence.nonJtaDataSource", withSlowQueryLog(dataSource));
 
             entityManagerFactory = Persistence.createEntityManagerFactory(persistenceUnitName, jpaConfig);
+            SequenceAligner.align(entityManagerFactory);
+            TitleSearchIndex.install(entityManagerFactory);
+            SingleLoanConstraint.drop(entityManagerFactory);
+            readWriteRouter = createRouter(persistenceUnitName, profile, jpaConfig);
+            databaseExecutor = new DatabaseExecutor(dataSource.getMaximumPoolSize(),
+                    Duration.ofMillis(Long.parseLong(profile.getProperty("async.timeoutMillis", "30000"))));
+            startMetricsReporter(profile);
+            log.info("EntityManagerFactory initialized with profile '{}'", profileName);
+        }
+    }
+
+    private static SlowQueryLog createSlowQueryLog(Properties profile) {
+        long threshold = Long.parseLong(profile.getProperty("diagnostics.slowQueryMillis", "0"));
+        if (threshold <= 0) {
+            return null;
         }
+        log.info("Logging statements slower than {} ms", threshold);
+        return new SlowQueryLog(Duration.ofMillis(threshold));
+    }
+
+    private static DataSource withSlowQueryLog(DataSource dataSource) {
+        return slowQueryLog == null ? dataSource : slowQueryLog.wrap(dataSource);
+    }
+
+    private static void startMetricsReporter(Properties profile) {
+        long interval = Long.parseLong(profile.getProperty("metrics.reportIntervalSeconds", "0"));
+        if (interval <= 0) {
+            return;
+        }
+        MetricsReporter.Format format = MetricsReporter.Format.valueOf(
+                profile.getProperty("metrics.format", "text").toUpperCase(Locale.ROOT));
+        metricsReporter = new MetricsReporter(MetricsProvider.getRegistry(), format);
+        metricsReporter.start(Duration.ofSeconds(interval));
+        log.info("Reporting repository and service metrics every {}s as {}", interval, format);
+    }
+
+    /**
+     * Opens a read-only factory for the replica named by {@value #REPLICA_URL_ENV}, if set.
+     * It shares the primary's settings and second-level cache but never touches the schema.
+     */
+    private static ReadWriteRouter createRouter(String persistenceUnitName, Properties profile, Map<String, Object> primaryConfig) {
+        String replicaUrl = System.getenv(REPLICA_URL_ENV);
+        if (replicaUrl == null || replicaUrl.isBlank()) {
+            log.info("No read replica configured, all reads go to the primary");
+            return ReadWriteRouter.primaryOnly(entityManagerFactory);
+        }
+        replicaPoolMetrics = new ConnectionPoolMetricsTracker();
+        replicaDataSource = DataSourceFactory.create(profile, "replica.pool.", replicaUrl,
+                System.getenv("DB_USERNAME"),
+                System.getenv("DB_PASSWORD"),
+                replicaPoolMetrics);
+
+        Map<String, Object> jpaConfig = new HashMap<>(primaryConfig);
+        jpaConfig.put("hibernate.hbm2ddl.auto", "none");
+        jpaConfig.put("jakarta.persistence.nonJtaDataSource", withSlowQueryLog(replicaDataSource));
+        replicaEntityManagerFactory = Persistence.createEntityManagerFactory(persistenceUnitName, jpaConfig);
+
+        Duration stickiness = Duration.ofMillis(Long.parseLong(profile.getProperty("replica.stickinessMillis", "2000")));
+        Duration maxLag = Duration.ofMillis(Long.parseLong(profile.getProperty("replica.maxLagMillis", "1000")));
+        Duration lagCheck = Duration.ofMillis(Long.parseLong(profile.getProperty("replica.lagCheckMillis", "500")));
+        log.info("Routing reads to replica {} (stickiness={}ms, maxLag={}ms, lagCheck={}ms)",
+                replicaUrl, stickiness.toMillis(), maxLag.toMillis(), lagCheck.toMillis());
+        return new ReadWriteRouter(entityManagerFactory, replicaEntityManagerFactory,
+                ReplicaLag.postgres(replicaEntityManagerFactory), stickiness, maxLag, lagCheck);
     }
 
     public static EntityManagerFactory getEntityManagerFactory() {
@@ -31,10 +132,66 @@ public class EntityManagerFactoryProvider {
         return entityManagerFactory;
     }
 
+    public static ReadWriteRouter getReadWriteRouter() {
+        getEntityManagerFactory();
+        return readWriteRouter;
+    }
+
+    public static DatabaseExecutor getDatabaseExecutor() {
+        getEntityManagerFactory();
+        return databaseExecutor;
+    }
+
+    /**
+     * How often the search indexes are rebuilt; zero or negative means never.
+     */
+    public static Duration getSearchRefreshInterval() {
+        return searchRefreshInterval;
+    }
+
+    public static PoolStatistics getPoolStatistics() {
+        if (dataSource == null || dataSource.isClosed()) {
+            throw new IllegalStateException("Connection pool has not been initialized or is closed.");
+        }
+        return PoolStatistics.of(dataSource, poolMetrics);
+    }
+
+    public static CacheStatistics getCacheStatistics() {
+        return CacheStatistics.of(getEntityManagerFactory());
+    }
+
+    public static QueryStatistics getQueryStatistics() {
+        return QueryStatistics.of(getEntityManagerFactory());
+    }
+
     public static void closeEntityManagerFactory() {
+        if (metricsReporter != null) {
+            metricsReporter.close();
+            metricsReporter = null;
+        }
+        if (databaseExecutor != null) {
+            databaseExecutor.close();
+        }
+        // The replica shares the primary's JCache CacheManager and closing either factory closes it,
+        // so the primary's cache statistics are read and the primary closed before the replica.
         if (entityManagerFactory != null && entityManagerFactory.isOpen()) {
+            log.info("Closing second-level cache: {}", CacheStatistics.of(entityManagerFactory));
+            log.info("Query statistics since startup: {}", QueryStatistics.of(entityManagerFactory).toText(topQueries));
             entityManagerFactory.close();
             System.out.println("EntityManagerFactory closed.");
         }
+        if (replicaEntityManagerFactory != null && replicaEntityManagerFactory.isOpen()) {
+            log.info("Closing replica after {} replica reads and {} primary reads",
+                    readWriteRouter.getReplicaReads(), readWriteRouter.getPrimaryReads());
+            replicaEntityManagerFactory.close();
+        }
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            log.info("Closing replica connection pool: {}", PoolStatistics.of(replicaDataSource, replicaPoolMetrics));
+            replicaDataSource.close();
+        }
+        if (dataSource != null && !dataSource.isClosed()) {
+            log.info("Closing connection pool: {}", PoolStatistics.of(dataSource, poolMetrics));
+            dataSource.close();
+        }
     }
 }
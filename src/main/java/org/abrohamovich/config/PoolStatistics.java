@@ -0,0 +1,40 @@
+package org.abrohamovich.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.abrohamovich.metrics.LatencyHistogram;
+
+public record PoolStatistics(String poolName,
+                             int maximumPoolSize,
+                             int active,
+                             int idle,
+                             int total,
+                             int waiting,
+                             long connectionsCreated,
+                             long acquireTimeouts,
+                             LatencyHistogram.Snapshot acquireLatency,
+                             LatencyHistogram.Snapshot usageLatency) {
+
+    public static PoolStatistics of(HikariDataSource dataSource, ConnectionPoolMetricsTracker tracker) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        return new PoolStatistics(
+                dataSource.getPoolName(),
+                dataSource.getMaximumPoolSize(),
+                pool == null ? 0 : pool.getActiveConnections(),
+                pool == null ? 0 : pool.getIdleConnections(),
+                pool == null ? 0 : pool.getTotalConnections(),
+                pool == null ? 0 : pool.getThreadsAwaitingConnection(),
+                tracker.getConnectionsCreated().sum(),
+                tracker.getAcquireTimeouts().sum(),
+                tracker.getAcquireLatency().snapshot(),
+                tracker.getUsageLatency().snapshot()
+        );
+    }
+
+    @Override
+    public String toString() {
+        return String.format("pool=%s max=%d active=%d idle=%d total=%d waiting=%d created=%d timeouts=%d acquire[%s]",
+                poolName, maximumPoolSize, active, idle, total, waiting, connectionsCreated, acquireTimeouts,
+                acquireLatency.toText());
+    }
+}
@@ -0,0 +1,65 @@
+package org.abrohamovich.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Per-query execution statistics collected by Hibernate since startup, for the queries run
+ * through JPQL/HQL or native query APIs. Requires {@code hibernate.generate_statistics}.
+ */
+public record QueryStatistics(long prepareStatementCount, List<Query> queries) {
+
+    public static QueryStatistics of(EntityManagerFactory emf) {
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        List<Query> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            org.hibernate.stat.QueryStatistics execution = statistics.getQueryStatistics(query);
+            if (execution != null && execution.getExecutionCount() > 0) {
+                queries.add(new Query(query, execution.getExecutionCount(), execution.getExecutionTotalTime(),
+                        execution.getExecutionAvgTimeAsDouble(), execution.getExecutionMaxTime(),
+                        execution.getExecutionRowCount()));
+            }
+        }
+        return new QueryStatistics(statistics.getPrepareStatementCount(), List.copyOf(queries));
+    }
+
+    /**
+     * The {@code n} queries with the highest total execution time.
+     */
+    public List<Query> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Number of queries cannot be negative");
+        }
+        return queries.stream()
+                .sorted(Comparator.comparingLong(Query::totalMillis).thenComparingLong(Query::maxMillis).reversed())
+                .limit(n)
+                .toList();
+    }
+
+    public String toText(int n) {
+        return String.format(Locale.ROOT, "%d queries, %d statements prepared, top %d by total time:%n%s",
+                queries.size(), prepareStatementCount, n,
+                top(n).stream().map(query -> "  " + query).collect(Collectors.joining(System.lineSeparator())));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "queries=%d prepared=%d", queries.size(), prepareStatementCount);
+    }
+
+    public record Query(String query, long executions, long totalMillis, double meanMillis, long maxMillis, long rows) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "executions=%d total=%dms mean=%.2fms max=%dms rows=%d %s",
+                    executions, totalMillis, meanMillis, maxMillis, rows, query);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.abrohamovich.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Map;
+
+/**
+ * Moves every entity id sequence past the highest id already stored in its table.
+ * Rows inserted while the tables still used identity columns keep their ids, and
+ * the pooled sequence generators never hand out a value that is already taken.
+ */
+@Slf4j
+public class SequenceAligner {
+    public static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "t_author", "t_author_seq",
+            "t_book", "t_book_seq",
+            "t_category", "t_category_seq",
+            "t_genre", "t_genre_seq",
+            "t_patron", "t_patron_seq",
+            "t_publisher", "t_publisher_seq"
+    );
+
+    private SequenceAligner() {
+    }
+
+    public static void align(EntityManagerFactory emf) {
+        Dialect dialect = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        try (EntityManager em = emf.createEntityManager()) {
+            em.getTransaction().begin();
+            SEQUENCES.forEach((table, sequence) -> {
+                long maxId = ((Number) em.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)
+                        .getSingleResult()).longValue();
+                long nextValue = ((Number) em.createNativeQuery(
+                                dialect.getSequenceSupport().getSequenceNextValString(sequence))
+                        .getSingleResult()).longValue();
+                if (maxId > 0 && nextValue - ALLOCATION_SIZE < maxId) {
+                    long restartWith = maxId + ALLOCATION_SIZE;
+                    em.createNativeQuery("ALTER SEQUENCE " + sequence + " RESTART WITH " + restartWith).executeUpdate();
+                    log.info("Sequence {} restarted with {} to stay above max id {} of {}", sequence, restartWith, maxId, table);
+                }
+            });
+            em.getTransaction().commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.abrohamovich.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.List;
+
+/**
+ * Drops the unique constraint on {@code t_book.patron_id} that older schemas carry, which allowed
+ * only one loan per patron. {@code hbm2ddl.auto=update} never removes constraints by itself.
+ */
+@Slf4j
+public class SingleLoanConstraint {
+
+    private SingleLoanConstraint() {
+    }
+
+    public static int drop(EntityManagerFactory emf) {
+        if (!(emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof PostgreSQLDialect)) {
+            return 0;
+        }
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            @SuppressWarnings("unchecked")
+            List<String> constraints = em.createNativeQuery("SELECT c.conname FROM pg_constraint c "
+                    + "JOIN pg_class t ON t.oid = c.conrelid "
+                    + "JOIN pg_attribute a ON a.attrelid = t.oid AND a.attname = 'patron_id' "
+                    + "WHERE t.relname = 't_book' AND c.contype = 'u' AND c.conkey = ARRAY[a.attnum]").getResultList();
+            for (String constraint : constraints) {
+                em.createNativeQuery("ALTER TABLE t_book DROP CONSTRAINT \"" + constraint + "\"").executeUpdate();
+                log.info("Dropped single-loan constraint {} on t_book.patron_id", constraint);
+            }
+            em.getTransaction().commit();
+            return constraints.size();
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            log.warn("Unable to drop the single-loan constraint on t_book.patron_id: {}", e.getMessage());
+            return 0;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package org.abrohamovich.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Wraps a {@link DataSource} so that every JDBC statement slower than a threshold is reported
+ * with its bind values and the repository method it came from. Hibernate flushes at commit, so
+ * inserts and updates are attributed to the repository method that committed them.
+ */
+@Slf4j
+public class SlowQueryLog {
+    private static final String APPLICATION_PACKAGE = "org.abrohamovich.";
+    private static final String REPOSITORY_PACKAGE = APPLICATION_PACKAGE + "repository.";
+    private static final int MAX_VALUE_LENGTH = 64;
+
+    private final long thresholdNanos;
+    private final Consumer<SlowQuery> listener;
+
+    public SlowQueryLog(Duration threshold) {
+        this(threshold, query -> log.warn("{}", query));
+    }
+
+    public SlowQueryLog(Duration threshold, Consumer<SlowQuery> listener) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException("Slow query threshold cannot be negative");
+        }
+        this.thresholdNanos = threshold.toNanos();
+        this.listener = listener;
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (method, args) -> {
+            Object result = invoke(method, dataSource, args);
+            return result instanceof Connection connection ? wrap(connection) : result;
+        });
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(method, connection, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(method.getReturnType(), statement, sql);
+            }
+            return result;
+        });
+    }
+
+    private Object wrap(Class<?> type, Statement statement, String preparedSql) {
+        Map<Integer, Object> parameters = new TreeMap<>();
+        int[] batched = new int[1];
+        return proxy(type, statement, (method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                parameters.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                parameters.clear();
+            } else if (name.equals("addBatch")) {
+                batched[0]++;
+            } else if (name.startsWith("execute")) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                long started = System.nanoTime();
+                try {
+                    return invoke(method, statement, args);
+                } finally {
+                    long elapsed = System.nanoTime() - started;
+                    if (elapsed >= thresholdNanos) {
+                        listener.accept(new SlowQuery(sql, render(parameters), batched[0],
+                                Duration.ofNanos(elapsed), origin()));
+                    }
+                    if (name.equals("executeBatch")) {
+                        batched[0] = 0;
+                    }
+                }
+            }
+            return invoke(method, statement, args);
+        });
+    }
+
+    private static Map<Integer, String> render(Map<Integer, Object> parameters) {
+        Map<Integer, String> rendered = new TreeMap<>();
+        parameters.forEach((index, value) -> rendered.put(index, render(value)));
+        return Collections.unmodifiableMap(rendered);
+    }
+
+    private static String render(Object value) {
+        if (value == null) {
+            return "NULL";
+        }
+        if (value instanceof byte[] bytes) {
+            return "<" + bytes.length + " bytes>";
+        }
+        String text = value.toString();
+        if (text.length() > MAX_VALUE_LENGTH) {
+            text = text.substring(0, MAX_VALUE_LENGTH) + "...";
+        }
+        return value instanceof CharSequence ? "'" + text + "'" : text;
+    }
+
+    /**
+     * The innermost repository method on the stack, or else the innermost application method.
+     */
+    static String origin() {
+        List<StackWalker.StackFrame> frames = StackWalker.getInstance().walk(stack -> stack
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !frame.getClassName().equals(SlowQueryLog.class.getName()))
+                .toList());
+        return frames.stream()
+                .filter(frame -> frame.getClassName().startsWith(REPOSITORY_PACKAGE) && frame.getClassName().endsWith("Repository"))
+                .findFirst()
+                .or(() -> frames.stream().findFirst())
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+                .orElse("unknown");
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getDeclaringClass() == Object.class
+                        ? invoke(method, target, args)
+                        : handler.handle(method, args));
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    public record SlowQuery(String sql, Map<Integer, String> parameters, int batchSize, Duration elapsed, String origin) {
+
+        @Override
+        public String toString() {
+            return String.format("Slow query took %d ms in %s%s: %s %s", elapsed.toMillis(), origin,
+                    batchSize > 0 ? " (batch of " + batchSize + ")" : "", sql, parameters);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.abrohamovich.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Creates the pg_trgm GiST index that serves substring title searches on PostgreSQL. Unlike a
+ * GIN index it also serves {@code ORDER BY title <-> query}, so ranked searches stop after the
+ * requested number of matches. Other databases keep using the scanning fallback in
+ * {@code BookRepository.searchByTitle}.
+ */
+@Slf4j
+public class TitleSearchIndex {
+    public static final String INDEX_NAME = "idx_book_title_trgm_gist";
+    private static final String GIN_INDEX_NAME = "idx_book_title_trgm";
+
+    private TitleSearchIndex() {
+    }
+
+    public static boolean install(EntityManagerFactory emf) {
+        if (!(emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof PostgreSQLDialect)) {
+            log.info("Trigram title index skipped: database is not PostgreSQL");
+            return false;
+        }
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.createNativeQuery("CREATE EXTENSION IF NOT EXISTS pg_trgm").executeUpdate();
+            em.createNativeQuery("CREATE INDEX IF NOT EXISTS " + INDEX_NAME
+                    + " ON t_book USING gist (title gist_trgm_ops)").executeUpdate();
+            em.createNativeQuery("DROP INDEX IF EXISTS " + GIN_INDEX_NAME).executeUpdate();
+            em.getTransaction().commit();
+            log.info("Trigram title index {} is in place", INDEX_NAME);
+            return true;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            log.warn("Unable to install trigram title index, title search falls back to scanning: {}", e.getMessage());
+            return false;
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.abrohamovich.controller;
+
+import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.BooleanBinding;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.config.EntityManagerFactoryProvider;
+import org.abrohamovich.service.DatabaseExecutor;
+
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Runs controller database work on virtual threads and hands results back on the FX thread.
+ * All methods must be called from the FX thread; callbacks are delivered there as well.
+ */
+@Slf4j
+public class BackgroundLoader {
+    private final DatabaseExecutor executor;
+    private final Executor uiThread;
+    private final IntegerProperty pending = new SimpleIntegerProperty();
+    private final BooleanBinding busy = Bindings.greaterThan(pending, 0);
+
+    public BackgroundLoader() {
+        this(EntityManagerFactoryProvider.getDatabaseExecutor(), Platform::runLater);
+    }
+
+    BackgroundLoader(DatabaseExecutor executor, Executor uiThread) {
+        this.executor = executor;
+        this.uiThread = uiThread;
+    }
+
+    public <T> CompletableFuture<T> load(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+        pending.set(pending.get() + 1);
+        CompletableFuture<T> future = executor.submit(work);
+        future.whenComplete((value, error) -> uiThread.execute(() -> {
+            pending.set(pending.get() - 1);
+            Throwable cause = unwrap(error);
+            if (cause == null) {
+                onSuccess.accept(value);
+            } else if (!(cause instanceof CancellationException)) {
+                log.error("Background load failed: {}", cause.getMessage());
+                onFailure.accept(cause);
+            }
+        }));
+        return future;
+    }
+
+    /**
+     * Creates a slot in which only the most recent load delivers its result; starting a new load
+     * cancels the one in flight and drops its response if it still arrives.
+     */
+    public Latest latest() {
+        return new Latest();
+    }
+
+    public BooleanBinding busyProperty() {
+        return busy;
+    }
+
+    public int getPending() {
+        return pending.get();
+    }
+
+    Executor uiThread() {
+        return uiThread;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof TimeoutException && cause.getMessage() == null
+                ? new TimeoutException("Database request timed out")
+                : cause;
+    }
+
+    public final class Latest {
+        private long generation;
+        private CompletableFuture<?> inFlight;
+
+        public <T> CompletableFuture<T> load(Callable<T> work, Consumer<? super T> onSuccess, Consumer<Throwable> onFailure) {
+            cancel();
+            long ticket = generation;
+            CompletableFuture<T> future = BackgroundLoader.this.load(work,
+                    value -> {
+                        if (ticket == generation) {
+                            onSuccess.accept(value);
+                        }
+                    },
+                    error -> {
+                        if (ticket == generation) {
+                            onFailure.accept(error);
+                        }
+                    });
+            inFlight = future;
+            return future;
+        }
+
+        public void cancel() {
+            generation++;
+            if (inFlight != null) {
+                inFlight.cancel(true);
+                inFlight = null;
+            }
+        }
+    }
+}
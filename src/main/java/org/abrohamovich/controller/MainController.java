@@ -1,6 +1,5 @@
 package org.abrohamovich.controller;
 
-import jakarta.persistence.EntityManagerFactory;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -12,7 +11,9 @@ import org.abrohamovich.controller.create.CreateBookController;
 import org.abrohamovich.controller.create.CreatePatronController;
 import org.abrohamovich.controller.manage.*;
 import org.abrohamovich.mapper.*;
+import org.abrohamovich.metrics.MetricsProvider;
 import org.abrohamovich.repository.*;
+import org.abrohamovich.search.SearchIndexProvider;
 import org.abrohamovich.service.*;
 import org.abrohamovich.service.interfaces.*;
 
@@ -46,12 +47,17 @@ public class MainController {
 
     public void goToAddBookScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            AuthorService authorService = new AuthorServiceCRUD(new AuthorRepository(emf), AuthorMapper.INSTANCE);
-            GenreService genreService = new GenreServiceCRUD(new GenreRepository(emf), GenreMapper.INSTANCE);
-            CategoryService categoryService = new CategoryServiceCRUD(new CategoryRepository(emf), CategoryMapper.INSTANCE);
-            PublisherService publisherService = new PublisherServiceCRUD(new PublisherRepository(emf), PublisherMapper.INSTANCE);
-            BookService bookService = new BookServiceCRUD(new BookRepository(emf), BookMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            AuthorService authorService = MetricsProvider.service(AuthorService.class,
+                    new AuthorServiceCRUD(MetricsProvider.repository(AuthorRepository.class, router), AuthorMapper.INSTANCE, SearchIndexProvider.getAuthorIndex()));
+            GenreService genreService = MetricsProvider.service(GenreService.class,
+                    new GenreServiceCRUD(MetricsProvider.repository(GenreRepository.class, router), GenreMapper.INSTANCE));
+            CategoryService categoryService = MetricsProvider.service(CategoryService.class,
+                    new CategoryServiceCRUD(MetricsProvider.repository(CategoryRepository.class, router), CategoryMapper.INSTANCE));
+            PublisherService publisherService = MetricsProvider.service(PublisherService.class,
+                    new PublisherServiceCRUD(MetricsProvider.repository(PublisherRepository.class, router), PublisherMapper.INSTANCE));
+            BookService bookService = MetricsProvider.service(BookService.class,
+                    new BookServiceCRUD(MetricsProvider.repository(BookRepository.class, router), BookMapper.INSTANCE, SearchIndexProvider.getBookIndex()));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/create/create-book.fxml"));
 
@@ -82,8 +88,9 @@ public class MainController {
 
     public void goToAddPatronScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            PatronService patronService = new PatronServiceCRUD(new PatronRepository(emf), PatronMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            PatronService patronService = MetricsProvider.service(PatronService.class,
+                    new PatronServiceCRUD(MetricsProvider.repository(PatronRepository.class, router), PatronMapper.INSTANCE, SearchIndexProvider.getPatronIndex()));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/create/create-patron.fxml"));
 
@@ -114,12 +121,17 @@ public class MainController {
 
     public void goToManageBooksScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            AuthorService authorService = new AuthorServiceCRUD(new AuthorRepository(emf), AuthorMapper.INSTANCE);
-            GenreService genreService = new GenreServiceCRUD(new GenreRepository(emf), GenreMapper.INSTANCE);
-            CategoryService categoryService = new CategoryServiceCRUD(new CategoryRepository(emf), CategoryMapper.INSTANCE);
-            PublisherService publisherService = new PublisherServiceCRUD(new PublisherRepository(emf), PublisherMapper.INSTANCE);
-            BookService bookService = new BookServiceCRUD(new BookRepository(emf), BookMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            AuthorService authorService = MetricsProvider.service(AuthorService.class,
+                    new AuthorServiceCRUD(MetricsProvider.repository(AuthorRepository.class, router), AuthorMapper.INSTANCE, SearchIndexProvider.getAuthorIndex()));
+            GenreService genreService = MetricsProvider.service(GenreService.class,
+                    new GenreServiceCRUD(MetricsProvider.repository(GenreRepository.class, router), GenreMapper.INSTANCE));
+            CategoryService categoryService = MetricsProvider.service(CategoryService.class,
+                    new CategoryServiceCRUD(MetricsProvider.repository(CategoryRepository.class, router), CategoryMapper.INSTANCE));
+            PublisherService publisherService = MetricsProvider.service(PublisherService.class,
+                    new PublisherServiceCRUD(MetricsProvider.repository(PublisherRepository.class, router), PublisherMapper.INSTANCE));
+            BookService bookService = MetricsProvider.service(BookService.class,
+                    new BookServiceCRUD(MetricsProvider.repository(BookRepository.class, router), BookMapper.INSTANCE, SearchIndexProvider.getBookIndex()));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/manage/manage-books.fxml"));
 
@@ -150,9 +162,10 @@ public class MainController {
 
     public void goToManageAuthorsScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            AuthorRepository authorRepository = new AuthorRepository(emf);
-            AuthorService authorService = new AuthorServiceCRUD(authorRepository, AuthorMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            AuthorRepository authorRepository = MetricsProvider.repository(AuthorRepository.class, router);
+            AuthorService authorService = MetricsProvider.service(AuthorService.class,
+                    new AuthorServiceCRUD(authorRepository, AuthorMapper.INSTANCE, SearchIndexProvider.getAuthorIndex()));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/manage/manage-authors.fxml"));
 
@@ -183,9 +196,10 @@ public class MainController {
 
     public void goToManageGenresScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            GenreRepository genreRepository = new GenreRepository(emf);
-            GenreService genreService = new GenreServiceCRUD(genreRepository, GenreMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            GenreRepository genreRepository = MetricsProvider.repository(GenreRepository.class, router);
+            GenreService genreService = MetricsProvider.service(GenreService.class,
+                    new GenreServiceCRUD(genreRepository, GenreMapper.INSTANCE));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/manage/manage-genres.fxml"));
 
@@ -216,9 +230,10 @@ public class MainController {
 
     public void goToManageCategoriesScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            CategoryRepository categoryRepository = new CategoryRepository(emf);
-            CategoryService categoryService = new CategoryServiceCRUD(categoryRepository, CategoryMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            CategoryRepository categoryRepository = MetricsProvider.repository(CategoryRepository.class, router);
+            CategoryService categoryService = MetricsProvider.service(CategoryService.class,
+                    new CategoryServiceCRUD(categoryRepository, CategoryMapper.INSTANCE));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/manage/manage-categories.fxml"));
 
@@ -249,9 +264,10 @@ public class MainController {
 
     public void goToManagePublishersScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            PublisherRepository publisherRepository = new PublisherRepository(emf);
-            PublisherService publisherService = new PublisherServiceCRUD(publisherRepository, PublisherMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            PublisherRepository publisherRepository = MetricsProvider.repository(PublisherRepository.class, router);
+            PublisherService publisherService = MetricsProvider.service(PublisherService.class,
+                    new PublisherServiceCRUD(publisherRepository, PublisherMapper.INSTANCE));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/manage/manage-publishers.fxml"));
 
@@ -282,8 +298,9 @@ public class MainController {
 
     public void goToManagePatronsScene(MouseEvent mouseEvent) {
         try {
-            EntityManagerFactory emf = EntityManagerFactoryProvider.getEntityManagerFactory();
-            PatronService patronService = new PatronServiceCRUD(new PatronRepository(emf), PatronMapper.INSTANCE);
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            PatronService patronService = MetricsProvider.service(PatronService.class,
+                    new PatronServiceCRUD(MetricsProvider.repository(PatronRepository.class, router), PatronMapper.INSTANCE, SearchIndexProvider.getPatronIndex()));
 
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/manage/manage-patrons.fxml"));
 
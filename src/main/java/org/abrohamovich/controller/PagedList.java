@@ -0,0 +1,134 @@
+package org.abrohamovich.controller;
+
+import javafx.collections.ObservableListBase;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Read-only list over an id-ordered table that loads pages on demand. A {@code ListView} only asks
+ * for the rows it shows, so only those pages and their neighbours are fetched; rows of pages still
+ * loading are {@code null}, which cells render as placeholders. At most {@code cachedPages} pages
+ * are kept, the least recently shown are dropped first.
+ * Must be used from the FX thread.
+ */
+public class PagedList<T> extends ObservableListBase<T> {
+    public static final int DEFAULT_CACHED_PAGES = 16;
+    private static final int PREFETCH = 1;
+
+    private final BackgroundLoader loader;
+    private final PageIndex index;
+    private final Function<PageRequest, Page<T>> fetch;
+    private final int cachedPages;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+    private final int size;
+    private volatile int focus;
+    private int fetchedPages;
+
+    public PagedList(BackgroundLoader loader, PageIndex index, Function<PageRequest, Page<T>> fetch) {
+        this(loader, index, fetch, DEFAULT_CACHED_PAGES);
+    }
+
+    public PagedList(BackgroundLoader loader, PageIndex index, Function<PageRequest, Page<T>> fetch, int cachedPages) {
+        if (cachedPages < 2 * PREFETCH + 1) {
+            throw new IllegalArgumentException("Invalid argument: cachedPages must be at least " + (2 * PREFETCH + 1));
+        }
+        this.loader = loader;
+        this.index = index;
+        this.fetch = fetch;
+        this.cachedPages = cachedPages;
+        this.size = (int) Math.min(index.getTotal(), Integer.MAX_VALUE);
+        this.pages = new LinkedHashMap<>(cachedPages, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > PagedList.this.cachedPages;
+            }
+        };
+    }
+
+    @Override
+    public T get(int i) {
+        Objects.checkIndex(i, size);
+        int page = i / index.getPageSize();
+        focus = page;
+        for (int p = page - PREFETCH; p <= page + PREFETCH; p++) {
+            request(p);
+        }
+        List<T> items = pages.get(page);
+        int offset = i - page * index.getPageSize();
+        return items == null || offset >= items.size() ? null : items.get(offset);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Looks only through loaded pages; a row that is not loaded is reported as absent.
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            int offset = page.getValue().indexOf(o);
+            if (offset >= 0) {
+                return page.getKey() * index.getPageSize() + offset;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    public int getLoadedPages() {
+        return pages.size();
+    }
+
+    public int getFetchedPages() {
+        return fetchedPages;
+    }
+
+    private void request(int page) {
+        if (page < 0 || page >= index.getPageCount() || pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+        loader.load(() -> isNearFocus(page) ? fetch.apply(index.request(page)).getItems() : null, items -> {
+            loading.remove(page);
+            if (items != null) {
+                store(page, items);
+            }
+        }, error -> loading.remove(page));
+    }
+
+    /**
+     * Pages the user has already scrolled past are skipped once a worker picks them up.
+     */
+    private boolean isNearFocus(int page) {
+        return Math.abs(page - focus) <= cachedPages / 2;
+    }
+
+    private void store(int page, List<T> items) {
+        pages.put(page, items);
+        fetchedPages++;
+        int from = page * index.getPageSize();
+        int to = Math.min(from + index.getPageSize(), size);
+        if (from >= to) {
+            return;
+        }
+        beginChange();
+        nextReplace(from, to, Collections.nCopies(to - from, null));
+        endChange();
+    }
+}
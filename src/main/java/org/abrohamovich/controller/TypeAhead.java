@@ -0,0 +1,143 @@
+package org.abrohamovich.controller;
+
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Filter-as-you-type for the manage screens. Keystrokes are debounced, only the latest query may
+ * deliver results, and recent results are kept so repeated or narrowed queries skip the database.
+ * Narrowing in memory needs a {@code refine} predicate with the same meaning as {@code search} and
+ * a result known to be complete, i.e. smaller than {@code limit}.
+ * All methods must be called from the FX thread.
+ */
+public class TypeAhead<T> {
+    public static final Duration DEFAULT_DEBOUNCE = Duration.ofMillis(250);
+    private static final int CACHE_SIZE = 32;
+
+    private final BackgroundLoader loader;
+    private final BackgroundLoader.Latest slot;
+    private final Callable<List<T>> all;
+    private final Function<String, List<T>> search;
+    private final BiPredicate<T, String> refine;
+    private final int limit;
+    private final Duration debounce;
+    private final Consumer<? super List<T>> onResults;
+    private final Consumer<Throwable> onFailure;
+    private final Map<String, List<T>> cache = new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<T>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    private long ticket;
+    private String current = "";
+    private int databaseQueries;
+
+    @Builder
+    private TypeAhead(BackgroundLoader loader, Callable<List<T>> all, Function<String, List<T>> search,
+                      BiPredicate<T, String> refine, int limit, Duration debounce,
+                      Consumer<? super List<T>> onResults, Consumer<Throwable> onFailure) {
+        this.loader = loader;
+        this.slot = loader.latest();
+        this.all = all;
+        this.search = search;
+        this.refine = refine;
+        this.limit = limit;
+        this.debounce = debounce == null ? DEFAULT_DEBOUNCE : debounce;
+        this.onResults = onResults;
+        this.onFailure = onFailure;
+    }
+
+    public static boolean containsIgnoreCase(String text, String key) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(key);
+    }
+
+    /**
+     * Answers from the cache right away; otherwise queries the database once typing pauses.
+     */
+    public void query(String text) {
+        String key = keyOf(text);
+        if (key.equals(current) && ticket > 0) {
+            return;
+        }
+        current = key;
+        long mine = ++ticket;
+        List<T> known = cached(key);
+        if (known != null) {
+            slot.cancel();
+            onResults.accept(known);
+            return;
+        }
+        CompletableFuture.runAsync(() -> {
+            if (mine == ticket) {
+                load(key);
+            }
+        }, CompletableFuture.delayedExecutor(debounce.toMillis(), TimeUnit.MILLISECONDS, loader.uiThread()));
+    }
+
+    /**
+     * Drops cached results and reloads the current query immediately, e.g. after an edit.
+     */
+    public void refresh() {
+        cache.clear();
+        ticket++;
+        load(current);
+    }
+
+    public int getDatabaseQueries() {
+        return databaseQueries;
+    }
+
+    private void load(String key) {
+        databaseQueries++;
+        slot.load(() -> key.isEmpty() ? all.call() : search.apply(key), found -> {
+            cache.put(key, found);
+            onResults.accept(found);
+        }, onFailure);
+    }
+
+    private List<T> cached(String key) {
+        List<T> exact = cache.get(key);
+        if (exact != null || refine == null) {
+            return exact;
+        }
+        String broader = null;
+        for (Map.Entry<String, List<T>> entry : cache.entrySet()) {
+            String prefix = entry.getKey();
+            if (key.startsWith(prefix) && isComplete(prefix, entry.getValue())
+                    && (broader == null || prefix.length() > broader.length())) {
+                broader = prefix;
+            }
+        }
+        if (broader == null) {
+            return null;
+        }
+        List<T> narrowed = cache.get(broader).stream()
+                .filter(item -> refine.test(item, key))
+                .toList();
+        cache.put(key, narrowed);
+        return narrowed;
+    }
+
+    private boolean isComplete(String key, List<T> found) {
+        if (limit <= 0) {
+            return true;
+        }
+        return !key.isEmpty() && found.size() < limit;
+    }
+
+    private static String keyOf(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
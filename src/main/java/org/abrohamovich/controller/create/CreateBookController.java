@@ -9,13 +9,14 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.stage.Stage;
+import javafx.stage.Window;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
 import org.abrohamovich.dto.*;
 import org.abrohamovich.entity.Format;
 import org.abrohamovich.entity.Status;
-import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.service.interfaces.*;
 
 import java.io.IOException;
@@ -30,6 +31,11 @@ public class CreateBookController {
     private final CategoryService categoryService;
     private final PublisherService publisherService;
     private final BookService bookService;
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private final BackgroundLoader.Latest authorsLoad = loader.latest();
+    private final BackgroundLoader.Latest genresLoad = loader.latest();
+    private final BackgroundLoader.Latest categoriesLoad = loader.latest();
+    private final BackgroundLoader.Latest publishersLoad = loader.latest();
 
     @FXML
     public TextField bookTitleField;
@@ -51,6 +57,8 @@ public class CreateBookController {
     public ComboBox<PublisherDto> publisherComboBox;
     @FXML
     public DatePicker receiptDatePicker;
+    @FXML
+    public ProgressIndicator loadingIndicator;
 
     @FXML
     private Button createAuthorButton;
@@ -74,6 +82,7 @@ public class CreateBookController {
     public void initialize() {
         numberOfPagesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 2500, 100));
         receiptDatePicker.setValue(LocalDate.now());
+        loadingIndicator.visibleProperty().bind(loader.busyProperty());
 
         bookTitleField.textProperty().addListener((observable, oldValue, newValue) -> {
             if (!newValue.matches("[-`.,:;?!'\\p{L}\\p{M} ]*")) {
@@ -107,19 +116,33 @@ public class CreateBookController {
         genreListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         categoryListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
-        populateListsAndComboBoxes();
-
+        formatComboBox.setItems(FXCollections.observableArrayList(Format.values()));
         formatComboBox.getSelectionModel().selectFirst();
 
+        populateListsAndComboBoxes();
+
     }
 
     private void populateListsAndComboBoxes() {
-        authorListView.setItems(FXCollections.observableArrayList(authorService.findAll()));
-        genreListView.setItems(FXCollections.observableArrayList(genreService.findAll()));
-        categoryListView.setItems(FXCollections.observableArrayList(categoryService.findAll()));
-        publisherComboBox.setItems(FXCollections.observableArrayList(publisherService.findAll()));
+        authorsLoad.load(authorService::findAll,
+                authors -> authorListView.setItems(FXCollections.observableArrayList(authors)), this::showError);
+        genresLoad.load(genreService::findAll,
+                genres -> genreListView.setItems(FXCollections.observableArrayList(genres)), this::showError);
+        categoriesLoad.load(categoryService::findAll,
+                categories -> categoryListView.setItems(FXCollections.observableArrayList(categories)), this::showError);
+        publishersLoad.load(publisherService::findAll,
+                publishers -> publisherComboBox.setItems(FXCollections.observableArrayList(publishers)), this::showError);
+    }
 
-        formatComboBox.setItems(FXCollections.observableArrayList(Format.values()));
+    private void showError(Throwable error) {
+        if (authorListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                authorListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
     }
 
     @FXML
@@ -138,22 +161,19 @@ public class CreateBookController {
                 .receiptDate(receiptDatePicker.getValue())
                 .build();
 
-        try {
-            BookDto savedBookDto = bookService.save(bookDto);
+        Window window = ((Node) actionEvent.getSource()).getScene().getWindow();
+        loader.load(() -> bookService.save(bookDto), savedBookDto -> {
             clearFields();
             NotifyDialogController.showNotification(
-                    ((Node) actionEvent.getSource()).getScene().getWindow(),
+                    window,
                     "Book '" + savedBookDto.getTitle() + "' successfully created!",
                     NotifyDialogController.NotificationType.SUCCESS
             );
-        } catch (EntityException | IllegalArgumentException e) {
-            NotifyDialogController.showNotification(
-                    ((Node) actionEvent.getSource()).getScene().getWindow(),
-                    e.getMessage(),
-                    NotifyDialogController.NotificationType.ERROR
-            );
-        }
-
+        }, error -> NotifyDialogController.showNotification(
+                window,
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        ));
     }
 
     @FXML
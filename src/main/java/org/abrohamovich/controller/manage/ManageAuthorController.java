@@ -11,22 +11,25 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
+import org.abrohamovich.controller.TypeAhead;
 import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.AuthorSummary;
 import org.abrohamovich.entity.Sex;
 import org.abrohamovich.exceptions.AuthorNotFoundException;
 import org.abrohamovich.service.interfaces.AuthorService;
 
-import java.util.List;
-
 public class ManageAuthorController {
+    private static final int SEARCH_LIMIT = 100;
 
     private final AuthorService authorService;
+    private final BackgroundLoader loader = new BackgroundLoader();
     @FXML
     public TextField filterTextField;
     @FXML
-    public ListView<AuthorDto> authorListView;
+    public ListView<AuthorSummary> authorListView;
     @FXML
     public VBox editPanel;
     @FXML
@@ -37,7 +40,8 @@ public class ManageAuthorController {
     public ComboBox<Sex> sexComboBox;
     @FXML
     public TextField nationalityField;
-    private ObservableList<AuthorDto> authors;
+    private ObservableList<AuthorSummary> authors;
+    private TypeAhead<AuthorSummary> typeAhead;
     private AuthorDto selectedAuthorForEdit;
 
     public ManageAuthorController(AuthorService authorService) {
@@ -50,7 +54,15 @@ public class ManageAuthorController {
         authorListView.setItems(authors);
         authorListView.setCellFactory(lv ->
                 new ManageAuthorController.AuthorCell());
-        loadAllAuthors();
+        typeAhead = TypeAhead.<AuthorSummary>builder()
+                .loader(loader)
+                .all(authorService::findSummaries)
+                .search(query -> authorService.search(query, SEARCH_LIMIT))
+                .limit(SEARCH_LIMIT)
+                .onResults(authors::setAll)
+                .onFailure(this::showError)
+                .build();
+        reloadAuthors();
 
         fullNameField.textProperty().addListener((_, oldValue, newValue) -> {
             if (!newValue.matches("[-`'\\p{L}\\p{M} ]*")) {
@@ -72,20 +84,22 @@ public class ManageAuthorController {
 
     @FXML
     public void filterAuthors(KeyEvent keyEvent) {
-        String filterFullName = filterTextField.getText();
-        if (filterFullName.isBlank()) {
-            loadAllAuthors();
-        } else {
-            List<AuthorDto> foundAuthor = authorService.findByFullNameLike(filterFullName);
-            authors.clear();
-            authors.addAll(foundAuthor);
-        }
+        typeAhead.query(filterTextField.getText());
     }
 
-    private void loadAllAuthors() {
-        authors.clear();
-        List<AuthorDto> allAuthors = authorService.findAll();
-        authors.addAll(allAuthors);
+    private void reloadAuthors() {
+        typeAhead.refresh();
+    }
+
+    private void showError(Throwable error) {
+        if (authorListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                authorListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
     }
 
     @FXML
@@ -116,7 +130,7 @@ public class ManageAuthorController {
                     NotifyDialogController.NotificationType.ERROR
             );
         }
-        loadAllAuthors();
+        reloadAuthors();
         cancelEdit(null);
     }
 
@@ -130,7 +144,7 @@ public class ManageAuthorController {
         editPanel.setManaged(false);
     }
 
-    public class AuthorCell extends ListCell<AuthorDto> {
+    public class AuthorCell extends ListCell<AuthorSummary> {
         private final HBox hbox = new HBox();
         private final Label nameLabel = new Label();
         private final Button editButton = new Button("Edit");
@@ -143,8 +157,19 @@ public class ManageAuthorController {
             hbox.getChildren().addAll(nameLabel, spacer, editButton);
 
             editButton.setOnAction(event -> {
-                AuthorDto authorDto = getItem();
-                if (authorDto != null) {
+                if (getItem() != null) {
+                    AuthorDto authorDto;
+                    try {
+                        authorDto = authorService.findById(getItem().id());
+                    } catch (AuthorNotFoundException e) {
+                        NotifyDialogController.showNotification(
+                                getListView().getScene().getWindow(),
+                                e.getMessage(),
+                                NotifyDialogController.NotificationType.ERROR
+                        );
+                        reloadAuthors();
+                        return;
+                    }
                     selectedAuthorForEdit = authorDto;
                     fullNameField.setText(authorDto.getFullName());
                     dateOfBirthPicker.setValue(authorDto.getDateOfBirth());
@@ -157,13 +182,13 @@ public class ManageAuthorController {
         }
 
         @Override
-        protected void updateItem(AuthorDto authorDto, boolean b) {
-            super.updateItem(authorDto, b);
+        protected void updateItem(AuthorSummary authorSummary, boolean b) {
+            super.updateItem(authorSummary, b);
             setText(null);
-            if (b || authorDto == null) {
+            if (b || authorSummary == null) {
                 setGraphic(null);
             } else {
-                nameLabel.setText(authorDto.toString());
+                nameLabel.setText(authorSummary.toString());
                 setGraphic(hbox);
             }
         }
@@ -1,5 +1,7 @@
 package org.abrohamovich.controller.manage;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -12,29 +14,41 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import javafx.stage.Window;
 import lombok.RequiredArgsConstructor;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
+import org.abrohamovich.controller.PagedList;
+import org.abrohamovich.controller.TypeAhead;
 import org.abrohamovich.dto.*;
 import org.abrohamovich.entity.Format;
-import org.abrohamovich.exceptions.BookNotFoundException;
 import org.abrohamovich.service.interfaces.*;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 
 @RequiredArgsConstructor
 public class ManageBookController {
+    private static final int SEARCH_LIMIT = 100;
+    private static final int PAGE_SIZE = 200;
 
     private final BookService bookService;
     private final AuthorService authorService;
     private final GenreService genreService;
     private final CategoryService categoryService;
     private final PublisherService publisherService;
+    private final BackgroundLoader loader = new BackgroundLoader();
+    private final BackgroundLoader.Latest editLoad = loader.latest();
+    private final BooleanProperty saving = new SimpleBooleanProperty();
 
     @FXML
     public TextField filterTextField;
     @FXML
-    public ListView<BookDto> bookListView;
+    public ProgressIndicator loadingIndicator;
+    @FXML
+    public ListView<BookSummary> bookListView;
     @FXML
     public VBox editPanel;
     @FXML
@@ -56,7 +70,8 @@ public class ManageBookController {
     @FXML
     public ComboBox<Format> editFormatComboBox;
 
-    private ObservableList<BookDto> books;
+    private ObservableList<BookSummary> books;
+    private TypeAhead<BookSummary> typeAhead;
     private BookDto selectedBookForEdit;
 
     @FXML
@@ -65,21 +80,44 @@ public class ManageBookController {
         bookListView.setItems(books);
         bookListView.setCellFactory(lv ->
                 new ManageBookController.BookCell());
+        loadingIndicator.visibleProperty().bind(loader.busyProperty());
+        editPanel.disableProperty().bind(saving);
 
-        loadAllBooks();
+        typeAhead = TypeAhead.<BookSummary>builder()
+                .loader(loader)
+                .all(() -> new PagedList<>(loader, bookService.findPageIndex(PAGE_SIZE), bookService::findSummaries))
+                .search(query -> bookService.searchByTitle(query, SEARCH_LIMIT))
+                .limit(SEARCH_LIMIT)
+                .refine((book, query) -> TypeAhead.containsIgnoreCase(book.title(), query))
+                .onResults(this::showBooks)
+                .onFailure(this::showError)
+                .build();
+        reloadBooks();
 
         editNumberOfPagesSpinner.setEditable(true);
 
         editFormatComboBox.setItems(FXCollections.observableArrayList(Format.values()));
-        editPublisherComboBox.setItems(FXCollections.observableArrayList(publisherService.findAll()));
 
         editAuthorListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         editGenreListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
         editCategoryListView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
 
-        editAuthorListView.setItems(FXCollections.observableArrayList(authorService.findAll()));
-        editCategoryListView.setItems(FXCollections.observableArrayList(categoryService.findAll()));
-        editGenreListView.setItems(FXCollections.observableArrayList(genreService.findAll()));
+        loader.load(publisherService::findAll, publishers -> {
+            editPublisherComboBox.setItems(FXCollections.observableArrayList(publishers));
+            selectReferences();
+        }, this::showError);
+        loader.load(authorService::findAll, authors -> {
+            editAuthorListView.setItems(FXCollections.observableArrayList(authors));
+            selectReferences();
+        }, this::showError);
+        loader.load(categoryService::findAll, categories -> {
+            editCategoryListView.setItems(FXCollections.observableArrayList(categories));
+            selectReferences();
+        }, this::showError);
+        loader.load(genreService::findAll, genres -> {
+            editGenreListView.setItems(FXCollections.observableArrayList(genres));
+            selectReferences();
+        }, this::showError);
 
         editPanel.setVisible(false);
         editPanel.setManaged(false);
@@ -92,18 +130,65 @@ public class ManageBookController {
 
     @FXML
     public void filterBooks(KeyEvent keyEvent) {
-        String filterText = filterTextField.getText();
-        if (filterText.isBlank()) {
-            loadAllBooks();
+        typeAhead.query(filterTextField.getText());
+    }
+
+    private void reloadBooks() {
+        typeAhead.refresh();
+    }
+
+    private void showBooks(List<BookSummary> found) {
+        if (found instanceof PagedList<BookSummary> paged) {
+            bookListView.setItems(paged);
         } else {
-            books.clear();
-            books.addAll(bookService.findByTitle(filterText));
+            books.setAll(found);
+            bookListView.setItems(books);
+        }
+    }
+
+    private void showError(Throwable error) {
+        if (bookListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                bookListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
+    }
+
+    private void showBook(BookDto bookDto) {
+        selectedBookForEdit = bookDto;
+
+        editBookTitleField.setText(bookDto.getTitle());
+        editIsbnField.setText(bookDto.getIsbn());
+        editLanguageField.setText(bookDto.getLanguage());
+        editNumberOfPagesSpinner.setValueFactory(
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(
+                        1, Integer.MAX_VALUE, bookDto.getNumberOfPages())
+        );
+        editFormatComboBox.setValue(bookDto.getFormat());
+        selectReferences();
+
+        editPanel.setVisible(true);
+        editPanel.setManaged(true);
+    }
+
+    private void selectReferences() {
+        if (selectedBookForEdit == null) {
+            return;
         }
+        editPublisherComboBox.setValue(selectedBookForEdit.getPublisher());
+        select(editAuthorListView, selectedBookForEdit.getAuthors());
+        select(editGenreListView, selectedBookForEdit.getGenres());
+        select(editCategoryListView, selectedBookForEdit.getCategories());
     }
 
-    private void loadAllBooks() {
-        books.clear();
-        books.addAll(bookService.findAll());
+    private static <T> void select(ListView<T> listView, Collection<T> items) {
+        listView.getSelectionModel().clearSelection();
+        for (T item : items) {
+            listView.getSelectionModel().select(item);
+        }
     }
 
     @FXML
@@ -120,31 +205,40 @@ public class ManageBookController {
         selectedBookForEdit.setPublisher(editPublisherComboBox.getSelectionModel().getSelectedItem());
         selectedBookForEdit.setFormat(editFormatComboBox.getSelectionModel().getSelectedItem());
 
-        try {
-            bookService.update(selectedBookForEdit);
+        BookDto bookDto = selectedBookForEdit;
+        Window window = ((Node) actionEvent.getSource()).getScene().getWindow();
+        // Not in the edit slot: cancelling or opening another book must not interrupt the update.
+        editLoad.cancel();
+        saving.set(true);
+        loader.load(() -> bookService.update(bookDto), updated -> {
+            saving.set(false);
             NotifyDialogController.showNotification(
-                    ((Node) actionEvent.getSource()).getScene().getWindow(),
+                    window,
                     "Book successfully updated",
                     NotifyDialogController.NotificationType.SUCCESS
             );
-        } catch (BookNotFoundException | IllegalArgumentException e) {
+            reloadBooks();
+            cancelEdit(null);
+        }, error -> {
+            saving.set(false);
             NotifyDialogController.showNotification(
-                    ((Node) actionEvent.getSource()).getScene().getWindow(),
-                    e.getMessage(),
+                    window,
+                    error.getMessage(),
                     NotifyDialogController.NotificationType.ERROR
             );
-        }
-        loadAllBooks();
-        cancelEdit(null);
+            reloadBooks();
+            cancelEdit(null);
+        });
     }
 
     @FXML
     public void cancelEdit(ActionEvent actionEvent) {
+        editLoad.cancel();
         selectedBookForEdit = null;
-        editGenreListView.setItems(FXCollections.emptyObservableList());
-        editCategoryListView.setItems(FXCollections.emptyObservableList());
-        editPublisherComboBox.setItems(FXCollections.emptyObservableList());
-        editAuthorListView.setItems(FXCollections.emptyObservableList());
+        editGenreListView.getSelectionModel().clearSelection();
+        editCategoryListView.getSelectionModel().clearSelection();
+        editPublisherComboBox.getSelectionModel().clearSelection();
+        editAuthorListView.getSelectionModel().clearSelection();
         editBookTitleField.clear();
         editIsbnField.clear();
         editLanguageField.clear();
@@ -152,7 +246,7 @@ public class ManageBookController {
         editPanel.setManaged(false);
     }
 
-    public class BookCell extends ListCell<BookDto> {
+    public class BookCell extends ListCell<BookSummary> {
         private final HBox hbox = new HBox();
         private final Label nameLabel = new Label();
         private final Button editButton = new Button("Edit");
@@ -163,48 +257,30 @@ public class ManageBookController {
             hbox.setSpacing(10);
             HBox.setHgrow(spacer, Priority.ALWAYS);
             hbox.getChildren().addAll(nameLabel, spacer, editButton);
+            editButton.disableProperty().bind(saving);
 
             editButton.setOnAction(event -> {
-                BookDto bookDto = getItem();
-                if (bookDto != null) {
-                    selectedBookForEdit = bookDto;
-
-                    editBookTitleField.setText(bookDto.getTitle());
-                    editIsbnField.setText(bookDto.getIsbn());
-                    editLanguageField.setText(bookDto.getLanguage());
-                    editNumberOfPagesSpinner.setValueFactory(
-                            new SpinnerValueFactory.IntegerSpinnerValueFactory(
-                                    1, Integer.MAX_VALUE, bookDto.getNumberOfPages())
-                    );
-                    editFormatComboBox.setValue(bookDto.getFormat());
-                    editPublisherComboBox.setValue(publisherService.findByBook(bookDto));
-
-                    for (AuthorDto author : authorService.findByBook(bookDto)) {
-                        editAuthorListView.getSelectionModel().select(author);
-                    }
-
-                    for (GenreDto genre : genreService.findByBook(bookDto)) {
-                        editGenreListView.getSelectionModel().select(genre);
-                    }
-
-                    for (CategoryDto category : categoryService.findByBook(bookDto)) {
-                        editCategoryListView.getSelectionModel().select(category);
-                    }
-
-                    editPanel.setVisible(true);
-                    editPanel.setManaged(true);
+                if (getItem() != null) {
+                    long id = getItem().id();
+                    editLoad.load(() -> bookService.findFullById(id), ManageBookController.this::showBook, error -> {
+                        showError(error);
+                        reloadBooks();
+                    });
                 }
             });
         }
 
         @Override
-        protected void updateItem(BookDto bookDto, boolean b) {
-            super.updateItem(bookDto, b);
+        protected void updateItem(BookSummary bookSummary, boolean b) {
+            super.updateItem(bookSummary, b);
             setText(null);
-            if (b || bookDto == null) {
+            if (b) {
+                setGraphic(null);
+            } else if (bookSummary == null) {
+                setText("Loading...");
                 setGraphic(null);
             } else {
-                nameLabel.setText(bookDto.toString());
+                nameLabel.setText(bookSummary.toString());
                 setGraphic(hbox);
             }
         }
@@ -12,17 +12,18 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
+import org.abrohamovich.controller.TypeAhead;
 import org.abrohamovich.dto.CategoryDto;
 import org.abrohamovich.exceptions.CategoryNotFoundException;
 import org.abrohamovich.service.interfaces.CategoryService;
 
-import java.util.List;
-
 public class ManageCategoryController {
 
     private final CategoryService categoryService;
+    private final BackgroundLoader loader = new BackgroundLoader();
     @FXML
     public VBox editPanel;
     @FXML
@@ -34,6 +35,7 @@ public class ManageCategoryController {
     @FXML
     public TextField descriptionField;
     private ObservableList<CategoryDto> categories;
+    private TypeAhead<CategoryDto> typeAhead;
     private CategoryDto selectedCategoryForEdit;
 
     public ManageCategoryController(CategoryService categoryService) {
@@ -51,7 +53,15 @@ public class ManageCategoryController {
         categoryListView.setItems(categories);
         categoryListView.setCellFactory(lv ->
                 new ManageCategoryController.CategoryCell());
-        loadAllCategories();
+        typeAhead = TypeAhead.<CategoryDto>builder()
+                .loader(loader)
+                .all(categoryService::findAll)
+                .search(categoryService::findByNameLike)
+                .refine((category, query) -> TypeAhead.containsIgnoreCase(category.getName(), query))
+                .onResults(categories::setAll)
+                .onFailure(this::showError)
+                .build();
+        reloadCategories();
 
         nameField.textProperty().addListener((_, oldValue, newValue) -> {
             if (!newValue.matches("[-`'\\p{L}\\p{M} ]*")) {
@@ -65,19 +75,22 @@ public class ManageCategoryController {
 
     @FXML
     public void filterCategories(KeyEvent keyEvent) {
-        String filterName = filterTextField.getText().trim();
-        if (filterName.isEmpty()) {
-            loadAllCategories();
-        } else {
-            List<CategoryDto> foundCategory = categoryService.findByNameLike(filterName);
-            categories.clear();
-            categories.addAll(foundCategory);
-        }
+        typeAhead.query(filterTextField.getText());
     }
 
-    private void loadAllCategories() {
-        List<CategoryDto> allCategories = categoryService.findAll();
-        categories.setAll(allCategories);
+    private void reloadCategories() {
+        typeAhead.refresh();
+    }
+
+    private void showError(Throwable error) {
+        if (categoryListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                categoryListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
     }
 
     @FXML
@@ -101,7 +114,7 @@ public class ManageCategoryController {
                     NotifyDialogController.NotificationType.ERROR
             );
         }
-        loadAllCategories();
+        reloadCategories();
         cancelEdit(null);
     }
 
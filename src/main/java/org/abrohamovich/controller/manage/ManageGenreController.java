@@ -12,17 +12,18 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
+import org.abrohamovich.controller.TypeAhead;
 import org.abrohamovich.dto.GenreDto;
 import org.abrohamovich.exceptions.GenreNotFoundException;
 import org.abrohamovich.service.interfaces.GenreService;
 
-import java.util.List;
-
 public class ManageGenreController {
 
     private final GenreService genreService;
+    private final BackgroundLoader loader = new BackgroundLoader();
     @FXML
     public VBox editPanel;
     @FXML
@@ -34,6 +35,7 @@ public class ManageGenreController {
     @FXML
     public TextField descriptionField;
     private ObservableList<GenreDto> genres;
+    private TypeAhead<GenreDto> typeAhead;
     private GenreDto selectedGenreForEdit;
 
     public ManageGenreController(GenreService genreService) {
@@ -45,7 +47,15 @@ public class ManageGenreController {
         genres = FXCollections.observableArrayList();
         genreListView.setItems(genres);
         genreListView.setCellFactory(lv -> new GenreCell());
-        loadAllGenres();
+        typeAhead = TypeAhead.<GenreDto>builder()
+                .loader(loader)
+                .all(genreService::findAll)
+                .search(genreService::findByNameLike)
+                .refine((genre, query) -> TypeAhead.containsIgnoreCase(genre.getName(), query))
+                .onResults(genres::setAll)
+                .onFailure(this::showError)
+                .build();
+        reloadGenres();
 
         nameField.textProperty().addListener((_, oldValue, newValue) -> {
             if (!newValue.matches("[-`'\\p{L}\\p{M} ]*")) {
@@ -59,19 +69,22 @@ public class ManageGenreController {
 
     @FXML
     public void filterGenres(KeyEvent keyEvent) {
-        String filterName = filterTextField.getText().trim();
-        if (filterName.isEmpty()) {
-            loadAllGenres();
-        } else {
-            List<GenreDto> foundGenres = genreService.findByNameLike(filterName);
-            genres.clear();
-            genres.addAll(foundGenres);
-        }
+        typeAhead.query(filterTextField.getText());
     }
 
-    private void loadAllGenres() {
-        List<GenreDto> allGenres = genreService.findAll();
-        genres.setAll(allGenres);
+    private void reloadGenres() {
+        typeAhead.refresh();
+    }
+
+    private void showError(Throwable error) {
+        if (genreListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                genreListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
     }
 
     @FXML
@@ -100,7 +113,7 @@ public class ManageGenreController {
                     NotifyDialogController.NotificationType.ERROR
             );
         }
-        loadAllGenres();
+        reloadGenres();
         cancelEdit(null);
     }
 
@@ -13,9 +13,13 @@ import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
+import org.abrohamovich.controller.PagedList;
+import org.abrohamovich.controller.TypeAhead;
 import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.dto.PatronSummary;
 import org.abrohamovich.exceptions.PatronNotFoundException;
 import org.abrohamovich.service.interfaces.PatronService;
 
@@ -23,12 +27,15 @@ import java.util.List;
 
 @Slf4j
 public class ManagePatronController {
+    private static final int SEARCH_LIMIT = 100;
+    private static final int PAGE_SIZE = 200;
 
     private final PatronService patronService;
+    private final BackgroundLoader loader = new BackgroundLoader();
     @FXML
     public TextField filterTextField;
     @FXML
-    public ListView<PatronDto> patronListView;
+    public ListView<PatronSummary> patronListView;
     @FXML
     public VBox editPanel;
     @FXML
@@ -45,7 +52,8 @@ public class ManagePatronController {
     public DatePicker dateOfBirthPicker;
     @FXML
     public DatePicker registerDatePicker;
-    private ObservableList<PatronDto> patrons;
+    private ObservableList<PatronSummary> patrons;
+    private TypeAhead<PatronSummary> typeAhead;
     private PatronDto selectedPatronForEdit;
 
     public ManagePatronController(PatronService patronService) {
@@ -58,7 +66,15 @@ public class ManagePatronController {
         patronListView.setItems(patrons);
         patronListView.setCellFactory(lv ->
                 new ManagePatronController.PatronCell());
-        loadAllPatrons();
+        typeAhead = TypeAhead.<PatronSummary>builder()
+                .loader(loader)
+                .all(() -> new PagedList<>(loader, patronService.findPageIndex(PAGE_SIZE), patronService::findSummaries))
+                .search(query -> patronService.search(query, SEARCH_LIMIT))
+                .limit(SEARCH_LIMIT)
+                .onResults(this::showPatrons)
+                .onFailure(this::showError)
+                .build();
+        reloadPatrons();
 
         cardIdField.textProperty().addListener((_, oldValue, newValue) -> {
             if (!newValue.matches("[a-zA-Z0-9-]*")) {
@@ -87,20 +103,31 @@ public class ManagePatronController {
 
     @FXML
     public void filterPatrons(KeyEvent keyEvent) {
-        String filterText = filterTextField.getText();
-        if (filterText.isEmpty()) {
-            loadAllPatrons();
+        typeAhead.query(filterTextField.getText());
+    }
+
+    private void reloadPatrons() {
+        typeAhead.refresh();
+    }
+
+    private void showPatrons(List<PatronSummary> found) {
+        if (found instanceof PagedList<PatronSummary> paged) {
+            patronListView.setItems(paged);
         } else {
-            List<PatronDto> foundPatrons = patronService.findByFullName(filterText);
-            patrons.clear();
-            patrons.addAll(foundPatrons);
+            patrons.setAll(found);
+            patronListView.setItems(patrons);
         }
     }
 
-    private void loadAllPatrons() {
-        patrons.clear();
-        List<PatronDto> allPatrons = patronService.findAll();
-        patrons.addAll(allPatrons);
+    private void showError(Throwable error) {
+        if (patronListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                patronListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
     }
 
     @FXML
@@ -133,7 +160,7 @@ public class ManagePatronController {
                     NotifyDialogController.NotificationType.ERROR
             );
         }
-        loadAllPatrons();
+        reloadPatrons();
         cancelEdit(null);
     }
 
@@ -151,7 +178,7 @@ public class ManagePatronController {
         editPanel.setManaged(false);
     }
 
-    public class PatronCell extends ListCell<PatronDto> {
+    public class PatronCell extends ListCell<PatronSummary> {
         private final HBox hbox = new HBox();
         private final Label nameLabel = new Label();
         private final Button editButton = new Button("Edit");
@@ -164,8 +191,19 @@ public class ManagePatronController {
             hbox.getChildren().addAll(nameLabel, spacer, editButton);
 
             editButton.setOnAction(event -> {
-                PatronDto patronDto = getItem();
-                if (patronDto != null) {
+                if (getItem() != null) {
+                    PatronDto patronDto;
+                    try {
+                        patronDto = patronService.findById(getItem().id());
+                    } catch (PatronNotFoundException e) {
+                        NotifyDialogController.showNotification(
+                                getListView().getScene().getWindow(),
+                                e.getMessage(),
+                                NotifyDialogController.NotificationType.ERROR
+                        );
+                        reloadPatrons();
+                        return;
+                    }
                     selectedPatronForEdit = patronDto;
                     fullNameField.setText(patronDto.getFullName());
                     cardIdField.setText(patronDto.getCardId());
@@ -181,13 +219,16 @@ public class ManagePatronController {
         }
 
         @Override
-        protected void updateItem(PatronDto patronDto, boolean b) {
-            super.updateItem(patronDto, b);
+        protected void updateItem(PatronSummary patronSummary, boolean b) {
+            super.updateItem(patronSummary, b);
             setText(null);
-            if (b || patronDto == null) {
+            if (b) {
+                setGraphic(null);
+            } else if (patronSummary == null) {
+                setText("Loading...");
                 setGraphic(null);
             } else {
-                nameLabel.setText(patronDto.toString());
+                nameLabel.setText(patronSummary.toString());
                 setGraphic(hbox);
             }
         }
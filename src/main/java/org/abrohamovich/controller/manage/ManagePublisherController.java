@@ -12,17 +12,18 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
+import org.abrohamovich.controller.BackgroundLoader;
 import org.abrohamovich.controller.MainController;
 import org.abrohamovich.controller.NotifyDialogController;
+import org.abrohamovich.controller.TypeAhead;
 import org.abrohamovich.dto.PublisherDto;
 import org.abrohamovich.exceptions.PublisherNotFoundException;
 import org.abrohamovich.service.interfaces.PublisherService;
 
-import java.util.List;
-
 public class ManagePublisherController {
 
     private final PublisherService publisherService;
+    private final BackgroundLoader loader = new BackgroundLoader();
     @FXML
     public TextField filterTextField;
     @FXML
@@ -40,6 +41,7 @@ public class ManagePublisherController {
     @FXML
     public TextField websiteField;
     private ObservableList<PublisherDto> publishers;
+    private TypeAhead<PublisherDto> typeAhead;
     private PublisherDto selectedPublisherForEdit;
 
     public ManagePublisherController(PublisherService publisherService) {
@@ -52,7 +54,15 @@ public class ManagePublisherController {
         publisherListView.setItems(publishers);
         publisherListView.setCellFactory(lb ->
                 new ManagePublisherController.PublisherCell());
-        loadAllPublishers();
+        typeAhead = TypeAhead.<PublisherDto>builder()
+                .loader(loader)
+                .all(publisherService::findAll)
+                .search(publisherService::findByNameLike)
+                .refine((publisher, query) -> TypeAhead.containsIgnoreCase(publisher.getName(), query))
+                .onResults(publishers::setAll)
+                .onFailure(this::showError)
+                .build();
+        reloadPublishers();
 
         nameField.textProperty().addListener((_, oldValue, newValue) -> {
             if (!newValue.matches("[-`'\\p{L}\\p{M} ]*")) {
@@ -78,20 +88,22 @@ public class ManagePublisherController {
 
     @FXML
     public void filterPublishers(KeyEvent keyEvent) {
-        String filterName = filterTextField.getText().trim();
-        if (filterName.isEmpty()) {
-            loadAllPublishers();
-        } else {
-            List<PublisherDto> foundAuthors = publisherService.findByNameLike(filterName);
-            publishers.clear();
-            publishers.addAll(foundAuthors);
-        }
+        typeAhead.query(filterTextField.getText());
     }
 
-    private void loadAllPublishers() {
-        publishers.clear();
-        List<PublisherDto> allPublishers = publisherService.findAll();
-        publishers.addAll(allPublishers);
+    private void reloadPublishers() {
+        typeAhead.refresh();
+    }
+
+    private void showError(Throwable error) {
+        if (publisherListView.getScene() == null) {
+            return;
+        }
+        NotifyDialogController.showNotification(
+                publisherListView.getScene().getWindow(),
+                error.getMessage(),
+                NotifyDialogController.NotificationType.ERROR
+        );
     }
 
     @FXML
@@ -123,7 +135,7 @@ public class ManagePublisherController {
                     NotifyDialogController.NotificationType.ERROR
             );
         }
-        loadAllPublishers();
+        reloadPublishers();
         cancelEdit(null);
     }
 
@@ -0,0 +1,30 @@
+package org.abrohamovich.dataset;
+
+import org.abrohamovich.config.EntityManagerFactoryProvider;
+
+/**
+ * Command-line entry point for synthetic datasets:
+ * {@code DatasetCommand <small|medium|large|xl> [seed] [parallelism]}.
+ * Writes into the configured database, which is expected to be empty.
+ */
+public class DatasetCommand {
+    private static final long DEFAULT_SEED = 42;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: DatasetCommand <small|medium|large|xl> [seed] [parallelism]");
+            System.exit(2);
+        }
+        DatasetSize size = DatasetSize.named(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        EntityManagerFactoryProvider.initialize("library");
+        try {
+            DatasetReport report = new DatasetGenerator(EntityManagerFactoryProvider.getReadWriteRouter(), size, seed,
+                    parallelism, DatasetGenerator.DEFAULT_CHUNK_SIZE).generate();
+            System.out.println(report);
+        } finally {
+            EntityManagerFactoryProvider.closeEntityManagerFactory();
+        }
+    }
+}
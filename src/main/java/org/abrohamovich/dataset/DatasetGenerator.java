@@ -0,0 +1,322 @@
+package org.abrohamovich.dataset;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.entity.*;
+import org.abrohamovich.exceptions.EntityException;
+import org.abrohamovich.repository.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Fills an empty database with a synthetic catalog of the given {@link DatasetSize}. Every row is
+ * derived from the seed and its own index alone, so the same seed always produces the same data
+ * regardless of chunk size and thread scheduling. Books, patrons and loans are written in chunks
+ * on {@code parallelism} threads, books through the bulk {@link BookRepository#saveAll}. Genres,
+ * categories, authors and publishers are drawn with a Zipf-like skew, as are the patrons holding
+ * loans, so a few of each are very popular.
+ */
+@Slf4j
+public class DatasetGenerator {
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+    /**
+     * Fixed reference date of all generated dates, so that datasets do not depend on the day they are built.
+     */
+    public static final LocalDate AS_OF = LocalDate.of(2025, 1, 1);
+
+    private static final long PUBLISHER = 1;
+    private static final long AUTHOR = 2;
+    private static final long PATRON = 3;
+    private static final long BOOK = 4;
+    private static final long LOAN = 5;
+    private static final String[] GENRES = {"Fantasy", "Science Fiction", "Mystery", "Thriller", "Romance",
+            "Historical Fiction", "Horror", "Biography", "Poetry", "Drama", "Adventure", "Satire"};
+    private static final String[] CATEGORIES = {"Novel", "Textbook", "Reference", "Children", "Young Adult",
+            "Essay", "Short Stories", "Cookbook", "Travel", "Self-help", "Art", "Comics"};
+    private static final String[] FIRST_NAMES = {"Olena", "Taras", "Jane", "Gabriel", "Haruki", "Chinua", "Isabel",
+            "Leo", "Virginia", "Jorge", "Toni", "Stanislaw", "Ursula", "Fyodor", "Lesya", "Ivan"};
+    private static final String[] LAST_NAMES = {"Shevchenko", "Austen", "Marquez", "Murakami", "Achebe", "Allende",
+            "Tolstoy", "Woolf", "Borges", "Morrison", "Lem", "Le Guin", "Dostoevsky", "Ukrainka", "Franko", "Eco"};
+    private static final String[] ADJECTIVES = {"Silent", "Hidden", "Last", "Broken", "Golden", "Distant", "Lost",
+            "Burning", "Quiet", "Endless", "Forgotten", "Crimson", "Northern", "Secret", "Wild", "Winter"};
+    private static final String[] NOUNS = {"River", "Garden", "Kingdom", "Letter", "Mountain", "City", "Shadow",
+            "Harbor", "Song", "Map", "Orchard", "Bridge", "Voyage", "Mirror", "Forest", "Island"};
+    private static final String[] LANGUAGES = {"English", "Ukrainian", "Spanish", "German", "French", "Polish",
+            "Japanese", "Italian"};
+    private static final String[] NATIONALITIES = {"Ukrainian", "British", "American", "Colombian", "Japanese",
+            "Nigerian", "Chilean", "Polish"};
+
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+    private final CategoryRepository categoryRepository;
+    private final PublisherRepository publisherRepository;
+    private final PatronRepository patronRepository;
+    private final BookRepository bookRepository;
+    private final CirculationRepository circulationRepository;
+    private final DatasetSize size;
+    private final long seed;
+    private final int parallelism;
+    private final int chunkSize;
+
+    public DatasetGenerator(ReadWriteRouter router, DatasetSize size, long seed) {
+        this(router, size, seed, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public DatasetGenerator(ReadWriteRouter router, DatasetSize size, long seed, int parallelism, int chunkSize) {
+        if (parallelism < 1 || chunkSize < 1) {
+            log.error("Invalid argument: parallelism and chunkSize must be positive");
+            throw new IllegalArgumentException("Invalid argument: parallelism and chunkSize must be positive");
+        }
+        this.authorRepository = new AuthorRepository(router);
+        this.genreRepository = new GenreRepository(router);
+        this.categoryRepository = new CategoryRepository(router);
+        this.publisherRepository = new PublisherRepository(router);
+        this.patronRepository = new PatronRepository(router);
+        this.bookRepository = new BookRepository(router);
+        this.circulationRepository = new CirculationRepository(router);
+        this.size = size;
+        this.seed = seed;
+        this.parallelism = parallelism;
+        this.chunkSize = chunkSize;
+    }
+
+    public DatasetReport generate() {
+        long started = System.nanoTime();
+        log.info("Generating dataset {} with seed {} on {} threads", size, seed, parallelism);
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Genre> genres = requireAll("genres",
+                    genreRepository.saveAll(rows(0, size.genres(), this::genre)), size.genres());
+            List<Category> categories = requireAll("categories",
+                    categoryRepository.saveAll(rows(0, size.categories(), this::category)), size.categories());
+            List<Publisher> publishers = requireAll("publishers",
+                    publisherRepository.saveAll(rows(0, size.publishers(), this::publisher)), size.publishers());
+            List<Author> authors = new ArrayList<>(size.authors());
+            for (Future<List<Author>> chunk : inChunks(pool, size.authors(), (from, to) ->
+                    requireAll("authors", authorRepository.saveAll(rows(from, to, this::author)), to - from))) {
+                authors.addAll(join(chunk));
+            }
+            log.info("Generated {} genres, {} categories, {} publishers and {} authors",
+                    genres.size(), categories.size(), publishers.size(), authors.size());
+
+            long[] patronIds = new long[size.patrons()];
+            for (Future<?> chunk : inChunks(pool, size.patrons(), (from, to) -> {
+                List<Patron> saved = requireAll("patrons", patronRepository.saveAll(rows(from, to, this::patron)), to - from);
+                for (int i = from; i < to; i++) {
+                    patronIds[i] = saved.get(i - from).getId();
+                }
+                return null;
+            })) {
+                join(chunk);
+            }
+            log.info("Generated {} patrons", patronIds.length);
+
+            Catalog catalog = new Catalog(genres, categories, publishers, authors);
+            long[] bookIds = new long[size.books()];
+            for (Future<?> chunk : inChunks(pool, size.books(), (from, to) -> {
+                List<Book> saved = requireAll("books", bookRepository.saveAll(
+                        rows(from, to, i -> book(i, catalog))), to - from);
+                for (int i = from; i < to; i++) {
+                    bookIds[i] = saved.get(i - from).getId();
+                }
+                return null;
+            })) {
+                join(chunk);
+            }
+            log.info("Generated {} books", bookIds.length);
+
+            Skew readers = new Skew(size.patrons(), 1.1);
+            int stride = strideFor(size.books());
+            long loans = 0;
+            for (Future<Integer> chunk : inChunks(pool, size.loans(), (from, to) -> circulationRepository.checkoutAll(
+                    rows(from, to, k -> loan(k, stride, bookIds, patronIds, readers))))) {
+                loans += join(chunk);
+            }
+            log.info("Generated {} loans", loans);
+
+            DatasetReport report = new DatasetReport(bookIds.length, patronIds.length, authors.size(), publishers.size(),
+                    genres.size(), categories.size(), loans, Duration.ofNanos(System.nanoTime() - started));
+            log.info("Generated dataset: {}", report);
+            return report;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Genre genre(int i) {
+        return Genre.builder().name(numbered(GENRES, i)).description("Synthetic genre " + i).build();
+    }
+
+    private Category category(int i) {
+        return Category.builder().name(numbered(CATEGORIES, i)).description("Synthetic category " + i).build();
+    }
+
+    private Publisher publisher(int i) {
+        SplittableRandom random = random(PUBLISHER, i);
+        return Publisher.builder().name("Publisher " + (i + 1))
+                .foundationDate(AS_OF.minusDays(3_650 + random.nextInt(73_000)))
+                .address((i + 1) + " Publishing Row")
+                .email("contact@publisher" + (i + 1) + ".example")
+                .website("https://publisher" + (i + 1) + ".example")
+                .build();
+    }
+
+    private Author author(int i) {
+        SplittableRandom random = random(AUTHOR, i);
+        return Author.builder()
+                .fullName(pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random))
+                .dateOfBirth(AS_OF.minusDays(7_300 + random.nextInt(36_500)))
+                .sex(random.nextBoolean() ? Sex.FEMALE : Sex.MALE)
+                .nationality(pick(NATIONALITIES, random))
+                .build();
+    }
+
+    private Patron patron(int i) {
+        SplittableRandom random = random(PATRON, i);
+        String number = String.format("%08d", i + 1);
+        return Patron.builder()
+                .cardId("P" + number)
+                .fullName(pick(FIRST_NAMES, random) + " " + pick(LAST_NAMES, random))
+                .email("patron" + number + "@library.example")
+                .phone("+380" + number)
+                .address((i + 1) + " " + pick(NOUNS, random) + " Street")
+                .dateOfBirth(AS_OF.minusDays(5_000 + random.nextInt(25_000)))
+                .registerDate(AS_OF.minusDays(random.nextInt(3_650)))
+                .build();
+    }
+
+    private Book book(int i, Catalog catalog) {
+        SplittableRandom random = random(BOOK, i);
+        String title = "The " + pick(ADJECTIVES, random) + " " + pick(NOUNS, random)
+                + (random.nextInt(3) == 0 ? " of the " + pick(NOUNS, random) : "");
+        return Book.builder()
+                .title(title)
+                .isbn(String.format("979-0-%09d", i + 1))
+                .language(LANGUAGES[catalog.languages.sample(random)])
+                .numberOfPages(48 + random.nextInt(952))
+                .format(Format.values()[random.nextInt(Format.values().length)])
+                .status(random.nextInt(50) == 0 ? Status.NOT_AVAILABLE : Status.AVAILABLE)
+                .receiptDate(AS_OF.minusDays(random.nextInt(7_300)))
+                .publisher(catalog.publishers.get(catalog.publisherSkew.sample(random)))
+                .authors(sample(catalog.authors, catalog.authorSkew, 1 + (random.nextInt(10) == 0 ? random.nextInt(3) : 0), random))
+                .genres(sample(catalog.genres, catalog.genreSkew, 1 + random.nextInt(3), random))
+                .categories(sample(catalog.categories, catalog.categorySkew, 1 + random.nextInt(2), random))
+                .build();
+    }
+
+    private CirculationRepository.Loan loan(int k, int stride, long[] bookIds, long[] patronIds, Skew readers) {
+        SplittableRandom random = random(LOAN, k);
+        int book = (int) ((long) k * stride % bookIds.length);
+        return new CirculationRepository.Loan(bookIds[book], patronIds[readers.sample(random)],
+                AS_OF.plusDays(random.nextInt(35) - 14));
+    }
+
+    /**
+     * Loan {@code k} goes to book {@code k * stride mod books}; a stride coprime to the book count
+     * visits each book at most once, so loans never collide.
+     */
+    private static int strideFor(int books) {
+        int stride = 7_919;
+        while (gcd(stride, books) != 1) {
+            stride++;
+        }
+        return stride % books == 0 ? 1 : stride % books;
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    private <T> List<Future<T>> inChunks(ExecutorService pool, int count, Chunk<T> chunk) {
+        List<Future<T>> futures = new ArrayList<>();
+        for (int from = 0; from < count; from += chunkSize) {
+            int start = from;
+            int end = Math.min(count, from + chunkSize);
+            futures.add(pool.submit(() -> chunk.write(start, end)));
+        }
+        return futures;
+    }
+
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EntityException("Dataset generation was interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new EntityException("Something went wrong while generating the dataset: " + e.getCause().getMessage());
+        }
+    }
+
+    private static <T> List<T> requireAll(String table, List<T> saved, int expected) {
+        if (saved.size() != expected) {
+            log.error("Failed to write {} {}", expected, table);
+            throw new EntityException("Something went wrong while writing " + expected + " " + table);
+        }
+        return saved;
+    }
+
+    private static <T> List<T> rows(int from, int to, IntFunction<T> row) {
+        List<T> rows = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            rows.add(row.apply(i));
+        }
+        return rows;
+    }
+
+    private static <T> Set<T> sample(List<T> values, Skew skew, int count, SplittableRandom random) {
+        Set<T> picked = new HashSet<>();
+        for (int attempt = 0; attempt < count * 4 && picked.size() < Math.min(count, values.size()); attempt++) {
+            picked.add(values.get(skew.sample(random)));
+        }
+        return picked;
+    }
+
+    private static String numbered(String[] names, int i) {
+        return i < names.length ? names[i] : names[i % names.length] + " " + (i / names.length + 1);
+    }
+
+    private static String pick(String[] values, SplittableRandom random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    private interface Chunk<T> {
+        T write(int from, int to);
+    }
+
+    private static final class Catalog {
+        private final List<Genre> genres;
+        private final List<Category> categories;
+        private final List<Publisher> publishers;
+        private final List<Author> authors;
+        private final Skew genreSkew;
+        private final Skew categorySkew;
+        private final Skew publisherSkew;
+        private final Skew authorSkew;
+        private final Skew languages = new Skew(LANGUAGES.length, 1.4);
+
+        private Catalog(List<Genre> genres, List<Category> categories, List<Publisher> publishers, List<Author> authors) {
+            this.genres = genres;
+            this.categories = categories;
+            this.publishers = publishers;
+            this.authors = authors;
+            this.genreSkew = new Skew(genres.size(), 1.0);
+            this.categorySkew = new Skew(categories.size(), 1.0);
+            this.publisherSkew = new Skew(publishers.size(), 1.1);
+            this.authorSkew = new Skew(authors.size(), 0.9);
+        }
+    }
+}
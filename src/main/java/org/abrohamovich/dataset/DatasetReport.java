@@ -0,0 +1,12 @@
+package org.abrohamovich.dataset;
+
+import java.time.Duration;
+
+public record DatasetReport(long books, long patrons, long authors, long publishers, long genres, long categories,
+                            long loans, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long rows = books + patrons + authors + publishers + genres + categories;
+        return elapsed.isZero() ? 0 : rows * 1_000_000_000.0 / elapsed.toNanos();
+    }
+}
@@ -0,0 +1,30 @@
+package org.abrohamovich.dataset;
+
+import java.util.Locale;
+
+/**
+ * Row counts of a generated dataset. The named presets grow roughly tenfold per step.
+ */
+public record DatasetSize(int books, int patrons, int authors, int publishers, int genres, int categories, int loans) {
+    public static final DatasetSize SMALL = new DatasetSize(10_000, 1_000, 500, 50, 40, 60, 2_000);
+    public static final DatasetSize MEDIUM = new DatasetSize(200_000, 20_000, 5_000, 300, 80, 120, 40_000);
+    public static final DatasetSize LARGE = new DatasetSize(2_000_000, 200_000, 40_000, 1_000, 120, 200, 400_000);
+    public static final DatasetSize XL = new DatasetSize(10_000_000, 500_000, 150_000, 3_000, 150, 250, 1_500_000);
+
+    public DatasetSize {
+        if (books < 1 || patrons < 1 || authors < 1 || publishers < 1 || genres < 1 || categories < 1
+                || loans < 0 || loans > books) {
+            throw new IllegalArgumentException("Invalid argument: dataset sizes must be positive and loans at most books");
+        }
+    }
+
+    public static DatasetSize named(String name) {
+        return switch (name.toLowerCase(Locale.ROOT)) {
+            case "small" -> SMALL;
+            case "medium" -> MEDIUM;
+            case "large" -> LARGE;
+            case "xl" -> XL;
+            default -> throw new IllegalArgumentException("Invalid argument: unknown dataset size " + name);
+        };
+    }
+}
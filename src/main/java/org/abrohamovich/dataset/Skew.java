@@ -0,0 +1,29 @@
+package org.abrohamovich.dataset;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf-like sampler over {@code 0..n-1}: rank {@code k} is drawn with weight {@code 1 / (k + 1)^exponent},
+ * so a few values are very common and most are rare.
+ */
+final class Skew {
+    private final double[] cumulative;
+
+    Skew(int n, double exponent) {
+        cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,9 @@
+package org.abrohamovich.dto;
+
+public record AuthorSummary(long id, String fullName, String nationality) {
+
+    @Override
+    public String toString() {
+        return fullName + ", " + nationality;
+    }
+}
@@ -31,6 +31,7 @@ public class BookDto {
     private Status status;
     private Format format;
     private LocalDate receiptDate;
+    private LocalDate dueDate;
 
     @Override
     public String toString() {
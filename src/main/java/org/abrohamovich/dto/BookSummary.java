@@ -0,0 +1,9 @@
+package org.abrohamovich.dto;
+
+public record BookSummary(long id, String title) {
+
+    @Override
+    public String toString() {
+        return title;
+    }
+}
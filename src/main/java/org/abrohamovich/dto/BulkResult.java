@@ -0,0 +1,27 @@
+package org.abrohamovich.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@ToString
+public class BulkResult<T> {
+    private final List<T> succeeded;
+    private final List<RowFailure> failures;
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    @ToString
+    public static class RowFailure {
+        private final int index;
+        private final String message;
+    }
+}
@@ -0,0 +1,9 @@
+package org.abrohamovich.dto;
+
+public record CategorySummary(long id, String name) {
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,9 @@
+package org.abrohamovich.dto;
+
+public record PatronSummary(long id, String fullName, String cardId) {
+
+    @Override
+    public String toString() {
+        return fullName + ", '" + cardId + "'";
+    }
+}
@@ -7,17 +7,42 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Status, patron and due date are circulation state. Entity merges never write them: they are set
+ * on insert (including by {@code BookBulkLoader}) and changed afterwards only by
+ * {@code CirculationRepository}'s conditional updates and its batched {@code checkoutAll}, so saving
+ * an edited book cannot undo a checkout that happened while it was open.
+ */
 @Data
 @Builder
 @Entity
-@Table(name = "t_book")
+@Table(name = "t_book", indexes = {
+        @Index(name = "idx_book_isbn", columnList = "isbn, id"),
+        @Index(name = "idx_book_language", columnList = "language, id"),
+        @Index(name = "idx_book_status", columnList = "status, id"),
+        @Index(name = "idx_book_format", columnList = "format, id"),
+        @Index(name = "idx_book_publisher", columnList = "publisher_id, id"),
+        @Index(name = "idx_book_patron", columnList = "patron_id, id")
+})
+@NamedEntityGraph(name = Book.GRAPH_WITH_AUTHORS, attributeNodes = {
+        @NamedAttributeNode("publisher"),
+        @NamedAttributeNode("patron"),
+        @NamedAttributeNode("authors")
+})
+@NamedEntityGraph(name = Book.GRAPH_WITH_GENRES, attributeNodes = @NamedAttributeNode("genres"))
+@NamedEntityGraph(name = Book.GRAPH_WITH_CATEGORIES, attributeNodes = @NamedAttributeNode("categories"))
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(exclude = {"authors", "genres", "categories", "publisher", "patron"})
 @ToString(of = {"title"})
 public class Book {
+    public static final String GRAPH_WITH_AUTHORS = "Book.withAuthors";
+    public static final String GRAPH_WITH_GENRES = "Book.withGenres";
+    public static final String GRAPH_WITH_CATEGORIES = "Book.withCategories";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "t_book_seq", allocationSize = 50)
     private long id;
     @Column(name = "title", nullable = false)
     private String title;
@@ -28,7 +53,7 @@ public class Book {
     @Column(name = "number_of_pages", nullable = false)
     private int numberOfPages;
     @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.MERGE)
-    @JoinColumn(name = "patron_id", unique = true)
+    @JoinColumn(name = "patron_id", updatable = false)
     private Patron patron;
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "t_book_author",
@@ -56,9 +81,12 @@ public class Book {
     @JoinColumn(name = "publisher_id")
     private Publisher publisher;
     @Enumerated(EnumType.STRING)
+    @Column(name = "status", updatable = false)
     private Status status;
     @Enumerated(EnumType.STRING)
     private Format format;
     @Column(name = "receipt_date", nullable = false)
     private LocalDate receiptDate;
+    @Column(name = "due_date", updatable = false)
+    private LocalDate dueDate;
 }
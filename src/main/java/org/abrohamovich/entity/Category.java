@@ -2,17 +2,22 @@ package org.abrohamovich.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "library-category")
 @Table(name = "t_category")
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
 public class Category {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq")
+    @SequenceGenerator(name = "category_seq", sequenceName = "t_category_seq", allocationSize = 50)
     private long id;
     @Column(name = "name", nullable = false, unique = true)
     private String name;
@@ -2,17 +2,22 @@ package org.abrohamovich.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "library-genre")
 @Table(name = "t_genre")
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
 public class Genre {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "genre_seq")
+    @SequenceGenerator(name = "genre_seq", sequenceName = "t_genre_seq", allocationSize = 50)
     private long id;
     @Column(name = "name", nullable = false, unique = true)
     private String name;
@@ -17,7 +17,8 @@ import java.util.Set;
 @ToString(exclude = "books")
 public class Patron {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "patron_seq")
+    @SequenceGenerator(name = "patron_seq", sequenceName = "t_patron_seq", allocationSize = 50)
     private long id;
     @Column(name = "card_id", nullable = false, unique = true)
     private String cardId;
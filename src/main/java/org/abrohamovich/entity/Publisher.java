@@ -2,19 +2,24 @@ package org.abrohamovich.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Data
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "library-publisher")
 @Table(name = "t_publisher")
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
 public class Publisher {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "publisher_seq")
+    @SequenceGenerator(name = "publisher_seq", sequenceName = "t_publisher_seq", allocationSize = 50)
     private long id;
     @Column(name = "name", nullable = false, unique = true)
     private String name;
@@ -0,0 +1,7 @@
+package org.abrohamovich.exceptions;
+
+public class BookNotAvailableException extends EntityException {
+    public BookNotAvailableException(String message) {
+        super(message);
+    }
+}
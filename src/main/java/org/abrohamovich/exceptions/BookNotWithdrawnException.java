@@ -0,0 +1,7 @@
+package org.abrohamovich.exceptions;
+
+public class BookNotWithdrawnException extends EntityException {
+    public BookNotWithdrawnException(String message) {
+        super(message);
+    }
+}
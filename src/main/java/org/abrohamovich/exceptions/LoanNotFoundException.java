@@ -0,0 +1,7 @@
+package org.abrohamovich.exceptions;
+
+public class LoanNotFoundException extends EntityException {
+    public LoanNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,296 @@
+package org.abrohamovich.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BookSummary;
+import org.abrohamovich.dto.PatronSummary;
+import org.abrohamovich.entity.Status;
+import org.abrohamovich.exceptions.BookNotAvailableException;
+import org.abrohamovich.exceptions.BookNotFoundException;
+import org.abrohamovich.exceptions.LoanNotFoundException;
+import org.abrohamovich.metrics.LatencyHistogram;
+import org.abrohamovich.paging.PageRequest;
+import org.abrohamovich.service.interfaces.BookService;
+import org.abrohamovich.service.interfaces.CirculationService;
+import org.abrohamovich.service.interfaces.PatronService;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Headless load generator: librarians and patrons are simulated as virtual threads that issue
+ * operations through the services at Poisson-distributed arrival times. Latency is measured from
+ * the moment an operation was due, not from when it started, so a stalled system is charged for
+ * the requests that queued up behind it. Books created and loans made by the run are undone at
+ * the end; the catalog is otherwise left as it was.
+ */
+@Slf4j
+public class LoadTest {
+    private static final int PAGE_SIZE = 50;
+
+    private final BookService bookService;
+    private final PatronService patronService;
+    private final CirculationService circulationService;
+    private final LoadTestOptions options;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final Queue<BookDto> createdBooks = new ConcurrentLinkedQueue<>();
+    private final Queue<long[]> loans = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private List<Long> bookIds;
+    private List<Long> patronIds;
+    private List<String> titleTerms;
+    private List<String> nameTerms;
+    private BookDto template;
+    private volatile boolean recording;
+
+    public LoadTest(BookService bookService, PatronService patronService, CirculationService circulationService,
+                    LoadTestOptions options) {
+        if (options.getLibrarians() < 0 || options.getPatrons() < 0 || options.getLibrarians() + options.getPatrons() == 0
+                || options.getLibrarianRate() <= 0 || options.getPatronRate() <= 0) {
+            log.error("Invalid argument: load test needs at least one user and positive rates");
+            throw new IllegalArgumentException("Invalid argument: load test needs at least one user and positive rates");
+        }
+        this.bookService = bookService;
+        this.patronService = patronService;
+        this.circulationService = circulationService;
+        this.options = options;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    public LoadTestReport run() throws InterruptedException {
+        sample();
+        int users = options.getLibrarians() + options.getPatrons();
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        log.info("Load test: {} librarians at {}/s and {} patrons at {}/s, warmup {}, duration {}",
+                options.getLibrarians(), options.getLibrarianRate(), options.getPatrons(), options.getPatronRate(),
+                options.getWarmup(), options.getDuration());
+        try (ExecutorService population = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                boolean librarian = user < options.getLibrarians();
+                Mix mix = new Mix(librarian ? options.getLibrarianMix() : options.getPatronMix());
+                double rate = librarian ? options.getLibrarianRate() : options.getPatronRate();
+                SplittableRandom random = new SplittableRandom(options.getSeed() * 31 + user);
+                population.submit(() -> simulate(mix, rate, random, start, end));
+            }
+            if (!parkUntil(measureFrom)) {
+                throw new InterruptedException("Load test interrupted during warmup");
+            }
+            recording = true;
+            boolean completed = parkUntil(end);
+            recording = false;
+            if (!completed) {
+                throw new InterruptedException("Load test interrupted");
+            }
+        } finally {
+            cleanUp();
+        }
+        Duration elapsed = Duration.ofNanos(options.getDuration().toNanos());
+        Map<Operation, LoadTestReport.Result> results = new EnumMap<>(Operation.class);
+        stats.forEach((operation, s) -> {
+            if (s.latency.getCount() > 0 || s.failed.sum() > 0) {
+                results.put(operation, new LoadTestReport.Result(s.latency.getCount(), s.rejected.sum(),
+                        s.failed.sum(), s.latency.snapshot(), s.latency.percentileDistribution(1e6)));
+            }
+        });
+        LoadTestReport report = new LoadTestReport(elapsed, users, results);
+        log.info("Load test finished: {} operations, {} ops/s", report.completed(), String.format("%.1f", report.throughput()));
+        return report;
+    }
+
+    /**
+     * Parks until {@code deadline} on the {@link System#nanoTime()} clock. A single park may return
+     * early, spuriously or on unpark, so it is repeated. Returns false if the thread was interrupted.
+     */
+    private static boolean parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+        }
+        return !Thread.currentThread().isInterrupted();
+    }
+
+    private void simulate(Mix mix, double rate, SplittableRandom random, long start, long end) {
+        long due = start + nextArrival(rate, random);
+        while (due < end) {
+            if (!parkUntil(due)) {
+                return;
+            }
+            Operation operation = mix.pick(random);
+            boolean measured = recording;
+            Stats s = stats.get(operation);
+            try {
+                boolean accepted = execute(operation, random);
+                if (measured) {
+                    s.latency.record(System.nanoTime() - due);
+                    if (!accepted) {
+                        s.rejected.increment();
+                    }
+                }
+            } catch (RuntimeException e) {
+                if (measured) {
+                    s.failed.increment();
+                }
+                log.debug("{} failed: {}", operation, e.getMessage());
+            }
+            due += nextArrival(rate, random);
+        }
+    }
+
+    /**
+     * Returns {@code false} when the service refused the request for a business reason.
+     */
+    private boolean execute(Operation operation, SplittableRandom random) {
+        switch (operation) {
+            case SEARCH_TITLE -> bookService.findByTitle(pick(titleTerms, random), PageRequest.first(PAGE_SIZE));
+            case SEARCH_PATRON -> patronService.findByFullName(pick(nameTerms, random), PageRequest.first(PAGE_SIZE));
+            case CHECKOUT -> {
+                long bookId = pick(bookIds, random);
+                long patronId = pick(patronIds, random);
+                try {
+                    circulationService.checkout(bookId, patronId);
+                    loans.add(new long[]{bookId, patronId});
+                } catch (BookNotAvailableException | BookNotFoundException e) {
+                    return false;
+                }
+            }
+            case RETURN -> {
+                long[] loan = loans.poll();
+                if (loan == null) {
+                    return false;
+                }
+                try {
+                    circulationService.returnBook(loan[0], loan[1]);
+                } catch (LoanNotFoundException | BookNotFoundException e) {
+                    return false;
+                }
+            }
+            case CREATE_BOOK -> createdBooks.add(bookService.save(newBook()));
+            case DELETE_BOOK -> {
+                BookDto book = createdBooks.poll();
+                if (book == null) {
+                    return false;
+                }
+                bookService.delete(book);
+            }
+        }
+        return true;
+    }
+
+    private void sample() {
+        List<BookSummary> books = bookService.findSummaries(PageRequest.first(options.getSampleSize())).getItems();
+        List<PatronSummary> patrons = patronService.findSummaries(PageRequest.first(options.getSampleSize())).getItems();
+        if (books.isEmpty() || patrons.isEmpty()) {
+            log.error("Invalid state: load test needs books and patrons in the database");
+            throw new IllegalStateException("Load test needs books and patrons in the database");
+        }
+        bookIds = books.stream().map(BookSummary::id).toList();
+        patronIds = patrons.stream().map(PatronSummary::id).toList();
+        titleTerms = terms(books.stream().map(BookSummary::title).toList());
+        nameTerms = terms(patrons.stream().map(PatronSummary::fullName).toList());
+        template = bookService.findFullById(bookIds.getFirst());
+        log.info("Load test sampled {} books and {} patrons", bookIds.size(), patronIds.size());
+    }
+
+    private BookDto newBook() {
+        long n = sequence.incrementAndGet();
+        return BookDto.builder()
+                .title("Load test book " + n)
+                .isbn("LT-" + options.getSeed() + "-" + n)
+                .language(template.getLanguage())
+                .numberOfPages(template.getNumberOfPages())
+                .authors(template.getAuthors())
+                .genres(template.getGenres())
+                .categories(template.getCategories())
+                .publisher(template.getPublisher())
+                .status(Status.AVAILABLE)
+                .format(template.getFormat())
+                .receiptDate(template.getReceiptDate())
+                .build();
+    }
+
+    private void cleanUp() {
+        int returned = 0;
+        int deleted = 0;
+        for (long[] loan; (loan = loans.poll()) != null; returned++) {
+            try {
+                circulationService.returnBook(loan[0], loan[1]);
+            } catch (RuntimeException e) {
+                log.warn("Could not return book {} after the load test: {}", loan[0], e.getMessage());
+            }
+        }
+        for (BookDto book; (book = createdBooks.poll()) != null; deleted++) {
+            try {
+                bookService.delete(book);
+            } catch (RuntimeException e) {
+                log.warn("Could not delete book {} after the load test: {}", book.getId(), e.getMessage());
+            }
+        }
+        log.info("Load test cleanup: returned {} loans, deleted {} books", returned, deleted);
+    }
+
+    private static List<String> terms(List<String> texts) {
+        List<String> terms = texts.stream()
+                .flatMap(text -> Arrays.stream(text.split("\\s+")))
+                .filter(word -> word.length() >= 4)
+                .distinct()
+                .toList();
+        return terms.isEmpty() ? texts : terms;
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static long nextArrival(double rate, SplittableRandom random) {
+        return (long) (-Math.log(1 - random.nextDouble()) / rate * 1e9);
+    }
+
+    private static final class Stats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+
+    private static final class Mix {
+        private final Operation[] operations;
+        private final int[] cumulative;
+
+        private Mix(Map<Operation, Integer> weights) {
+            List<Operation> positive = weights.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toList();
+            if (positive.isEmpty()) {
+                throw new IllegalArgumentException("Invalid argument: operation mix has no positive weight");
+            }
+            operations = positive.toArray(Operation[]::new);
+            cumulative = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulative[i] = total;
+            }
+        }
+
+        private Operation pick(SplittableRandom random) {
+            int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+            int i = 0;
+            while (cumulative[i] <= ticket) {
+                i++;
+            }
+            return operations[i];
+        }
+    }
+}
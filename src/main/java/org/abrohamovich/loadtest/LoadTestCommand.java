@@ -0,0 +1,71 @@
+package org.abrohamovich.loadtest;
+
+import org.abrohamovich.config.EntityManagerFactoryProvider;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.mapper.PatronMapper;
+import org.abrohamovich.metrics.MetricsProvider;
+import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.repository.CirculationRepository;
+import org.abrohamovich.repository.PatronRepository;
+import org.abrohamovich.repository.ReadWriteRouter;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.service.BookServiceCRUD;
+import org.abrohamovich.service.CirculationServiceDefault;
+import org.abrohamovich.service.PatronServiceCRUD;
+import org.abrohamovich.service.interfaces.BookService;
+import org.abrohamovich.service.interfaces.CirculationService;
+import org.abrohamovich.service.interfaces.PatronService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Command-line entry point for load tests:
+ * {@code LoadTestCommand <librarians> <patrons> <seconds> [librarianRate] [patronRate] [report-prefix]}.
+ * Prints the summary; with a prefix also writes {@code <prefix>.json} and the percentile
+ * distributions to {@code <prefix>.hgrm}.
+ */
+public class LoadTestCommand {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Usage: LoadTestCommand <librarians> <patrons> <seconds> [librarianRate] [patronRate] [report-prefix]");
+            System.exit(2);
+        }
+        LoadTestOptions.LoadTestOptionsBuilder options = LoadTestOptions.builder()
+                .librarians(Integer.parseInt(args[0]))
+                .patrons(Integer.parseInt(args[1]))
+                .duration(Duration.ofSeconds(Long.parseLong(args[2])));
+        if (args.length > 3) {
+            options.librarianRate(Double.parseDouble(args[3]));
+        }
+        if (args.length > 4) {
+            options.patronRate(Double.parseDouble(args[4]));
+        }
+        EntityManagerFactoryProvider.initialize("library");
+        try {
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            BookBitmapIndex bitmapIndex = new BookBitmapIndex();
+            BookRepository bookRepository = MetricsProvider.repository(BookRepository.class, router);
+            PatronRepository patronRepository = MetricsProvider.repository(PatronRepository.class, router);
+            LoadTest loadTest = new LoadTest(
+                    MetricsProvider.service(BookService.class,
+                            new BookServiceCRUD(bookRepository, BookMapper.INSTANCE, bitmapIndex)),
+                    MetricsProvider.service(PatronService.class,
+                            new PatronServiceCRUD(patronRepository, PatronMapper.INSTANCE)),
+                    MetricsProvider.service(CirculationService.class,
+                            new CirculationServiceDefault(MetricsProvider.repository(CirculationRepository.class, router),
+                                    bookRepository, patronRepository, BookMapper.INSTANCE, bitmapIndex)),
+                    options.build());
+            LoadTestReport report = loadTest.run();
+            System.out.print(report.toText());
+            if (args.length > 5) {
+                Files.writeString(Path.of(args[5] + ".json"), report.toJson());
+                Files.writeString(Path.of(args[5] + ".hgrm"), report.toPercentileDistributions());
+            }
+        } finally {
+            EntityManagerFactoryProvider.closeEntityManagerFactory();
+        }
+    }
+}
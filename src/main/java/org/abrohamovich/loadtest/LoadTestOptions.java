@@ -0,0 +1,44 @@
+package org.abrohamovich.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Population, arrival rates and operation mix of a {@link LoadTest}. Rates are mean operations per
+ * second of one simulated user; arrivals are Poisson, so users do not march in lockstep. The mixes
+ * are relative weights.
+ */
+@Getter
+@Builder
+public class LoadTestOptions {
+    @Builder.Default
+    private final int librarians = 4;
+    @Builder.Default
+    private final int patrons = 16;
+    @Builder.Default
+    private final double librarianRate = 2.0;
+    @Builder.Default
+    private final double patronRate = 0.5;
+    @Builder.Default
+    private final Duration warmup = Duration.ofSeconds(10);
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(60);
+    @Builder.Default
+    private final long seed = 42;
+    @Builder.Default
+    private final int sampleSize = 5_000;
+    @Builder.Default
+    private final Map<Operation, Integer> librarianMix = Map.of(
+            Operation.SEARCH_TITLE, 35, Operation.SEARCH_PATRON, 25, Operation.CHECKOUT, 15,
+            Operation.RETURN, 15, Operation.CREATE_BOOK, 5, Operation.DELETE_BOOK, 5);
+    @Builder.Default
+    private final Map<Operation, Integer> patronMix = Map.of(
+            Operation.SEARCH_TITLE, 70, Operation.CHECKOUT, 20, Operation.RETURN, 10);
+
+    public static LoadTestOptions defaults() {
+        return builder().build();
+    }
+}
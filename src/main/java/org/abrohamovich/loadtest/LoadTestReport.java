@@ -0,0 +1,62 @@
+package org.abrohamovich.loadtest;
+
+import org.abrohamovich.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a {@link LoadTest} measurement window. {@code completed} counts every answered request,
+ * including rejections, which are business refusals such as a checkout of a book already on loan;
+ * failures are unexpected errors and are not part of the latency figures.
+ */
+public record LoadTestReport(Duration elapsed, int users, Map<Operation, Result> operations) {
+
+    public long completed() {
+        return operations.values().stream().mapToLong(Result::completed).sum();
+    }
+
+    public double throughput() {
+        return perSecond(completed());
+    }
+
+    public String toText() {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT,
+                "users=%d elapsed=%.1fs completed=%d throughput=%.1f ops/s%n",
+                users, elapsed.toNanos() / 1e9, completed(), throughput()));
+        operations.forEach((operation, result) -> out.append(String.format(Locale.ROOT,
+                "%-13s %8.1f ops/s rejected=%d failed=%d %s%n", operation, perSecond(result.completed()),
+                result.rejected(), result.failed(), result.latency().toText())));
+        return out.toString();
+    }
+
+    public String toJson() {
+        return String.format(Locale.ROOT, "{\"users\":%d,\"elapsedSeconds\":%.3f,\"throughput\":%.3f,\"operations\":{%s}}",
+                users, elapsed.toNanos() / 1e9, throughput(), operations.entrySet().stream()
+                        .map(entry -> String.format(Locale.ROOT,
+                                "\"%s\":{\"throughput\":%.3f,\"rejected\":%d,\"failed\":%d,\"latency\":%s}",
+                                entry.getKey(), perSecond(entry.getValue().completed()), entry.getValue().rejected(),
+                                entry.getValue().failed(), entry.getValue().latency().toJson()))
+                        .collect(Collectors.joining(",")));
+    }
+
+    /**
+     * HdrHistogram-style percentile distribution of every operation, in milliseconds.
+     */
+    public String toPercentileDistributions() {
+        StringBuilder out = new StringBuilder();
+        operations.forEach((operation, result) -> out.append("# ").append(operation).append(System.lineSeparator())
+                .append(result.distribution()).append(System.lineSeparator()));
+        return out.toString();
+    }
+
+    private double perSecond(long count) {
+        return elapsed.isZero() ? 0 : count * 1e9 / elapsed.toNanos();
+    }
+
+    public record Result(long completed, long rejected, long failed, LatencyHistogram.Snapshot latency,
+                         String distribution) {
+    }
+}
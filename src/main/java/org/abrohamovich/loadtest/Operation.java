@@ -0,0 +1,5 @@
+package org.abrohamovich.loadtest;
+
+public enum Operation {
+    SEARCH_TITLE, SEARCH_PATRON, CHECKOUT, RETURN, CREATE_BOOK, DELETE_BOOK
+}
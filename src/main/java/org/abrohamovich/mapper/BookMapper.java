@@ -2,20 +2,25 @@ package org.abrohamovich.mapper;
 
 import org.abrohamovich.dto.BookDto;
 import org.abrohamovich.entity.Book;
+import org.hibernate.Hibernate;
+import org.mapstruct.Condition;
 import org.mapstruct.Mapper;
-import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
-@Mapper
+@Mapper(uses = {AuthorMapper.class, GenreMapper.class, CategoryMapper.class, PublisherMapper.class, PatronMapper.class})
 public interface BookMapper {
     BookMapper INSTANCE = Mappers.getMapper(BookMapper.class);
 
-    @Mapping(target = "authors", ignore = true)
-    @Mapping(target = "categories", ignore = true)
-    @Mapping(target = "genres", ignore = true)
-    @Mapping(target = "publisher", ignore = true)
-    @Mapping(target = "patron", ignore = true)
     BookDto toDto(Book book);
 
     Book toEntity(BookDto bookDto);
+
+    /**
+     * Relations are mapped only when they were fetched, so books loaded without
+     * their graph still map outside the persistence context.
+     */
+    @Condition
+    default boolean isLoaded(Object relation) {
+        return Hibernate.isInitialized(relation);
+    }
 }
@@ -0,0 +1,60 @@
+package org.abrohamovich.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+    private final ConcurrentMap<MethodTag, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public MethodTimer timer(MethodTag tag) {
+        return timers.computeIfAbsent(tag, Timer::new);
+    }
+
+    @Override
+    public List<MethodStatistics> snapshot() {
+        List<MethodStatistics> statistics = new ArrayList<>(timers.size());
+        for (Timer timer : timers.values()) {
+            statistics.add(timer.snapshot());
+        }
+        return statistics;
+    }
+
+    public void reset() {
+        timers.clear();
+    }
+
+    private static class Timer implements MethodTimer {
+        private final MethodTag tag;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder calls = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private Timer(MethodTag tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public void record(long nanos) {
+            latency.record(nanos);
+            calls.increment();
+        }
+
+        @Override
+        public void recordFailure(long nanos, Throwable error) {
+            errors.computeIfAbsent(error.getClass().getSimpleName(), type -> new LongAdder()).increment();
+            record(nanos);
+        }
+
+        private MethodStatistics snapshot() {
+            Map<String, Long> errorCounts = new TreeMap<>();
+            errors.forEach((type, count) -> errorCounts.put(type, count.sum()));
+            return new MethodStatistics(tag, calls.sum(), errorCounts, latency.snapshot());
+        }
+    }
+}
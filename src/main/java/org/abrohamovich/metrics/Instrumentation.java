@@ -0,0 +1,129 @@
+package org.abrohamovich.metrics;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import org.abrohamovich.repository.ReadWriteRouter;
+
+import java.lang.reflect.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static net.bytebuddy.matcher.ElementMatchers.*;
+
+/**
+ * Wraps repositories and services so that every public method call is timed in a
+ * {@link MetricsRegistry}, tagged with the entity (from the class name) and the method name.
+ * Services are proxied through their interface; repositories have none, so a subclass is
+ * generated once per repository class.
+ */
+public final class Instrumentation {
+    private static final String INTERCEPTOR_FIELD = "metrics$interceptor";
+    private static final Map<Class<?>, Class<?>> repositoryClasses = new ConcurrentHashMap<>();
+
+    private Instrumentation() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <S> S service(Class<S> type, S target, MetricsRegistry registry) {
+        if (!type.isInterface()) {
+            throw new IllegalArgumentException("Service type must be an interface: " + type.getName());
+        }
+        Interceptor interceptor = new Interceptor(type, "service", entityOf(type.getSimpleName(), "Service"), registry);
+        return (S) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return method.invoke(target, args);
+            }
+            return interceptor.intercept(method, () -> {
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause() instanceof Exception cause ? cause : new UndeclaredThrowableException(e.getCause());
+                }
+            });
+        });
+    }
+
+    public static <R> R repository(Class<R> type, ReadWriteRouter router, MetricsRegistry registry) {
+        try {
+            Class<? extends R> subclass = repositoryClasses.computeIfAbsent(type, Instrumentation::subclass)
+                    .asSubclass(type);
+            R repository = subclass.getConstructor(ReadWriteRouter.class).newInstance(router);
+            Field field = subclass.getDeclaredField(INTERCEPTOR_FIELD);
+            field.setAccessible(true);
+            field.set(repository, new Interceptor(type, "repository", entityOf(type.getSimpleName(), "Repository"), registry));
+            return repository;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instrument " + type.getName(), e);
+        }
+    }
+
+    private static Class<?> subclass(Class<?> type) {
+        return new ByteBuddy()
+                .subclass(type, ConstructorStrategy.Default.IMITATE_SUPER_CLASS_OPENING)
+                .defineField(INTERCEPTOR_FIELD, Interceptor.class, Visibility.PRIVATE)
+                .method(isPublic().and(isDeclaredBy(type)).and(not(isStatic())))
+                .intercept(MethodDelegation.toField(INTERCEPTOR_FIELD))
+                .make()
+                .load(type.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    static String entityOf(String className, String suffix) {
+        String entity = className.endsWith(suffix) ? className.substring(0, className.length() - suffix.length()) : className;
+        return entity.isEmpty() ? className.toLowerCase() : Character.toLowerCase(entity.charAt(0)) + entity.substring(1);
+    }
+
+    /**
+     * Times calls into one repository or service. Overloaded methods are told apart by their
+     * parameter types, e.g. {@code findAll()} and {@code findAll(PageRequest)}.
+     */
+    public static class Interceptor {
+        private final Class<?> type;
+        private final String layer;
+        private final String entity;
+        private final MetricsRegistry registry;
+        private final Map<Method, MethodTimer> timers = new ConcurrentHashMap<>();
+
+        private Interceptor(Class<?> type, String layer, String entity, MetricsRegistry registry) {
+            this.type = type;
+            this.layer = layer;
+            this.entity = entity;
+            this.registry = registry;
+        }
+
+        @RuntimeType
+        public Object intercept(@Origin Method method, @SuperCall Callable<?> call) throws Exception {
+            MethodTimer timer = timers.computeIfAbsent(method, this::timerOf);
+            long started = System.nanoTime();
+            try {
+                Object result = call.call();
+                timer.record(System.nanoTime() - started);
+                return result;
+            } catch (Exception | Error e) {
+                timer.recordFailure(System.nanoTime() - started, e);
+                throw e;
+            }
+        }
+
+        private MethodTimer timerOf(Method method) {
+            long overloads = Arrays.stream(type.getMethods())
+                    .filter(candidate -> candidate.getName().equals(method.getName()) && !candidate.isBridge())
+                    .count();
+            String operation = overloads > 1
+                    ? method.getName() + Arrays.stream(method.getParameterTypes())
+                    .map(Class::getSimpleName)
+                    .collect(Collectors.joining(",", "(", ")"))
+                    : method.getName();
+            return registry.timer(new MethodTag(layer, entity, operation));
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package org.abrohamovich.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of nanosecond latencies.
+ * Every power of two is split into 16 linear sub-buckets, so a recorded value
+ * is reported with at most ~6% relative error.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    public void record(long duration, TimeUnit unit) {
+        record(unit.toNanos(duration));
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long maxValue = max.get();
+        double mean = total == 0 ? 0 : (double) sum.sum() / total;
+        return new Snapshot(total, mean, maxValue,
+                percentile(copy, total, 0.50, maxValue),
+                percentile(copy, total, 0.95, maxValue),
+                percentile(copy, total, 0.99, maxValue),
+                percentile(copy, total, 0.999, maxValue));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Renders the recorded values in HdrHistogram's percentile distribution layout, one line per
+     * non-empty bucket, so the output can go straight into its plotting tools. Values are divided
+     * by {@code unitNanos}, e.g. {@code 1e6} for milliseconds.
+     */
+    public String percentileDistribution(double unitNanos) {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long maxValue = max.get();
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%12s %14s %10s %14s%n%n",
+                "Value", "Percentile", "TotalCount", "1/(1-Percentile)"));
+        long seen = 0;
+        double mean = 0;
+        double squares = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (copy[i] == 0) {
+                continue;
+            }
+            seen += copy[i];
+            double value = Math.min(upperBoundOf(i), maxValue) / unitNanos;
+            double fraction = (double) seen / total;
+            mean += value * copy[i] / total;
+            squares += value * value * copy[i] / total;
+            out.append(seen < total
+                    ? String.format(Locale.ROOT, "%12.3f %2.12f %10d %14.2f%n", value, fraction, seen, 1 / (1 - fraction))
+                    : String.format(Locale.ROOT, "%12.3f %2.12f %10d%n", value, fraction, seen));
+        }
+        out.append(String.format(Locale.ROOT, "#[Mean    = %12.3f, StdDeviation   = %12.3f]%n",
+                mean, Math.sqrt(Math.max(0, squares - mean * mean))));
+        out.append(String.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", maxValue / unitNanos, total));
+        out.append(String.format(Locale.ROOT, "#[Buckets = %12d, SubBuckets     = %12d]%n", BUCKETS / SUB_BUCKETS, SUB_BUCKETS));
+        return out.toString();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long lower = (1L << exponent) | ((long) sub << (exponent - SUB_BUCKET_BITS));
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static long percentile(long[] counts, long total, double quantile, long maxValue) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    public record Snapshot(long count, double meanNanos, long maxNanos,
+                           long p50Nanos, long p95Nanos, long p99Nanos, long p999Nanos) {
+
+        public String toText() {
+            return String.format(Locale.ROOT, "count=%d mean=%.3fms p50=%.3fms p95=%.3fms p99=%.3fms p999=%.3fms max=%.3fms",
+                    count, meanNanos / 1e6, p50Nanos / 1e6, p95Nanos / 1e6, p99Nanos / 1e6, p999Nanos / 1e6, maxNanos / 1e6);
+        }
+
+        public String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"count\":%d,\"meanNanos\":%.1f,\"p50Nanos\":%d,\"p95Nanos\":%d,\"p99Nanos\":%d,\"p999Nanos\":%d,\"maxNanos\":%d}",
+                    count, meanNanos, p50Nanos, p95Nanos, p99Nanos, p999Nanos, maxNanos);
+        }
+    }
+}
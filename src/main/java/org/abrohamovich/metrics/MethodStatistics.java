@@ -0,0 +1,34 @@
+package org.abrohamovich.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public record MethodStatistics(MethodTag tag,
+                               long calls,
+                               Map<String, Long> errors,
+                               LatencyHistogram.Snapshot latency) {
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double totalNanos() {
+        return latency.meanNanos() * latency.count();
+    }
+
+    public String toText() {
+        return String.format(Locale.ROOT, "%s calls=%d errors=%d%s latency[%s]",
+                tag, calls, errorCount(), errors.isEmpty() ? "" : " " + errors, latency.toText());
+    }
+
+    public String toJson() {
+        return String.format(Locale.ROOT,
+                "{\"layer\":\"%s\",\"entity\":\"%s\",\"operation\":\"%s\",\"calls\":%d,\"errors\":{%s},\"latency\":%s}",
+                tag.layer(), tag.entity(), tag.operation(), calls,
+                errors.entrySet().stream()
+                        .map(error -> String.format(Locale.ROOT, "\"%s\":%d", error.getKey(), error.getValue()))
+                        .collect(Collectors.joining(",")),
+                latency.toJson());
+    }
+}
@@ -0,0 +1,12 @@
+package org.abrohamovich.metrics;
+
+/**
+ * Identifies a timed method, e.g. {@code repository book findByTitle}.
+ */
+public record MethodTag(String layer, String entity, String operation) {
+
+    @Override
+    public String toString() {
+        return layer + " " + entity + "." + operation;
+    }
+}
@@ -0,0 +1,8 @@
+package org.abrohamovich.metrics;
+
+public interface MethodTimer {
+
+    void record(long nanos);
+
+    void recordFailure(long nanos, Throwable error);
+}
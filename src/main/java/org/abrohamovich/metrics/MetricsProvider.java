@@ -0,0 +1,36 @@
+package org.abrohamovich.metrics;
+
+import org.abrohamovich.repository.ReadWriteRouter;
+
+/**
+ * Application-wide {@link MetricsRegistry} and shortcuts for creating instrumented repositories
+ * and services with it.
+ */
+public class MetricsProvider {
+    private static volatile MetricsRegistry registry = new InMemoryMetricsRegistry();
+
+    private MetricsProvider() {
+    }
+
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Replaces the registry. Only repositories and services created afterwards report to it.
+     */
+    public static void setRegistry(MetricsRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("Metrics registry cannot be null");
+        }
+        MetricsProvider.registry = registry;
+    }
+
+    public static <R> R repository(Class<R> type, ReadWriteRouter router) {
+        return Instrumentation.repository(type, router, registry);
+    }
+
+    public static <S> S service(Class<S> type, S service) {
+        return Instrumentation.service(type, service, registry);
+    }
+}
@@ -0,0 +1,19 @@
+package org.abrohamovich.metrics;
+
+import java.util.List;
+
+/**
+ * Where instrumented repositories and services report their calls. The default
+ * {@link InMemoryMetricsRegistry} keeps histograms in the process; another implementation can
+ * forward the same calls to an external metrics system.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Returns the timer of the given method, creating it on first use. Callers keep the timer,
+     * so this is not on the hot path.
+     */
+    MethodTimer timer(MethodTag tag);
+
+    List<MethodStatistics> snapshot();
+}
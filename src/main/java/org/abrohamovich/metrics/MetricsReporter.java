@@ -0,0 +1,94 @@
+package org.abrohamovich.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically writes a snapshot of a {@link MetricsRegistry}, hottest methods (by total time)
+ * first. Latencies are cumulative since startup; the call rate covers the time since the
+ * previous report.
+ */
+@Slf4j
+public class MetricsReporter implements AutoCloseable {
+    private final MetricsRegistry registry;
+    private final Format format;
+    private final Consumer<String> sink;
+    private final Map<MethodTag, Long> previousCalls = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+    private long previousReport = System.nanoTime();
+
+    public MetricsReporter(MetricsRegistry registry, Format format) {
+        this(registry, format, log::info);
+    }
+
+    public MetricsReporter(MetricsRegistry registry, Format format, Consumer<String> sink) {
+        this.registry = registry;
+        this.format = format;
+        this.sink = sink;
+    }
+
+    public synchronized void start(Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Report interval must be positive");
+        }
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("metrics-reporter").factory());
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                sink.accept(report());
+            } catch (RuntimeException e) {
+                log.error("Failed to report metrics: {}", e.getMessage());
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized String report() {
+        long now = System.nanoTime();
+        double seconds = Math.max(now - previousReport, 1) / 1e9;
+        previousReport = now;
+        List<MethodStatistics> statistics = new ArrayList<>(registry.snapshot());
+        statistics.sort(Comparator.comparingDouble(MethodStatistics::totalNanos).reversed());
+
+        List<String> lines = new ArrayList<>(statistics.size());
+        for (MethodStatistics method : statistics) {
+            Long previous = previousCalls.put(method.tag(), method.calls());
+            double rate = (method.calls() - (previous == null ? 0 : previous)) / seconds;
+            if (format == Format.JSON) {
+                String json = method.toJson();
+                lines.add(String.format(Locale.ROOT, "%s,\"callsPerSecond\":%.2f}", json.substring(0, json.length() - 1), rate));
+            } else {
+                lines.add(String.format(Locale.ROOT, "%s rate=%.2f/s", method.toText(), rate));
+            }
+        }
+        return format == Format.JSON
+                ? String.format(Locale.ROOT, "{\"intervalSeconds\":%.3f,\"methods\":[%s]}", seconds, String.join(",", lines))
+                : String.format(Locale.ROOT, "Metrics over the last %.1fs (%d methods)%n%s", seconds, lines.size(),
+                lines.stream().map(line -> "  " + line).collect(Collectors.joining(System.lineSeparator())));
+    }
+
+    /**
+     * Stops the schedule and writes a final report.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        sink.accept(report());
+    }
+
+    public enum Format {
+        TEXT, JSON
+    }
+}
@@ -0,0 +1,56 @@
+package org.abrohamovich.paging;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class Page<T> {
+    private final List<T> items;
+    private final int size;
+    private final Long nextCursor;
+
+    private Page(List<T> items, int size, Long nextCursor) {
+        this.items = items;
+        this.size = size;
+        this.nextCursor = nextCursor;
+    }
+
+    public static <T> Page<T> empty(PageRequest pageRequest) {
+        return new Page<>(List.of(), pageRequest.getSize(), null);
+    }
+
+    /**
+     * Builds a page from a query that fetched up to {@code size + 1} rows ordered by id:
+     * the extra row only signals that another page exists and is not returned.
+     */
+    public static <T> Page<T> of(List<T> fetched, PageRequest pageRequest, ToLongFunction<T> idOf) {
+        int size = pageRequest.getSize();
+        if (fetched.size() <= size) {
+            return new Page<>(List.copyOf(fetched), size, null);
+        }
+        List<T> items = List.copyOf(fetched.subList(0, size));
+        return new Page<>(items, size, idOf.applyAsLong(items.getLast()));
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public PageRequest next() {
+        if (nextCursor == null) {
+            throw new IllegalStateException("Last page has no next page");
+        }
+        return PageRequest.after(nextCursor, size);
+    }
+
+    public <R> Page<R> map(Function<T, R> mapper) {
+        return new Page<>(items.stream().map(mapper).toList(), size, nextCursor);
+    }
+}
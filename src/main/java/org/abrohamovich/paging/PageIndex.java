@@ -0,0 +1,90 @@
+package org.abrohamovich.paging;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * The row count of an id-ordered list and the cursor every page starts after. Cursors are found
+ * on demand by skipping forward from the nearest one already known and are kept, so building the
+ * index costs one count and a jump costs only the distance from the closest visited page.
+ * It lets any page be fetched by position with an ordinary keyset query, so a view can jump into
+ * the middle of a large table without an OFFSET scan from its start.
+ */
+@Getter
+@ToString(of = {"total", "pageSize"})
+@EqualsAndHashCode(of = {"total", "pageSize"})
+public class PageIndex {
+    private static final Locator NONE = (afterId, rows) -> OptionalLong.empty();
+
+    @Getter(lombok.AccessLevel.NONE)
+    private final NavigableMap<Integer, Long> cursors = new ConcurrentSkipListMap<>();
+    @Getter(lombok.AccessLevel.NONE)
+    private final Locator locator;
+    private final long total;
+    private final int pageSize;
+
+    private PageIndex(long total, int pageSize, Locator locator) {
+        this.total = total;
+        this.pageSize = pageSize;
+        this.locator = locator;
+        cursors.put(0, 0L);
+    }
+
+    public static PageIndex of(long total, int pageSize, Locator locator) {
+        return new PageIndex(total, pageSize, locator);
+    }
+
+    /**
+     * An index whose page starts are all known up front.
+     */
+    public static PageIndex of(List<Long> starts, long total, int pageSize) {
+        PageIndex index = new PageIndex(total, pageSize, NONE);
+        for (int page = 0; page < starts.size(); page++) {
+            index.cursors.put(page, starts.get(page) - 1);
+        }
+        return index;
+    }
+
+    public static PageIndex empty(int pageSize) {
+        return new PageIndex(0, pageSize, NONE);
+    }
+
+    public int getPageCount() {
+        return (int) Math.min((total + pageSize - 1) / pageSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * May run a query to locate the page, so call it off the UI thread. A page that no longer
+     * exists because rows were deleted since the count is returned as an empty request.
+     */
+    public PageRequest request(int page) {
+        if (page < 0 || page >= getPageCount()) {
+            throw new IndexOutOfBoundsException("Page " + page + " of " + getPageCount());
+        }
+        Map.Entry<Integer, Long> nearest = cursors.floorEntry(page);
+        if (nearest.getKey() == page) {
+            return PageRequest.after(nearest.getValue(), pageSize);
+        }
+        OptionalLong cursor = locator.idAt(nearest.getValue(), (long) (page - nearest.getKey()) * pageSize);
+        if (cursor.isEmpty()) {
+            return PageRequest.after(Long.MAX_VALUE, pageSize);
+        }
+        cursors.put(page, cursor.getAsLong());
+        return PageRequest.after(cursor.getAsLong(), pageSize);
+    }
+
+    @FunctionalInterface
+    public interface Locator {
+        /**
+         * The id of the {@code rows}-th row after {@code afterId}, or empty if there are fewer rows.
+         */
+        OptionalLong idAt(long afterId, long rows);
+    }
+}
@@ -0,0 +1,34 @@
+package org.abrohamovich.paging;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@EqualsAndHashCode
+public class PageRequest {
+    public static final int MAX_SIZE = 10_000;
+
+    private final long afterId;
+    private final int size;
+
+    private PageRequest(long afterId, int size) {
+        if (afterId < 0) {
+            throw new IllegalArgumentException("Invalid argument: negative cursor " + afterId);
+        }
+        if (size < 1 || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid argument: page size must be between 1 and " + MAX_SIZE);
+        }
+        this.afterId = afterId;
+        this.size = size;
+    }
+
+    public static PageRequest first(int size) {
+        return new PageRequest(0, size);
+    }
+
+    public static PageRequest after(long afterId, int size) {
+        return new PageRequest(afterId, size);
+    }
+}
@@ -4,19 +4,33 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.AuthorSummary;
 import org.abrohamovich.entity.Author;
 import org.abrohamovich.entity.Sex;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class AuthorRepository implements GenericRepo<Author, Long> {
     private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+
+    public AuthorRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public AuthorRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+    }
 
     @Override
     public Optional<Author> save(Author entity) {
@@ -25,6 +39,7 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
             em.getTransaction().begin();
             em.persist(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(entity);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -38,9 +53,38 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Author> saveAll(Collection<Author> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            int count = 0;
+            em.getTransaction().begin();
+            for (Author entity : entities) {
+                em.persist(entity);
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while saving {} authors: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while saving {} authors: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public Optional<Author> findById(long id) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return Optional.ofNullable(em.find(Author.class, id));
         } catch (Exception e) {
             log.error("Unexpected error while finding author by id {}: {}", id, e.getMessage());
@@ -49,12 +93,13 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
     }
 
     public List<Author> findByFullName(String fullName) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Author> query = em.createQuery(
                     "SELECT a FROM Author a WHERE a.fullName = :fullName",
                     Author.class
             );
             query.setParameter("fullName", fullName);
+            QueryCache.cacheable(query);
             return query.getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding authors by full name - {}: {}", fullName, e.getMessage());
@@ -64,13 +109,28 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Author> findByFullName(String fullName, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Author> query = em.createQuery(
+                    "SELECT a FROM Author a WHERE a.fullName = :fullName AND a.id > :afterId ORDER BY a.id", Author.class);
+            query.setParameter("fullName", fullName);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Author::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding authors page by full name - {} after id {}: {}", fullName, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding authors page by full name - {} after id {}: {}", fullName, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Author> findByFullNameLike(String fullName) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Author> query = em.createQuery(
                     "SELECT a FROM Author a WHERE a.fullName ILIKE :fullName",
                     Author.class
             );
             query.setParameter("fullName", "%" + fullName + "%");
+            QueryCache.cacheable(query);
             return query.getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding authors by full name - {}: {}", fullName, e.getMessage());
@@ -80,8 +140,22 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Author> findByFullNameLike(String fullName, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Author> query = em.createQuery(
+                    "SELECT a FROM Author a WHERE a.fullName ILIKE :fullName AND a.id > :afterId ORDER BY a.id", Author.class);
+            query.setParameter("fullName", "%" + fullName + "%");
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Author::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding authors page by full name - {} after id {}: {}", fullName, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding authors page by full name - {} after id {}: {}", fullName, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Author> findByBookId(long bookId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Author> query = em.createQuery(
                     "SELECT a FROM Author a JOIN Book b ON b.id = :bookId AND a MEMBER OF b.authors",
                     Author.class
@@ -96,8 +170,22 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Author> findByBookId(long bookId, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Author> query = em.createQuery(
+                    "SELECT a FROM Author a JOIN Book b ON b.id = :bookId AND a MEMBER OF b.authors WHERE a.id > :afterId ORDER BY a.id", Author.class);
+            query.setParameter("bookId", bookId);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Author::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding authors page by book id - {} after id {}: {}", bookId, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding authors page by book id - {} after id {}: {}", bookId, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Author> findBySex(Sex sex) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Author> query = em.createQuery(
                     "SELECT a FROM Author a WHERE a.sex = :sex",
                     Author.class
@@ -112,10 +200,24 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Author> findBySex(Sex sex, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Author> query = em.createQuery(
+                    "SELECT a FROM Author a WHERE a.sex = :sex AND a.id > :afterId ORDER BY a.id", Author.class);
+            query.setParameter("sex", sex);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Author::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding authors page by sex - {} after id {}: {}", sex, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding authors page by sex - {} after id {}: {}", sex, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     @Override
     public List<Author> findAll() {
-        try (EntityManager em = emf.createEntityManager()) {
-            return em.createQuery("SELECT a FROM Author a", Author.class).getResultList();
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return QueryCache.cacheable(em.createQuery("SELECT a FROM Author a", Author.class)).getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding all authors: {}", e.getMessage());
         } catch (Exception e) {
@@ -124,6 +226,71 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Page<Author> findAll(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Author> query = em.createQuery(
+                    "SELECT a FROM Author a WHERE a.id > :afterId ORDER BY a.id", Author.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Author::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding authors page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding authors page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public List<AuthorSummary> findSummariesByFullName(String fullName, int limit) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<AuthorSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.AuthorSummary(a.id, a.fullName, a.nationality) FROM Author a WHERE a.fullName ILIKE :fullName ORDER BY a.id", AuthorSummary.class);
+            query.setParameter("fullName", "%" + fullName + "%");
+            query.setMaxResults(limit);
+            return query.getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding {} author summaries by full name {}: {}", limit, fullName, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding {} author summaries by full name {}: {}", limit, fullName, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public List<AuthorSummary> findSummaries() {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery(
+                    "SELECT new org.abrohamovich.dto.AuthorSummary(a.id, a.fullName, a.nationality) FROM Author a ORDER BY a.id", AuthorSummary.class).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding author summaries: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding author summaries: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Page<AuthorSummary> findSummaries(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<AuthorSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.AuthorSummary(a.id, a.fullName, a.nationality) FROM Author a WHERE a.id > :afterId ORDER BY a.id", AuthorSummary.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, AuthorSummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding author summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding author summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public Stream<Author> streamAll() {
+        try {
+            return Streaming.open(router.forRead(), "SELECT a FROM Author a ORDER BY a.id", Author.class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming all authors: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming all authors: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
     @Override
     public Optional<Author> update(Author entity) {
         EntityManager em = emf.createEntityManager();
@@ -131,6 +298,7 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
             em.getTransaction().begin();
             Author updated = em.merge(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(updated);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -144,6 +312,35 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Author> updateAll(Collection<Author> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Author> updated = new ArrayList<>(entities.size());
+            em.getTransaction().begin();
+            for (Author entity : entities) {
+                updated.add(em.merge(entity));
+                if (updated.size() % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return updated;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while updating {} authors: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while updating {} authors: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public void deleteById(long id) {
         EntityManager em = emf.createEntityManager();
@@ -154,6 +351,7 @@ public class AuthorRepository implements GenericRepo<Author, Long> {
                 em.remove(author);
             }
             em.getTransaction().commit();
+            router.recordWrite();
         } catch (PersistenceException e) {
             rollbackTransaction(em);
             log.error("Persistence error while deleting author with id {}: {}", id, e.getMessage());
@@ -0,0 +1,34 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+public final class BatchSettings {
+    public static final String BATCH_SIZE_PROPERTY = "hibernate.jdbc.batch_size";
+    public static final int DEFAULT_BATCH_SIZE = 50;
+    public static final String FETCH_SIZE_PROPERTY = "hibernate.jdbc.fetch_size";
+    public static final int DEFAULT_FETCH_SIZE = 500;
+
+    private BatchSettings() {
+    }
+
+    public static int batchSize(EntityManagerFactory emf) {
+        return positiveInt(emf, BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE);
+    }
+
+    public static int fetchSize(EntityManagerFactory emf) {
+        return positiveInt(emf, FETCH_SIZE_PROPERTY, DEFAULT_FETCH_SIZE);
+    }
+
+    private static int positiveInt(EntityManagerFactory emf, String property, int defaultValue) {
+        Object value = emf.getProperties().get(property);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int size = Integer.parseInt(value.toString().trim());
+            return size > 0 ? size : defaultValue;
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
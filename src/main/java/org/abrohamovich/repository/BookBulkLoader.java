@@ -0,0 +1,321 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.config.SequenceAligner;
+import org.abrohamovich.entity.*;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Set-based insert and upsert of books and their author, genre and category links, written with
+ * {@code COPY FROM STDIN} on PostgreSQL and JDBC batches elsewhere. Inserts go straight into the
+ * real tables under ids reserved from the book sequence. Upserts are keyed by ISBN, which is not
+ * unique because every copy of a title is its own row, so they go through session-local staging
+ * tables and refuse any ISBN that occurs twice in the batch or matches more than one stored book.
+ * Existing books keep their id, status and patron; their links are replaced.
+ * Runs on the caller's connection and transaction.
+ */
+@Slf4j
+final class BookBulkLoader {
+    private static final int COPY_BUFFER_CHARS = 1 << 16;
+    private static final String STAGE_COLUMNS =
+            "id, isbn, title, language, number_of_pages, format, status, receipt_date, publisher_id";
+    private static final String INSERT_COLUMNS = STAGE_COLUMNS + ", patron_id, due_date";
+    private static final List<Link> LINKS = List.of(
+            new Link("stage_book_author", "t_book_author", "author_id",
+                    book -> book.getAuthors().stream().map(Author::getId).toList()),
+            new Link("stage_book_genre", "t_book_genre", "genre_id",
+                    book -> book.getGenres().stream().map(Genre::getId).toList()),
+            new Link("stage_book_category", "t_book_category", "category_id",
+                    book -> book.getCategories().stream().map(Category::getId).toList()));
+
+    private final Dialect dialect;
+    private final boolean postgres;
+    private final int batchSize;
+
+    BookBulkLoader(EntityManagerFactory emf) {
+        this.dialect = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        this.postgres = dialect instanceof PostgreSQLDialect;
+        this.batchSize = BatchSettings.batchSize(emf);
+    }
+
+    boolean usesCopy() {
+        return postgres;
+    }
+
+    /**
+     * Inserts {@code books} as new rows, one per book whatever their ISBNs, and sets their ids.
+     */
+    void insert(Connection connection, Collection<Book> books) throws SQLException {
+        Iterator<Long> ids = reserveIds(connection, books.size()).iterator();
+        books.forEach(book -> book.setId(ids.next()));
+
+        try (Sink sink = open(connection, "t_book", INSERT_COLUMNS)) {
+            for (Book book : books) {
+                sink.add(book.getId(), book.getIsbn(), book.getTitle(), book.getLanguage(), book.getNumberOfPages(),
+                        book.getFormat() == null ? null : book.getFormat().name(),
+                        book.getStatus() == null ? null : book.getStatus().name(), book.getReceiptDate(),
+                        book.getPublisher() == null ? null : book.getPublisher().getId(),
+                        book.getPatron() == null ? null : book.getPatron().getId(), book.getDueDate());
+            }
+        }
+        for (Link link : LINKS) {
+            try (Sink sink = open(connection, link.table(), "book_id, " + link.column())) {
+                for (Book book : books) {
+                    for (Long refId : new LinkedHashSet<>(link.ids().apply(book))) {
+                        sink.add(book.getId(), refId);
+                    }
+                }
+            }
+        }
+        log.debug("Bulk insert of {} books", books.size());
+    }
+
+    /**
+     * Upserts {@code books} by ISBN and sets their ids. Throws {@link SQLException} without
+     * writing anything when an ISBN occurs twice in {@code books} or matches several stored books.
+     */
+    void upsert(Connection connection, Collection<Book> books) throws SQLException {
+        Map<String, Book> byIsbn = new LinkedHashMap<>();
+        for (Book book : books) {
+            if (byIsbn.putIfAbsent(book.getIsbn(), book) != null) {
+                throw new SQLException("ISBN " + book.getIsbn() + " occurs more than once in the batch");
+            }
+        }
+        Iterator<Long> ids = reserveIds(connection, byIsbn.size()).iterator();
+        byIsbn.values().forEach(book -> book.setId(ids.next()));
+
+        createStagingTables(connection);
+        try (Sink sink = open(connection, "stage_book", STAGE_COLUMNS)) {
+            for (Book book : byIsbn.values()) {
+                sink.add(book.getId(), book.getIsbn(), book.getTitle(), book.getLanguage(), book.getNumberOfPages(),
+                        book.getFormat() == null ? null : book.getFormat().name(),
+                        book.getStatus() == null ? null : book.getStatus().name(), book.getReceiptDate(),
+                        book.getPublisher() == null ? null : book.getPublisher().getId());
+            }
+        }
+        for (Link link : LINKS) {
+            try (Sink sink = open(connection, link.stage(), "isbn, ref_id")) {
+                for (Book book : byIsbn.values()) {
+                    for (Long refId : link.ids().apply(book)) {
+                        sink.add(book.getIsbn(), refId);
+                    }
+                }
+            }
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet ambiguous = statement.executeQuery("SELECT s.isbn FROM stage_book s "
+                    + "JOIN t_book b ON b.isbn = s.isbn GROUP BY s.isbn HAVING COUNT(*) > 1")) {
+                if (ambiguous.next()) {
+                    throw new SQLException("ISBN " + ambiguous.getString(1) + " matches more than one stored book");
+                }
+            }
+            int updated = statement.executeUpdate(updateSql());
+            int inserted = statement.executeUpdate("INSERT INTO t_book (" + STAGE_COLUMNS + ") SELECT s.id, s.isbn, s.title, "
+                    + "s.language, s.number_of_pages, s.format, s.status, s.receipt_date, s.publisher_id FROM stage_book s "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM t_book b WHERE b.isbn = s.isbn)");
+            for (Link link : LINKS) {
+                statement.executeUpdate("DELETE FROM " + link.table() + " WHERE book_id IN "
+                        + "(SELECT b.id FROM t_book b JOIN stage_book s ON b.isbn = s.isbn WHERE b.id <> s.id)");
+                statement.executeUpdate("INSERT INTO " + link.table() + " (book_id, " + link.column() + ") "
+                        + "SELECT DISTINCT b.id, x.ref_id FROM " + link.stage() + " x JOIN t_book b ON b.isbn = x.isbn");
+            }
+            try (ResultSet existing = statement.executeQuery("SELECT s.isbn, b.id FROM stage_book s "
+                    + "JOIN t_book b ON b.isbn = s.isbn WHERE b.id <> s.id")) {
+                while (existing.next()) {
+                    byIsbn.get(existing.getString(1)).setId(existing.getLong(2));
+                }
+            }
+            dropStagingTables(statement);
+            log.debug("Bulk upsert of {} books: {} inserted, {} updated", byIsbn.size(), inserted, updated);
+        }
+    }
+
+    /**
+     * Takes whole blocks from {@code t_book_seq}. The pooled generator treats a sequence value V as
+     * owning {@code V - ALLOCATION_SIZE + 1 .. V}, so these ids are never handed out by Hibernate.
+     */
+    private List<Long> reserveIds(Connection connection, int count) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        int blocks = (count + SequenceAligner.ALLOCATION_SIZE - 1) / SequenceAligner.ALLOCATION_SIZE;
+        String sql = postgres
+                ? "SELECT nextval('t_book_seq') FROM generate_series(1, " + blocks + ")"
+                : dialect.getSequenceSupport().getSequenceNextValString("t_book_seq");
+        try (Statement statement = connection.createStatement()) {
+            while (ids.size() < count) {
+                try (ResultSet values = statement.executeQuery(sql)) {
+                    while (values.next() && ids.size() < count) {
+                        long high = values.getLong(1);
+                        for (long id = Math.max(1, high - SequenceAligner.ALLOCATION_SIZE + 1); id <= high && ids.size() < count; id++) {
+                            ids.add(id);
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    private String updateSql() {
+        String assignments = "title = s.title, language = s.language, number_of_pages = s.number_of_pages, "
+                + "format = s.format, receipt_date = s.receipt_date, publisher_id = s.publisher_id";
+        return postgres
+                ? "UPDATE t_book b SET " + assignments + " FROM stage_book s WHERE b.isbn = s.isbn"
+                : "MERGE INTO t_book b USING stage_book s ON b.isbn = s.isbn WHEN MATCHED THEN UPDATE SET " + assignments;
+    }
+
+    private void createStagingTables(Connection connection) throws SQLException {
+        String create = postgres ? "CREATE TEMP TABLE " : "CREATE LOCAL TEMPORARY TABLE ";
+        String onCommit = postgres ? " ON COMMIT DROP" : " TRANSACTIONAL";
+        try (Statement statement = connection.createStatement()) {
+            dropStagingTables(statement);
+            statement.execute(create + "stage_book (id BIGINT, isbn VARCHAR(255), title VARCHAR(255), "
+                    + "language VARCHAR(255), number_of_pages INT, format VARCHAR(255), status VARCHAR(255), "
+                    + "receipt_date DATE, publisher_id BIGINT)" + onCommit);
+            for (Link link : LINKS) {
+                statement.execute(create + link.stage() + " (isbn VARCHAR(255), ref_id BIGINT)" + onCommit);
+            }
+        }
+    }
+
+    private void dropStagingTables(Statement statement) throws SQLException {
+        String schema = postgres ? "pg_temp." : "";
+        statement.execute("DROP TABLE IF EXISTS " + schema + "stage_book");
+        for (Link link : LINKS) {
+            statement.execute("DROP TABLE IF EXISTS " + schema + link.stage());
+        }
+    }
+
+    private Sink open(Connection connection, String table, String columns) throws SQLException {
+        if (postgres) {
+            return new CopySink(connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + columns + ") FROM STDIN"));
+        }
+        String placeholders = String.join(", ", Collections.nCopies(columns.split(",").length, "?"));
+        return new BatchSink(connection.prepareStatement("INSERT INTO " + table + " (" + columns + ") VALUES (" + placeholders + ")"),
+                batchSize);
+    }
+
+    private record Link(String stage, String table, String column, Function<Book, List<Long>> ids) {
+    }
+
+    private interface Sink extends AutoCloseable {
+        void add(Object... values) throws SQLException;
+
+        @Override
+        void close() throws SQLException;
+    }
+
+    /**
+     * Streams rows in PostgreSQL's text COPY format.
+     */
+    private static final class CopySink implements Sink {
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+        private CopySink(CopyIn copy) {
+            this.copy = copy;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append('\t');
+                }
+                appendValue(values[i]);
+            }
+            buffer.append('\n');
+            if (buffer.length() >= COPY_BUFFER_CHARS) {
+                flush();
+            }
+        }
+
+        private void appendValue(Object value) {
+            if (value == null) {
+                buffer.append("\\N");
+                return;
+            }
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> buffer.append("\\\\");
+                    case '\t' -> buffer.append("\\t");
+                    case '\n' -> buffer.append("\\n");
+                    case '\r' -> buffer.append("\\r");
+                    default -> buffer.append(c);
+                }
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+                copy.endCopy();
+            } finally {
+                if (copy.isActive()) {
+                    copy.cancelCopy();
+                }
+            }
+        }
+    }
+
+    private static final class BatchSink implements Sink {
+        private final PreparedStatement statement;
+        private final int batchSize;
+        private int pending;
+
+        private BatchSink(PreparedStatement statement, int batchSize) {
+            this.statement = statement;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i];
+                statement.setObject(i + 1, value instanceof LocalDate date ? Date.valueOf(date) : value);
+            }
+            statement.addBatch();
+            if (++pending == batchSize) {
+                statement.executeBatch();
+                pending = 0;
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    statement.executeBatch();
+                }
+            } finally {
+                statement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.Query;
+import org.abrohamovich.search.BookFilter;
+import org.abrohamovich.search.BookQuery;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Translates a {@link BookFilter} into a JPQL predicate over a {@code Book b} root.
+ * Collection facets become correlated {@code EXISTS} subqueries, so no grouping is needed.
+ */
+final class BookFilterQuery {
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+    private String predicate;
+
+    private BookFilterQuery(BookFilter filter) {
+        this.predicate = compile(filter);
+    }
+
+    static BookFilterQuery of(BookFilter filter) {
+        return new BookFilterQuery(filter);
+    }
+
+    /**
+     * Combines the facet criteria of the query with its title, publisher and receipt-date criteria.
+     */
+    static BookFilterQuery of(BookQuery query) {
+        BookFilterQuery filterQuery = new BookFilterQuery(query.toFilter());
+        if (query.getTitle() != null && !query.getTitle().isBlank()) {
+            filterQuery.and("b.title ILIKE :title ESCAPE '" + LikePattern.ESCAPE + "'", "title", LikePattern.contains(query.getTitle().trim()));
+        }
+        if (query.getPublisherId() != null) {
+            filterQuery.and("b.publisher.id = :publisherId", "publisherId", query.getPublisherId());
+        }
+        if (query.getReceivedFrom() != null) {
+            filterQuery.and("b.receiptDate >= :receivedFrom", "receivedFrom", query.getReceivedFrom());
+        }
+        if (query.getReceivedTo() != null) {
+            filterQuery.and("b.receiptDate <= :receivedTo", "receivedTo", query.getReceivedTo());
+        }
+        return filterQuery;
+    }
+
+    String predicate() {
+        return predicate;
+    }
+
+    <Q extends Query> Q bind(Q query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    private void and(String condition, String parameter, Object value) {
+        predicate = predicate + " AND " + condition;
+        parameters.put(parameter, value);
+    }
+
+    private String compile(BookFilter filter) {
+        return switch (filter) {
+            case BookFilter.All all -> "1 = 1";
+            case BookFilter.Term term -> term(term);
+            case BookFilter.Not not -> "NOT (" + compile(not.operand()) + ")";
+            case BookFilter.And and -> join(and.operands(), " AND ", "1 = 1");
+            case BookFilter.Or or -> join(or.operands(), " OR ", "1 = 0");
+        };
+    }
+
+    private String join(List<BookFilter> operands, String operator, String empty) {
+        if (operands.isEmpty()) {
+            return empty;
+        }
+        StringBuilder sql = new StringBuilder("(");
+        for (int i = 0; i < operands.size(); i++) {
+            if (i > 0) {
+                sql.append(operator);
+            }
+            sql.append(compile(operands.get(i)));
+        }
+        return sql.append(')').toString();
+    }
+
+    private String term(BookFilter.Term term) {
+        String parameter = "f" + parameters.size();
+        parameters.put(parameter, term.key());
+        return switch (term.facet()) {
+            case GENRE -> "EXISTS (SELECT 1 FROM b.genres x WHERE x.id = :" + parameter + ")";
+            case CATEGORY -> "EXISTS (SELECT 1 FROM b.categories x WHERE x.id = :" + parameter + ")";
+            case AUTHOR -> "EXISTS (SELECT 1 FROM b.authors x WHERE x.id = :" + parameter + ")";
+            case LANGUAGE -> "b.language = :" + parameter;
+            case STATUS -> "b.status = :" + parameter;
+            case FORMAT -> "b.format = :" + parameter;
+        };
+    }
+}
@@ -4,20 +4,45 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.BookSummary;
 import org.abrohamovich.entity.Book;
 import org.abrohamovich.entity.Format;
+import org.abrohamovich.entity.Patron;
 import org.abrohamovich.entity.Status;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
+import org.abrohamovich.search.BookFacet;
+import org.abrohamovich.search.BookFilter;
+import org.abrohamovich.search.BookQuery;
+import org.abrohamovich.search.BookSearchResult;
+import org.abrohamovich.search.FacetCount;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.SpecHints;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class BookRepository implements GenericRepo<Book, Long> {
     private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+    private final BookBulkLoader bulkLoader;
+    private volatile Boolean trigramSearch;
+
+    public BookRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public BookRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+        this.bulkLoader = new BookBulkLoader(emf);
+    }
 
     @Override
     public Optional<Book> save(Book entity) {
@@ -26,6 +51,7 @@ public class BookRepository implements GenericRepo<Book, Long> {
             em.getTransaction().begin();
             em.persist(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(entity);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -39,9 +65,63 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Optional.empty();
     }
 
+    /**
+     * Inserts every book as a new row with its links in one transaction, using {@code COPY} on
+     * PostgreSQL. Copies that share an ISBN each get their own row.
+     */
+    @Override
+    public List<Book> saveAll(Collection<Book> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.unwrap(Session.class).doWork(connection -> bulkLoader.insert(connection, entities));
+            em.getTransaction().commit();
+            router.recordWrite();
+            log.info("Saved {} books{}", entities.size(), bulkLoader.usesCopy() ? " with COPY" : "");
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while saving {} books: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while saving {} books: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Inserts books whose ISBN is new and updates the catalog data and links of the others in one
+     * transaction, using {@code COPY} on PostgreSQL. Returns the books with their ids set, or an
+     * empty list if the transaction failed. ISBN is not unique across copies, so the whole batch is
+     * refused when an ISBN occurs twice in it or matches more than one stored book.
+     */
+    public List<Book> upsertAllByIsbn(Collection<Book> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            em.unwrap(Session.class).doWork(connection -> bulkLoader.upsert(connection, entities));
+            em.getTransaction().commit();
+            router.recordWrite();
+            reloadCirculation(em, entities);
+            log.info("Upserted {} books by ISBN{}", entities.size(), bulkLoader.usesCopy() ? " with COPY" : "");
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while upserting {} books: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while upserting {} books: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public Optional<Book> findById(long id) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return Optional.ofNullable(em.find(Book.class, id));
         } catch (PersistenceException e) {
             log.error("Persistence error while finding book by id {}: {}", id, e.getMessage());
@@ -51,8 +131,30 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Optional.empty();
     }
 
+    /**
+     * Loads a book with its publisher, patron, authors, genres and categories.
+     * Each collection is fetched by its own graph query inside one persistence context,
+     * which avoids the cartesian product of joining all three collections at once.
+     */
+    public Optional<Book> findFullById(long id) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            List<Book> books = fetchWithGraph(em, id, Book.GRAPH_WITH_AUTHORS);
+            if (books.isEmpty()) {
+                return Optional.empty();
+            }
+            fetchWithGraph(em, id, Book.GRAPH_WITH_GENRES);
+            fetchWithGraph(em, id, Book.GRAPH_WITH_CATEGORIES);
+            return Optional.of(books.getFirst());
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding full book by id {}: {}", id, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding full book by id {}: {}", id, e.getMessage());
+        }
+        return Optional.empty();
+    }
+
     public List<Book> findByTitle(String title) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT b FROM Book b WHERE b.title ILIKE :title", Book.class);
             query.setParameter("title", "%" + title + "%");
@@ -65,8 +167,22 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByTitle(String title, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.title ILIKE :title AND b.id > :afterId ORDER BY b.id", Book.class);
+            query.setParameter("title", "%" + title + "%");
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by title {} after id {}: {}", title, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by title {} after id {}: {}", title, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByIsbn(String isbn) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT b FROM Book b WHERE b.isbn = :isbn", Book.class);
             query.setParameter("isbn", isbn);
@@ -79,8 +195,49 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    /**
+     * Counts the stored copies of each ISBN, leaving out ISBNs with none. Reads the primary so that
+     * copies written just before are counted.
+     */
+    public Map<String, Long> countByIsbns(Collection<String> isbns) {
+        if (isbns.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try (EntityManager em = router.forWrite().createEntityManager()) {
+            List<String> distinct = isbns.stream().distinct().toList();
+            int batchSize = BatchSettings.batchSize(emf);
+            Map<String, Long> counts = new HashMap<>();
+            for (int from = 0; from < distinct.size(); from += batchSize) {
+                em.createQuery("SELECT b.isbn, COUNT(b) FROM Book b WHERE b.isbn IN :isbns GROUP BY b.isbn", Object[].class)
+                        .setParameter("isbns", distinct.subList(from, Math.min(from + batchSize, distinct.size())))
+                        .getResultList()
+                        .forEach(row -> counts.put((String) row[0], (Long) row[1]));
+            }
+            return counts;
+        } catch (PersistenceException e) {
+            log.error("Persistence error while counting books of {} ISBNs: {}", isbns.size(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while counting books of {} ISBNs: {}", isbns.size(), e.getMessage());
+        }
+        return Collections.emptyMap();
+    }
+
+    public Page<Book> findByIsbn(String isbn, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.isbn = :isbn AND b.id > :afterId ORDER BY b.id", Book.class);
+            query.setParameter("isbn", isbn);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by ISBN {} after id {}: {}", isbn, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by ISBN {} after id {}: {}", isbn, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByAuthorIds(List<Long> authorIds) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT b FROM Book b " +
                             "JOIN b.authors a " +
@@ -98,8 +255,28 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByAuthorIds(List<Long> authorIds, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b " +
+                            "JOIN b.authors a " +
+                            "WHERE a.id IN :authorIds AND b.id > :afterId " +
+                            "GROUP BY b " +
+                            "HAVING COUNT(DISTINCT a.id) = :authorCount " +
+                            "ORDER BY b.id", Book.class);
+            query.setParameter("authorIds", authorIds);
+            query.setParameter("authorCount", (long) authorIds.size());
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by author IDs {} after id {}: {}", authorIds, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by author IDs {} after id {}: {}", authorIds, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByGenreIds(List<Long> genreIds) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT b FROM Book b " +
                             "JOIN b.genres g " +
@@ -117,8 +294,28 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByGenreIds(List<Long> genreIds, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b " +
+                            "JOIN b.genres g " +
+                            "WHERE g.id IN :genreIds AND b.id > :afterId " +
+                            "GROUP BY b " +
+                            "HAVING COUNT(DISTINCT g.id) = :genreCount " +
+                            "ORDER BY b.id", Book.class);
+            query.setParameter("genreIds", genreIds);
+            query.setParameter("genreCount", (long) genreIds.size());
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by genre IDs {} after id {}: {}", genreIds, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by genre IDs {} after id {}: {}", genreIds, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByCategoryIds(List<Long> categoryIds) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT b FROM Book b " +
                             "JOIN b.categories c " +
@@ -136,8 +333,28 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByCategoryIds(List<Long> categoryIds, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b " +
+                            "JOIN b.categories c " +
+                            "WHERE c.id IN :categoryIds AND b.id > :afterId " +
+                            "GROUP BY b " +
+                            "HAVING COUNT(DISTINCT c.id) = :categoryCount " +
+                            "ORDER BY b.id", Book.class);
+            query.setParameter("categoryIds", categoryIds);
+            query.setParameter("categoryCount", (long) categoryIds.size());
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by category IDs {} after id {}: {}", categoryIds, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by category IDs {} after id {}: {}", categoryIds, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByLanguage(String language) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT b FROM Book b WHERE b.language = :language", Book.class);
             query.setParameter("language", language);
@@ -150,8 +367,22 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByLanguage(String language, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.language = :language AND b.id > :afterId ORDER BY b.id", Book.class);
+            query.setParameter("language", language);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by language '{}' after id {}: {}", language, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by language '{}' after id {}: {}", language, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByPublisherId(long publisherId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT bi FROM Book bi WHERE bi.publisher.id = :publisherId", Book.class);
 
@@ -166,8 +397,22 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByPublisherId(long publisherId, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.publisher.id = :publisherId AND b.id > :afterId ORDER BY b.id", Book.class);
+            query.setParameter("publisherId", publisherId);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by publisherId {} after id {}: {}", publisherId, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by publisherId {} after id {}: {}", publisherId, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByStatus(Status status) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT bi FROM Book bi WHERE bi.status = :status", Book.class);
 
@@ -182,8 +427,22 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByStatus(Status status, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.status = :status AND b.id > :afterId ORDER BY b.id", Book.class);
+            query.setParameter("status", status);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by status {} after id {}: {}", status, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by status {} after id {}: {}", status, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Book> findByFormat(Format format) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery(
                     "SELECT bi FROM Book bi WHERE bi.format = :format", Book.class);
 
@@ -198,9 +457,23 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Book> findByFormat(Format format, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.format = :format AND b.id > :afterId ORDER BY b.id", Book.class);
+            query.setParameter("format", format);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page by format {} after id {}: {}", format, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page by format {} after id {}: {}", format, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     @Override
     public List<Book> findAll() {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Book> query = em.createQuery("SELECT b FROM Book b", Book.class);
             return query.getResultList();
         } catch (PersistenceException e) {
@@ -211,6 +484,430 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Page<Book> findAll(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Book> query = em.createQuery(
+                    "SELECT b FROM Book b WHERE b.id > :afterId ORDER BY b.id", Book.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Book::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding books page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding books page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public List<BookSummary> findSummaries() {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery(
+                    "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b ORDER BY b.id", BookSummary.class).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding book summaries: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding book summaries: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Page<BookSummary> findSummaries(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<BookSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b WHERE b.id > :afterId ORDER BY b.id", BookSummary.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, BookSummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding book summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding book summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public PageIndex findPageIndex(int pageSize) {
+        try {
+            return Keyset.index(router.forRead(), "Book", pageSize);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while indexing book pages of size {}: {}", pageSize, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while indexing book pages of size {}: {}", pageSize, e.getMessage());
+        }
+        return PageIndex.empty(pageSize);
+    }
+
+    public List<BookSummary> findSummariesByTitle(String title) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<BookSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b WHERE b.title ILIKE :title ORDER BY b.id", BookSummary.class);
+            query.setParameter("title", "%" + title + "%");
+            return query.getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding book summaries by title {}: {}", title, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding book summaries by title {}: {}", title, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Books with the given ids in id order, loaded in chunks of the JDBC batch size.
+     */
+    public List<Book> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            List<Long> sorted = ids.stream().sorted().distinct().toList();
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Book> books = new ArrayList<>(sorted.size());
+            for (int from = 0; from < sorted.size(); from += batchSize) {
+                books.addAll(em.createQuery("SELECT b FROM Book b WHERE b.id IN :ids ORDER BY b.id", Book.class)
+                        .setParameter("ids", sorted.subList(from, Math.min(from + batchSize, sorted.size())))
+                        .getResultList());
+            }
+            return books;
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding {} books by ids: {}", ids.size(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding {} books by ids: {}", ids.size(), e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public List<BookSummary> findSummariesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<BookSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b WHERE b.id IN :ids ORDER BY b.id", BookSummary.class);
+            query.setParameter("ids", ids);
+            return query.getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding {} book summaries by ids: {}", ids.size(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding {} book summaries by ids: {}", ids.size(), e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public List<Long> findIdsByFilter(BookFilter filter) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            BookFilterQuery filterQuery = BookFilterQuery.of(filter);
+            return filterQuery.bind(em.createQuery(
+                    "SELECT b.id FROM Book b WHERE " + filterQuery.predicate() + " ORDER BY b.id", Long.class)).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding book ids by filter {}: {}", filter, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding book ids by filter {}: {}", filter, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public long countByFilter(BookFilter filter) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            BookFilterQuery filterQuery = BookFilterQuery.of(filter);
+            return filterQuery.bind(em.createQuery(
+                    "SELECT COUNT(b) FROM Book b WHERE " + filterQuery.predicate(), Long.class)).getSingleResult();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while counting books by filter {}: {}", filter, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while counting books by filter {}: {}", filter, e.getMessage());
+        }
+        return 0;
+    }
+
+    public Page<BookSummary> findSummariesByFilter(BookFilter filter, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            BookFilterQuery filterQuery = BookFilterQuery.of(filter);
+            TypedQuery<BookSummary> query = filterQuery.bind(em.createQuery(
+                    "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b " +
+                            "WHERE b.id > :afterId AND " + filterQuery.predicate() + " ORDER BY b.id", BookSummary.class));
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, BookSummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding book summaries page by filter {} after id {}: {}", filter, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding book summaries page by filter {} after id {}: {}", filter, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    /**
+     * Runs a combined search: one statement for the sorted page of summaries and one for the total
+     * and the genre, language and status counts. The second evaluates the criteria once into a
+     * materialized CTE of matching books that every count reads from. The page stays a separate
+     * statement: it is sorted and cut by offset and limit, and it returns on its own index path
+     * without waiting for the aggregates, at the cost of one extra round trip per search.
+     */
+    public BookSearchResult search(BookQuery query) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            BookFilterQuery filterQuery = BookFilterQuery.of(query);
+            String direction = query.isDescending() ? " DESC" : " ASC";
+            List<BookSummary> items = filterQuery.bind(em.createQuery(
+                            "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b WHERE " + filterQuery.predicate() +
+                                    " ORDER BY " + query.getSort().getPath() + direction + ", b.id" + direction, BookSummary.class))
+                    .setFirstResult(query.getOffset())
+                    .setMaxResults(query.getLimit())
+                    .getResultList();
+
+            List<Object[]> rows = filterQuery.bind(em.createQuery(
+                    "WITH matched AS MATERIALIZED (SELECT b.id AS id, b.language AS language, b.status AS status FROM Book b WHERE " +
+                            filterQuery.predicate() + ")" +
+                            " SELECT 'TOTAL', '', '', COUNT(*) FROM matched m" +
+                            " UNION ALL SELECT 'GENRE', CAST(g.id AS String), g.name, COUNT(*) FROM matched m" +
+                            " JOIN Book b ON b.id = m.id JOIN b.genres g GROUP BY g.id, g.name" +
+                            " UNION ALL SELECT 'LANGUAGE', m.language, m.language, COUNT(*) FROM matched m GROUP BY m.language" +
+                            " UNION ALL SELECT 'STATUS', CAST(m.status AS String), CAST(m.status AS String), COUNT(*) FROM matched m" +
+                            " WHERE m.status IS NOT NULL GROUP BY m.status", Object[].class)).getResultList();
+
+            long total = 0;
+            Map<String, List<FacetCount>> facets = new HashMap<>();
+            for (Object[] row : rows) {
+                long count = ((Number) row[3]).longValue();
+                if ("TOTAL".equals(row[0])) {
+                    total = count;
+                } else {
+                    facets.computeIfAbsent((String) row[0], k -> new ArrayList<>()).add(new FacetCount((String) row[1], (String) row[2], count));
+                }
+            }
+            return new BookSearchResult(items, total, query.getOffset(),
+                    sortedFacet(facets, "GENRE"), sortedFacet(facets, "LANGUAGE"), sortedFacet(facets, "STATUS"));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while searching books with {}: {}", query, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while searching books with {}: {}", query, e.getMessage());
+        }
+        return BookSearchResult.empty(query);
+    }
+
+    /**
+     * Ranked substring search over titles, returning at most {@code limit} summaries.
+     * On PostgreSQL with pg_trgm the trigram GiST index both filters and returns matches nearest
+     * to the query first, so only {@code limit} rows are read; elsewhere titles are scanned and
+     * ranked by match position and length. Wildcards in the query match literally.
+     */
+    public List<BookSummary> searchByTitle(String query, int limit) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return isTrigramSearch(em) ? searchByTrigrams(em, query, limit) : searchByScan(em, query, limit);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while searching books by title {}: {}", query, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while searching books by title {}: {}", query, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Stream<Book> streamAll() {
+        try {
+            return Streaming.open(router.forRead(), "SELECT b FROM Book b ORDER BY b.id", Book.class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming all books: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming all books: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Streams {@code [bookId, key]} pairs for one facet, e.g. every book/genre link.
+     */
+    public Stream<Object[]> streamFacetValues(BookFacet facet) {
+        String hql = switch (facet) {
+            case GENRE -> "SELECT b.id, x.id FROM Book b JOIN b.genres x";
+            case CATEGORY -> "SELECT b.id, x.id FROM Book b JOIN b.categories x";
+            case AUTHOR -> "SELECT b.id, x.id FROM Book b JOIN b.authors x";
+            case LANGUAGE -> "SELECT b.id, b.language FROM Book b";
+            case STATUS -> "SELECT b.id, b.status FROM Book b WHERE b.status IS NOT NULL";
+            case FORMAT -> "SELECT b.id, b.format FROM Book b WHERE b.format IS NOT NULL";
+        };
+        try {
+            return Streaming.open(router.forRead(), hql, Object[].class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming book {} values: {}", facet, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming book {} values: {}", facet, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Streams {@code [id, title, isbn, language, numberOfPages, format, status, receiptDate, publisherName]}
+     * rows in id order, without loading book entities.
+     */
+    public Stream<Object[]> streamExportRows() {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b.id, b.title, b.isbn, b.language, b.numberOfPages, b.format, b.status, b.receiptDate, p.name "
+                            + "FROM Book b LEFT JOIN b.publisher p ORDER BY b.id", Object[].class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming book export rows: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming book export rows: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    /**
+     * Streams {@code [bookId, name]} pairs of the authors, genres or categories of every book in
+     * book id order, so they can be merged with {@link #streamExportRows()} one book at a time.
+     */
+    public Stream<Object[]> streamRelationNames(BookFacet facet) {
+        String hql = switch (facet) {
+            case AUTHOR -> "SELECT b.id, x.fullName FROM Book b JOIN b.authors x ORDER BY b.id, x.fullName";
+            case GENRE -> "SELECT b.id, x.name FROM Book b JOIN b.genres x ORDER BY b.id, x.name";
+            case CATEGORY -> "SELECT b.id, x.name FROM Book b JOIN b.categories x ORDER BY b.id, x.name";
+            default -> throw new IllegalArgumentException("Invalid argument: " + facet + " is not a book relation");
+        };
+        try {
+            return Streaming.open(router.forRead(), hql, Object[].class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming book {} names: {}", facet, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming book {} names: {}", facet, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByTitle(String title) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b WHERE b.title ILIKE :title ORDER BY b.id", Book.class,
+                    query -> query.setParameter("title", "%" + title + "%"));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by title {}: {}", title, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by title {}: {}", title, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByIsbn(String isbn) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b WHERE b.isbn = :isbn ORDER BY b.id", Book.class,
+                    query -> query.setParameter("isbn", isbn));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by ISBN {}: {}", isbn, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by ISBN {}: {}", isbn, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByAuthorIds(List<Long> authorIds) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b " +
+                            "JOIN b.authors a " +
+                            "WHERE a.id IN :authorIds " +
+                            "GROUP BY b " +
+                            "HAVING COUNT(DISTINCT a.id) = :authorCount " +
+                            "ORDER BY b.id", Book.class,
+                    query -> {
+                        query.setParameter("authorIds", authorIds);
+                        query.setParameter("authorCount", (long) authorIds.size());
+                    });
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by author IDs {}: {}", authorIds, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by author IDs {}: {}", authorIds, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByGenreIds(List<Long> genreIds) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b " +
+                            "JOIN b.genres g " +
+                            "WHERE g.id IN :genreIds " +
+                            "GROUP BY b " +
+                            "HAVING COUNT(DISTINCT g.id) = :genreCount " +
+                            "ORDER BY b.id", Book.class,
+                    query -> {
+                        query.setParameter("genreIds", genreIds);
+                        query.setParameter("genreCount", (long) genreIds.size());
+                    });
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by genre IDs {}: {}", genreIds, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by genre IDs {}: {}", genreIds, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByCategoryIds(List<Long> categoryIds) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b " +
+                            "JOIN b.categories c " +
+                            "WHERE c.id IN :categoryIds " +
+                            "GROUP BY b " +
+                            "HAVING COUNT(DISTINCT c.id) = :categoryCount " +
+                            "ORDER BY b.id", Book.class,
+                    query -> {
+                        query.setParameter("categoryIds", categoryIds);
+                        query.setParameter("categoryCount", (long) categoryIds.size());
+                    });
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by category IDs {}: {}", categoryIds, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by category IDs {}: {}", categoryIds, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByLanguage(String language) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b WHERE b.language = :language ORDER BY b.id", Book.class,
+                    query -> query.setParameter("language", language));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by language '{}': {}", language, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by language '{}': {}", language, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByPublisherId(long publisherId) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b WHERE b.publisher.id = :publisherId ORDER BY b.id", Book.class,
+                    query -> query.setParameter("publisherId", publisherId));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by publisherId {}: {}", publisherId, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by publisherId {}: {}", publisherId, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByStatus(Status status) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b WHERE b.status = :status ORDER BY b.id", Book.class,
+                    query -> query.setParameter("status", status));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by status {}: {}", status, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by status {}: {}", status, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Book> streamByFormat(Format format) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT b FROM Book b WHERE b.format = :format ORDER BY b.id", Book.class,
+                    query -> query.setParameter("format", format));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming books by format {}: {}", format, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming books by format {}: {}", format, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
     @Override
     public Optional<Book> update(Book entity) {
         EntityManager em = emf.createEntityManager();
@@ -218,6 +915,8 @@ public class BookRepository implements GenericRepo<Book, Long> {
             em.getTransaction().begin();
             Book updated = em.merge(entity);
             em.getTransaction().commit();
+            router.recordWrite();
+            reloadCirculation(em, List.of(updated));
             return Optional.ofNullable(updated);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -231,6 +930,36 @@ public class BookRepository implements GenericRepo<Book, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Book> updateAll(Collection<Book> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Book> updated = new ArrayList<>(entities.size());
+            em.getTransaction().begin();
+            for (Book entity : entities) {
+                updated.add(em.merge(entity));
+                if (updated.size() % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            reloadCirculation(em, updated);
+            return updated;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while updating {} books: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while updating {} books: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public void deleteById(long id) {
         EntityManager em = emf.createEntityManager();
@@ -241,6 +970,7 @@ public class BookRepository implements GenericRepo<Book, Long> {
                 em.remove(book);
             }
             em.getTransaction().commit();
+            router.recordWrite();
         } catch (PersistenceException e) {
             rollbackTransaction(em);
             log.error("Persistence error while deleting book with id {}: {}", id, e.getMessage());
@@ -252,6 +982,77 @@ public class BookRepository implements GenericRepo<Book, Long> {
         }
     }
 
+    private static List<FacetCount> sortedFacet(Map<String, List<FacetCount>> facets, String facet) {
+        return facets.getOrDefault(facet, List.of()).stream()
+                .sorted(Comparator.comparingLong(FacetCount::count).reversed().thenComparing(FacetCount::label))
+                .toList();
+    }
+
+    /**
+     * Copies the stored status, patron and due date onto updated or upserted books. Neither writes
+     * those columns of an existing book, so the given copies may still hold the caller's values.
+     */
+    private void reloadCirculation(EntityManager em, Collection<Book> books) {
+        Map<Long, List<Book>> byId = new LinkedHashMap<>();
+        books.forEach(book -> byId.computeIfAbsent(book.getId(), id -> new ArrayList<>()).add(book));
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        int batchSize = BatchSettings.batchSize(emf);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            em.createQuery("SELECT b.id, b.status, p, b.dueDate FROM Book b LEFT JOIN b.patron p WHERE b.id IN :ids", Object[].class)
+                    .setParameter("ids", ids.subList(from, Math.min(from + batchSize, ids.size())))
+                    .getResultList()
+                    .forEach(row -> byId.get((Long) row[0]).forEach(book -> {
+                        book.setStatus((Status) row[1]);
+                        book.setPatron((Patron) row[2]);
+                        book.setDueDate((LocalDate) row[3]);
+                    }));
+        }
+    }
+
+    private List<Book> fetchWithGraph(EntityManager em, long id, String graphName) {
+        return em.createQuery("SELECT b FROM Book b WHERE b.id = :id", Book.class)
+                .setParameter("id", id)
+                .setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, em.getEntityGraph(graphName))
+                .getResultList();
+    }
+
+    private boolean isTrigramSearch(EntityManager em) {
+        Boolean enabled = trigramSearch;
+        if (enabled == null) {
+            enabled = emf.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect() instanceof PostgreSQLDialect
+                    && ((Number) em.createNativeQuery("SELECT COUNT(*) FROM pg_extension WHERE extname = 'pg_trgm'")
+                    .getSingleResult()).longValue() > 0;
+            trigramSearch = enabled;
+        }
+        return enabled;
+    }
+
+    private List<BookSummary> searchByTrigrams(EntityManager em, String query, int limit) {
+        List<?> rows = em.createNativeQuery(
+                        "SELECT b.id, b.title FROM t_book b WHERE b.title ILIKE :pattern ESCAPE '!' " +
+                                "ORDER BY b.title <-> :query, b.id LIMIT :limit")
+                .setParameter("pattern", LikePattern.contains(query))
+                .setParameter("query", query)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> (Object[]) row)
+                .map(row -> new BookSummary(((Number) row[0]).longValue(), (String) row[1]))
+                .toList();
+    }
+
+    private List<BookSummary> searchByScan(EntityManager em, String query, int limit) {
+        return em.createQuery(
+                        "SELECT new org.abrohamovich.dto.BookSummary(b.id, b.title) FROM Book b " +
+                                "WHERE b.title ILIKE :pattern ESCAPE '!' " +
+                                "ORDER BY CASE WHEN b.title ILIKE :prefix ESCAPE '!' THEN 0 ELSE 1 END, " +
+                                "LENGTH(b.title), b.id", BookSummary.class)
+                .setParameter("pattern", LikePattern.contains(query))
+                .setParameter("prefix", LikePattern.startsWith(query))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
     private void rollbackTransaction(EntityManager em) {
         if (em.getTransaction().isActive()) {
             try {
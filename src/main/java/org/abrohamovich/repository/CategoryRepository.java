@@ -4,18 +4,32 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.CategorySummary;
 import org.abrohamovich.entity.Category;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class CategoryRepository implements GenericRepo<Category, Long> {
     private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+
+    public CategoryRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public CategoryRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+    }
 
     @Override
     public Optional<Category> save(Category entity) {
@@ -24,6 +38,7 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
             em.getTransaction().begin();
             em.persist(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(entity);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -37,9 +52,38 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Category> saveAll(Collection<Category> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            int count = 0;
+            em.getTransaction().begin();
+            for (Category entity : entities) {
+                em.persist(entity);
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while saving {} categories: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while saving {} categories: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public Optional<Category> findById(long id) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return Optional.ofNullable(em.find(Category.class, id));
         } catch (PersistenceException e) {
             log.error("Persistence error while finding category by id {}: {}", id, e.getMessage());
@@ -50,12 +94,13 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
     }
 
     public Optional<Category> findByName(String name) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Category> query = em.createQuery(
                     "SELECT c FROM Category c WHERE c.name = :name", Category.class);
 
             query.setParameter("name", name);
 
+            QueryCache.cacheable(query);
             return Optional.ofNullable(query.getSingleResult());
         } catch (PersistenceException e) {
             log.error("Persistence error while finding category by name - {}: {}", name, e.getMessage());
@@ -66,12 +111,13 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
     }
 
     public List<Category> findByNameLike(String name) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Category> query = em.createQuery(
                     "SELECT c FROM Category c WHERE c.name ILIKE :name", Category.class);
 
             query.setParameter("name", "%" + name + "%");
 
+            QueryCache.cacheable(query);
             return query.getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding category by name - {}: {}", name, e.getMessage());
@@ -81,8 +127,22 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Category> findByNameLike(String name, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Category> query = em.createQuery(
+                    "SELECT c FROM Category c WHERE c.name ILIKE :name AND c.id > :afterId ORDER BY c.id", Category.class);
+            query.setParameter("name", "%" + name + "%");
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Category::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding categories page by name - {} after id {}: {}", name, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding categories page by name - {} after id {}: {}", name, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Category> findByBookId(long bookId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Category> query = em.createQuery(
                     "SELECT c FROM Category c JOIN Book b on b.id = :bookId AND c MEMBER OF b.categories", Category.class);
 
@@ -97,10 +157,24 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Category> findByBookId(long bookId, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Category> query = em.createQuery(
+                    "SELECT c FROM Category c JOIN Book b on b.id = :bookId AND c MEMBER OF b.categories WHERE c.id > :afterId ORDER BY c.id", Category.class);
+            query.setParameter("bookId", bookId);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Category::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding categories page by book id - {} after id {}: {}", bookId, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding categories page by book id - {} after id {}: {}", bookId, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     @Override
     public List<Category> findAll() {
-        try (EntityManager em = emf.createEntityManager()) {
-            return em.createQuery("SELECT c FROM Category c", Category.class).getResultList();
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return QueryCache.cacheable(em.createQuery("SELECT c FROM Category c", Category.class)).getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding all categories: {}", e.getMessage());
         } catch (Exception e) {
@@ -109,6 +183,56 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Page<Category> findAll(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Category> query = em.createQuery(
+                    "SELECT c FROM Category c WHERE c.id > :afterId ORDER BY c.id", Category.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Category::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding categories page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding categories page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public List<CategorySummary> findSummaries() {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery(
+                    "SELECT new org.abrohamovich.dto.CategorySummary(c.id, c.name) FROM Category c ORDER BY c.id", CategorySummary.class).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding category summaries: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding category summaries: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Page<CategorySummary> findSummaries(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<CategorySummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.CategorySummary(c.id, c.name) FROM Category c WHERE c.id > :afterId ORDER BY c.id", CategorySummary.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, CategorySummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding category summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding category summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public Stream<Category> streamAll() {
+        try {
+            return Streaming.open(router.forRead(), "SELECT c FROM Category c ORDER BY c.id", Category.class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming all categories: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming all categories: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
     @Override
     public Optional<Category> update(Category entity) {
         EntityManager em = emf.createEntityManager();
@@ -116,6 +240,7 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
             em.getTransaction().begin();
             Category updated = em.merge(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(updated);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -129,6 +254,35 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Category> updateAll(Collection<Category> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Category> updated = new ArrayList<>(entities.size());
+            em.getTransaction().begin();
+            for (Category entity : entities) {
+                updated.add(em.merge(entity));
+                if (updated.size() % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return updated;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while updating {} categories: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while updating {} categories: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public void deleteById(long id) {
         EntityManager em = emf.createEntityManager();
@@ -139,6 +293,7 @@ public class CategoryRepository implements GenericRepo<Category, Long> {
                 em.remove(category);
             }
             em.getTransaction().commit();
+            router.recordWrite();
         } catch (PersistenceException e) {
             rollbackTransaction(em);
             log.error("Persistence error while deleting category with id {}: {}", id, e.getMessage());
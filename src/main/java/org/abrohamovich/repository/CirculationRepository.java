@@ -0,0 +1,195 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.entity.Book;
+import org.abrohamovich.entity.Patron;
+import org.abrohamovich.entity.Status;
+import org.hibernate.Session;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Checkout, return, renewal, withdrawal and restoring as single conditional updates. Each statement changes the row only
+ * while it is still in the expected state, so concurrent requests for the same book cannot both
+ * succeed and no book is read and written back. A {@code false} result means the condition did
+ * not hold; the caller finds out why.
+ */
+@Slf4j
+public class CirculationRepository {
+    private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+
+    public CirculationRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public CirculationRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+    }
+
+    public boolean checkout(long bookId, long patronId, LocalDate dueDate) {
+        return update("checking out book " + bookId, em -> em.createQuery(
+                        "UPDATE Book b SET b.status = :checkedOut, b.patron = :patron, b.dueDate = :dueDate "
+                                + "WHERE b.id = :bookId AND b.status = :available "
+                                + "AND EXISTS (SELECT p.id FROM Patron p WHERE p.id = :patronId)")
+                .setParameter("checkedOut", Status.CHECKED_OUT)
+                .setParameter("available", Status.AVAILABLE)
+                .setParameter("patron", em.getReference(Patron.class, patronId))
+                .setParameter("patronId", patronId)
+                .setParameter("dueDate", dueDate)
+                .setParameter("bookId", bookId));
+    }
+
+    public boolean returnBook(long bookId, long patronId) {
+        return update("returning book " + bookId, em -> em.createQuery(
+                        "UPDATE Book b SET b.status = :available, b.patron = NULL, b.dueDate = NULL "
+                                + "WHERE b.id = :bookId AND b.status = :checkedOut AND b.patron.id = :patronId")
+                .setParameter("available", Status.AVAILABLE)
+                .setParameter("checkedOut", Status.CHECKED_OUT)
+                .setParameter("patronId", patronId)
+                .setParameter("bookId", bookId));
+    }
+
+    public boolean renew(long bookId, long patronId, LocalDate dueDate) {
+        return update("renewing book " + bookId, em -> em.createQuery(
+                        "UPDATE Book b SET b.dueDate = :dueDate "
+                                + "WHERE b.id = :bookId AND b.status = :checkedOut AND b.patron.id = :patronId")
+                .setParameter("checkedOut", Status.CHECKED_OUT)
+                .setParameter("patronId", patronId)
+                .setParameter("dueDate", dueDate)
+                .setParameter("bookId", bookId));
+    }
+
+    /**
+     * Takes an available book out of circulation (lost, withdrawn, in repair).
+     */
+    public boolean withdraw(long bookId) {
+        return update("withdrawing book " + bookId, em -> em.createQuery(
+                        "UPDATE Book b SET b.status = :notAvailable WHERE b.id = :bookId AND b.status = :available")
+                .setParameter("notAvailable", Status.NOT_AVAILABLE)
+                .setParameter("available", Status.AVAILABLE)
+                .setParameter("bookId", bookId));
+    }
+
+    public boolean restore(long bookId) {
+        return update("restoring book " + bookId, em -> em.createQuery(
+                        "UPDATE Book b SET b.status = :available WHERE b.id = :bookId AND b.status = :notAvailable")
+                .setParameter("available", Status.AVAILABLE)
+                .setParameter("notAvailable", Status.NOT_AVAILABLE)
+                .setParameter("bookId", bookId));
+    }
+
+    /**
+     * Applies many checkouts in one transaction with JDBC batches, e.g. when seeding a database.
+     * Books that are not available are skipped; returns the number of loans made.
+     */
+    public int checkoutAll(Collection<Loan> loans) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            em.getTransaction().begin();
+            int lent = em.unwrap(Session.class).doReturningWork(connection -> {
+                int count = 0;
+                try (PreparedStatement statement = connection.prepareStatement("UPDATE t_book "
+                        + "SET status = ?, patron_id = ?, due_date = ? WHERE id = ? AND status = ?")) {
+                    int pending = 0;
+                    for (Loan loan : loans) {
+                        statement.setString(1, Status.CHECKED_OUT.name());
+                        statement.setLong(2, loan.patronId());
+                        statement.setDate(3, Date.valueOf(loan.dueDate()));
+                        statement.setLong(4, loan.bookId());
+                        statement.setString(5, Status.AVAILABLE.name());
+                        statement.addBatch();
+                        if (++pending == batchSize) {
+                            count += updated(statement.executeBatch());
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        count += updated(statement.executeBatch());
+                    }
+                }
+                return count;
+            });
+            em.getTransaction().commit();
+            router.recordWrite();
+            return lent;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while checking out {} books: {}", loans.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while checking out {} books: {}", loans.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return 0;
+    }
+
+    public List<Book> findLoans(long patronId) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery("SELECT b FROM Book b WHERE b.patron.id = :patronId ORDER BY b.id", Book.class)
+                    .setParameter("patronId", patronId)
+                    .getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding loans of patron {}: {}", patronId, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding loans of patron {}: {}", patronId, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    private boolean update(String operation, Function<EntityManager, Query> statement) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            em.getTransaction().begin();
+            int updated = statement.apply(em).executeUpdate();
+            em.getTransaction().commit();
+            if (updated > 0) {
+                router.recordWrite();
+            }
+            return updated == 1;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while {}: {}", operation, e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while {}: {}", operation, e.getMessage());
+        } finally {
+            em.close();
+        }
+        return false;
+    }
+
+    private static int updated(int[] counts) {
+        int updated = 0;
+        for (int count : counts) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+
+    private void rollbackTransaction(EntityManager em) {
+        if (em.getTransaction().isActive()) {
+            try {
+                em.getTransaction().rollback();
+            } catch (Exception ex) {
+                log.error("Failed to rollback transaction", ex);
+            }
+        }
+    }
+
+    public record Loan(long bookId, long patronId, LocalDate dueDate) {
+    }
+}
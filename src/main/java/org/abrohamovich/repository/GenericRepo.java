@@ -1,16 +1,26 @@
 package org.abrohamovich.repository;
 
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface GenericRepo<T, ID> {
     Optional<T> save(T entity);
 
+    List<T> saveAll(Collection<T> entities);
+
     Optional<T> findById(long id);
 
     List<T> findAll();
 
+    Page<T> findAll(PageRequest pageRequest);
+
     Optional<T> update(T entity);
 
+    List<T> updateAll(Collection<T> entities);
+
     void deleteById(long id);
 }
@@ -4,18 +4,32 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.GenreSummary;
 import org.abrohamovich.entity.Genre;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class GenreRepository implements GenericRepo<Genre, Long> {
     private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+
+    public GenreRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public GenreRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+    }
 
     @Override
     public Optional<Genre> save(Genre entity) {
@@ -24,6 +38,7 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
             em.getTransaction().begin();
             em.persist(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(entity);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -37,9 +52,38 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Genre> saveAll(Collection<Genre> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            int count = 0;
+            em.getTransaction().begin();
+            for (Genre entity : entities) {
+                em.persist(entity);
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while saving {} genres: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while saving {} genres: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public Optional<Genre> findById(long id) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return Optional.ofNullable(em.find(Genre.class, id));
         } catch (PersistenceException e) {
             log.error("Persistence error while finding genre by id {}: {}", id, e.getMessage());
@@ -50,12 +94,13 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
     }
 
     public Optional<Genre> findByName(String name) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Genre> query = em.createQuery(
                     "SELECT g FROM Genre g WHERE g.name = :name", Genre.class);
 
             query.setParameter("name", name);
 
+            QueryCache.cacheable(query);
             return Optional.ofNullable(query.getSingleResult());
         } catch (PersistenceException e) {
             log.error("Persistence error while finding genre by name {}: {}", name, e.getMessage());
@@ -66,12 +111,13 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
     }
 
     public List<Genre> findByNameLike(String name) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Genre> query = em.createQuery(
                     "SELECT g FROM Genre g WHERE g.name ILIKE :name", Genre.class);
 
             query.setParameter("name", "%" + name + "%");
 
+            QueryCache.cacheable(query);
             return query.getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding genre by name - {}: {}", name, e.getMessage());
@@ -81,8 +127,22 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Genre> findByNameLike(String name, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Genre> query = em.createQuery(
+                    "SELECT g FROM Genre g WHERE g.name ILIKE :name AND g.id > :afterId ORDER BY g.id", Genre.class);
+            query.setParameter("name", "%" + name + "%");
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Genre::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding genres page by name - {} after id {}: {}", name, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding genres page by name - {} after id {}: {}", name, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public List<Genre> findByBookId(long bookId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Genre> query = em.createQuery(
                     "SELECT g FROM Genre g JOIN Book b on b.id = :bookId AND g MEMBER OF b.genres", Genre.class);
 
@@ -97,10 +157,24 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Genre> findByBookId(long bookId, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Genre> query = em.createQuery(
+                    "SELECT g FROM Genre g JOIN Book b on b.id = :bookId AND g MEMBER OF b.genres WHERE g.id > :afterId ORDER BY g.id", Genre.class);
+            query.setParameter("bookId", bookId);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Genre::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding genres page by book id - {} after id {}: {}", bookId, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding genres page by book id - {} after id {}: {}", bookId, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     @Override
     public List<Genre> findAll() {
-        try (EntityManager em = emf.createEntityManager()) {
-            return em.createQuery("SELECT g FROM Genre g", Genre.class).getResultList();
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return QueryCache.cacheable(em.createQuery("SELECT g FROM Genre g", Genre.class)).getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding all genres: {}", e.getMessage());
         } catch (Exception e) {
@@ -109,6 +183,56 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Page<Genre> findAll(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Genre> query = em.createQuery(
+                    "SELECT g FROM Genre g WHERE g.id > :afterId ORDER BY g.id", Genre.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Genre::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding genres page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding genres page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public List<GenreSummary> findSummaries() {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery(
+                    "SELECT new org.abrohamovich.dto.GenreSummary(g.id, g.name) FROM Genre g ORDER BY g.id", GenreSummary.class).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding genre summaries: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding genre summaries: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Page<GenreSummary> findSummaries(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<GenreSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.GenreSummary(g.id, g.name) FROM Genre g WHERE g.id > :afterId ORDER BY g.id", GenreSummary.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, GenreSummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding genre summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding genre summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public Stream<Genre> streamAll() {
+        try {
+            return Streaming.open(router.forRead(), "SELECT g FROM Genre g ORDER BY g.id", Genre.class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming all genres: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming all genres: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
     @Override
     public Optional<Genre> update(Genre entity) {
         EntityManager em = emf.createEntityManager();
@@ -116,6 +240,7 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
             em.getTransaction().begin();
             Genre updated = em.merge(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(updated);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -129,6 +254,35 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Genre> updateAll(Collection<Genre> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Genre> updated = new ArrayList<>(entities.size());
+            em.getTransaction().begin();
+            for (Genre entity : entities) {
+                updated.add(em.merge(entity));
+                if (updated.size() % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return updated;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while updating {} genres: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while updating {} genres: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public void deleteById(long id) {
         EntityManager em = emf.createEntityManager();
@@ -139,6 +293,7 @@ public class GenreRepository implements GenericRepo<Genre, Long> {
                 em.remove(genre);
             }
             em.getTransaction().commit();
+            router.recordWrite();
         } catch (PersistenceException e) {
             rollbackTransaction(em);
             log.error("Persistence error while deleting genre with id {}: {}", id, e.getMessage());
@@ -0,0 +1,46 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
+
+import java.util.List;
+import java.util.OptionalLong;
+
+final class Keyset {
+
+    private Keyset() {
+    }
+
+    static <T> List<T> fetch(TypedQuery<T> query, PageRequest pageRequest) {
+        query.setParameter("afterId", pageRequest.getAfterId());
+        query.setMaxResults(pageRequest.getSize() + 1);
+        return query.getResultList();
+    }
+
+    /**
+     * Counts the rows of {@code entity} and leaves the page cursors to be located on demand, each
+     * by skipping along the id index from the nearest cursor already known.
+     */
+    static PageIndex index(EntityManagerFactory emf, String entity, int pageSize) {
+        long total;
+        try (EntityManager em = emf.createEntityManager()) {
+            total = em.createQuery("SELECT COUNT(e) FROM " + entity + " e", Long.class).getSingleResult();
+        }
+        return PageIndex.of(total, pageSize, (afterId, rows) -> idAt(emf, entity, afterId, rows));
+    }
+
+    private static OptionalLong idAt(EntityManagerFactory emf, String entity, long afterId, long rows) {
+        try (EntityManager em = emf.createEntityManager()) {
+            List<Long> ids = em.createQuery("SELECT e.id FROM " + entity + " e WHERE e.id > :afterId ORDER BY e.id",
+                            Long.class)
+                    .setParameter("afterId", afterId)
+                    .setFirstResult((int) Math.min(rows - 1, Integer.MAX_VALUE))
+                    .setMaxResults(1)
+                    .getResultList();
+            return ids.isEmpty() ? OptionalLong.empty() : OptionalLong.of(ids.getFirst());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.abrohamovich.repository;
+
+/**
+ * Builds {@code LIKE}/{@code ILIKE} patterns from user input, escaping the wildcards so that a
+ * query such as {@code 100%} matches literally. Queries using them must declare
+ * {@code ESCAPE '!'}.
+ */
+final class LikePattern {
+    static final char ESCAPE = '!';
+
+    private LikePattern() {
+    }
+
+    static String contains(String text) {
+        return "%" + escape(text) + "%";
+    }
+
+    static String startsWith(String text) {
+        return escape(text) + "%";
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -4,18 +4,33 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.PatronSummary;
 import org.abrohamovich.entity.Patron;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class PatronRepository implements GenericRepo<Patron, Long> {
     private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+
+    public PatronRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public PatronRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+    }
 
     @Override
     public Optional<Patron> save(Patron entity) {
@@ -24,6 +39,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
             em.getTransaction().begin();
             em.persist(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(entity);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -37,9 +53,38 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Patron> saveAll(Collection<Patron> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            int count = 0;
+            em.getTransaction().begin();
+            for (Patron entity : entities) {
+                em.persist(entity);
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while saving {} patrons: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while saving {} patrons: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public Optional<Patron> findById(long id) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return Optional.ofNullable(em.find(Patron.class, id));
         } catch (PersistenceException e) {
             log.error("Persistence error while finding patron by id {}: {}", id, e.getMessage());
@@ -50,7 +95,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
     }
 
     public Optional<Patron> findByCardId(String cardId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Patron> query = em.createQuery(
                     "select p from Patron p where p.cardId = :cardId", Patron.class);
 
@@ -66,7 +111,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
     }
 
     public Optional<Patron> findByBookId(long bookId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Patron> query = em.createQuery(
                     "SELECT b.patron FROM Book b WHERE b.id = :bookId", Patron.class);
 
@@ -82,7 +127,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
     }
 
     public List<Patron> findByFullName(String fullName) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Patron> query = em.createQuery(
                     "SELECT p FROM Patron p WHERE p.fullName ILIKE :fullName", Patron.class);
 
@@ -97,8 +142,22 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Patron> findByFullName(String fullName, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Patron> query = em.createQuery(
+                    "SELECT p FROM Patron p WHERE p.fullName ILIKE :fullName AND p.id > :afterId ORDER BY p.id", Patron.class);
+            query.setParameter("fullName", "%" + fullName + "%");
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Patron::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding patrons page by full name {} after id {}: {}", fullName, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding patrons page by full name {} after id {}: {}", fullName, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public Optional<Patron> findByEmail(String email) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Patron> query = em.createQuery(
                     "select p from Patron p where p.email = :email", Patron.class);
 
@@ -114,7 +173,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
     }
 
     public Optional<Patron> findByPhone(String phone) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Patron> query = em.createQuery(
                     "select p from Patron p where p.phone = :phone", Patron.class);
 
@@ -130,7 +189,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
     }
 
     public Optional<Patron> findByAddress(String address) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Patron> query = em.createQuery(
                     "select p from Patron p where p.address = :address", Patron.class);
 
@@ -147,7 +206,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
 
     @Override
     public List<Patron> findAll() {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return em.createQuery("SELECT p FROM Patron p", Patron.class).getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding all patrons: {}", e.getMessage());
@@ -157,6 +216,109 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Page<Patron> findAll(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Patron> query = em.createQuery(
+                    "SELECT p FROM Patron p WHERE p.id > :afterId ORDER BY p.id", Patron.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Patron::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding patrons page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding patrons page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public List<PatronSummary> findSummaries() {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery(
+                    "SELECT new org.abrohamovich.dto.PatronSummary(p.id, p.fullName, p.cardId) FROM Patron p ORDER BY p.id", PatronSummary.class).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding patron summaries: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding patron summaries: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Page<PatronSummary> findSummaries(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<PatronSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.PatronSummary(p.id, p.fullName, p.cardId) FROM Patron p WHERE p.id > :afterId ORDER BY p.id", PatronSummary.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, PatronSummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding patron summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding patron summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public PageIndex findPageIndex(int pageSize) {
+        try {
+            return Keyset.index(router.forRead(), "Patron", pageSize);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while indexing patron pages of size {}: {}", pageSize, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while indexing patron pages of size {}: {}", pageSize, e.getMessage());
+        }
+        return PageIndex.empty(pageSize);
+    }
+
+    public List<PatronSummary> findSummariesByFullName(String fullName) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<PatronSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.PatronSummary(p.id, p.fullName, p.cardId) FROM Patron p WHERE p.fullName ILIKE :fullName ORDER BY p.id", PatronSummary.class);
+            query.setParameter("fullName", "%" + fullName + "%");
+            return query.getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding patron summaries by full name {}: {}", fullName, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding patron summaries by full name {}: {}", fullName, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public List<PatronSummary> findSummariesByFullName(String fullName, int limit) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<PatronSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.PatronSummary(p.id, p.fullName, p.cardId) FROM Patron p WHERE p.fullName ILIKE :fullName ORDER BY p.id", PatronSummary.class);
+            query.setParameter("fullName", "%" + fullName + "%");
+            query.setMaxResults(limit);
+            return query.getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding {} patron summaries by full name {}: {}", limit, fullName, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding {} patron summaries by full name {}: {}", limit, fullName, e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Stream<Patron> streamAll() {
+        try {
+            return Streaming.open(router.forRead(), "SELECT p FROM Patron p ORDER BY p.id", Patron.class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming all patrons: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming all patrons: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
+    public Stream<Patron> streamByFullName(String fullName) {
+        try {
+            return Streaming.open(router.forRead(),
+                    "SELECT p FROM Patron p WHERE p.fullName ILIKE :fullName ORDER BY p.id", Patron.class,
+                    query -> query.setParameter("fullName", "%" + fullName + "%"));
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming patrons by full name {}: {}", fullName, e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming patrons by full name {}: {}", fullName, e.getMessage());
+        }
+        return Stream.empty();
+    }
+
     @Override
     public Optional<Patron> update(Patron entity) {
         EntityManager em = emf.createEntityManager();
@@ -164,6 +326,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
             em.getTransaction().begin();
             Patron updated = em.merge(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(updated);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -177,6 +340,35 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Patron> updateAll(Collection<Patron> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Patron> updated = new ArrayList<>(entities.size());
+            em.getTransaction().begin();
+            for (Patron entity : entities) {
+                updated.add(em.merge(entity));
+                if (updated.size() % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return updated;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while updating {} patrons: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while updating {} patrons: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public void deleteById(long id) {
         EntityManager em = emf.createEntityManager();
@@ -187,6 +379,7 @@ public class PatronRepository implements GenericRepo<Patron, Long> {
                 em.remove(patron);
             }
             em.getTransaction().commit();
+            router.recordWrite();
         } catch (PersistenceException e) {
             rollbackTransaction(em);
             log.error("Persistence error while deleting patron with id {}: {}", id, e.getMessage());
@@ -4,18 +4,32 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.PersistenceException;
 import jakarta.persistence.TypedQuery;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.PublisherSummary;
 import org.abrohamovich.entity.Publisher;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Slf4j
-@RequiredArgsConstructor
 public class PublisherRepository implements GenericRepo<Publisher, Long> {
     private final EntityManagerFactory emf;
+    private final ReadWriteRouter router;
+
+    public PublisherRepository(EntityManagerFactory emf) {
+        this(ReadWriteRouter.primaryOnly(emf));
+    }
+
+    public PublisherRepository(ReadWriteRouter router) {
+        this.emf = router.forWrite();
+        this.router = router;
+    }
 
     @Override
     public Optional<Publisher> save(Publisher entity) {
@@ -24,6 +38,7 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
             em.getTransaction().begin();
             em.persist(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(entity);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -37,9 +52,38 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Publisher> saveAll(Collection<Publisher> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            int count = 0;
+            em.getTransaction().begin();
+            for (Publisher entity : entities) {
+                em.persist(entity);
+                if (++count % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return new ArrayList<>(entities);
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while saving {} publishers: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while saving {} publishers: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public Optional<Publisher> findById(long id) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             return Optional.of(em.find(Publisher.class, id));
         } catch (PersistenceException e) {
             log.error("Persistence error while finding publisher by id {}: {}", id, e.getMessage());
@@ -50,12 +94,13 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
     }
 
     public Optional<Publisher> findByName(String name) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Publisher> query = em.createQuery(
                     "SELECT s FROM Publisher s WHERE s.name = :name", Publisher.class);
 
             query.setParameter("name", name);
 
+            QueryCache.cacheable(query);
             return Optional.of(query.getSingleResult());
         } catch (PersistenceException e) {
             log.error("Persistence error while finding publisher by name {}: {}", name, e.getMessage());
@@ -66,12 +111,13 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
     }
 
     public List<Publisher> findByNameLike(String name) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Publisher> query = em.createQuery(
                     "SELECT s FROM Publisher s WHERE s.name ILIKE :name", Publisher.class);
 
             query.setParameter("name", "%" + name + "%");
 
+            QueryCache.cacheable(query);
             return query.getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding publisher by name {}: {}", name, e.getMessage());
@@ -81,8 +127,22 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
         return Collections.emptyList();
     }
 
+    public Page<Publisher> findByNameLike(String name, PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Publisher> query = em.createQuery(
+                    "SELECT s FROM Publisher s WHERE s.name ILIKE :name AND s.id > :afterId ORDER BY s.id", Publisher.class);
+            query.setParameter("name", "%" + name + "%");
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Publisher::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding publishers page by name {} after id {}: {}", name, pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding publishers page by name {} after id {}: {}", name, pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
     public Optional<Publisher> findByEmail(String email) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Publisher> query = em.createQuery(
                     "SELECT s FROM Publisher s WHERE s.email = :email", Publisher.class);
 
@@ -98,7 +158,7 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
     }
 
     public Optional<Publisher> findByWebsite(String website) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Publisher> query = em.createQuery(
                     "SELECT s FROM Publisher s WHERE s.website = :website", Publisher.class);
 
@@ -114,7 +174,7 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
     }
 
     public Optional<Publisher> findByAddress(String address) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Publisher> query = em.createQuery(
                     "SELECT s FROM Publisher s WHERE s.address = :address", Publisher.class);
 
@@ -130,7 +190,7 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
     }
 
     public Optional<Publisher> findByBookId(long bookId) {
-        try (EntityManager em = emf.createEntityManager()) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
             TypedQuery<Publisher> query = em.createQuery(
                     "SELECT p FROM Publisher p JOIN Book b on b.id = :bookId AND p.id = b.publisher.id", Publisher.class);
 
@@ -147,8 +207,8 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
 
     @Override
     public List<Publisher> findAll() {
-        try (EntityManager em = emf.createEntityManager()) {
-            return em.createQuery("SELECT s FROM Publisher s", Publisher.class).getResultList();
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return QueryCache.cacheable(em.createQuery("SELECT s FROM Publisher s", Publisher.class)).getResultList();
         } catch (PersistenceException e) {
             log.error("Persistence error while finding all publishers: {}", e.getMessage());
         } catch (Exception e) {
@@ -157,6 +217,56 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
         return Collections.emptyList();
     }
 
+    @Override
+    public Page<Publisher> findAll(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<Publisher> query = em.createQuery(
+                    "SELECT s FROM Publisher s WHERE s.id > :afterId ORDER BY s.id", Publisher.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, Publisher::getId);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding publishers page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding publishers page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public List<PublisherSummary> findSummaries() {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            return em.createQuery(
+                    "SELECT new org.abrohamovich.dto.PublisherSummary(s.id, s.name) FROM Publisher s ORDER BY s.id", PublisherSummary.class).getResultList();
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding publisher summaries: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding publisher summaries: {}", e.getMessage());
+        }
+        return Collections.emptyList();
+    }
+
+    public Page<PublisherSummary> findSummaries(PageRequest pageRequest) {
+        try (EntityManager em = router.forRead().createEntityManager()) {
+            TypedQuery<PublisherSummary> query = em.createQuery(
+                    "SELECT new org.abrohamovich.dto.PublisherSummary(s.id, s.name) FROM Publisher s WHERE s.id > :afterId ORDER BY s.id", PublisherSummary.class);
+            return Page.of(Keyset.fetch(query, pageRequest), pageRequest, PublisherSummary::id);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while finding publisher summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while finding publisher summaries page after id {}: {}", pageRequest.getAfterId(), e.getMessage());
+        }
+        return Page.empty(pageRequest);
+    }
+
+    public Stream<Publisher> streamAll() {
+        try {
+            return Streaming.open(router.forRead(), "SELECT p FROM Publisher p ORDER BY p.id", Publisher.class);
+        } catch (PersistenceException e) {
+            log.error("Persistence error while streaming all publishers: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error while streaming all publishers: {}", e.getMessage());
+        }
+        return Stream.empty();
+    }
+
     @Override
     public Optional<Publisher> update(Publisher entity) {
         EntityManager em = emf.createEntityManager();
@@ -164,6 +274,7 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
             em.getTransaction().begin();
             Publisher updated = em.merge(entity);
             em.getTransaction().commit();
+            router.recordWrite();
             return Optional.ofNullable(updated);
         } catch (PersistenceException e) {
             rollbackTransaction(em);
@@ -177,6 +288,35 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
         return Optional.empty();
     }
 
+    @Override
+    public List<Publisher> updateAll(Collection<Publisher> entities) {
+        EntityManager em = emf.createEntityManager();
+        try {
+            int batchSize = BatchSettings.batchSize(emf);
+            List<Publisher> updated = new ArrayList<>(entities.size());
+            em.getTransaction().begin();
+            for (Publisher entity : entities) {
+                updated.add(em.merge(entity));
+                if (updated.size() % batchSize == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+            router.recordWrite();
+            return updated;
+        } catch (PersistenceException e) {
+            rollbackTransaction(em);
+            log.error("Persistence error while updating {} publishers: {}", entities.size(), e.getMessage());
+        } catch (Exception e) {
+            rollbackTransaction(em);
+            log.error("Unexpected error while updating {} publishers: {}", entities.size(), e.getMessage());
+        } finally {
+            em.close();
+        }
+        return Collections.emptyList();
+    }
+
     @Override
     public void deleteById(long id) {
         EntityManager em = emf.createEntityManager();
@@ -187,6 +327,7 @@ public class PublisherRepository implements GenericRepo<Publisher, Long> {
                 em.remove(publisher);
             }
             em.getTransaction().commit();
+            router.recordWrite();
         } catch (PersistenceException e) {
             rollbackTransaction(em);
             log.error("Persistence error while deleting publisher with id {}: {}", id, e.getMessage());
@@ -0,0 +1,21 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * Marks reference-data queries as cacheable. Cached results are invalidated by
+ * Hibernate's update timestamps whenever a repository writes to the queried tables.
+ */
+final class QueryCache {
+    static final String REFERENCE_REGION = "library-reference-queries";
+
+    private QueryCache() {
+    }
+
+    static <T> TypedQuery<T> cacheable(TypedQuery<T> query) {
+        query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        query.setHint(HibernateHints.HINT_CACHE_REGION, REFERENCE_REGION);
+        return query;
+    }
+}
@@ -0,0 +1,114 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Chooses the {@link EntityManagerFactory} for repository calls. Writes always go to the primary.
+ * Reads go to the replica unless a write happened within the stickiness window (read-your-writes),
+ * or the last lag measurement was above the allowed lag or failed. Lag is measured at most once
+ * per check interval, on the calling thread.
+ */
+@Slf4j
+public class ReadWriteRouter {
+    private final EntityManagerFactory primary;
+    private final EntityManagerFactory replica;
+    private final ReplicaLag lag;
+    private final long stickinessNanos;
+    private final long maxLagNanos;
+    private final long lagCheckNanos;
+    private final LongSupplier clock;
+    private final AtomicLong stickyUntil;
+    private final AtomicLong lagCheckedAt;
+    private final AtomicBoolean measuring = new AtomicBoolean();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder replicaReads = new LongAdder();
+    private volatile boolean replicaFresh = true;
+
+    public ReadWriteRouter(EntityManagerFactory primary, EntityManagerFactory replica, ReplicaLag lag,
+                           Duration stickiness, Duration maxLag, Duration lagCheckInterval) {
+        this(primary, replica, lag, stickiness, maxLag, lagCheckInterval, System::nanoTime);
+    }
+
+    ReadWriteRouter(EntityManagerFactory primary, EntityManagerFactory replica, ReplicaLag lag,
+                    Duration stickiness, Duration maxLag, Duration lagCheckInterval, LongSupplier clock) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lag = lag;
+        this.stickinessNanos = stickiness.toNanos();
+        this.maxLagNanos = maxLag.toNanos();
+        this.lagCheckNanos = lagCheckInterval.toNanos();
+        this.clock = clock;
+        long now = clock.getAsLong();
+        this.stickyUntil = new AtomicLong(now);
+        this.lagCheckedAt = new AtomicLong(now - lagCheckNanos);
+    }
+
+    public static ReadWriteRouter primaryOnly(EntityManagerFactory primary) {
+        return new ReadWriteRouter(primary, null, ReplicaLag.none(), Duration.ZERO, Duration.ZERO, Duration.ZERO);
+    }
+
+    public EntityManagerFactory forWrite() {
+        return primary;
+    }
+
+    public EntityManagerFactory forRead() {
+        if (replica == null || clock.getAsLong() - stickyUntil.get() < 0 || !isReplicaFresh()) {
+            primaryReads.increment();
+            return primary;
+        }
+        replicaReads.increment();
+        return replica;
+    }
+
+    /**
+     * Pins reads to the primary for the stickiness window so callers see their own writes.
+     */
+    public void recordWrite() {
+        if (replica != null) {
+            long until = clock.getAsLong() + stickinessNanos;
+            stickyUntil.accumulateAndGet(until, (current, next) -> next - current > 0 ? next : current);
+        }
+    }
+
+    public boolean hasReplica() {
+        return replica != null;
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    private boolean isReplicaFresh() {
+        long now = clock.getAsLong();
+        if (now - lagCheckedAt.get() >= lagCheckNanos && measuring.compareAndSet(false, true)) {
+            try {
+                Duration measured = lag.measure();
+                boolean fresh = measured.toNanos() <= maxLagNanos;
+                if (fresh != replicaFresh) {
+                    log.warn("Replica lag is {} ms, routing reads to the {}", measured.toMillis(), fresh ? "replica" : "primary");
+                }
+                replicaFresh = fresh;
+            } catch (RuntimeException e) {
+                if (replicaFresh) {
+                    log.warn("Failed to measure replica lag, routing reads to the primary: {}", e.getMessage());
+                }
+                replicaFresh = false;
+            } finally {
+                lagCheckedAt.set(now);
+                measuring.set(false);
+            }
+        }
+        return replicaFresh;
+    }
+}
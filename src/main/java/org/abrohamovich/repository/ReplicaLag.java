@@ -0,0 +1,34 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+import java.time.Duration;
+
+/**
+ * Measures how far a read replica is behind its primary.
+ */
+@FunctionalInterface
+public interface ReplicaLag {
+
+    Duration measure();
+
+    static ReplicaLag none() {
+        return () -> Duration.ZERO;
+    }
+
+    /**
+     * Replay delay of a PostgreSQL streaming standby. A standby that has replayed everything it
+     * received reports no lag, so an idle primary does not make the replica look stale.
+     */
+    static ReplicaLag postgres(EntityManagerFactory replica) {
+        return () -> {
+            try (EntityManager em = replica.createEntityManager()) {
+                Number seconds = (Number) em.createNativeQuery(
+                        "SELECT COALESCE(CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                                "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END, 0)").getSingleResult();
+                return Duration.ofNanos((long) (seconds.doubleValue() * 1_000_000_000L));
+            }
+        };
+    }
+}
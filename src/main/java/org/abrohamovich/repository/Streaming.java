@@ -0,0 +1,60 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Opens a server-side cursor over a query in a read-only stateless session.
+ * Rows are fetched {@code fetchSize} at a time and nothing is kept in a persistence
+ * context, so walking a whole table runs in constant heap. The session, its
+ * transaction and the JDBC connection are released when the returned stream is closed.
+ */
+@Slf4j
+final class Streaming {
+
+    private Streaming() {
+    }
+
+    static <T> Stream<T> open(EntityManagerFactory emf, String hql, Class<T> type) {
+        return open(emf, hql, type, query -> {
+        });
+    }
+
+    static <T> Stream<T> open(EntityManagerFactory emf, String hql, Class<T> type, Consumer<SelectionQuery<T>> binder) {
+        return open(emf, hql, type, binder, BatchSettings.fetchSize(emf));
+    }
+
+    static <T> Stream<T> open(EntityManagerFactory emf, String hql, Class<T> type, Consumer<SelectionQuery<T>> binder,
+                              int fetchSize) {
+        StatelessSession session = emf.unwrap(SessionFactory.class).openStatelessSession();
+        try {
+            session.doWork(connection -> connection.setReadOnly(true));
+            session.beginTransaction();
+            SelectionQuery<T> query = session.createSelectionQuery(hql, type);
+            binder.accept(query);
+            query.setFetchSize(fetchSize);
+            return query.getResultStream().onClose(() -> close(session));
+        } catch (RuntimeException e) {
+            close(session);
+            throw e;
+        }
+    }
+
+    private static void close(StatelessSession session) {
+        try {
+            if (session.getTransaction().isActive()) {
+                session.getTransaction().rollback();
+            }
+        } catch (Exception e) {
+            log.error("Failed to end read-only streaming transaction", e);
+        } finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.AuthorSummary;
+
+import java.util.stream.Stream;
+
+public class AuthorNameIndex extends NameIndex<AuthorSummary> {
+
+    public void put(AuthorDto author) {
+        put(this, author);
+    }
+
+    /**
+     * Replaces the contents with {@code authors}, see {@link #rebuild(java.util.function.Consumer)}.
+     */
+    public void rebuild(Stream<AuthorDto> authors) {
+        rebuild(fresh -> authors.forEach(author -> put(fresh, author)));
+    }
+
+    private static void put(NameIndex<AuthorSummary> index, AuthorDto author) {
+        index.put(author.getId(), new AuthorSummary(author.getId(), author.getFullName(), author.getNationality()),
+                author.getFullName());
+    }
+}
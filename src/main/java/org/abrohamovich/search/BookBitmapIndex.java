@@ -0,0 +1,298 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.CategoryDto;
+import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Compressed bitmap per facet value, keyed by book id, so that {@link BookFilter} combinations are
+ * answered by bitmap intersection, union and difference instead of join-table aggregation.
+ * Book ids must fit in an {@code int}.
+ */
+public class BookBitmapIndex {
+    private static final RoaringBitmap[] NO_BITMAPS = new RoaringBitmap[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private Map<BookFacet, Map<Object, RoaringBitmap>> bitmaps = new EnumMap<>(BookFacet.class);
+    private Map<Integer, RoaringBitmap[]> memberships = new HashMap<>();
+    private RoaringBitmap books = new RoaringBitmap();
+    private List<Consumer<BookBitmapIndex>> pendingWrites;
+    private volatile boolean ready;
+
+    public BookBitmapIndex() {
+        for (BookFacet facet : BookFacet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    /**
+     * Replaces every facet value of the book with those of the given DTO.
+     */
+    public void put(BookDto book) {
+        int id = toIndex(book.getId());
+        lock.writeLock().lock();
+        try {
+            record(index -> index.put(book));
+            removeLocked(id);
+            books.add(id);
+            book.getGenres().stream().map(GenreDto::getId).forEach(genre -> addLocked(BookFacet.GENRE, genre, id));
+            book.getCategories().stream().map(CategoryDto::getId).forEach(category -> addLocked(BookFacet.CATEGORY, category, id));
+            book.getAuthors().stream().map(AuthorDto::getId).forEach(author -> addLocked(BookFacet.AUTHOR, author, id));
+            if (book.getLanguage() != null) {
+                addLocked(BookFacet.LANGUAGE, book.getLanguage(), id);
+            }
+            if (book.getStatus() != null) {
+                addLocked(BookFacet.STATUS, book.getStatus(), id);
+            }
+            if (book.getFormat() != null) {
+                addLocked(BookFacet.FORMAT, book.getFormat(), id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a single facet value to a book, used when the index is built from join-table scans.
+     */
+    public void add(long bookId, BookFacet facet, Object key) {
+        int id = toIndex(bookId);
+        lock.writeLock().lock();
+        try {
+            record(index -> index.add(bookId, facet, key));
+            books.add(id);
+            addLocked(facet, key, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves an indexed book from one value of a facet to another, e.g. when only its status changed.
+     * Books that are not indexed are left out.
+     */
+    public void replace(long bookId, BookFacet facet, Object oldKey, Object newKey) {
+        int id = toIndex(bookId);
+        lock.writeLock().lock();
+        try {
+            record(index -> index.replace(bookId, facet, oldKey, newKey));
+            if (!books.contains(id)) {
+                return;
+            }
+            RoaringBitmap previous = bitmaps.get(facet).get(oldKey);
+            if (previous != null && previous.checkedRemove(id)) {
+                RoaringBitmap[] kept = Arrays.stream(memberships.getOrDefault(id, NO_BITMAPS))
+                        .filter(bitmap -> bitmap != previous)
+                        .toArray(RoaringBitmap[]::new);
+                memberships.put(id, kept);
+            }
+            if (newKey != null) {
+                addLocked(facet, newKey, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bookId) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            record(index -> index.remove(bookId));
+            removeLocked((int) bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            record(BookBitmapIndex::clear);
+            bitmaps.values().forEach(Map::clear);
+            memberships.clear();
+            books.clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index with {@code loader} while this one keeps answering queries, then swaps it
+     * in. Writes made here during the build are replayed on the new index before the swap, so a
+     * book deleted or changed meanwhile is not brought back by the loader's older reads.
+     */
+    public void rebuild(Consumer<BookBitmapIndex> loader) {
+        synchronized (rebuildMonitor) {
+            BookBitmapIndex fresh = new BookBitmapIndex();
+            lock.writeLock().lock();
+            try {
+                pendingWrites = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                loader.accept(fresh);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(fresh));
+                pendingWrites = null;
+                bitmaps = fresh.bitmaps;
+                memberships = fresh.memberships;
+                books = fresh.books;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public long count(BookFilter filter) {
+        lock.readLock().lock();
+        try {
+            return evaluate(filter).getLongCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> ids(BookFilter filter) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = evaluate(filter);
+            List<Long> ids = new ArrayList<>(matches.getCardinality());
+            matches.forEach((int id) -> ids.add((long) id));
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} matching ids greater than {@code afterId}, in ascending order.
+     */
+    public List<Long> ids(BookFilter filter, long afterId, int limit) {
+        if (afterId >= Integer.MAX_VALUE) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            PeekableIntIterator it = evaluate(filter).getIntIterator();
+            it.advanceIfNeeded((int) afterId + 1);
+            List<Long> ids = new ArrayList<>(Math.min(limit, 1024));
+            while (it.hasNext() && ids.size() < limit) {
+                ids.add((long) it.next());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Page<Long> page(BookFilter filter, PageRequest pageRequest) {
+        return Page.of(ids(filter, pageRequest.getAfterId(), pageRequest.getSize() + 1), pageRequest, Long::longValue);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return books.getCardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    /**
+     * Evaluates the filter under the read lock. The result may be one of the index's own
+     * bitmaps and must not be modified or used after the lock is released.
+     */
+    RoaringBitmap evaluate(BookFilter filter) {
+        return switch (filter) {
+            case BookFilter.All all -> books;
+            case BookFilter.Term term -> bitmaps.get(term.facet()).getOrDefault(term.key(), new RoaringBitmap());
+            case BookFilter.Not not -> RoaringBitmap.andNot(books, evaluate(not.operand()));
+            case BookFilter.Or or -> FastAggregation.or(or.operands().stream().map(this::evaluate).iterator());
+            case BookFilter.And and -> intersect(and.operands());
+        };
+    }
+
+    private RoaringBitmap intersect(List<BookFilter> operands) {
+        List<RoaringBitmap> included = new ArrayList<>();
+        List<RoaringBitmap> excluded = new ArrayList<>();
+        for (BookFilter operand : operands) {
+            if (operand instanceof BookFilter.Not not) {
+                excluded.add(evaluate(not.operand()));
+            } else {
+                included.add(evaluate(operand));
+            }
+        }
+        RoaringBitmap result = included.isEmpty() ? books : FastAggregation.and(included.toArray(NO_BITMAPS));
+        if (!excluded.isEmpty()) {
+            result = RoaringBitmap.andNot(result, FastAggregation.or(excluded.toArray(NO_BITMAPS)));
+        }
+        return result;
+    }
+
+    private void record(Consumer<BookBitmapIndex> write) {
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+
+    private void addLocked(BookFacet facet, Object key, int id) {
+        RoaringBitmap bitmap = bitmaps.get(facet).computeIfAbsent(key, k -> new RoaringBitmap());
+        if (bitmap.checkedAdd(id)) {
+            RoaringBitmap[] previous = memberships.getOrDefault(id, NO_BITMAPS);
+            RoaringBitmap[] next = Arrays.copyOf(previous, previous.length + 1);
+            next[previous.length] = bitmap;
+            memberships.put(id, next);
+        }
+    }
+
+    private void removeLocked(int id) {
+        for (RoaringBitmap bitmap : memberships.getOrDefault(id, NO_BITMAPS)) {
+            bitmap.remove(id);
+        }
+        memberships.remove(id);
+        books.remove(id);
+    }
+
+    private static int toIndex(long bookId) {
+        if (bookId < 0 || bookId > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid argument: book id " + bookId + " is out of bitmap range");
+        }
+        return (int) bookId;
+    }
+}
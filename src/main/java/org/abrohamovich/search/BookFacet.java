@@ -0,0 +1,9 @@
+package org.abrohamovich.search;
+
+/**
+ * Book attributes that can be filtered on. Genre, category and author keys are ids,
+ * language keys are strings and status and format keys are their enum constants.
+ */
+public enum BookFacet {
+    GENRE, CATEGORY, AUTHOR, LANGUAGE, STATUS, FORMAT
+}
@@ -0,0 +1,104 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.entity.Format;
+import org.abrohamovich.entity.Status;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Boolean combination of book facet values, e.g.
+ * {@code and(genre(1), or(language("en"), language("uk")), not(status(Status.CHECKED_OUT)))}.
+ */
+public sealed interface BookFilter {
+
+    static BookFilter all() {
+        return All.INSTANCE;
+    }
+
+    static BookFilter genre(long id) {
+        return new Term(BookFacet.GENRE, id);
+    }
+
+    static BookFilter category(long id) {
+        return new Term(BookFacet.CATEGORY, id);
+    }
+
+    static BookFilter author(long id) {
+        return new Term(BookFacet.AUTHOR, id);
+    }
+
+    static BookFilter language(String language) {
+        return new Term(BookFacet.LANGUAGE, Objects.requireNonNull(language, "language"));
+    }
+
+    static BookFilter status(Status status) {
+        return new Term(BookFacet.STATUS, Objects.requireNonNull(status, "status"));
+    }
+
+    static BookFilter format(Format format) {
+        return new Term(BookFacet.FORMAT, Objects.requireNonNull(format, "format"));
+    }
+
+    static BookFilter and(BookFilter... operands) {
+        return new And(List.of(operands));
+    }
+
+    static BookFilter or(BookFilter... operands) {
+        return new Or(List.of(operands));
+    }
+
+    static BookFilter not(BookFilter operand) {
+        return new Not(Objects.requireNonNull(operand, "operand"));
+    }
+
+    /**
+     * Books having every one of the given genre, category or author ids.
+     */
+    static BookFilter allOf(BookFacet facet, Collection<Long> ids) {
+        return new And(terms(facet, ids));
+    }
+
+    /**
+     * Books having at least one of the given genre, category or author ids.
+     */
+    static BookFilter anyOf(BookFacet facet, Collection<Long> ids) {
+        return new Or(terms(facet, ids));
+    }
+
+    private static List<BookFilter> terms(BookFacet facet, Collection<Long> ids) {
+        if (facet != BookFacet.GENRE && facet != BookFacet.CATEGORY && facet != BookFacet.AUTHOR) {
+            throw new IllegalArgumentException("Invalid argument: " + facet + " is not keyed by id");
+        }
+        return ids.stream().<BookFilter>map(id -> new Term(facet, id)).toList();
+    }
+
+    record Term(BookFacet facet, Object key) implements BookFilter {
+    }
+
+    /**
+     * Matches when every operand matches; an empty conjunction matches every book.
+     */
+    record And(List<BookFilter> operands) implements BookFilter {
+        public And {
+            operands = List.copyOf(operands);
+        }
+    }
+
+    /**
+     * Matches when any operand matches; an empty disjunction matches no book.
+     */
+    record Or(List<BookFilter> operands) implements BookFilter {
+        public Or {
+            operands = List.copyOf(operands);
+        }
+    }
+
+    record Not(BookFilter operand) implements BookFilter {
+    }
+
+    enum All implements BookFilter {
+        INSTANCE
+    }
+}
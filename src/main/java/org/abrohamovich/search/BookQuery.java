@@ -0,0 +1,55 @@
+package org.abrohamovich.search;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import org.abrohamovich.entity.Format;
+import org.abrohamovich.entity.Status;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Criteria for {@code BookService.search}. Every criterion that is set must match; author, genre and
+ * category ids mean "has all of these", like the single-criterion finders. The receipt-date range is inclusive.
+ */
+@Getter
+@Builder(toBuilder = true)
+@ToString
+public class BookQuery {
+    private final String title;
+    @Builder.Default
+    private final Set<Long> authorIds = Set.of();
+    @Builder.Default
+    private final Set<Long> genreIds = Set.of();
+    @Builder.Default
+    private final Set<Long> categoryIds = Set.of();
+    private final String language;
+    private final Status status;
+    private final Format format;
+    private final Long publisherId;
+    private final LocalDate receivedFrom;
+    private final LocalDate receivedTo;
+    @Builder.Default
+    private final BookSort sort = BookSort.ID;
+    private final boolean descending;
+    private final int offset;
+    @Builder.Default
+    private final int limit = 50;
+
+    /**
+     * The author, genre, category, language, status and format criteria as a {@link BookFilter}.
+     */
+    public BookFilter toFilter() {
+        return new BookFilter.And(Stream.of(
+                        authorIds.stream().map(BookFilter::author),
+                        genreIds.stream().map(BookFilter::genre),
+                        categoryIds.stream().map(BookFilter::category),
+                        Stream.ofNullable(language).map(BookFilter::language),
+                        Stream.ofNullable(status).map(BookFilter::status),
+                        Stream.ofNullable(format).map(BookFilter::format))
+                .flatMap(terms -> terms)
+                .toList());
+    }
+}
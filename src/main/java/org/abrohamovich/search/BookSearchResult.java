@@ -0,0 +1,21 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.dto.BookSummary;
+
+import java.util.List;
+
+/**
+ * One page of {@code BookService.search} results with the total match count and facet counts
+ * over all matches, ordered by count descending.
+ */
+public record BookSearchResult(List<BookSummary> items, long total, int offset,
+                               List<FacetCount> genres, List<FacetCount> languages, List<FacetCount> statuses) {
+
+    public static BookSearchResult empty(BookQuery query) {
+        return new BookSearchResult(List.of(), 0, query.getOffset(), List.of(), List.of(), List.of());
+    }
+
+    public boolean hasMore() {
+        return offset + items.size() < total;
+    }
+}
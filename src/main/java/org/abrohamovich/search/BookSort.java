@@ -0,0 +1,21 @@
+package org.abrohamovich.search;
+
+/**
+ * Sort keys for {@link BookQuery}. Ties are always broken by book id.
+ */
+public enum BookSort {
+    ID("b.id"),
+    TITLE("b.title"),
+    RECEIPT_DATE("b.receiptDate"),
+    NUMBER_OF_PAGES("b.numberOfPages");
+
+    private final String path;
+
+    BookSort(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
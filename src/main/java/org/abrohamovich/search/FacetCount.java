@@ -0,0 +1,7 @@
+package org.abrohamovich.search;
+
+/**
+ * Number of matching books sharing one facet value. {@code key} is the genre id, language or status name.
+ */
+public record FacetCount(String key, String label, long count) {
+}
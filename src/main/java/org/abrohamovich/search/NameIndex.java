@@ -0,0 +1,310 @@
+package org.abrohamovich.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over short text fields such as names, card ids and emails.
+ * Text is folded to lower case without accents and split into tokens. Tokens map to the ids
+ * that contain them and are kept sorted for prefix lookups; a trigram map over the distinct
+ * tokens serves infix lookups. Query terms of three or more characters match anywhere inside
+ * a token, shorter terms match token prefixes.
+ */
+public class NameIndex<T> {
+    private static final int GRAM = 3;
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+    private static final int PROBE_TOKENS = 16;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildMonitor = new Object();
+    private Map<Long, Entry<T>> entries = new HashMap<>();
+    private NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    private Map<String, Set<String>> grams = new HashMap<>();
+    private List<Consumer<NameIndex<T>>> pendingWrites;
+    private volatile boolean ready;
+
+    public void put(long id, T value, String... fields) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String field : fields) {
+            tokens.addAll(tokenize(field));
+        }
+        lock.writeLock().lock();
+        try {
+            record(index -> index.put(id, value, fields));
+            removeLocked(id);
+            entries.put(id, new Entry<>(value, tokens.toArray(String[]::new)));
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, this::addGrams).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            record(index -> index.remove(id));
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            record(NameIndex::clear);
+            entries.clear();
+            postings.clear();
+            grams.clear();
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a new index with {@code loader} while this one keeps answering searches, then swaps
+     * it in. Writes made here during the build are replayed on the new index before the swap.
+     */
+    public void rebuild(Consumer<NameIndex<T>> loader) {
+        synchronized (rebuildMonitor) {
+            NameIndex<T> fresh = new NameIndex<>();
+            lock.writeLock().lock();
+            try {
+                pendingWrites = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                loader.accept(fresh);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pendingWrites = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                pendingWrites.forEach(write -> write.accept(fresh));
+                pendingWrites = null;
+                entries = fresh.entries;
+                postings = fresh.postings;
+                grams = fresh.grams;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} values whose fields match every term of the query.
+     * Exact token matches rank above prefix matches, which rank above infix matches.
+     */
+    public List<T> search(String query, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<String, Integer>> matches = new ArrayList<>(terms.size());
+            int driver = 0;
+            long driverSize = Long.MAX_VALUE;
+            for (String term : terms) {
+                Map<String, Integer> tokens = matchingTokens(term);
+                long size = tokens.keySet().stream().mapToLong(token -> postings.get(token).size()).sum();
+                if (size < driverSize) {
+                    driver = matches.size();
+                    driverSize = size;
+                }
+                matches.add(tokens);
+            }
+            if (driverSize == 0) {
+                return List.of();
+            }
+
+            Map<Long, Integer> scores = new HashMap<>();
+            matches.get(driver).forEach((token, score) -> {
+                for (Long id : postings.get(token)) {
+                    scores.merge(id, score, Math::max);
+                }
+            });
+            for (int i = 0; i < terms.size() && !scores.isEmpty(); i++) {
+                if (i != driver) {
+                    narrow(scores, terms.get(i), matches.get(i));
+                }
+            }
+            return top(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+    }
+
+    static String normalize(String text) {
+        return MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(SEPARATORS.split(normalize(text)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private void record(Consumer<NameIndex<T>> write) {
+        if (pendingWrites != null) {
+            pendingWrites.add(write);
+        }
+    }
+
+    private Map<String, Integer> matchingTokens(String term) {
+        Map<String, Integer> tokens = new HashMap<>();
+        for (String token : postings.subMap(term, true, term + Character.MAX_VALUE, false).keySet()) {
+            tokens.put(token, token.equals(term) ? EXACT : PREFIX);
+        }
+        if (term.length() >= GRAM) {
+            Set<String> candidates = null;
+            for (String gram : gramsOf(term)) {
+                Set<String> containing = grams.getOrDefault(gram, Set.of());
+                if (candidates == null || containing.size() < candidates.size()) {
+                    candidates = containing;
+                }
+            }
+            for (String token : candidates) {
+                if (!tokens.containsKey(token) && token.contains(term)) {
+                    tokens.put(token, INFIX);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Keeps the candidates that also match {@code term} and adds their score for it. Few matching
+     * tokens are probed through their postings, many are checked against each candidate's tokens.
+     */
+    private void narrow(Map<Long, Integer> scores, String term, Map<String, Integer> tokens) {
+        boolean probe = tokens.size() <= PROBE_TOKENS;
+        Iterator<Map.Entry<Long, Integer>> it = scores.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Integer> candidate = it.next();
+            int score = probe ? probe(candidate.getKey(), tokens) : score(entries.get(candidate.getKey()).tokens(), term);
+            if (score == 0) {
+                it.remove();
+            } else {
+                candidate.setValue(candidate.getValue() + score);
+            }
+        }
+    }
+
+    private int probe(Long id, Map<String, Integer> tokens) {
+        int best = 0;
+        for (Map.Entry<String, Integer> token : tokens.entrySet()) {
+            if (token.getValue() > best && postings.get(token.getKey()).contains(id)) {
+                best = token.getValue();
+            }
+        }
+        return best;
+    }
+
+    private static int score(String[] tokens, String term) {
+        int best = 0;
+        for (String token : tokens) {
+            if (token.equals(term)) {
+                return EXACT;
+            }
+            if (token.startsWith(term)) {
+                best = PREFIX;
+            } else if (best == 0 && term.length() >= GRAM && token.contains(term)) {
+                best = INFIX;
+            }
+        }
+        return best;
+    }
+
+    private List<T> top(Map<Long, Integer> scores, int limit) {
+        Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Integer>> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<Long, Integer> candidate : scores.entrySet()) {
+            best.offer(candidate);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        return ranked.stream().map(candidate -> entries.get(candidate.getKey()).value()).toList();
+    }
+
+    private Set<Long> addGrams(String token) {
+        for (String gram : gramsOf(token)) {
+            grams.computeIfAbsent(gram, k -> new HashSet<>()).add(token);
+        }
+        return new HashSet<>();
+    }
+
+    private static Set<String> gramsOf(String token) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            result.add(token.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private void removeLocked(long id) {
+        Entry<T> previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String token : previous.tokens()) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                postings.remove(token);
+                for (String gram : gramsOf(token)) {
+                    Set<String> tokens = grams.get(gram);
+                    if (tokens != null && tokens.remove(token) && tokens.isEmpty()) {
+                        grams.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private record Entry<T>(T value, String[] tokens) {
+    }
+}
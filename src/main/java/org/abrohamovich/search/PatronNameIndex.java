@@ -0,0 +1,25 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.dto.PatronSummary;
+
+import java.util.stream.Stream;
+
+public class PatronNameIndex extends NameIndex<PatronSummary> {
+
+    public void put(PatronDto patron) {
+        put(this, patron);
+    }
+
+    /**
+     * Replaces the contents with {@code patrons}, see {@link #rebuild(java.util.function.Consumer)}.
+     */
+    public void rebuild(Stream<PatronDto> patrons) {
+        rebuild(fresh -> patrons.forEach(patron -> put(fresh, patron)));
+    }
+
+    private static void put(NameIndex<PatronSummary> index, PatronDto patron) {
+        index.put(patron.getId(), new PatronSummary(patron.getId(), patron.getFullName(), patron.getCardId()),
+                patron.getFullName(), patron.getCardId(), patron.getEmail());
+    }
+}
@@ -0,0 +1,117 @@
+package org.abrohamovich.search;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.entity.Author;
+import org.abrohamovich.entity.Patron;
+import org.abrohamovich.mapper.AuthorMapper;
+import org.abrohamovich.mapper.PatronMapper;
+import org.abrohamovich.repository.AuthorRepository;
+import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.repository.PatronRepository;
+
+import java.time.Duration;
+import java.util.stream.Stream;
+
+@Slf4j
+public class SearchIndexProvider {
+    private static final PatronNameIndex patronIndex = new PatronNameIndex();
+    private static final AuthorNameIndex authorIndex = new AuthorNameIndex();
+    private static final BookBitmapIndex bookIndex = new BookBitmapIndex();
+
+    private SearchIndexProvider() {
+    }
+
+    /**
+     * Builds the indexes on a daemon thread. Until an index is ready, services answer
+     * searches from the database.
+     */
+    public static Thread initializeInBackground(EntityManagerFactory emf) {
+        return initializeInBackground(emf, Duration.ZERO);
+    }
+
+    /**
+     * Builds the indexes on a daemon thread and then rebuilds them every {@code refreshInterval},
+     * so that books written by other processes (other desks, imports, {@code COPY}) are picked up.
+     * A zero or negative interval builds them once.
+     */
+    public static Thread initializeInBackground(EntityManagerFactory emf, Duration refreshInterval) {
+        return Thread.ofPlatform().daemon().name("name-index-builder").start(() -> {
+            try {
+                initialize(emf);
+            } catch (RuntimeException e) {
+                log.error("Failed to build search indexes, searches stay on the database: {}", e.getMessage(), e);
+            }
+            if (!refreshInterval.isPositive()) {
+                return;
+            }
+            log.info("Refreshing search indexes every {}s", refreshInterval.toSeconds());
+            try {
+                while (true) {
+                    Thread.sleep(refreshInterval);
+                    refresh(emf);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    private static void refresh(EntityManagerFactory emf) {
+        try {
+            initialize(emf);
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh search indexes, keeping the previous ones: {}", e.getMessage(), e);
+        }
+    }
+
+    public static void initialize(EntityManagerFactory emf) {
+        buildNameIndexes(emf);
+        buildBookIndex(emf);
+    }
+
+    /**
+     * Loads patrons and authors into new name indexes and swaps them in, the same way as
+     * {@link #buildBookIndex(EntityManagerFactory)}.
+     */
+    private static void buildNameIndexes(EntityManagerFactory emf) {
+        long started = System.nanoTime();
+        try (Stream<Patron> patrons = new PatronRepository(emf).streamAll()) {
+            patronIndex.rebuild(patrons.map(PatronMapper.INSTANCE::toDto));
+        }
+        try (Stream<Author> authors = new AuthorRepository(emf).streamAll()) {
+            authorIndex.rebuild(authors.map(AuthorMapper.INSTANCE::toDto));
+        }
+        log.info("Name indexes built with {} patrons and {} authors in {} ms",
+                patronIndex.size(), authorIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Loads the book facets into a new bitmap index and swaps it in. Searches keep using the
+     * previous index meanwhile, and service writes made during the load are replayed on the new one.
+     */
+    private static void buildBookIndex(EntityManagerFactory emf) {
+        long started = System.nanoTime();
+        BookRepository bookRepository = new BookRepository(emf);
+        bookIndex.rebuild(fresh -> {
+            for (BookFacet facet : BookFacet.values()) {
+                try (Stream<Object[]> values = bookRepository.streamFacetValues(facet)) {
+                    values.forEach(row -> fresh.add((Long) row[0], facet, row[1]));
+                }
+            }
+        });
+        log.info("Book bitmap index built with {} books in {} ms", bookIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public static PatronNameIndex getPatronIndex() {
+        return patronIndex;
+    }
+
+    public static AuthorNameIndex getAuthorIndex() {
+        return authorIndex;
+    }
+
+    public static BookBitmapIndex getBookIndex() {
+        return bookIndex;
+    }
+}
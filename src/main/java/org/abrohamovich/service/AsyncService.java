@@ -0,0 +1,37 @@
+package org.abrohamovich.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Asynchronous view of a blocking service: {@code books.supply(s -> s.findById(id))} runs the call on
+ * the {@link DatabaseExecutor} and returns its result as a {@link CompletableFuture}. Exceptions thrown
+ * by the service, such as {@code BookNotFoundException}, complete the future exceptionally.
+ */
+public class AsyncService<S> {
+    private final S service;
+    private final DatabaseExecutor executor;
+
+    public AsyncService(S service, DatabaseExecutor executor) {
+        this.service = service;
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> supply(Function<S, T> call) {
+        return executor.submit(() -> call.apply(service));
+    }
+
+    public <T> CompletableFuture<T> supply(Function<S, T> call, Duration timeout) {
+        return executor.submit(() -> call.apply(service), timeout);
+    }
+
+    public CompletableFuture<Void> run(Consumer<S> call) {
+        return executor.run(() -> call.accept(service));
+    }
+
+    public S getService() {
+        return service;
+    }
+}
@@ -2,14 +2,19 @@ package org.abrohamovich.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.AuthorSummary;
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.entity.Author;
 import org.abrohamovich.entity.Sex;
 import org.abrohamovich.exceptions.AuthorNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.mapper.AuthorMapper;
 import org.abrohamovich.repository.AuthorRepository;
+import org.abrohamovich.search.AuthorNameIndex;
 import org.abrohamovich.service.interfaces.AuthorService;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,10 +25,16 @@ import java.util.Optional;
 public class AuthorServiceCRUD implements AuthorService {
     private final AuthorRepository repository;
     private final AuthorMapper mapper;
+    private final AuthorNameIndex nameIndex;
 
     public AuthorServiceCRUD(AuthorRepository repository, AuthorMapper mapper) {
+        this(repository, mapper, new AuthorNameIndex());
+    }
+
+    public AuthorServiceCRUD(AuthorRepository repository, AuthorMapper mapper, AuthorNameIndex nameIndex) {
         this.repository = repository;
         this.mapper = mapper;
+        this.nameIndex = nameIndex;
         log.info("AuthorServiceDefault initialized with repository: {} and mapper: {}", repository.getClass().getSimpleName(), mapper.getClass().getSimpleName());
     }
 
@@ -47,7 +58,17 @@ public class AuthorServiceCRUD implements AuthorService {
 
         log.info("Successfully saved author with full name: {}", authorDto.getFullName());
 
-        return mapper.toDto(author.get());
+        AuthorDto saved = mapper.toDto(author.get());
+        nameIndex.put(saved);
+        return saved;
+    }
+
+    @Override
+    public BulkResult<AuthorDto> saveAll(List<AuthorDto> authorDtos) throws IllegalArgumentException {
+        BulkResult<AuthorDto> result = BulkExecutor.execute("save authors", authorDtos, this::validateAuthorDto,
+                mapper::toEntity, repository::saveAll, repository::save, mapper::toDto);
+        result.getSucceeded().forEach(nameIndex::put);
+        return result;
     }
 
     @Override
@@ -76,6 +97,22 @@ public class AuthorServiceCRUD implements AuthorService {
                 .toList();
     }
 
+    @Override
+    public Page<AuthorDto> findBySex(Sex sex, PageRequest pageRequest) throws IllegalArgumentException {
+        if (sex == null) {
+            log.error("Invalid argument: sex is null");
+            throw new IllegalArgumentException("Invalid argument: sex is null");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for authors page with sex: {} after id {}", sex, pageRequest.getAfterId());
+        Page<Author> page = repository.findBySex(sex, pageRequest);
+        log.info("Found {} authors for sex: {} after id {}", page.getItems().size(), sex, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<AuthorDto> findByFullName(String fullName) throws IllegalArgumentException {
         if (fullName.isBlank()) {
@@ -90,6 +127,22 @@ public class AuthorServiceCRUD implements AuthorService {
                 .toList();
     }
 
+    @Override
+    public Page<AuthorDto> findByFullName(String fullName, PageRequest pageRequest) throws IllegalArgumentException {
+        if (fullName.isBlank()) {
+            log.error("Invalid argument: blank fullName");
+            throw new IllegalArgumentException("Invalid argument: blank fullName");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for authors page with full name: {} after id {}", fullName, pageRequest.getAfterId());
+        Page<Author> page = repository.findByFullName(fullName, pageRequest);
+        log.info("Found {} authors for full name: {} after id {}", page.getItems().size(), fullName, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<AuthorDto> findByFullNameLike(String fullName) throws IllegalArgumentException {
         if (fullName.isBlank()) {
@@ -104,6 +157,22 @@ public class AuthorServiceCRUD implements AuthorService {
                 .toList();
     }
 
+    @Override
+    public Page<AuthorDto> findByFullNameLike(String fullName, PageRequest pageRequest) throws IllegalArgumentException {
+        if (fullName.isBlank()) {
+            log.error("Invalid argument: blank fullName");
+            throw new IllegalArgumentException("Invalid argument: blank fullName");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for authors page with full name: {} after id {}", fullName, pageRequest.getAfterId());
+        Page<Author> page = repository.findByFullNameLike(fullName, pageRequest);
+        log.info("Found {} authors for full name: {} after id {}", page.getItems().size(), fullName, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<AuthorDto> findByBook(BookDto bookDto) {
         log.debug("Searching for authors with book title: {}", bookDto.getTitle());
@@ -114,6 +183,22 @@ public class AuthorServiceCRUD implements AuthorService {
                 .toList();
     }
 
+    @Override
+    public Page<AuthorDto> findByBook(BookDto bookDto, PageRequest pageRequest) throws IllegalArgumentException {
+        if (bookDto == null) {
+            log.error("Invalid argument: null bookDto");
+            throw new IllegalArgumentException("Invalid argument: null bookDto");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for authors page with book title: {} after id {}", bookDto.getTitle(), pageRequest.getAfterId());
+        Page<Author> page = repository.findByBookId(bookDto.getId(), pageRequest);
+        log.info("Found {} authors for book title: {} after id {}", page.getItems().size(), bookDto.getTitle(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<AuthorDto> findAll() {
         log.debug("Fetching all authors");
@@ -124,6 +209,57 @@ public class AuthorServiceCRUD implements AuthorService {
                 .toList();
     }
 
+    @Override
+    public Page<AuthorDto> findAll(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching authors page after id {}", pageRequest.getAfterId());
+        Page<Author> page = repository.findAll(pageRequest);
+        log.info("Retrieved {} authors after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
+    @Override
+    public List<AuthorSummary> findSummaries() {
+        log.info("Finding all author summaries");
+        List<AuthorSummary> summaries = repository.findSummaries();
+        log.info("Found {} author summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Page<AuthorSummary> findSummaries(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching author summaries page after id {}", pageRequest.getAfterId());
+        Page<AuthorSummary> page = repository.findSummaries(pageRequest);
+        log.info("Retrieved {} author summaries after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page;
+    }
+
+    @Override
+    public List<AuthorSummary> search(String query, int limit) throws IllegalArgumentException {
+        if (query == null || query.isBlank()) {
+            log.error("Invalid argument: blank query");
+            throw new IllegalArgumentException("Invalid argument: blank query");
+        }
+        if (limit < 1 || limit > PageRequest.MAX_SIZE) {
+            log.error("Invalid argument: limit {} is out of range", limit);
+            throw new IllegalArgumentException("Invalid argument: limit must be between 1 and " + PageRequest.MAX_SIZE);
+        }
+        if (!nameIndex.isReady()) {
+            log.debug("Name index is not built, searching authors in the database: {}", query);
+            return repository.findSummariesByFullName(query, limit);
+        }
+        List<AuthorSummary> found = nameIndex.search(query, limit);
+        log.debug("Found {} authors in name index for: {}", found.size(), query);
+        return found;
+    }
+
     @Override
     public AuthorDto update(AuthorDto authorDto) throws AuthorNotFoundException, IllegalArgumentException {
         if (authorDto == null) {
@@ -144,7 +280,17 @@ public class AuthorServiceCRUD implements AuthorService {
 
         log.info("Successfully updated author with id: {}", authorDto.getId());
 
-        return mapper.toDto(author.get());
+        AuthorDto updated = mapper.toDto(author.get());
+        nameIndex.put(updated);
+        return updated;
+    }
+
+    @Override
+    public BulkResult<AuthorDto> updateAll(List<AuthorDto> authorDtos) throws IllegalArgumentException {
+        BulkResult<AuthorDto> result = BulkExecutor.execute("update authors", authorDtos, this::validateAuthorDto,
+                mapper::toEntity, repository::updateAll, repository::update, mapper::toDto);
+        result.getSucceeded().forEach(nameIndex::put);
+        return result;
     }
 
     @Override
@@ -160,6 +306,7 @@ public class AuthorServiceCRUD implements AuthorService {
             throw new AuthorNotFoundException("Could not find author with id " + authorDto.getId());
         }
         repository.deleteById(authorDto.getId());
+        nameIndex.remove(authorDto.getId());
         log.info("Successfully deleted author with id: {}", authorDto.getId());
     }
 
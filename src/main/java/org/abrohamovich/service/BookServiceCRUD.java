@@ -9,21 +9,42 @@ import org.abrohamovich.exceptions.BookNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.mapper.BookMapper;
 import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.search.BookFacet;
+import org.abrohamovich.search.BookFilter;
+import org.abrohamovich.search.BookQuery;
+import org.abrohamovich.search.BookSearchResult;
 import org.abrohamovich.service.interfaces.BookService;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 public class BookServiceCRUD implements BookService {
     private final BookRepository repository;
     private final BookMapper mapper;
+    private final BookBitmapIndex bitmapIndex;
 
     public BookServiceCRUD(BookRepository repository, BookMapper mapper) {
+        this(repository, mapper, new BookBitmapIndex());
+    }
+
+    public BookServiceCRUD(BookRepository repository, BookMapper mapper, BookBitmapIndex bitmapIndex) {
         this.repository = repository;
         this.mapper = mapper;
+        this.bitmapIndex = bitmapIndex;
         log.info("BookServiceDefault initialized with repository: {} and mapper: {}", repository.getClass().getSimpleName(), mapper.getClass().getSimpleName());
     }
 
@@ -41,7 +62,34 @@ public class BookServiceCRUD implements BookService {
             throw new EntityException("Something went wrong while saving book with ISBN " + bookDto.getIsbn());
         }
         log.info("Successfully saved book with ISBN: {}", bookDto.getIsbn());
-        return mapper.toDto(book.get());
+        BookDto saved = mapper.toDto(book.get());
+        bitmapIndex.put(saved);
+        return saved;
+    }
+
+    @Override
+    public BulkResult<BookDto> saveAll(List<BookDto> bookDtos) throws IllegalArgumentException {
+        BulkResult<BookDto> result = BulkExecutor.execute("save books", bookDtos, this::validateBookDto,
+                mapper::toEntity, repository::saveAll, repository::save, mapper::toDto);
+        result.getSucceeded().forEach(bitmapIndex::put);
+        return result;
+    }
+
+    @Override
+    public BulkResult<BookDto> upsertAllByIsbn(List<BookDto> bookDtos) throws IllegalArgumentException {
+        Set<String> isbns = new HashSet<>();
+        BulkResult<BookDto> result = BulkExecutor.execute("upsert books", bookDtos, bookDto -> {
+                    validateBookDto(bookDto);
+                    if (!isbns.add(bookDto.getIsbn())) {
+                        log.error("ISBN {} occurs more than once in the upsert", bookDto.getIsbn());
+                        throw new IllegalArgumentException("Invalid argument: ISBN " + bookDto.getIsbn()
+                                + " occurs more than once in the upsert");
+                    }
+                },
+                mapper::toEntity, repository::upsertAllByIsbn,
+                book -> repository.upsertAllByIsbn(List.of(book)).stream().findFirst(), mapper::toDto);
+        result.getSucceeded().forEach(bitmapIndex::put);
+        return result;
     }
 
     @Override
@@ -56,6 +104,18 @@ public class BookServiceCRUD implements BookService {
         return mapper.toDto(book.get());
     }
 
+    @Override
+    public BookDto findFullById(long id) throws BookNotFoundException {
+        log.info("Finding book with relations by ID: {}", id);
+        Optional<Book> book = repository.findFullById(id);
+        if (book.isEmpty()) {
+            log.error("Book with ID {} not found", id);
+            throw new BookNotFoundException("Book with id " + id + " not found");
+        }
+        log.info("Found book with relations by ID: {}", id);
+        return mapper.toDto(book.get());
+    }
+
     @Override
     public List<BookDto> findByTitle(String title) {
         log.debug("Searching for books with title: {}", title);
@@ -66,6 +126,22 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByTitle(String title, PageRequest pageRequest) throws IllegalArgumentException {
+        if (title.isBlank()) {
+            log.error("Invalid argument: blank title");
+            throw new IllegalArgumentException("Invalid argument: blank title");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with title: {} after id {}", title, pageRequest.getAfterId());
+        Page<Book> page = repository.findByTitle(title, pageRequest);
+        log.info("Found {} books for title: {} after id {}", page.getItems().size(), title, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByAuthors(List<AuthorDto> authorDtos) throws IllegalArgumentException {
         if (authorDtos == null || authorDtos.isEmpty()) {
@@ -74,13 +150,30 @@ public class BookServiceCRUD implements BookService {
         }
         log.info("Finding books by authors: {}", authorDtos);
         List<Long> list = authorDtos.stream().map(AuthorDto::getId).toList();
-        List<Book> books = repository.findByAuthorIds(list);
+        List<Book> books = findByRelation(BookFacet.AUTHOR, list, repository::findByAuthorIds);
         log.info("Found {} books for authors: {}", books.size(), list);
         return books.stream()
                 .map(mapper::toDto)
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByAuthors(List<AuthorDto> authorDtos, PageRequest pageRequest) throws IllegalArgumentException {
+        if (authorDtos == null || authorDtos.isEmpty()) {
+            log.error("Invalid argument: null authorDtos");
+            throw new IllegalArgumentException("Invalid argument: null authorDtos");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with authors: {} after id {}", authorDtos, pageRequest.getAfterId());
+        Page<Book> page = findByRelation(BookFacet.AUTHOR, authorDtos.stream().map(AuthorDto::getId).toList(),
+                pageRequest, repository::findByAuthorIds);
+        log.info("Found {} books for authors: {} after id {}", page.getItems().size(), authorDtos, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByIsbn(String isbn) throws IllegalArgumentException {
         if (isbn.isBlank()) {
@@ -95,6 +188,32 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Map<String, Long> countByIsbns(Collection<String> isbns) throws IllegalArgumentException {
+        if (isbns == null) {
+            log.error("Invalid argument: null ISBN list");
+            throw new IllegalArgumentException("Invalid argument: null ISBN list");
+        }
+        log.debug("Counting books of {} ISBNs", isbns.size());
+        return repository.countByIsbns(isbns);
+    }
+
+    @Override
+    public Page<BookDto> findByIsbn(String isbn, PageRequest pageRequest) throws IllegalArgumentException {
+        if (isbn.isBlank()) {
+            log.error("Invalid argument: blank isbn");
+            throw new IllegalArgumentException("Invalid argument: blank isbn");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with ISBN: {} after id {}", isbn, pageRequest.getAfterId());
+        Page<Book> page = repository.findByIsbn(isbn, pageRequest);
+        log.info("Found {} books for ISBN: {} after id {}", page.getItems().size(), isbn, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByGenres(List<GenreDto> genreDtos) throws IllegalArgumentException {
         if (genreDtos == null || genreDtos.isEmpty()) {
@@ -103,13 +222,30 @@ public class BookServiceCRUD implements BookService {
         }
         log.info("Finding books by genres: {}", genreDtos);
         List<Long> list = genreDtos.stream().map(GenreDto::getId).toList();
-        List<Book> books = repository.findByGenreIds(list);
+        List<Book> books = findByRelation(BookFacet.GENRE, list, repository::findByGenreIds);
         log.info("Found {} books for genres: {}", books.size(), list);
         return books.stream()
                 .map(mapper::toDto)
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByGenres(List<GenreDto> genreDtos, PageRequest pageRequest) throws IllegalArgumentException {
+        if (genreDtos == null || genreDtos.isEmpty()) {
+            log.error("Invalid argument: null genreDtos");
+            throw new IllegalArgumentException("Invalid argument: null genreDtos");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with genres: {} after id {}", genreDtos, pageRequest.getAfterId());
+        Page<Book> page = findByRelation(BookFacet.GENRE, genreDtos.stream().map(GenreDto::getId).toList(),
+                pageRequest, repository::findByGenreIds);
+        log.info("Found {} books for genres: {} after id {}", page.getItems().size(), genreDtos, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByCategories(List<CategoryDto> categoryDtos) throws IllegalArgumentException {
         if (categoryDtos == null || categoryDtos.isEmpty()) {
@@ -118,13 +254,30 @@ public class BookServiceCRUD implements BookService {
         }
         log.info("Finding books by categories: {}", categoryDtos);
         List<Long> list = categoryDtos.stream().map(CategoryDto::getId).toList();
-        List<Book> books = repository.findByCategoryIds(list);
+        List<Book> books = findByRelation(BookFacet.CATEGORY, list, repository::findByCategoryIds);
         log.info("Found {} books for categories: {}", books.size(), list);
         return books.stream()
                 .map(mapper::toDto)
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByCategories(List<CategoryDto> categoryDtos, PageRequest pageRequest) throws IllegalArgumentException {
+        if (categoryDtos == null || categoryDtos.isEmpty()) {
+            log.error("Invalid argument: null categoryDtos");
+            throw new IllegalArgumentException("Invalid argument: null categoryDtos");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with categories: {} after id {}", categoryDtos, pageRequest.getAfterId());
+        Page<Book> page = findByRelation(BookFacet.CATEGORY, categoryDtos.stream().map(CategoryDto::getId).toList(),
+                pageRequest, repository::findByCategoryIds);
+        log.info("Found {} books for categories: {} after id {}", page.getItems().size(), categoryDtos, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByLanguage(String language) throws IllegalArgumentException {
         if (language.isBlank()) {
@@ -139,6 +292,22 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByLanguage(String language, PageRequest pageRequest) throws IllegalArgumentException {
+        if (language.isBlank()) {
+            log.error("Invalid argument: blank language");
+            throw new IllegalArgumentException("Invalid argument: blank language");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with language: {} after id {}", language, pageRequest.getAfterId());
+        Page<Book> page = repository.findByLanguage(language, pageRequest);
+        log.info("Found {} books for language: {} after id {}", page.getItems().size(), language, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByPublisher(PublisherDto publisherDto) throws IllegalArgumentException {
         if (publisherDto == null) {
@@ -153,6 +322,22 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByPublisher(PublisherDto publisherDto, PageRequest pageRequest) throws IllegalArgumentException {
+        if (publisherDto == null) {
+            log.error("Invalid argument: null publisherDto");
+            throw new IllegalArgumentException("Invalid argument: null publisherDto");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with publisher id: {} after id {}", publisherDto.getId(), pageRequest.getAfterId());
+        Page<Book> page = repository.findByPublisherId(publisherDto.getId(), pageRequest);
+        log.info("Found {} books for publisher id: {} after id {}", page.getItems().size(), publisherDto.getId(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByStatus(Status status) throws IllegalArgumentException {
         if (status == null) {
@@ -167,6 +352,22 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByStatus(Status status, PageRequest pageRequest) throws IllegalArgumentException {
+        if (status == null) {
+            log.error("Invalid argument: null status");
+            throw new IllegalArgumentException("Invalid argument: null status");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with status: {} after id {}", status, pageRequest.getAfterId());
+        Page<Book> page = repository.findByStatus(status, pageRequest);
+        log.info("Found {} books for status: {} after id {}", page.getItems().size(), status, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findByFormat(Format format) throws IllegalArgumentException {
         if (format == null) {
@@ -181,6 +382,22 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findByFormat(Format format, PageRequest pageRequest) throws IllegalArgumentException {
+        if (format == null) {
+            log.error("Invalid argument: null format");
+            throw new IllegalArgumentException("Invalid argument: null format");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for books page with format: {} after id {}", format, pageRequest.getAfterId());
+        Page<Book> page = repository.findByFormat(format, pageRequest);
+        log.info("Found {} books for format: {} after id {}", page.getItems().size(), format, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<BookDto> findAll() {
         log.info("Finding all books");
@@ -192,6 +409,160 @@ public class BookServiceCRUD implements BookService {
                 .toList();
     }
 
+    @Override
+    public Page<BookDto> findAll(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching books page after id {}", pageRequest.getAfterId());
+        Page<Book> page = repository.findAll(pageRequest);
+        log.info("Retrieved {} books after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
+    @Override
+    public List<BookSummary> findSummaries() {
+        log.info("Finding all book summaries");
+        List<BookSummary> summaries = repository.findSummaries();
+        log.info("Found {} book summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Page<BookSummary> findSummaries(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching book summaries page after id {}", pageRequest.getAfterId());
+        Page<BookSummary> page = repository.findSummaries(pageRequest);
+        log.info("Retrieved {} book summaries after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page;
+    }
+
+    @Override
+    public PageIndex findPageIndex(int pageSize) throws IllegalArgumentException {
+        if (pageSize < 1 || pageSize > PageRequest.MAX_SIZE) {
+            log.error("Invalid argument: page size {} is out of range", pageSize);
+            throw new IllegalArgumentException("Invalid argument: page size must be between 1 and " + PageRequest.MAX_SIZE);
+        }
+        PageIndex index = repository.findPageIndex(pageSize);
+        log.info("Counted {} books in {} pages of {}", index.getTotal(), index.getPageCount(), pageSize);
+        return index;
+    }
+
+    @Override
+    public List<BookSummary> findSummariesByTitle(String title) throws IllegalArgumentException {
+        if (title == null || title.isBlank()) {
+            log.error("Invalid argument: blank title");
+            throw new IllegalArgumentException("Invalid argument: blank title");
+        }
+        log.debug("Searching for book summaries with title: {}", title);
+        List<BookSummary> summaries = repository.findSummariesByTitle(title);
+        log.info("Found {} book summaries for title: {}", summaries.size(), title);
+        return summaries;
+    }
+
+    @Override
+    public List<BookSummary> searchByTitle(String query, int limit) throws IllegalArgumentException {
+        if (query == null || query.isBlank()) {
+            log.error("Invalid argument: blank query");
+            throw new IllegalArgumentException("Invalid argument: blank query");
+        }
+        if (limit < 1 || limit > PageRequest.MAX_SIZE) {
+            log.error("Invalid argument: limit {} is out of range", limit);
+            throw new IllegalArgumentException("Invalid argument: limit must be between 1 and " + PageRequest.MAX_SIZE);
+        }
+        log.debug("Searching for up to {} books with title matching: {}", limit, query);
+        List<BookSummary> summaries = repository.searchByTitle(query.trim(), limit);
+        log.info("Found {} books with title matching: {}", summaries.size(), query);
+        return summaries;
+    }
+
+    /**
+     * Books having all of the given related ids, from the bitmap index once it is built and from
+     * the repository's join-table aggregation until then.
+     */
+    private List<Book> findByRelation(BookFacet facet, List<Long> ids, Function<List<Long>, List<Book>> fallback) {
+        if (!bitmapIndex.isReady()) {
+            log.debug("Bitmap index is not built, finding books by {} ids in the database", facet);
+            return fallback.apply(ids);
+        }
+        return repository.findByIds(bitmapIndex.ids(BookFilter.allOf(facet, ids)));
+    }
+
+    private Page<Book> findByRelation(BookFacet facet, List<Long> ids, PageRequest pageRequest,
+                                      BiFunction<List<Long>, PageRequest, Page<Book>> fallback) {
+        if (!bitmapIndex.isReady()) {
+            log.debug("Bitmap index is not built, finding books page by {} ids in the database", facet);
+            return fallback.apply(ids, pageRequest);
+        }
+        List<Long> bookIds = bitmapIndex.ids(BookFilter.allOf(facet, ids), pageRequest.getAfterId(), pageRequest.getSize() + 1);
+        return Page.of(repository.findByIds(bookIds), pageRequest, Book::getId);
+    }
+
+    @Override
+    public List<Long> findIdsByFilter(BookFilter filter) throws IllegalArgumentException {
+        if (filter == null) {
+            log.error("Invalid argument: null filter");
+            throw new IllegalArgumentException("Invalid argument: null filter");
+        }
+        if (!bitmapIndex.isReady()) {
+            log.debug("Bitmap index is not built, finding book ids in the database: {}", filter);
+            return repository.findIdsByFilter(filter);
+        }
+        List<Long> ids = bitmapIndex.ids(filter);
+        log.info("Found {} book ids for filter: {}", ids.size(), filter);
+        return ids;
+    }
+
+    @Override
+    public long countByFilter(BookFilter filter) throws IllegalArgumentException {
+        if (filter == null) {
+            log.error("Invalid argument: null filter");
+            throw new IllegalArgumentException("Invalid argument: null filter");
+        }
+        if (!bitmapIndex.isReady()) {
+            log.debug("Bitmap index is not built, counting books in the database: {}", filter);
+            return repository.countByFilter(filter);
+        }
+        return bitmapIndex.count(filter);
+    }
+
+    @Override
+    public Page<BookSummary> findSummariesByFilter(BookFilter filter, PageRequest pageRequest) throws IllegalArgumentException {
+        if (filter == null) {
+            log.error("Invalid argument: null filter");
+            throw new IllegalArgumentException("Invalid argument: null filter");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        if (!bitmapIndex.isReady()) {
+            log.debug("Bitmap index is not built, finding book summaries in the database: {}", filter);
+            return repository.findSummariesByFilter(filter, pageRequest);
+        }
+        List<Long> ids = bitmapIndex.ids(filter, pageRequest.getAfterId(), pageRequest.getSize() + 1);
+        Page<BookSummary> page = Page.of(repository.findSummariesByIds(ids), pageRequest, BookSummary::id);
+        log.info("Retrieved {} book summaries for filter: {} after id {}", page.getItems().size(), filter, pageRequest.getAfterId());
+        return page;
+    }
+
+    @Override
+    public BookSearchResult search(BookQuery query) throws IllegalArgumentException {
+        if (query == null) {
+            log.error("Invalid argument: null query");
+            throw new IllegalArgumentException("Invalid argument: null query");
+        }
+        validateBookQuery(query);
+        log.debug("Searching books with {}", query);
+        BookSearchResult result = repository.search(query);
+        log.info("Found {} books, returning {} from offset {}", result.total(), result.items().size(), query.getOffset());
+        return result;
+    }
+
     @Override
     public BookDto update(BookDto bookDto) throws BookNotFoundException, IllegalArgumentException {
         if (bookDto == null) {
@@ -200,13 +571,38 @@ public class BookServiceCRUD implements BookService {
         }
         validateBookDto(bookDto);
         log.info("Updating book with ID: {}", bookDto.getId());
+        Optional<Book> stored = repository.findById(bookDto.getId());
+        if (stored.isEmpty()) {
+            log.error("Book with ID {} not found for update", bookDto.getId());
+            throw new BookNotFoundException("Book with id " + bookDto.getId() + " is not found");
+        }
+        validateCirculation(bookDto, stored.get());
         Optional<Book> book = repository.update(mapper.toEntity(bookDto));
         if (book.isEmpty()) {
             log.error("Book with ID {} not found for update", bookDto.getId());
             throw new BookNotFoundException("Book with id " + bookDto.getId() + " is not found");
         }
         log.info("Successfully updated book with ID: {}", bookDto.getId());
-        return mapper.toDto(book.get());
+        BookDto updated = mapper.toDto(book.get());
+        bitmapIndex.put(updated);
+        return updated;
+    }
+
+    @Override
+    public BulkResult<BookDto> updateAll(List<BookDto> bookDtos) throws IllegalArgumentException {
+        Map<Long, Book> stored = bookDtos == null ? Map.of() : repository.findByIds(bookDtos.stream()
+                        .filter(Objects::nonNull).map(BookDto::getId).toList()).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        BulkResult<BookDto> result = BulkExecutor.execute("update books", bookDtos, bookDto -> {
+                    validateBookDto(bookDto);
+                    Book book = stored.get(bookDto.getId());
+                    if (book != null) {
+                        validateCirculation(bookDto, book);
+                    }
+                },
+                mapper::toEntity, repository::updateAll, repository::update, mapper::toDto);
+        result.getSucceeded().forEach(bitmapIndex::put);
+        return result;
     }
 
     @Override
@@ -222,41 +618,54 @@ public class BookServiceCRUD implements BookService {
             throw new BookNotFoundException("Book with id " + bookDto.getId() + " is not found");
         }
         repository.deleteById(bookDto.getId());
+        bitmapIndex.remove(bookDto.getId());
         log.info("Successfully deleted book with ID: {}", bookDto.getId());
     }
 
-    private void validateBookDto(BookDto bookDto) {
+    private void validateBookQuery(BookQuery query) {
         List<String> errors = new ArrayList<>();
 
-        if (bookDto.getTitle() == null || bookDto.getTitle().isBlank()) {
-            errors.add("Title is null or blank");
-        }
-        if (bookDto.getIsbn() == null || bookDto.getIsbn().isBlank()) {
-            errors.add("ISBN is null or blank");
+        if (query.getOffset() < 0) {
+            errors.add("Offset is negative");
         }
-        if (bookDto.getLanguage() == null || bookDto.getLanguage().isBlank()) {
-            errors.add("Language is null or blank");
+        if (query.getLimit() < 1 || query.getLimit() > PageRequest.MAX_SIZE) {
+            errors.add("Limit must be between 1 and " + PageRequest.MAX_SIZE);
         }
-        if (bookDto.getNumberOfPages() < 1) {
-            errors.add("Number of pages is less than 1");
+        if (query.getSort() == null) {
+            errors.add("Sort cannot be null");
         }
-        if (bookDto.getAuthors().isEmpty()) {
-            errors.add("Authors cannot be empty");
+        if (query.getAuthorIds() == null || query.getGenreIds() == null || query.getCategoryIds() == null) {
+            errors.add("Author, genre and category ids cannot be null");
         }
-        if (bookDto.getGenres().isEmpty()) {
-            errors.add("Genres cannot be empty");
+        if (query.getReceivedFrom() != null && query.getReceivedTo() != null
+                && query.getReceivedFrom().isAfter(query.getReceivedTo())) {
+            errors.add("ReceivedFrom is after receivedTo");
         }
-        if (bookDto.getCategories().isEmpty()) {
-            errors.add("Categories cannot be empty");
+
+        if (!errors.isEmpty()) {
+            String errorMessage = String.join("; ", errors);
+            log.error("Validation failed for book query: {}. Errors: {}", query, errorMessage);
+            throw new IllegalArgumentException("Validation failed: " + errorMessage);
         }
-        if (bookDto.getFormat() == null) errors.add("Format cannot be null");
-        if (bookDto.getStatus() == null) errors.add("Status cannot be null");
-        if (bookDto.getPublisher() == null) errors.add("Publisher cannot be null");
-        if (bookDto.getReceiptDate() == null) {
-            errors.add("ReceiptDate cannot be null");
-        } else if (bookDto.getReceiptDate().isAfter(LocalDate.now())) {
-            errors.add("ReceiptDate cannot be in the future");
+    }
+
+    /**
+     * Status, patron and due date are not written by updates, so a DTO that changes them is
+     * rejected rather than saved without the change. They move through {@code CirculationService}.
+     */
+    private void validateCirculation(BookDto bookDto, Book stored) {
+        Long patronId = bookDto.getPatron() == null ? null : bookDto.getPatron().getId();
+        Long storedPatronId = stored.getPatron() == null ? null : stored.getPatron().getId();
+        if (bookDto.getStatus() != stored.getStatus() || !Objects.equals(patronId, storedPatronId)) {
+            log.error("Circulation state of book {} changed from {} (patron {}) to {} (patron {}) in an update",
+                    stored.getId(), stored.getStatus(), storedPatronId, bookDto.getStatus(), patronId);
+            throw new IllegalArgumentException("Invalid argument: status and patron of book " + stored.getId()
+                    + " are " + stored.getStatus() + " and " + storedPatronId + "; change them through circulation");
         }
+    }
+
+    private void validateBookDto(BookDto bookDto) {
+        List<String> errors = BookValidation.errorsOf(bookDto);
 
         if (!errors.isEmpty()) {
             String errorMessage = String.join("; ", errors);
@@ -0,0 +1,48 @@
+package org.abrohamovich.service;
+
+import org.abrohamovich.dto.BookDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BookValidation {
+
+    private BookValidation() {
+    }
+
+    public static List<String> errorsOf(BookDto bookDto) {
+        List<String> errors = new ArrayList<>();
+
+        if (bookDto.getTitle() == null || bookDto.getTitle().isBlank()) {
+            errors.add("Title is null or blank");
+        }
+        if (bookDto.getIsbn() == null || bookDto.getIsbn().isBlank()) {
+            errors.add("ISBN is null or blank");
+        }
+        if (bookDto.getLanguage() == null || bookDto.getLanguage().isBlank()) {
+            errors.add("Language is null or blank");
+        }
+        if (bookDto.getNumberOfPages() < 1) {
+            errors.add("Number of pages is less than 1");
+        }
+        if (bookDto.getAuthors().isEmpty()) {
+            errors.add("Authors cannot be empty");
+        }
+        if (bookDto.getGenres().isEmpty()) {
+            errors.add("Genres cannot be empty");
+        }
+        if (bookDto.getCategories().isEmpty()) {
+            errors.add("Categories cannot be empty");
+        }
+        if (bookDto.getFormat() == null) errors.add("Format cannot be null");
+        if (bookDto.getStatus() == null) errors.add("Status cannot be null");
+        if (bookDto.getPublisher() == null) errors.add("Publisher cannot be null");
+        if (bookDto.getReceiptDate() == null) {
+            errors.add("ReceiptDate cannot be null");
+        } else if (bookDto.getReceiptDate().isAfter(LocalDate.now())) {
+            errors.add("ReceiptDate cannot be in the future");
+        }
+        return errors;
+    }
+}
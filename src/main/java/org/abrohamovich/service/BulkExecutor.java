@@ -0,0 +1,75 @@
+package org.abrohamovich.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.BulkResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Slf4j
+final class BulkExecutor {
+
+    private BulkExecutor() {
+    }
+
+    static <D, E> BulkResult<D> execute(String operation,
+                                        List<D> dtos,
+                                        Consumer<D> validator,
+                                        Function<D, E> toEntity,
+                                        Function<List<E>, List<E>> batchWriter,
+                                        Function<E, Optional<E>> singleWriter,
+                                        Function<E, D> toDto) {
+        if (dtos == null) {
+            log.error("Invalid argument: null list for {}", operation);
+            throw new IllegalArgumentException("Invalid argument: null list for " + operation);
+        }
+        List<BulkResult.RowFailure> failures = new ArrayList<>();
+        List<Integer> validIndexes = new ArrayList<>(dtos.size());
+        List<E> entities = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            D dto = dtos.get(i);
+            try {
+                if (dto == null) {
+                    throw new IllegalArgumentException("Invalid argument: null row");
+                }
+                validator.accept(dto);
+                entities.add(toEntity.apply(dto));
+                validIndexes.add(i);
+            } catch (IllegalArgumentException e) {
+                failures.add(new BulkResult.RowFailure(i, e.getMessage()));
+            }
+        }
+        log.info("Bulk {}: {} rows valid, {} rows rejected by validation", operation, entities.size(), failures.size());
+        if (entities.isEmpty()) {
+            return new BulkResult<>(List.of(), failures);
+        }
+
+        List<E> written = batchWriter.apply(entities);
+        if (written.size() == entities.size()) {
+            log.info("Bulk {} wrote {} rows in batches", operation, written.size());
+            return new BulkResult<>(written.stream().map(toDto).toList(), sorted(failures));
+        }
+
+        log.warn("Bulk {} batch failed, retrying {} rows one by one to isolate failures", operation, entities.size());
+        List<D> succeeded = new ArrayList<>();
+        for (int i = 0; i < validIndexes.size(); i++) {
+            int index = validIndexes.get(i);
+            Optional<E> result = singleWriter.apply(toEntity.apply(dtos.get(index)));
+            if (result.isPresent()) {
+                succeeded.add(toDto.apply(result.get()));
+            } else {
+                failures.add(new BulkResult.RowFailure(index, "Persistence failed for row " + index));
+            }
+        }
+        log.info("Bulk {} wrote {} rows, {} rows failed", operation, succeeded.size(), failures.size());
+        return new BulkResult<>(succeeded, sorted(failures));
+    }
+
+    private static List<BulkResult.RowFailure> sorted(List<BulkResult.RowFailure> failures) {
+        failures.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return failures;
+    }
+}
@@ -2,7 +2,9 @@ package org.abrohamovich.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.CategoryDto;
+import org.abrohamovich.dto.CategorySummary;
 import org.abrohamovich.entity.Category;
 import org.abrohamovich.exceptions.CategoryAlreadyExistException;
 import org.abrohamovich.exceptions.CategoryNotFoundException;
@@ -10,6 +12,8 @@ import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.mapper.CategoryMapper;
 import org.abrohamovich.repository.CategoryRepository;
 import org.abrohamovich.service.interfaces.CategoryService;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +52,12 @@ public class CategoryServiceCRUD implements CategoryService {
         return mapper.toDto(category.get());
     }
 
+    @Override
+    public BulkResult<CategoryDto> saveAll(List<CategoryDto> categoryDtos) throws IllegalArgumentException {
+        return BulkExecutor.execute("save categories", categoryDtos, this::validateCategoryDto,
+                mapper::toEntity, repository::saveAll, repository::save, mapper::toDto);
+    }
+
     @Override
     public CategoryDto findById(long id) throws CategoryNotFoundException {
         log.debug("Searching for category with id: {}", id);
@@ -90,6 +100,22 @@ public class CategoryServiceCRUD implements CategoryService {
                 .toList();
     }
 
+    @Override
+    public Page<CategoryDto> findByNameLike(String name, PageRequest pageRequest) throws IllegalArgumentException {
+        if (name.isBlank()) {
+            log.error("Invalid argument: blank name");
+            throw new IllegalArgumentException("Invalid argument: blank name");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for categories page with name: {} after id {}", name, pageRequest.getAfterId());
+        Page<Category> page = repository.findByNameLike(name, pageRequest);
+        log.info("Found {} categories for name: {} after id {}", page.getItems().size(), name, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<CategoryDto> findByBook(BookDto bookDto) {
         log.debug("Searching for categories with book title: {}", bookDto.getTitle());
@@ -100,6 +126,22 @@ public class CategoryServiceCRUD implements CategoryService {
                 .toList();
     }
 
+    @Override
+    public Page<CategoryDto> findByBook(BookDto bookDto, PageRequest pageRequest) throws IllegalArgumentException {
+        if (bookDto == null) {
+            log.error("Invalid argument: null bookDto");
+            throw new IllegalArgumentException("Invalid argument: null bookDto");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for categories page with book title: {} after id {}", bookDto.getTitle(), pageRequest.getAfterId());
+        Page<Category> page = repository.findByBookId(bookDto.getId(), pageRequest);
+        log.info("Found {} categories for book title: {} after id {}", page.getItems().size(), bookDto.getTitle(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<CategoryDto> findAll() {
         log.debug("Fetching all categories");
@@ -108,6 +150,38 @@ public class CategoryServiceCRUD implements CategoryService {
         return categories.stream().map(mapper::toDto).toList();
     }
 
+    @Override
+    public Page<CategoryDto> findAll(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching categories page after id {}", pageRequest.getAfterId());
+        Page<Category> page = repository.findAll(pageRequest);
+        log.info("Retrieved {} categories after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
+    @Override
+    public List<CategorySummary> findSummaries() {
+        log.info("Finding all category summaries");
+        List<CategorySummary> summaries = repository.findSummaries();
+        log.info("Found {} category summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Page<CategorySummary> findSummaries(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching category summaries page after id {}", pageRequest.getAfterId());
+        Page<CategorySummary> page = repository.findSummaries(pageRequest);
+        log.info("Retrieved {} category summaries after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page;
+    }
+
     @Override
     public CategoryDto update(CategoryDto categoryDto) throws CategoryNotFoundException, IllegalArgumentException {
         if (categoryDto == null) {
@@ -125,6 +199,12 @@ public class CategoryServiceCRUD implements CategoryService {
         return mapper.toDto(category.get());
     }
 
+    @Override
+    public BulkResult<CategoryDto> updateAll(List<CategoryDto> categoryDtos) throws IllegalArgumentException {
+        return BulkExecutor.execute("update categories", categoryDtos, this::validateCategoryDto,
+                mapper::toEntity, repository::updateAll, repository::update, mapper::toDto);
+    }
+
     @Override
     public void delete(CategoryDto categoryDto) throws CategoryNotFoundException, IllegalArgumentException {
         if (categoryDto == null) {
@@ -0,0 +1,205 @@
+package org.abrohamovich.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.entity.Book;
+import org.abrohamovich.entity.Patron;
+import org.abrohamovich.entity.Status;
+import org.abrohamovich.exceptions.BookNotAvailableException;
+import org.abrohamovich.exceptions.BookNotFoundException;
+import org.abrohamovich.exceptions.BookNotWithdrawnException;
+import org.abrohamovich.exceptions.EntityException;
+import org.abrohamovich.exceptions.LoanNotFoundException;
+import org.abrohamovich.exceptions.PatronNotFoundException;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.repository.CirculationRepository;
+import org.abrohamovich.repository.PatronRepository;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.search.BookFacet;
+import org.abrohamovich.service.interfaces.CirculationService;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+public class CirculationServiceDefault implements CirculationService {
+    public static final Period DEFAULT_LOAN_PERIOD = Period.ofDays(14);
+
+    private final CirculationRepository repository;
+    private final BookRepository bookRepository;
+    private final PatronRepository patronRepository;
+    private final BookMapper mapper;
+    private final BookBitmapIndex bitmapIndex;
+    private final Clock clock;
+    private final Period loanPeriod;
+
+    public CirculationServiceDefault(CirculationRepository repository, BookRepository bookRepository,
+                                     PatronRepository patronRepository, BookMapper mapper, BookBitmapIndex bitmapIndex) {
+        this(repository, bookRepository, patronRepository, mapper, bitmapIndex, Clock.systemDefaultZone(), DEFAULT_LOAN_PERIOD);
+    }
+
+    public CirculationServiceDefault(CirculationRepository repository, BookRepository bookRepository,
+                                     PatronRepository patronRepository, BookMapper mapper, BookBitmapIndex bitmapIndex,
+                                     Clock clock, Period loanPeriod) {
+        if (loanPeriod.isNegative() || loanPeriod.isZero()) {
+            log.error("Invalid argument: loan period must be positive");
+            throw new IllegalArgumentException("Invalid argument: loan period must be positive");
+        }
+        this.repository = repository;
+        this.bookRepository = bookRepository;
+        this.patronRepository = patronRepository;
+        this.mapper = mapper;
+        this.bitmapIndex = bitmapIndex;
+        this.clock = clock;
+        this.loanPeriod = loanPeriod;
+        log.info("CirculationServiceDefault initialized with loan period: {}", loanPeriod);
+    }
+
+    @Override
+    public LocalDate checkout(long bookId, long patronId)
+            throws BookNotFoundException, PatronNotFoundException, BookNotAvailableException, EntityException,
+            IllegalArgumentException {
+        validateIds(bookId, patronId);
+        LocalDate dueDate = LocalDate.now(clock).plus(loanPeriod);
+        log.info("Checking out book {} to patron {}", bookId, patronId);
+        if (!repository.checkout(bookId, patronId, dueDate)) {
+            Book book = requireBookAndPatron(bookId, patronId);
+            if (book.getStatus() != Status.AVAILABLE) {
+                log.error("Book {} is not available, status: {}", bookId, book.getStatus());
+                throw new BookNotAvailableException("Book with id " + bookId + " is not available");
+            }
+            log.error("Failed to check out book {} to patron {}", bookId, patronId);
+            throw new EntityException("Something went wrong while checking out book with id " + bookId);
+        }
+        bitmapIndex.replace(bookId, BookFacet.STATUS, Status.AVAILABLE, Status.CHECKED_OUT);
+        log.info("Checked out book {} to patron {} until {}", bookId, patronId, dueDate);
+        return dueDate;
+    }
+
+    @Override
+    public void returnBook(long bookId, long patronId)
+            throws BookNotFoundException, PatronNotFoundException, LoanNotFoundException, EntityException,
+            IllegalArgumentException {
+        validateIds(bookId, patronId);
+        log.info("Returning book {} from patron {}", bookId, patronId);
+        if (!repository.returnBook(bookId, patronId)) {
+            throw refusedLoan(bookId, patronId, "returning");
+        }
+        bitmapIndex.replace(bookId, BookFacet.STATUS, Status.CHECKED_OUT, Status.AVAILABLE);
+        log.info("Returned book {} from patron {}", bookId, patronId);
+    }
+
+    @Override
+    public LocalDate renew(long bookId, long patronId)
+            throws BookNotFoundException, PatronNotFoundException, LoanNotFoundException, EntityException,
+            IllegalArgumentException {
+        validateIds(bookId, patronId);
+        LocalDate dueDate = LocalDate.now(clock).plus(loanPeriod);
+        log.info("Renewing book {} for patron {}", bookId, patronId);
+        if (!repository.renew(bookId, patronId, dueDate)) {
+            throw refusedLoan(bookId, patronId, "renewing");
+        }
+        log.info("Renewed book {} for patron {} until {}", bookId, patronId, dueDate);
+        return dueDate;
+    }
+
+    @Override
+    public void withdraw(long bookId)
+            throws BookNotFoundException, BookNotAvailableException, EntityException, IllegalArgumentException {
+        validateBookId(bookId);
+        log.info("Withdrawing book {}", bookId);
+        if (!repository.withdraw(bookId)) {
+            Book book = requireBook(bookId);
+            if (book.getStatus() != Status.AVAILABLE) {
+                log.error("Book {} cannot be withdrawn, status: {}", bookId, book.getStatus());
+                throw new BookNotAvailableException("Book with id " + bookId + " is not available");
+            }
+            log.error("Failed to withdraw book {}", bookId);
+            throw new EntityException("Something went wrong while withdrawing book with id " + bookId);
+        }
+        bitmapIndex.replace(bookId, BookFacet.STATUS, Status.AVAILABLE, Status.NOT_AVAILABLE);
+        log.info("Withdrew book {}", bookId);
+    }
+
+    @Override
+    public void restore(long bookId)
+            throws BookNotFoundException, BookNotWithdrawnException, EntityException, IllegalArgumentException {
+        validateBookId(bookId);
+        log.info("Restoring book {}", bookId);
+        if (!repository.restore(bookId)) {
+            Book book = requireBook(bookId);
+            if (book.getStatus() != Status.NOT_AVAILABLE) {
+                log.error("Book {} is not withdrawn, status: {}", bookId, book.getStatus());
+                throw new BookNotWithdrawnException("Book with id " + bookId + " is not withdrawn");
+            }
+            log.error("Failed to restore book {}", bookId);
+            throw new EntityException("Something went wrong while restoring book with id " + bookId);
+        }
+        bitmapIndex.replace(bookId, BookFacet.STATUS, Status.NOT_AVAILABLE, Status.AVAILABLE);
+        log.info("Restored book {}", bookId);
+    }
+
+    @Override
+    public List<BookDto> findLoans(long patronId) throws IllegalArgumentException {
+        if (patronId <= 0) {
+            log.error("Invalid argument: patron id {}", patronId);
+            throw new IllegalArgumentException("Invalid argument: patron id " + patronId);
+        }
+        log.info("Finding loans of patron {}", patronId);
+        return repository.findLoans(patronId).stream()
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    /**
+     * A refused update carries no reason, so the book and patron are looked up to report one.
+     */
+    private EntityException refusedLoan(long bookId, long patronId, String operation) {
+        Book book = requireBookAndPatron(bookId, patronId);
+        if (book.getStatus() == Status.CHECKED_OUT) {
+            Optional<Long> holder = patronRepository.findByBookId(bookId).map(Patron::getId);
+            if (holder.isPresent() && holder.get() == patronId) {
+                log.error("Failed {} book {} for patron {}", operation, bookId, patronId);
+                return new EntityException("Something went wrong while " + operation + " book with id " + bookId);
+            }
+        }
+        log.error("Book {} is not on loan to patron {}", bookId, patronId);
+        return new LoanNotFoundException("Book with id " + bookId + " is not on loan to patron with id " + patronId);
+    }
+
+    private Book requireBookAndPatron(long bookId, long patronId) {
+        Book book = requireBook(bookId);
+        if (patronRepository.findById(patronId).isEmpty()) {
+            log.error("Patron with ID {} not found", patronId);
+            throw new PatronNotFoundException("Patron with id " + patronId + " not found");
+        }
+        return book;
+    }
+
+    private Book requireBook(long bookId) {
+        Optional<Book> book = bookRepository.findById(bookId);
+        if (book.isEmpty()) {
+            log.error("Book with ID {} not found", bookId);
+            throw new BookNotFoundException("Book with id " + bookId + " not found");
+        }
+        return book.get();
+    }
+
+    private static void validateBookId(long bookId) {
+        if (bookId <= 0) {
+            log.error("Invalid argument: book id {}", bookId);
+            throw new IllegalArgumentException("Invalid argument: book id " + bookId);
+        }
+    }
+
+    private static void validateIds(long bookId, long patronId) {
+        if (bookId <= 0 || patronId <= 0) {
+            log.error("Invalid argument: book id {} or patron id {}", bookId, patronId);
+            throw new IllegalArgumentException("Invalid argument: book id " + bookId + " or patron id " + patronId);
+        }
+    }
+}
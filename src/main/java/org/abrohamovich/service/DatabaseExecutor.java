@@ -0,0 +1,100 @@
+package org.abrohamovich.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Runs blocking service calls on virtual threads. A semaphore sized to the connection pool bounds how
+ * many calls touch the database at once, so thousands of callers queue on cheap virtual threads instead
+ * of on pool connections. Cancelling a returned future, or letting it time out, interrupts the call.
+ */
+@Slf4j
+public class DatabaseExecutor implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration defaultTimeout;
+
+    public DatabaseExecutor(int maxConcurrency, Duration defaultTimeout) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Invalid argument: maxConcurrency must be positive");
+        }
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("db-", 0).factory());
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.defaultTimeout = defaultTimeout;
+        log.info("DatabaseExecutor initialized with {} permits and {} ms default timeout", maxConcurrency, defaultTimeout.toMillis());
+    }
+
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        return submit(task, defaultTimeout);
+    }
+
+    /**
+     * Runs the task once a permit is free. The timeout covers waiting for a permit and the call itself;
+     * on expiry the future fails with {@link TimeoutException}.
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> running;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    result.cancel(false);
+                    return;
+                }
+                if (result.isDone()) {
+                    permits.release();
+                    return;
+                }
+                T value;
+                try {
+                    value = task.call();
+                } catch (Throwable e) {
+                    permits.release();
+                    result.completeExceptionally(e);
+                    return;
+                }
+                permits.release();
+                result.complete(value);
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                running.cancel(true);
+            }
+        });
+        return timeout == null ? result : result.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public CompletableFuture<Void> run(Runnable task) {
+        return submit(() -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
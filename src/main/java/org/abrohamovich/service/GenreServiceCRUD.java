@@ -2,7 +2,9 @@ package org.abrohamovich.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.dto.GenreSummary;
 import org.abrohamovich.entity.Genre;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.exceptions.GenreAlreadyExistException;
@@ -10,6 +12,8 @@ import org.abrohamovich.exceptions.GenreNotFoundException;
 import org.abrohamovich.mapper.GenreMapper;
 import org.abrohamovich.repository.GenreRepository;
 import org.abrohamovich.service.interfaces.GenreService;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +51,12 @@ public class GenreServiceCRUD implements GenreService {
         return mapper.toDto(genre.get());
     }
 
+    @Override
+    public BulkResult<GenreDto> saveAll(List<GenreDto> genreDtos) throws IllegalArgumentException {
+        return BulkExecutor.execute("save genres", genreDtos, this::validateGenreDto,
+                mapper::toEntity, repository::saveAll, repository::save, mapper::toDto);
+    }
+
     @Override
     public GenreDto findById(long id) throws GenreNotFoundException {
         log.debug("Searching for genre with id: {}", id);
@@ -89,6 +99,22 @@ public class GenreServiceCRUD implements GenreService {
                 .toList();
     }
 
+    @Override
+    public Page<GenreDto> findByNameLike(String name, PageRequest pageRequest) throws IllegalArgumentException {
+        if (name.isBlank()) {
+            log.error("Invalid argument: blank name");
+            throw new IllegalArgumentException("Invalid argument: blank name");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for genres page with name: {} after id {}", name, pageRequest.getAfterId());
+        Page<Genre> page = repository.findByNameLike(name, pageRequest);
+        log.info("Found {} genres for name: {} after id {}", page.getItems().size(), name, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<GenreDto> findByBook(BookDto bookDto) {
         log.debug("Searching for genres with book title: {}", bookDto.getTitle());
@@ -99,6 +125,22 @@ public class GenreServiceCRUD implements GenreService {
                 .toList();
     }
 
+    @Override
+    public Page<GenreDto> findByBook(BookDto bookDto, PageRequest pageRequest) throws IllegalArgumentException {
+        if (bookDto == null) {
+            log.error("Invalid argument: null bookDto");
+            throw new IllegalArgumentException("Invalid argument: null bookDto");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for genres page with book title: {} after id {}", bookDto.getTitle(), pageRequest.getAfterId());
+        Page<Genre> page = repository.findByBookId(bookDto.getId(), pageRequest);
+        log.info("Found {} genres for book title: {} after id {}", page.getItems().size(), bookDto.getTitle(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public List<GenreDto> findAll() {
         log.debug("Fetching all genres");
@@ -107,6 +149,38 @@ public class GenreServiceCRUD implements GenreService {
         return genres.stream().map(mapper::toDto).toList();
     }
 
+    @Override
+    public Page<GenreDto> findAll(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching genres page after id {}", pageRequest.getAfterId());
+        Page<Genre> page = repository.findAll(pageRequest);
+        log.info("Retrieved {} genres after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
+    @Override
+    public List<GenreSummary> findSummaries() {
+        log.info("Finding all genre summaries");
+        List<GenreSummary> summaries = repository.findSummaries();
+        log.info("Found {} genre summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Page<GenreSummary> findSummaries(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching genre summaries page after id {}", pageRequest.getAfterId());
+        Page<GenreSummary> page = repository.findSummaries(pageRequest);
+        log.info("Retrieved {} genre summaries after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page;
+    }
+
     @Override
     public GenreDto update(GenreDto genreDto) throws GenreNotFoundException, IllegalArgumentException {
         if (genreDto == null) {
@@ -123,6 +197,12 @@ public class GenreServiceCRUD implements GenreService {
         return mapper.toDto(genre.get());
     }
 
+    @Override
+    public BulkResult<GenreDto> updateAll(List<GenreDto> genreDtos) throws IllegalArgumentException {
+        return BulkExecutor.execute("update genres", genreDtos, this::validateGenreDto,
+                mapper::toEntity, repository::updateAll, repository::update, mapper::toDto);
+    }
+
     @Override
     public void delete(GenreDto genreDto) throws GenreNotFoundException, IllegalArgumentException {
         if (genreDto == null) {
@@ -2,14 +2,20 @@ package org.abrohamovich.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.dto.PatronSummary;
 import org.abrohamovich.entity.Patron;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.exceptions.PatronAlreadyExistException;
 import org.abrohamovich.exceptions.PatronNotFoundException;
 import org.abrohamovich.mapper.PatronMapper;
 import org.abrohamovich.repository.PatronRepository;
+import org.abrohamovich.search.PatronNameIndex;
 import org.abrohamovich.service.interfaces.PatronService;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,10 +26,16 @@ import java.util.Optional;
 public class PatronServiceCRUD implements PatronService {
     private final PatronRepository repository;
     private final PatronMapper mapper;
+    private final PatronNameIndex nameIndex;
 
     public PatronServiceCRUD(PatronRepository repository, PatronMapper mapper) {
+        this(repository, mapper, new PatronNameIndex());
+    }
+
+    public PatronServiceCRUD(PatronRepository repository, PatronMapper mapper, PatronNameIndex nameIndex) {
         this.repository = repository;
         this.mapper = mapper;
+        this.nameIndex = nameIndex;
         log.info("PatronServiceDefault initialized with repository: {} and mapper: {}", repository.getClass().getSimpleName(), mapper.getClass().getSimpleName());
     }
 
@@ -49,7 +61,17 @@ public class PatronServiceCRUD implements PatronService {
         }
 
         log.info("Successfully saved patron with card ID: {}", patronDto.getCardId());
-        return mapper.toDto(patron.get());
+        PatronDto saved = mapper.toDto(patron.get());
+        nameIndex.put(saved);
+        return saved;
+    }
+
+    @Override
+    public BulkResult<PatronDto> saveAll(List<PatronDto> patronDtos) throws IllegalArgumentException {
+        BulkResult<PatronDto> result = BulkExecutor.execute("save patrons", patronDtos, this::validatePatronDto,
+                mapper::toEntity, repository::saveAll, repository::save, mapper::toDto);
+        result.getSucceeded().forEach(nameIndex::put);
+        return result;
     }
 
     @Override
@@ -120,6 +142,22 @@ public class PatronServiceCRUD implements PatronService {
                 .toList();
     }
 
+    @Override
+    public Page<PatronDto> findByFullName(String fullName, PageRequest pageRequest) throws IllegalArgumentException {
+        if (fullName.isBlank()) {
+            log.error("Invalid argument: blank fullName");
+            throw new IllegalArgumentException("Invalid argument: blank fullName");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for patrons page with full name: {} after id {}", fullName, pageRequest.getAfterId());
+        Page<Patron> page = repository.findByFullName(fullName, pageRequest);
+        log.info("Found {} patrons for full name: {} after id {}", page.getItems().size(), fullName, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public PatronDto findByEmail(String email) throws PatronNotFoundException, IllegalArgumentException {
         if (email.isBlank()) {
@@ -187,6 +225,80 @@ public class PatronServiceCRUD implements PatronService {
                 .toList();
     }
 
+    @Override
+    public Page<PatronDto> findAll(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching patrons page after id {}", pageRequest.getAfterId());
+        Page<Patron> page = repository.findAll(pageRequest);
+        log.info("Retrieved {} patrons after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
+    @Override
+    public List<PatronSummary> findSummaries() {
+        log.info("Finding all patron summaries");
+        List<PatronSummary> summaries = repository.findSummaries();
+        log.info("Found {} patron summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Page<PatronSummary> findSummaries(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching patron summaries page after id {}", pageRequest.getAfterId());
+        Page<PatronSummary> page = repository.findSummaries(pageRequest);
+        log.info("Retrieved {} patron summaries after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page;
+    }
+
+    @Override
+    public PageIndex findPageIndex(int pageSize) throws IllegalArgumentException {
+        if (pageSize < 1 || pageSize > PageRequest.MAX_SIZE) {
+            log.error("Invalid argument: page size {} is out of range", pageSize);
+            throw new IllegalArgumentException("Invalid argument: page size must be between 1 and " + PageRequest.MAX_SIZE);
+        }
+        PageIndex index = repository.findPageIndex(pageSize);
+        log.info("Counted {} patrons in {} pages of {}", index.getTotal(), index.getPageCount(), pageSize);
+        return index;
+    }
+
+    @Override
+    public List<PatronSummary> search(String query, int limit) throws IllegalArgumentException {
+        if (query == null || query.isBlank()) {
+            log.error("Invalid argument: blank query");
+            throw new IllegalArgumentException("Invalid argument: blank query");
+        }
+        if (limit < 1 || limit > PageRequest.MAX_SIZE) {
+            log.error("Invalid argument: limit {} is out of range", limit);
+            throw new IllegalArgumentException("Invalid argument: limit must be between 1 and " + PageRequest.MAX_SIZE);
+        }
+        if (!nameIndex.isReady()) {
+            log.debug("Name index is not built, searching patrons in the database: {}", query);
+            return repository.findSummariesByFullName(query, limit);
+        }
+        List<PatronSummary> found = nameIndex.search(query, limit);
+        log.debug("Found {} patrons in name index for: {}", found.size(), query);
+        return found;
+    }
+
+    @Override
+    public List<PatronSummary> findSummariesByFullName(String fullName) throws IllegalArgumentException {
+        if (fullName == null || fullName.isBlank()) {
+            log.error("Invalid argument: blank fullName");
+            throw new IllegalArgumentException("Invalid argument: blank fullName");
+        }
+        log.debug("Searching for patron summaries with full name: {}", fullName);
+        List<PatronSummary> summaries = repository.findSummariesByFullName(fullName);
+        log.info("Found {} patron summaries for full name: {}", summaries.size(), fullName);
+        return summaries;
+    }
+
     @Override
     public PatronDto update(PatronDto patronDto) throws PatronNotFoundException, IllegalArgumentException {
         if (patronDto == null) {
@@ -204,7 +316,17 @@ public class PatronServiceCRUD implements PatronService {
         }
 
         log.info("Successfully updated patron with ID: {}", patronDto.getId());
-        return mapper.toDto(patron.get());
+        PatronDto updated = mapper.toDto(patron.get());
+        nameIndex.put(updated);
+        return updated;
+    }
+
+    @Override
+    public BulkResult<PatronDto> updateAll(List<PatronDto> patronDtos) throws IllegalArgumentException {
+        BulkResult<PatronDto> result = BulkExecutor.execute("update patrons", patronDtos, this::validatePatronDto,
+                mapper::toEntity, repository::updateAll, repository::update, mapper::toDto);
+        result.getSucceeded().forEach(nameIndex::put);
+        return result;
     }
 
     @Override
@@ -221,6 +343,7 @@ public class PatronServiceCRUD implements PatronService {
         }
 
         repository.deleteById(patronDto.getId());
+        nameIndex.remove(patronDto.getId());
         log.info("Successfully deleted patron with ID: {}", patronDto.getId());
     }
 
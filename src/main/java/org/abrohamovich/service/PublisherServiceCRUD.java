@@ -2,7 +2,9 @@ package org.abrohamovich.service;
 
 import lombok.extern.slf4j.Slf4j;
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.PublisherDto;
+import org.abrohamovich.dto.PublisherSummary;
 import org.abrohamovich.entity.Publisher;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.exceptions.PublisherAlreadyExistException;
@@ -10,6 +12,8 @@ import org.abrohamovich.exceptions.PublisherNotFoundException;
 import org.abrohamovich.mapper.PublisherMapper;
 import org.abrohamovich.repository.PublisherRepository;
 import org.abrohamovich.service.interfaces.PublisherService;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -48,6 +52,12 @@ public class PublisherServiceCRUD implements PublisherService {
         return mapper.toDto(publisher.get());
     }
 
+    @Override
+    public BulkResult<PublisherDto> saveAll(List<PublisherDto> publisherDtos) throws IllegalArgumentException {
+        return BulkExecutor.execute("save publishers", publisherDtos, this::validatePublisherDto,
+                mapper::toEntity, repository::saveAll, repository::save, mapper::toDto);
+    }
+
     @Override
     public PublisherDto findById(long id) throws PublisherNotFoundException {
         log.debug("Searching for publisher with id: {}", id);
@@ -90,6 +100,22 @@ public class PublisherServiceCRUD implements PublisherService {
                 .toList();
     }
 
+    @Override
+    public Page<PublisherDto> findByNameLike(String name, PageRequest pageRequest) throws IllegalArgumentException {
+        if (name.isBlank()) {
+            log.error("Invalid argument: blank name");
+            throw new IllegalArgumentException("Invalid argument: blank name");
+        }
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Searching for publishers page with name: {} after id {}", name, pageRequest.getAfterId());
+        Page<Publisher> page = repository.findByNameLike(name, pageRequest);
+        log.info("Found {} publishers for name: {} after id {}", page.getItems().size(), name, pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
     @Override
     public PublisherDto findByEmail(String email) throws PublisherNotFoundException, IllegalArgumentException {
         if (email.isBlank()) {
@@ -160,6 +186,38 @@ public class PublisherServiceCRUD implements PublisherService {
                 .toList();
     }
 
+    @Override
+    public Page<PublisherDto> findAll(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching publishers page after id {}", pageRequest.getAfterId());
+        Page<Publisher> page = repository.findAll(pageRequest);
+        log.info("Retrieved {} publishers after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page.map(mapper::toDto);
+    }
+
+    @Override
+    public List<PublisherSummary> findSummaries() {
+        log.info("Finding all publisher summaries");
+        List<PublisherSummary> summaries = repository.findSummaries();
+        log.info("Found {} publisher summaries", summaries.size());
+        return summaries;
+    }
+
+    @Override
+    public Page<PublisherSummary> findSummaries(PageRequest pageRequest) throws IllegalArgumentException {
+        if (pageRequest == null) {
+            log.error("Invalid argument: null pageRequest");
+            throw new IllegalArgumentException("Invalid argument: null pageRequest");
+        }
+        log.debug("Fetching publisher summaries page after id {}", pageRequest.getAfterId());
+        Page<PublisherSummary> page = repository.findSummaries(pageRequest);
+        log.info("Retrieved {} publisher summaries after id {}", page.getItems().size(), pageRequest.getAfterId());
+        return page;
+    }
+
     @Override
     public PublisherDto update(PublisherDto publisherDto) throws PublisherNotFoundException, IllegalArgumentException {
         if (publisherDto == null) {
@@ -177,6 +235,12 @@ public class PublisherServiceCRUD implements PublisherService {
         return mapper.toDto(publisher.get());
     }
 
+    @Override
+    public BulkResult<PublisherDto> updateAll(List<PublisherDto> publisherDtos) throws IllegalArgumentException {
+        return BulkExecutor.execute("update publishers", publisherDtos, this::validatePublisherDto,
+                mapper::toEntity, repository::updateAll, repository::update, mapper::toDto);
+    }
+
     @Override
     public void delete(PublisherDto publisherDto) throws PublisherNotFoundException, IllegalArgumentException {
         if (publisherDto == null) {
@@ -1,10 +1,14 @@
 package org.abrohamovich.service.interfaces;
 
 import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.AuthorSummary;
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.entity.Sex;
 import org.abrohamovich.exceptions.AuthorNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.List;
 
@@ -13,25 +17,54 @@ public interface AuthorService {
     AuthorDto save(AuthorDto authorDto)
             throws EntityException, IllegalArgumentException;
 
+    BulkResult<AuthorDto> saveAll(List<AuthorDto> authorDtos)
+            throws IllegalArgumentException;
+
     AuthorDto findById(long id)
             throws AuthorNotFoundException;
 
     List<AuthorDto> findBySex(Sex sex)
             throws IllegalArgumentException;
 
+    Page<AuthorDto> findBySex(Sex sex, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<AuthorDto> findByFullName(String fullName)
             throws IllegalArgumentException;
 
+    Page<AuthorDto> findByFullName(String fullName, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<AuthorDto> findByFullNameLike(String fullName)
             throws IllegalArgumentException;
 
+    Page<AuthorDto> findByFullNameLike(String fullName, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<AuthorDto> findByBook(BookDto bookDto);
 
+    Page<AuthorDto> findByBook(BookDto bookDto, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<AuthorDto> findAll();
 
+    Page<AuthorDto> findAll(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<AuthorSummary> findSummaries();
+
+    Page<AuthorSummary> findSummaries(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<AuthorSummary> search(String query, int limit)
+            throws IllegalArgumentException;
+
     AuthorDto update(AuthorDto authorDto)
             throws AuthorNotFoundException, IllegalArgumentException;
 
+    BulkResult<AuthorDto> updateAll(List<AuthorDto> authorDtos)
+            throws IllegalArgumentException;
+
     void delete(AuthorDto authorDto)
             throws AuthorNotFoundException, IllegalArgumentException;
 }
@@ -5,48 +5,127 @@ import org.abrohamovich.entity.Format;
 import org.abrohamovich.entity.Status;
 import org.abrohamovich.exceptions.BookNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
-
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
+import org.abrohamovich.search.BookFilter;
+import org.abrohamovich.search.BookQuery;
+import org.abrohamovich.search.BookSearchResult;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface BookService {
 
     BookDto save(BookDto bookDto)
             throws EntityException, IllegalArgumentException;
 
+    BulkResult<BookDto> saveAll(List<BookDto> bookDtos)
+            throws IllegalArgumentException;
+
+    BulkResult<BookDto> upsertAllByIsbn(List<BookDto> bookDtos)
+            throws IllegalArgumentException;
+
     BookDto findById(long id)
             throws BookNotFoundException;
 
+    BookDto findFullById(long id)
+            throws BookNotFoundException;
+
     List<BookDto> findByTitle(String title);
 
+    Page<BookDto> findByTitle(String title, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByAuthors(List<AuthorDto> authorDtos)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByAuthors(List<AuthorDto> authorDtos, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByIsbn(String isbn)
             throws IllegalArgumentException;
 
+    Map<String, Long> countByIsbns(Collection<String> isbns)
+            throws IllegalArgumentException;
+
+    Page<BookDto> findByIsbn(String isbn, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByGenres(List<GenreDto> genreDtos)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByGenres(List<GenreDto> genreDtos, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByCategories(List<CategoryDto> categoryDtos)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByCategories(List<CategoryDto> categoryDtos, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByLanguage(String language)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByLanguage(String language, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByPublisher(PublisherDto publisherDto)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByPublisher(PublisherDto publisherDto, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByStatus(Status status)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByStatus(Status status, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findByFormat(Format format)
             throws IllegalArgumentException;
 
+    Page<BookDto> findByFormat(Format format, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<BookDto> findAll();
 
+    Page<BookDto> findAll(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<BookSummary> findSummaries();
+
+    Page<BookSummary> findSummaries(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    PageIndex findPageIndex(int pageSize)
+            throws IllegalArgumentException;
+
+    List<BookSummary> findSummariesByTitle(String title)
+            throws IllegalArgumentException;
+
+    List<BookSummary> searchByTitle(String query, int limit)
+            throws IllegalArgumentException;
+
+    List<Long> findIdsByFilter(BookFilter filter)
+            throws IllegalArgumentException;
+
+    long countByFilter(BookFilter filter)
+            throws IllegalArgumentException;
+
+    Page<BookSummary> findSummariesByFilter(BookFilter filter, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    BookSearchResult search(BookQuery query)
+            throws IllegalArgumentException;
+
     BookDto update(BookDto bookDto)
             throws BookNotFoundException, IllegalArgumentException;
 
+    BulkResult<BookDto> updateAll(List<BookDto> bookDtos)
+            throws IllegalArgumentException;
+
     void delete(BookDto bookDto)
             throws BookNotFoundException, IllegalArgumentException;
 }
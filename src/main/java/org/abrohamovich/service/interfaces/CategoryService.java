@@ -1,10 +1,14 @@
 package org.abrohamovich.service.interfaces;
 
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.CategoryDto;
+import org.abrohamovich.dto.CategorySummary;
 import org.abrohamovich.exceptions.CategoryAlreadyExistException;
 import org.abrohamovich.exceptions.CategoryNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.List;
 
@@ -13,6 +17,9 @@ public interface CategoryService {
     CategoryDto save(CategoryDto categoryDto)
             throws CategoryAlreadyExistException, EntityException, IllegalArgumentException;
 
+    BulkResult<CategoryDto> saveAll(List<CategoryDto> categoryDtos)
+            throws IllegalArgumentException;
+
     CategoryDto findById(long id)
             throws CategoryNotFoundException;
 
@@ -22,13 +29,30 @@ public interface CategoryService {
     List<CategoryDto> findByNameLike(String name)
             throws IllegalArgumentException;
 
+    Page<CategoryDto> findByNameLike(String name, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<CategoryDto> findByBook(BookDto bookDto);
 
+    Page<CategoryDto> findByBook(BookDto bookDto, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<CategoryDto> findAll();
 
+    Page<CategoryDto> findAll(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<CategorySummary> findSummaries();
+
+    Page<CategorySummary> findSummaries(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     CategoryDto update(CategoryDto categoryDto)
             throws CategoryNotFoundException, IllegalArgumentException;
 
+    BulkResult<CategoryDto> updateAll(List<CategoryDto> categoryDtos)
+            throws IllegalArgumentException;
+
     void delete(CategoryDto categoryDto)
             throws CategoryNotFoundException, IllegalArgumentException;
 }
@@ -0,0 +1,36 @@
+package org.abrohamovich.service.interfaces;
+
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.exceptions.BookNotAvailableException;
+import org.abrohamovich.exceptions.BookNotFoundException;
+import org.abrohamovich.exceptions.BookNotWithdrawnException;
+import org.abrohamovich.exceptions.EntityException;
+import org.abrohamovich.exceptions.LoanNotFoundException;
+import org.abrohamovich.exceptions.PatronNotFoundException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CirculationService {
+
+    LocalDate checkout(long bookId, long patronId)
+            throws BookNotFoundException, PatronNotFoundException, BookNotAvailableException, EntityException,
+            IllegalArgumentException;
+
+    void returnBook(long bookId, long patronId)
+            throws BookNotFoundException, PatronNotFoundException, LoanNotFoundException, EntityException,
+            IllegalArgumentException;
+
+    LocalDate renew(long bookId, long patronId)
+            throws BookNotFoundException, PatronNotFoundException, LoanNotFoundException, EntityException,
+            IllegalArgumentException;
+
+    void withdraw(long bookId)
+            throws BookNotFoundException, BookNotAvailableException, EntityException, IllegalArgumentException;
+
+    void restore(long bookId)
+            throws BookNotFoundException, BookNotWithdrawnException, EntityException, IllegalArgumentException;
+
+    List<BookDto> findLoans(long patronId)
+            throws IllegalArgumentException;
+}
@@ -1,10 +1,14 @@
 package org.abrohamovich.service.interfaces;
 
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.dto.GenreSummary;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.exceptions.GenreAlreadyExistException;
 import org.abrohamovich.exceptions.GenreNotFoundException;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.List;
 
@@ -13,6 +17,9 @@ public interface GenreService {
     GenreDto save(GenreDto genreDto)
             throws GenreAlreadyExistException, EntityException, IllegalArgumentException;
 
+    BulkResult<GenreDto> saveAll(List<GenreDto> genreDtos)
+            throws IllegalArgumentException;
+
     GenreDto findById(long id)
             throws GenreNotFoundException;
 
@@ -22,13 +29,30 @@ public interface GenreService {
     List<GenreDto> findByNameLike(String name)
             throws IllegalArgumentException;
 
+    Page<GenreDto> findByNameLike(String name, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<GenreDto> findByBook(BookDto bookDto);
 
+    Page<GenreDto> findByBook(BookDto bookDto, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     List<GenreDto> findAll();
 
+    Page<GenreDto> findAll(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<GenreSummary> findSummaries();
+
+    Page<GenreSummary> findSummaries(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     GenreDto update(GenreDto genreDto)
             throws GenreNotFoundException, IllegalArgumentException;
 
+    BulkResult<GenreDto> updateAll(List<GenreDto> genreDtos)
+            throws IllegalArgumentException;
+
     void delete(GenreDto genreDto)
             throws GenreNotFoundException, IllegalArgumentException;
 }
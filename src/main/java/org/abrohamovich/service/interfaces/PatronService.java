@@ -1,10 +1,15 @@
 package org.abrohamovich.service.interfaces;
 
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.dto.PatronSummary;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.exceptions.PatronAlreadyExistException;
 import org.abrohamovich.exceptions.PatronNotFoundException;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.List;
 
@@ -13,6 +18,9 @@ public interface PatronService {
     PatronDto save(PatronDto patronDto)
             throws PatronAlreadyExistException, EntityException, IllegalArgumentException;
 
+    BulkResult<PatronDto> saveAll(List<PatronDto> patronDtos)
+            throws IllegalArgumentException;
+
     PatronDto findById(long id)
             throws PatronNotFoundException;
 
@@ -25,6 +33,9 @@ public interface PatronService {
     List<PatronDto> findByFullName(String fullName)
             throws IllegalArgumentException;
 
+    Page<PatronDto> findByFullName(String fullName, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     PatronDto findByEmail(String email)
             throws PatronNotFoundException, IllegalArgumentException;
 
@@ -36,9 +47,29 @@ public interface PatronService {
 
     List<PatronDto> findAll();
 
+    Page<PatronDto> findAll(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<PatronSummary> findSummaries();
+
+    Page<PatronSummary> findSummaries(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    PageIndex findPageIndex(int pageSize)
+            throws IllegalArgumentException;
+
+    List<PatronSummary> search(String query, int limit)
+            throws IllegalArgumentException;
+
+    List<PatronSummary> findSummariesByFullName(String fullName)
+            throws IllegalArgumentException;
+
     PatronDto update(PatronDto patronDto)
             throws PatronNotFoundException, IllegalArgumentException;
 
+    BulkResult<PatronDto> updateAll(List<PatronDto> patronDtos)
+            throws IllegalArgumentException;
+
     void delete(PatronDto patronDto)
             throws PatronNotFoundException, IllegalArgumentException;
 }
@@ -1,10 +1,14 @@
 package org.abrohamovich.service.interfaces;
 
 import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
 import org.abrohamovich.dto.PublisherDto;
+import org.abrohamovich.dto.PublisherSummary;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.exceptions.PublisherAlreadyExistException;
 import org.abrohamovich.exceptions.PublisherNotFoundException;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
 
 import java.util.List;
 
@@ -13,6 +17,9 @@ public interface PublisherService {
     PublisherDto save(PublisherDto publisherDto)
             throws PublisherAlreadyExistException, EntityException, IllegalArgumentException;
 
+    BulkResult<PublisherDto> saveAll(List<PublisherDto> publisherDtos)
+            throws IllegalArgumentException;
+
     PublisherDto findById(long id)
             throws PublisherNotFoundException;
 
@@ -22,6 +29,9 @@ public interface PublisherService {
     List<PublisherDto> findByNameLike(String name)
             throws IllegalArgumentException;
 
+    Page<PublisherDto> findByNameLike(String name, PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     PublisherDto findByEmail(String email)
             throws PublisherNotFoundException, IllegalArgumentException;
 
@@ -35,9 +45,20 @@ public interface PublisherService {
 
     List<PublisherDto> findAll();
 
+    Page<PublisherDto> findAll(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
+    List<PublisherSummary> findSummaries();
+
+    Page<PublisherSummary> findSummaries(PageRequest pageRequest)
+            throws IllegalArgumentException;
+
     PublisherDto update(PublisherDto publisherDto)
             throws PublisherNotFoundException, IllegalArgumentException;
 
+    BulkResult<PublisherDto> updateAll(List<PublisherDto> publisherDtos)
+            throws IllegalArgumentException;
+
     void delete(PublisherDto publisherDto)
             throws PublisherNotFoundException, IllegalArgumentException;
 }
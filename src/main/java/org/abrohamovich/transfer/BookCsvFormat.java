@@ -0,0 +1,104 @@
+package org.abrohamovich.transfer;
+
+import org.abrohamovich.dto.*;
+import org.abrohamovich.entity.Format;
+import org.abrohamovich.entity.Status;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Column layout of book CSV files. Authors, genres and categories are referenced by name and
+ * separated by {@code |} inside their cell; the publisher is referenced by name.
+ */
+public final class BookCsvFormat {
+    public static final List<String> COLUMNS = List.of("title", "isbn", "language", "pages", "format", "status",
+            "receipt_date", "publisher", "authors", "genres", "categories");
+    public static final String NAME_SEPARATOR = "|";
+    private static final Pattern NAME_SPLITTER = Pattern.compile("\\s*\\|\\s*");
+
+    private final int[] positions;
+
+    private BookCsvFormat(int[] positions) {
+        this.positions = positions;
+    }
+
+    /**
+     * Maps the columns by header name, so extra columns and any column order are accepted.
+     */
+    public static BookCsvFormat fromHeader(List<String> header) {
+        Map<String, Integer> byName = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            byName.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        List<String> missing = COLUMNS.stream().filter(column -> !byName.containsKey(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Invalid argument: missing CSV columns " + missing);
+        }
+        return new BookCsvFormat(COLUMNS.stream().mapToInt(byName::get).toArray());
+    }
+
+    /**
+     * Parses one record into a book whose references carry names only. Problems are collected
+     * in {@code errors} instead of being thrown.
+     */
+    public BookDto parse(List<String> record, List<String> errors) {
+        BookDto book = new BookDto();
+        book.setTitle(cell(record, 0));
+        book.setIsbn(cell(record, 1));
+        book.setLanguage(cell(record, 2));
+        String pages = cell(record, 3);
+        try {
+            book.setNumberOfPages(pages.isEmpty() ? 0 : Integer.parseInt(pages));
+        } catch (NumberFormatException e) {
+            errors.add("Invalid pages '" + pages + "'");
+        }
+        book.setFormat(parseEnum(Format.class, cell(record, 4), null, errors));
+        book.setStatus(parseEnum(Status.class, cell(record, 5), Status.AVAILABLE, errors));
+        String receiptDate = cell(record, 6);
+        try {
+            book.setReceiptDate(receiptDate.isEmpty() ? null : LocalDate.parse(receiptDate));
+        } catch (DateTimeParseException e) {
+            errors.add("Invalid receipt_date '" + receiptDate + "'");
+        }
+        String publisher = cell(record, 7);
+        book.setPublisher(publisher.isEmpty() ? null : PublisherDto.builder().name(publisher).build());
+        book.setAuthors(names(cell(record, 8)).stream()
+                .map(name -> AuthorDto.builder().fullName(name).build())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        book.setGenres(names(cell(record, 9)).stream()
+                .map(name -> GenreDto.builder().name(name).build())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        book.setCategories(names(cell(record, 10)).stream()
+                .map(name -> CategoryDto.builder().name(name).build())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        return book;
+    }
+
+    private String cell(List<String> record, int column) {
+        int position = positions[column];
+        return position < record.size() ? record.get(position).trim() : "";
+    }
+
+    private static List<String> names(String cell) {
+        if (cell.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(NAME_SPLITTER.split(cell)).filter(name -> !name.isEmpty()).distinct().toList();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, E fallback, List<String> errors) {
+        if (value.isEmpty()) {
+            return fallback;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            errors.add("Invalid " + type.getSimpleName().toLowerCase(Locale.ROOT) + " '" + value + "'");
+            return fallback;
+        }
+    }
+}
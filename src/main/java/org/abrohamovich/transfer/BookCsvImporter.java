@@ -0,0 +1,241 @@
+package org.abrohamovich.transfer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BulkResult;
+import org.abrohamovich.service.BookValidation;
+import org.abrohamovich.service.interfaces.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Streams books from a CSV file into the database. Records are read in chunks; a chunk is parsed
+ * and validated in parallel while the previous one is written, and every chunk is written in one
+ * transaction through {@link BookService#saveAll}, or {@link BookService#upsertAllByIsbn} when
+ * upserting. Rejected rows go to an error report and progress to a checkpoint, so an interrupted
+ * import can be restarted where it stopped. A chunk's range is checkpointed before it is written
+ * and its rejected rows are reported only once it is checkpointed as committed, so a restart
+ * neither imports nor reports a row twice; a crash between the two loses that chunk's report lines.
+ */
+@Slf4j
+public class BookCsvImporter {
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final GenreService genreService;
+    private final CategoryService categoryService;
+    private final PublisherService publisherService;
+    private final ImportOptions options;
+
+    public BookCsvImporter(BookService bookService, AuthorService authorService, GenreService genreService,
+                           CategoryService categoryService, PublisherService publisherService) {
+        this(bookService, authorService, genreService, categoryService, publisherService, ImportOptions.defaults());
+    }
+
+    public BookCsvImporter(BookService bookService, AuthorService authorService, GenreService genreService,
+                           CategoryService categoryService, PublisherService publisherService, ImportOptions options) {
+        if (options.getChunkSize() < 1 || options.getParallelism() < 1) {
+            log.error("Invalid argument: chunkSize and parallelism must be positive");
+            throw new IllegalArgumentException("Invalid argument: chunkSize and parallelism must be positive");
+        }
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.genreService = genreService;
+        this.categoryService = categoryService;
+        this.publisherService = publisherService;
+        this.options = options;
+    }
+
+    /**
+     * Imports {@code source}, recording progress in {@code checkpointFile} and rejected rows in
+     * {@code errorReport}. Both are appended to when a previous run left a checkpoint behind.
+     */
+    public ImportReport importFile(Path source, Path checkpointFile, Path errorReport) throws IOException {
+        if (source == null || checkpointFile == null || errorReport == null) {
+            log.error("Invalid argument: null import path");
+            throw new IllegalArgumentException("Invalid argument: null import path");
+        }
+        ImportCheckpoint checkpoint = ImportCheckpoint.open(checkpointFile, source);
+        if (checkpoint.isCompleted()) {
+            log.info("Import of {} already completed, {} rows committed", source, checkpoint.getCommittedRows());
+            return new ImportReport(0, 0, 0, checkpoint.getCommittedRows(), 0, Duration.ZERO);
+        }
+        long started = System.nanoTime();
+        ReferenceResolver references = new ReferenceResolver(authorService, genreService, categoryService,
+                publisherService, options);
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelism());
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(source, StandardCharsets.UTF_8))) {
+            List<String> header = reader.next();
+            if (header == null) {
+                log.error("Invalid argument: {} is empty", source);
+                throw new IllegalArgumentException("Invalid argument: " + source + " is empty");
+            }
+            BookCsvFormat format = BookCsvFormat.fromHeader(header);
+            long skipped = skip(reader, checkpoint.getCommittedRows());
+            if (skipped > 0) {
+                log.info("Resuming import of {} after {} committed rows", source, skipped);
+            }
+            Progress progress = new Progress();
+            try (CsvWriter errors = openReport(errorReport, header, checkpoint.isResumed())) {
+                int first = checkpoint.getPendingRows() > 0 ? (int) checkpoint.getPendingRows() : options.getChunkSize();
+                CompletableFuture<List<Row>> parsing = parse(format, readChunk(reader, first), pool);
+                List<Row> chunk;
+                while (!(chunk = parsing.join()).isEmpty()) {
+                    parsing = parse(format, readChunk(reader, options.getChunkSize()), pool);
+                    write(chunk, references, errors, checkpoint, progress);
+                }
+            }
+            checkpoint.complete();
+            ImportReport report = new ImportReport(progress.read, progress.imported, progress.rejected, skipped,
+                    progress.createdReferences, Duration.ofNanos(System.nanoTime() - started));
+            log.info("Imported books from {}: {}", source, report);
+            return report;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void write(List<Row> chunk, ReferenceResolver references, CsvWriter errors,
+                       ImportCheckpoint checkpoint, Progress progress) throws IOException {
+        progress.createdReferences += references.createMissing(chunk.stream()
+                .filter(Row::isValid)
+                .map(Row::book)
+                .toList());
+        List<Row> valid = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.isValid()) {
+                row.errors().addAll(references.resolve(row.book()));
+            }
+            if (row.isValid()) {
+                valid.add(row);
+            }
+        }
+        List<Row> unwritten = unwritten(chunk, valid, checkpoint);
+        int imported = valid.size() - unwritten.size();
+        if (!unwritten.isEmpty()) {
+            List<BookDto> books = unwritten.stream().map(Row::book).toList();
+            BulkResult<BookDto> result = options.isUpsertByIsbn()
+                    ? bookService.upsertAllByIsbn(books)
+                    : bookService.saveAll(books);
+            result.getFailures().forEach(failure -> unwritten.get(failure.getIndex()).errors().add(failure.getMessage()));
+            imported += result.getSucceeded().size();
+        }
+        List<Row> rejected = chunk.stream().filter(row -> !row.isValid()).toList();
+        checkpoint.advance(chunk.size(), imported, rejected.size());
+        for (Row row : rejected) {
+            List<String> line = new ArrayList<>(row.record().size() + 2);
+            line.add(Long.toString(row.line()));
+            line.add(String.join("; ", row.errors()));
+            line.addAll(row.record());
+            errors.write(line);
+        }
+        errors.flush();
+        progress.read += chunk.size();
+        progress.imported += imported;
+        progress.rejected += rejected.size();
+        log.debug("Committed chunk of {} rows: {} imported, {} rejected", chunk.size(), imported, rejected.size());
+    }
+
+    /**
+     * Records the chunk as pending and returns the rows of {@code valid} still to be written. Upserts
+     * by ISBN are idempotent, so a replayed chunk is simply written again. Inserts are not: a chunk a
+     * crashed run left pending may be committed already, fully or row by row, so for every ISBN the
+     * copies stored since its counts were recorded are matched against the chunk's rows with that
+     * ISBN, in order.
+     */
+    private List<Row> unwritten(List<Row> chunk, List<Row> valid, ImportCheckpoint checkpoint) throws IOException {
+        if (options.isUpsertByIsbn()) {
+            if (checkpoint.getPendingRows() == 0) {
+                checkpoint.begin(chunk.size(), Map.of());
+            }
+            return valid;
+        }
+        Map<String, Long> stored = bookService.countByIsbns(valid.stream().map(row -> row.book().getIsbn()).toList());
+        if (checkpoint.getPendingRows() == 0) {
+            checkpoint.begin(chunk.size(), stored);
+            return valid;
+        }
+        Map<String, Long> committed = new HashMap<>();
+        stored.forEach((isbn, count) -> committed.put(isbn, count - checkpoint.getPendingIsbnCounts().getOrDefault(isbn, 0L)));
+        List<Row> rest = new ArrayList<>(valid.size());
+        for (Row row : valid) {
+            long left = committed.getOrDefault(row.book().getIsbn(), 0L);
+            if (left > 0) {
+                committed.put(row.book().getIsbn(), left - 1);
+            } else {
+                rest.add(row);
+            }
+        }
+        log.info("Found {} of {} rows from line {} committed before the restart",
+                valid.size() - rest.size(), valid.size(), chunk.getFirst().line());
+        return rest;
+    }
+
+    private static CompletableFuture<List<Row>> parse(BookCsvFormat format, List<Raw> records, ForkJoinPool pool) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return CompletableFuture.supplyAsync(() -> records.parallelStream().map(raw -> {
+            List<String> errors = new ArrayList<>();
+            BookDto book = format.parse(raw.fields(), errors);
+            if (errors.isEmpty()) {
+                errors.addAll(BookValidation.errorsOf(book));
+            }
+            return new Row(raw.line(), raw.fields(), book, errors);
+        }).toList(), pool);
+    }
+
+    private static List<Raw> readChunk(CsvReader reader, int size) throws IOException {
+        List<Raw> records = new ArrayList<>(size);
+        List<String> fields;
+        while (records.size() < size && (fields = reader.next()) != null) {
+            records.add(new Raw(reader.getLine(), fields));
+        }
+        return records;
+    }
+
+    private static long skip(CsvReader reader, long rows) throws IOException {
+        long skipped = 0;
+        while (skipped < rows && reader.next() != null) {
+            skipped++;
+        }
+        return skipped;
+    }
+
+    private static CsvWriter openReport(Path errorReport, List<String> header, boolean append) throws IOException {
+        if (append && Files.exists(errorReport)) {
+            return new CsvWriter(Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+        }
+        CsvWriter writer = new CsvWriter(Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8));
+        writer.write(Stream.concat(Stream.of("line", "errors"), header.stream()).toList());
+        return writer;
+    }
+
+    private record Raw(long line, List<String> fields) {
+    }
+
+    private record Row(long line, List<String> record, BookDto book, List<String> errors) {
+        boolean isValid() {
+            return errors.isEmpty();
+        }
+    }
+
+    private static final class Progress {
+        private long read;
+        private long imported;
+        private long rejected;
+        private int createdReferences;
+    }
+}
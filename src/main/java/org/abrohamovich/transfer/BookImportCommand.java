@@ -0,0 +1,51 @@
+package org.abrohamovich.transfer;
+
+import org.abrohamovich.config.EntityManagerFactoryProvider;
+import org.abrohamovich.mapper.*;
+import org.abrohamovich.repository.*;
+import org.abrohamovich.service.*;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+/**
+ * Command-line entry point for book imports:
+ * {@code BookImportCommand <books.csv> [chunkSize] [publisherFoundationDate] [upsert]}.
+ * The checkpoint and error report are written next to the CSV file; running the command again
+ * after an interruption resumes the import.
+ */
+public class BookImportCommand {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: BookImportCommand <books.csv> [chunkSize] [publisherFoundationDate] [upsert]");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        ImportOptions.ImportOptionsBuilder options = ImportOptions.builder();
+        if (args.length > 1) {
+            options.chunkSize(Integer.parseInt(args[1]));
+        }
+        if (args.length > 2) {
+            options.publisherFoundationDate(LocalDate.parse(args[2]));
+        }
+        options.upsertByIsbn(args.length > 3 && args[3].equalsIgnoreCase("upsert"));
+        EntityManagerFactoryProvider.initialize("library");
+        try {
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            BookCsvImporter importer = new BookCsvImporter(
+                    new BookServiceCRUD(new BookRepository(router), BookMapper.INSTANCE),
+                    new AuthorServiceCRUD(new AuthorRepository(router), AuthorMapper.INSTANCE),
+                    new GenreServiceCRUD(new GenreRepository(router), GenreMapper.INSTANCE),
+                    new CategoryServiceCRUD(new CategoryRepository(router), CategoryMapper.INSTANCE),
+                    new PublisherServiceCRUD(new PublisherRepository(router), PublisherMapper.INSTANCE),
+                    options.build());
+            ImportReport report = importer.importFile(source,
+                    source.resolveSibling(source.getFileName() + ".checkpoint"),
+                    source.resolveSibling(source.getFileName() + ".errors.csv"));
+            System.out.println(report);
+        } finally {
+            EntityManagerFactoryProvider.closeEntityManagerFactory();
+        }
+    }
+}
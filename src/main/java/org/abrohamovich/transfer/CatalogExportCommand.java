@@ -0,0 +1,33 @@
+package org.abrohamovich.transfer;
+
+import org.abrohamovich.config.EntityManagerFactoryProvider;
+import org.abrohamovich.repository.*;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Command-line entry point for catalog exports:
+ * {@code CatalogExportCommand <directory> [csv|ndjson] [gzip]}.
+ */
+public class CatalogExportCommand {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: CatalogExportCommand <directory> [csv|ndjson] [gzip]");
+            System.exit(2);
+        }
+        ExportFormat format = args.length > 1 ? ExportFormat.valueOf(args[1].toUpperCase(Locale.ROOT)) : ExportFormat.CSV;
+        boolean gzip = args.length > 2 && args[2].equalsIgnoreCase("gzip");
+        EntityManagerFactoryProvider.initialize("library");
+        try {
+            ReadWriteRouter router = EntityManagerFactoryProvider.getReadWriteRouter();
+            CatalogExporter exporter = new CatalogExporter(new BookRepository(router), new PatronRepository(router),
+                    new AuthorRepository(router), new GenreRepository(router), new CategoryRepository(router),
+                    new PublisherRepository(router));
+            exporter.exportAll(Path.of(args[0]), format, gzip).forEach(System.out::println);
+        } finally {
+            EntityManagerFactoryProvider.closeEntityManagerFactory();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package org.abrohamovich.transfer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.repository.*;
+import org.abrohamovich.search.BookFacet;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes whole tables to CSV or NDJSON files, optionally gzipped. Rows are read through
+ * server-side cursors and written through a buffered file channel, so memory use does not grow
+ * with the table. Book authors, genres and categories come from their own cursors, ordered like
+ * the books and merged one book at a time. A file appears under its final name only when complete.
+ */
+@Slf4j
+public class CatalogExporter {
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final BookRepository bookRepository;
+    private final PatronRepository patronRepository;
+    private final AuthorRepository authorRepository;
+    private final GenreRepository genreRepository;
+    private final CategoryRepository categoryRepository;
+    private final PublisherRepository publisherRepository;
+
+    public CatalogExporter(BookRepository bookRepository, PatronRepository patronRepository,
+                           AuthorRepository authorRepository, GenreRepository genreRepository,
+                           CategoryRepository categoryRepository, PublisherRepository publisherRepository) {
+        this.bookRepository = bookRepository;
+        this.patronRepository = patronRepository;
+        this.authorRepository = authorRepository;
+        this.genreRepository = genreRepository;
+        this.categoryRepository = categoryRepository;
+        this.publisherRepository = publisherRepository;
+    }
+
+    public static String fileName(ExportTable table, ExportFormat format, boolean gzip) {
+        return table.getFileName() + "." + format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    /**
+     * Exports every table into {@code directory}, named by {@link #fileName}.
+     */
+    public List<ExportReport> exportAll(Path directory, ExportFormat format, boolean gzip) throws IOException {
+        Files.createDirectories(directory);
+        List<ExportReport> reports = new ArrayList<>();
+        for (ExportTable table : ExportTable.values()) {
+            reports.add(export(table, format, gzip, directory.resolve(fileName(table, format, gzip))));
+        }
+        return reports;
+    }
+
+    public ExportReport export(ExportTable table, ExportFormat format, boolean gzip, Path target) throws IOException {
+        if (table == null || format == null || target == null) {
+            log.error("Invalid argument: null export table, format or target");
+            throw new IllegalArgumentException("Invalid argument: null export table, format or target");
+        }
+        long started = System.nanoTime();
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        long rows;
+        try (ExportFormat.RecordWriter writer = format.open(open(partial, gzip), table.getColumns())) {
+            rows = writeRows(table, writer);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            log.error("Failed to export {} to {}: {}", table, target, e.getMessage());
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ExportReport report = new ExportReport(table, target, rows, Files.size(target),
+                Duration.ofNanos(System.nanoTime() - started));
+        log.info("Exported {}", report);
+        return report;
+    }
+
+    private static Writer open(Path file, boolean gzip) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        if (gzip) {
+            out = new GZIPOutputStream(out, BUFFER_SIZE);
+        }
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private long writeRows(ExportTable table, ExportFormat.RecordWriter writer) throws IOException {
+        return switch (table) {
+            case BOOKS -> writeBooks(writer);
+            case PATRONS -> write(patronRepository.streamAll(), patron -> Arrays.asList(patron.getId(),
+                    patron.getCardId(), patron.getFullName(), patron.getEmail(), patron.getPhone(),
+                    patron.getAddress(), patron.getDateOfBirth(), patron.getRegisterDate()), writer);
+            case AUTHORS -> write(authorRepository.streamAll(), author -> Arrays.asList(author.getId(),
+                    author.getFullName(), author.getDateOfBirth(), author.getSex(), author.getNationality()), writer);
+            case GENRES -> write(genreRepository.streamAll(), genre -> Arrays.asList(genre.getId(),
+                    genre.getName(), genre.getDescription()), writer);
+            case CATEGORIES -> write(categoryRepository.streamAll(), category -> Arrays.asList(category.getId(),
+                    category.getName(), category.getDescription()), writer);
+            case PUBLISHERS -> write(publisherRepository.streamAll(), publisher -> Arrays.asList(publisher.getId(),
+                    publisher.getName(), publisher.getFoundationDate(), publisher.getAddress(), publisher.getEmail(),
+                    publisher.getWebsite()), writer);
+        };
+    }
+
+    private static <E> long write(Stream<E> entities, Function<E, List<?>> toRow,
+                                  ExportFormat.RecordWriter writer) throws IOException {
+        long rows = 0;
+        try (entities) {
+            Iterator<E> iterator = entities.iterator();
+            while (iterator.hasNext()) {
+                writer.write(toRow.apply(iterator.next()));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private long writeBooks(ExportFormat.RecordWriter writer) throws IOException {
+        long rows = 0;
+        try (Stream<Object[]> books = bookRepository.streamExportRows();
+             Relation authors = new Relation(bookRepository.streamRelationNames(BookFacet.AUTHOR));
+             Relation genres = new Relation(bookRepository.streamRelationNames(BookFacet.GENRE));
+             Relation categories = new Relation(bookRepository.streamRelationNames(BookFacet.CATEGORY))) {
+            Iterator<Object[]> iterator = books.iterator();
+            while (iterator.hasNext()) {
+                Object[] book = iterator.next();
+                long id = ((Number) book[0]).longValue();
+                List<Object> row = new ArrayList<>(book.length + 3);
+                Collections.addAll(row, book);
+                row.add(authors.namesOf(id));
+                row.add(genres.namesOf(id));
+                row.add(categories.namesOf(id));
+                writer.write(row);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Cursor over {@code [bookId, name]} pairs ordered by book id, consumed in step with the books.
+     */
+    private static final class Relation implements AutoCloseable {
+        private final Stream<Object[]> stream;
+        private final Iterator<Object[]> iterator;
+        private Object[] next;
+
+        private Relation(Stream<Object[]> stream) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+            advance();
+        }
+
+        private List<String> namesOf(long bookId) {
+            while (next != null && idOf(next) < bookId) {
+                advance();
+            }
+            List<String> names = new ArrayList<>();
+            while (next != null && idOf(next) == bookId) {
+                names.add((String) next[1]);
+                advance();
+            }
+            return names;
+        }
+
+        private void advance() {
+            next = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        private static long idOf(Object[] row) {
+            return ((Number) row[0]).longValue();
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.abrohamovich.transfer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Output formats of a {@link CatalogExporter}. CSV joins multi-valued cells with
+ * {@link BookCsvFormat#NAME_SEPARATOR}; NDJSON writes them as arrays.
+ */
+public enum ExportFormat {
+    CSV("csv") {
+        @Override
+        RecordWriter open(Writer out, List<String> columns) throws IOException {
+            CsvWriter csv = new CsvWriter(out);
+            csv.write(columns);
+            return new RecordWriter() {
+                @Override
+                public void write(List<?> values) throws IOException {
+                    csv.write(values.stream().map(ExportFormat::csvCell).toList());
+                }
+
+                @Override
+                public void close() throws IOException {
+                    csv.close();
+                }
+            };
+        }
+    },
+    NDJSON("ndjson") {
+        @Override
+        RecordWriter open(Writer out, List<String> columns) {
+            return new RecordWriter() {
+                private final StringBuilder line = new StringBuilder(256);
+
+                @Override
+                public void write(List<?> values) throws IOException {
+                    line.setLength(0);
+                    line.append('{');
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (i > 0) {
+                            line.append(',');
+                        }
+                        appendString(line, columns.get(i));
+                        line.append(':');
+                        appendValue(line, values.get(i));
+                    }
+                    line.append("}\n");
+                    out.append(line);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+    };
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    abstract RecordWriter open(Writer out, List<String> columns) throws IOException;
+
+    interface RecordWriter extends AutoCloseable {
+        void write(List<?> values) throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Collection<?> names) {
+            return names.stream().map(String::valueOf).collect(Collectors.joining(BookCsvFormat.NAME_SEPARATOR));
+        }
+        return value.toString();
+    }
+
+    private static void appendValue(StringBuilder json, Object value) {
+        if (value == null) {
+            json.append("null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof Collection<?> items) {
+            json.append('[');
+            boolean first = true;
+            for (Object item : items) {
+                if (!first) {
+                    json.append(',');
+                }
+                appendValue(json, item);
+                first = false;
+            }
+            json.append(']');
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,19 @@
+package org.abrohamovich.transfer;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+public record ExportReport(ExportTable table, Path file, long rows, long bytes, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : rows * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s -> %s rows=%d bytes=%d elapsed=%dms rate=%.0f rows/s",
+                table, file, rows, bytes, elapsed.toMillis(), rowsPerSecond());
+    }
+}
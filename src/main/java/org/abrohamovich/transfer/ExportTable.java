@@ -0,0 +1,33 @@
+package org.abrohamovich.transfer;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Tables a {@link CatalogExporter} can write, with their column names. Book columns match
+ * {@link BookCsvFormat}, so a CSV book export can be imported again.
+ */
+public enum ExportTable {
+    BOOKS("books", Stream.concat(Stream.of("id"), BookCsvFormat.COLUMNS.stream()).toList()),
+    PATRONS("patrons", List.of("id", "card_id", "full_name", "email", "phone", "address", "date_of_birth", "register_date")),
+    AUTHORS("authors", List.of("id", "full_name", "date_of_birth", "sex", "nationality")),
+    GENRES("genres", List.of("id", "name", "description")),
+    CATEGORIES("categories", List.of("id", "name", "description")),
+    PUBLISHERS("publishers", List.of("id", "name", "foundation_date", "address", "email", "website"));
+
+    private final String fileName;
+    private final List<String> columns;
+
+    ExportTable(String fileName, List<String> columns) {
+        this.fileName = fileName;
+        this.columns = columns;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+}
@@ -0,0 +1,118 @@
+package org.abrohamovich.transfer;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Progress of an import, rewritten atomically before and after every chunk. Before a chunk is
+ * written it records the chunk's row count and how many copies of each of its ISBNs were stored,
+ * so a run resumed after a crash in between can tell which of the chunk's rows were committed.
+ * A run resumed from it skips the rows already committed.
+ */
+@Getter
+public class ImportCheckpoint {
+    private static final String PENDING_ISBN = "pending.isbn.";
+
+    private final Path file;
+    private final String source;
+    private final long sourceSize;
+    private long committedRows;
+    private long imported;
+    private long rejected;
+    private boolean completed;
+    private long pendingRows;
+    private Map<String, Long> pendingIsbnCounts = Map.of();
+
+    private ImportCheckpoint(Path file, String source, long sourceSize) {
+        this.file = file;
+        this.source = source;
+        this.sourceSize = sourceSize;
+    }
+
+    /**
+     * Loads the checkpoint of {@code source}, or starts a fresh one when none exists.
+     */
+    public static ImportCheckpoint open(Path file, Path source) throws IOException {
+        String sourcePath = source.toAbsolutePath().normalize().toString();
+        long size = Files.size(source);
+        ImportCheckpoint checkpoint = new ImportCheckpoint(file, sourcePath, size);
+        if (!Files.exists(file)) {
+            return checkpoint;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        if (!sourcePath.equals(properties.getProperty("source"))
+                || size != Long.parseLong(properties.getProperty("sourceSize", "-1"))) {
+            throw new IllegalArgumentException("Invalid argument: checkpoint " + file + " belongs to a different source file");
+        }
+        checkpoint.committedRows = Long.parseLong(properties.getProperty("committedRows", "0"));
+        checkpoint.imported = Long.parseLong(properties.getProperty("imported", "0"));
+        checkpoint.rejected = Long.parseLong(properties.getProperty("rejected", "0"));
+        checkpoint.completed = Boolean.parseBoolean(properties.getProperty("completed"));
+        checkpoint.pendingRows = Long.parseLong(properties.getProperty("pendingRows", "0"));
+        Map<String, Long> counts = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(PENDING_ISBN)) {
+                counts.put(key.substring(PENDING_ISBN.length()), Long.parseLong(properties.getProperty(key)));
+            }
+        }
+        checkpoint.pendingIsbnCounts = Map.copyOf(counts);
+        return checkpoint;
+    }
+
+    public boolean isResumed() {
+        return committedRows > 0 || pendingRows > 0;
+    }
+
+    /**
+     * Records the next {@code rows} rows as being written, and the stored copies of their ISBNs.
+     */
+    void begin(long rows, Map<String, Long> isbnCounts) throws IOException {
+        pendingRows = rows;
+        pendingIsbnCounts = Map.copyOf(isbnCounts);
+        store();
+    }
+
+    void advance(long rows, long importedRows, long rejectedRows) throws IOException {
+        committedRows += rows;
+        imported += importedRows;
+        rejected += rejectedRows;
+        pendingRows = 0;
+        pendingIsbnCounts = Map.of();
+        store();
+    }
+
+    void complete() throws IOException {
+        completed = true;
+        store();
+    }
+
+    private void store() throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("source", source);
+        properties.setProperty("sourceSize", Long.toString(sourceSize));
+        properties.setProperty("committedRows", Long.toString(committedRows));
+        properties.setProperty("imported", Long.toString(imported));
+        properties.setProperty("rejected", Long.toString(rejected));
+        properties.setProperty("completed", Boolean.toString(completed));
+        properties.setProperty("pendingRows", Long.toString(pendingRows));
+        pendingIsbnCounts.forEach((isbn, count) -> properties.setProperty(PENDING_ISBN + isbn, Long.toString(count)));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Book import checkpoint");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
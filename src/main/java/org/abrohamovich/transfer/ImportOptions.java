@@ -0,0 +1,31 @@
+package org.abrohamovich.transfer;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.abrohamovich.dto.AuthorDto;
+
+import java.time.LocalDate;
+
+/**
+ * Tuning and reference-creation settings of a {@link BookCsvImporter} run. Unknown genres and
+ * categories are always created; unknown authors and publishers only when the fields the schema
+ * requires for them are supplied here, otherwise their rows are rejected. With {@code upsertByIsbn}
+ * books are bulk-loaded, and a book whose ISBN is already stored is updated instead of duplicated.
+ */
+@Getter
+@Builder
+public class ImportOptions {
+    @Builder.Default
+    private final int chunkSize = 1000;
+    @Builder.Default
+    private final int parallelism = Runtime.getRuntime().availableProcessors();
+    @Builder.Default
+    private final String referenceDescription = "Imported from CSV";
+    private final AuthorDto authorTemplate;
+    private final LocalDate publisherFoundationDate;
+    private final boolean upsertByIsbn;
+
+    public static ImportOptions defaults() {
+        return builder().build();
+    }
+}
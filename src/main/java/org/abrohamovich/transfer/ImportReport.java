@@ -0,0 +1,22 @@
+package org.abrohamovich.transfer;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Outcome of one import run; {@code skipped} counts rows committed by an earlier, interrupted run.
+ */
+public record ImportReport(long rowsRead, long imported, long rejected, long skipped,
+                           int createdReferences, Duration elapsed) {
+
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : rowsRead * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "read=%d imported=%d rejected=%d skipped=%d createdReferences=%d elapsed=%dms rate=%.0f rows/s",
+                rowsRead, imported, rejected, skipped, createdReferences, elapsed.toMillis(), rowsPerSecond());
+    }
+}
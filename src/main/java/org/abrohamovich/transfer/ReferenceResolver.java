@@ -0,0 +1,150 @@
+package org.abrohamovich.transfer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.abrohamovich.dto.*;
+import org.abrohamovich.service.interfaces.AuthorService;
+import org.abrohamovich.service.interfaces.CategoryService;
+import org.abrohamovich.service.interfaces.GenreService;
+import org.abrohamovich.service.interfaces.PublisherService;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Replaces the name-only references of parsed books with stored ones. Every known name is loaded
+ * once up front; names first seen in a chunk are created together before the chunk is written.
+ * Names are matched case-insensitively. Not thread-safe.
+ */
+@Slf4j
+class ReferenceResolver {
+    private final References<AuthorDto> authors;
+    private final References<GenreDto> genres;
+    private final References<CategoryDto> categories;
+    private final References<PublisherDto> publishers;
+
+    ReferenceResolver(AuthorService authorService, GenreService genreService, CategoryService categoryService,
+                      PublisherService publisherService, ImportOptions options) {
+        AuthorDto template = options.getAuthorTemplate();
+        authors = new References<>("author", AuthorDto::getFullName, template == null ? null : names ->
+                authorService.saveAll(names.stream().map(name -> AuthorDto.builder()
+                        .fullName(name)
+                        .sex(template.getSex())
+                        .dateOfBirth(template.getDateOfBirth())
+                        .nationality(template.getNationality())
+                        .build()).toList()).getSucceeded());
+        genres = new References<>("genre", GenreDto::getName, names ->
+                genreService.saveAll(names.stream().map(name -> GenreDto.builder()
+                        .name(name)
+                        .description(options.getReferenceDescription())
+                        .build()).toList()).getSucceeded());
+        categories = new References<>("category", CategoryDto::getName, names ->
+                categoryService.saveAll(names.stream().map(name -> CategoryDto.builder()
+                        .name(name)
+                        .description(options.getReferenceDescription())
+                        .build()).toList()).getSucceeded());
+        publishers = new References<>("publisher", PublisherDto::getName, options.getPublisherFoundationDate() == null ? null : names ->
+                publisherService.saveAll(names.stream().map(name -> PublisherDto.builder()
+                        .name(name)
+                        .foundationDate(options.getPublisherFoundationDate())
+                        .build()).toList()).getSucceeded());
+
+        authorService.findSummaries().forEach(summary -> authors.known(AuthorDto.builder()
+                .id(summary.id())
+                .fullName(summary.fullName())
+                .nationality(summary.nationality())
+                .build()));
+        genreService.findAll().forEach(genres::known);
+        categoryService.findAll().forEach(categories::known);
+        publisherService.findAll().forEach(publishers::known);
+        log.info("Reference cache loaded: {} authors, {} genres, {} categories, {} publishers",
+                authors.size(), genres.size(), categories.size(), publishers.size());
+    }
+
+    /**
+     * Creates the references of {@code books} that are not stored yet and returns how many were created.
+     */
+    int createMissing(Collection<BookDto> books) {
+        return authors.createMissing(books.stream().flatMap(book -> book.getAuthors().stream()).map(AuthorDto::getFullName))
+                + genres.createMissing(books.stream().flatMap(book -> book.getGenres().stream()).map(GenreDto::getName))
+                + categories.createMissing(books.stream().flatMap(book -> book.getCategories().stream()).map(CategoryDto::getName))
+                + publishers.createMissing(books.stream().map(BookDto::getPublisher).filter(Objects::nonNull).map(PublisherDto::getName));
+    }
+
+    /**
+     * Points the references of {@code book} at stored rows; returns the names that could not be resolved.
+     */
+    List<String> resolve(BookDto book) {
+        List<String> errors = new ArrayList<>();
+        book.setAuthors(authors.resolveAll(book.getAuthors(), errors));
+        book.setGenres(genres.resolveAll(book.getGenres(), errors));
+        book.setCategories(categories.resolveAll(book.getCategories(), errors));
+        if (book.getPublisher() != null) {
+            book.setPublisher(publishers.resolve(book.getPublisher(), errors));
+        }
+        return errors;
+    }
+
+    private static String keyOf(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class References<D> {
+        private final String kind;
+        private final Function<D, String> nameOf;
+        private final Function<List<String>, List<D>> creator;
+        private final Map<String, D> byName = new HashMap<>();
+        private final Set<String> failed = new HashSet<>();
+
+        private References(String kind, Function<D, String> nameOf, Function<List<String>, List<D>> creator) {
+            this.kind = kind;
+            this.nameOf = nameOf;
+            this.creator = creator;
+        }
+
+        private void known(D reference) {
+            byName.putIfAbsent(keyOf(nameOf.apply(reference)), reference);
+        }
+
+        private int size() {
+            return byName.size();
+        }
+
+        private int createMissing(Stream<String> names) {
+            if (creator == null) {
+                return 0;
+            }
+            Map<String, String> missing = new LinkedHashMap<>();
+            names.forEach(name -> {
+                String key = keyOf(name);
+                if (!byName.containsKey(key) && !failed.contains(key)) {
+                    missing.putIfAbsent(key, name.trim());
+                }
+            });
+            if (missing.isEmpty()) {
+                return 0;
+            }
+            List<D> created = creator.apply(List.copyOf(missing.values()));
+            created.forEach(this::known);
+            missing.keySet().stream().filter(key -> !byName.containsKey(key)).forEach(failed::add);
+            log.info("Created {} of {} missing {} references", created.size(), missing.size(), kind);
+            return created.size();
+        }
+
+        private D resolve(D stub, List<String> errors) {
+            D stored = byName.get(keyOf(nameOf.apply(stub)));
+            if (stored == null) {
+                errors.add("Unknown " + kind + " '" + nameOf.apply(stub) + "'");
+            }
+            return stored;
+        }
+
+        private Set<D> resolveAll(Set<D> stubs, List<String> errors) {
+            return stubs.stream()
+                    .map(stub -> resolve(stub, errors))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+        }
+    }
+}
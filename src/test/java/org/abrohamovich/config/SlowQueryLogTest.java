@@ -0,0 +1,110 @@
+package org.abrohamovich.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.entity.Genre;
+import org.abrohamovich.repository.GenreRepository;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowQueryLogTest {
+    private final List<SlowQueryLog.SlowQuery> slowQueries = new CopyOnWriteArrayList<>();
+    private EntityManagerFactory emf;
+    private GenreRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:slow-query-log;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=PostgreSQL");
+        dataSource.setUser("sa");
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, slowQueries::add);
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit", Map.of(
+                "jakarta.persistence.nonJtaDataSource", slowQueryLog.wrap(dataSource),
+                "hibernate.generate_statistics", "true",
+                "hibernate.show_sql", "false"));
+        repo = new GenreRepository(emf);
+        slowQueries.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void wrap_ReportsStatementsWithBindValuesAndRepositoryMethod() {
+        repo.save(Genre.builder().name("Thriller").description("Suspense").build());
+        slowQueries.clear();
+
+        assertTrue(repo.findByName("Thriller").isPresent());
+
+        SlowQueryLog.SlowQuery query = slowQueries.stream()
+                .filter(slow -> slow.sql().contains("t_genre"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("GenreRepository.findByName", query.origin());
+        assertEquals(Map.of(1, "'Thriller'"), query.parameters());
+        assertTrue(query.toString().startsWith("Slow query took "), query.toString());
+    }
+
+    @Test
+    void wrap_AttributesFlushedInsertsToTheCommittingRepositoryMethod() {
+        repo.saveAll(List.of(Genre.builder().name("Horror").description("Scary").build(),
+                Genre.builder().name("Romance").description("Love").build()));
+
+        assertTrue(slowQueries.stream()
+                .filter(slow -> slow.sql().startsWith("insert"))
+                .allMatch(slow -> slow.origin().equals("GenreRepository.saveAll")));
+        assertTrue(slowQueries.stream().anyMatch(slow -> slow.parameters().containsValue("'Romance'")));
+    }
+
+    @Test
+    void wrap_IgnoresStatementsFasterThanThreshold() {
+        List<SlowQueryLog.SlowQuery> reported = new CopyOnWriteArrayList<>();
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:slow-query-log;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+
+        assertDoesNotThrow(() -> {
+            try (var connection = new SlowQueryLog(Duration.ofMinutes(1), reported::add).wrap(dataSource).getConnection();
+                 var statement = connection.prepareStatement("SELECT ?")) {
+                statement.setInt(1, 42);
+                statement.executeQuery().close();
+            }
+        });
+        assertTrue(reported.isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new SlowQueryLog(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void queryStatistics_RanksQueriesByTotalTime() {
+        repo.save(Genre.builder().name("Thriller").description("Suspense").build());
+        for (int i = 0; i < 3; i++) {
+            repo.findByName("Thriller");
+        }
+        repo.findAll();
+
+        QueryStatistics statistics = QueryStatistics.of(emf);
+        QueryStatistics.Query byName = statistics.queries().stream()
+                .filter(query -> query.query().contains("name"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(3, byName.executions());
+        assertEquals(3, byName.rows());
+        assertEquals(1, statistics.top(1).size());
+        assertEquals(statistics.queries().size(), statistics.top(10).size());
+        assertTrue(statistics.toText(5).contains(byName.query()));
+        assertThrows(IllegalArgumentException.class, () -> statistics.top(-1));
+    }
+}
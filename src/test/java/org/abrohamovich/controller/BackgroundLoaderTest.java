@@ -0,0 +1,115 @@
+package org.abrohamovich.controller;
+
+import org.abrohamovich.service.DatabaseExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BackgroundLoaderTest {
+    private final LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+    private DatabaseExecutor executor;
+    private BackgroundLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        executor = new DatabaseExecutor(4, Duration.ofSeconds(5));
+        loader = new BackgroundLoader(executor, uiQueue::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private void runUiTasks(int expected) throws InterruptedException {
+        for (int i = 0; i < expected; i++) {
+            Runnable task = uiQueue.poll(2, TimeUnit.SECONDS);
+            assertNotNull(task, "UI callback was not delivered");
+            task.run();
+        }
+    }
+
+    @Test
+    void load_DeliversResultThroughUiExecutor() throws Exception {
+        List<String> results = new ArrayList<>();
+
+        loader.load(() -> "books", results::add, e -> fail(e));
+
+        assertTrue(loader.busyProperty().get());
+        runUiTasks(1);
+        assertEquals(List.of("books"), results);
+        assertFalse(loader.busyProperty().get());
+    }
+
+    @Test
+    void load_DeliversFailureThroughUiExecutor() throws Exception {
+        List<Throwable> errors = new ArrayList<>();
+
+        loader.load(() -> {
+            throw new IllegalArgumentException("Invalid argument");
+        }, r -> fail("unexpected result"), errors::add);
+
+        runUiTasks(1);
+        assertEquals(1, errors.size());
+        assertInstanceOf(IllegalArgumentException.class, errors.getFirst());
+        assertEquals(0, loader.getPending());
+    }
+
+    @Test
+    void latest_DiscardsStaleResponses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> results = new ArrayList<>();
+        BackgroundLoader.Latest slot = loader.latest();
+
+        slot.load(() -> {
+            release.await();
+            return "stale";
+        }, results::add, e -> fail(e));
+        slot.load(() -> "fresh", results::add, e -> fail(e));
+        release.countDown();
+
+        runUiTasks(2);
+        assertEquals(List.of("fresh"), results);
+        assertEquals(0, loader.getPending());
+    }
+
+    @Test
+    void latest_DiscardsResultCompletedBeforeNewerLoad() throws Exception {
+        List<String> results = new ArrayList<>();
+        BackgroundLoader.Latest slot = loader.latest();
+
+        slot.load(() -> "first", results::add, e -> fail(e));
+        Runnable firstCallback = uiQueue.poll(2, TimeUnit.SECONDS);
+        assertNotNull(firstCallback);
+        slot.load(() -> "second", results::add, e -> fail(e));
+        firstCallback.run();
+
+        runUiTasks(1);
+        assertEquals(List.of("second"), results);
+    }
+
+    @Test
+    void cancel_SuppressesCallbacks() throws Exception {
+        List<Object> delivered = new ArrayList<>();
+        BackgroundLoader.Latest slot = loader.latest();
+
+        slot.load(() -> {
+            Thread.sleep(10_000);
+            return "never";
+        }, delivered::add, delivered::add);
+        slot.cancel();
+
+        runUiTasks(1);
+        assertTrue(delivered.isEmpty());
+        assertFalse(loader.busyProperty().get());
+    }
+}
@@ -0,0 +1,139 @@
+package org.abrohamovich.controller;
+
+import javafx.collections.ListChangeListener;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
+import org.abrohamovich.service.DatabaseExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagedListTest {
+    private static final int TOTAL = 1_000_000;
+    private static final int PAGE_SIZE = 100;
+
+    private final LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+    private final List<Long> fetchedAfter = new CopyOnWriteArrayList<>();
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private volatile boolean gated;
+    private DatabaseExecutor executor;
+    private BackgroundLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        executor = new DatabaseExecutor(2, Duration.ofSeconds(5));
+        loader = new BackgroundLoader(executor, uiQueue::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private PagedList<Long> pagedList(int cachedPages) {
+        List<Long> starts = LongStream.range(0, TOTAL / PAGE_SIZE).map(p -> p * PAGE_SIZE + 1).boxed().toList();
+        PageIndex index = PageIndex.of(starts, TOTAL, PAGE_SIZE);
+        return new PagedList<>(loader, index, this::fetch, cachedPages);
+    }
+
+    private Page<Long> fetch(PageRequest request) {
+        fetchedAfter.add(request.getAfterId());
+        if (gated) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        long first = request.getAfterId() + 1;
+        List<Long> ids = LongStream.range(first, Math.min(first + request.getSize() + 1, TOTAL + 1L)).boxed().toList();
+        return Page.of(ids, request, Long::longValue);
+    }
+
+    private void runUiTasks() throws InterruptedException {
+        while (loader.getPending() > 0) {
+            Runnable task = uiQueue.poll(2, TimeUnit.SECONDS);
+            assertNotNull(task, "UI callback was not delivered");
+            task.run();
+        }
+    }
+
+    @Test
+    void get_ReturnsPlaceholderThenLoadedRow() throws Exception {
+        PagedList<Long> list = pagedList(PagedList.DEFAULT_CACHED_PAGES);
+        List<String> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Long>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo() + (c.wasReplaced() ? " replaced" : ""));
+            }
+        });
+
+        assertEquals(TOTAL, list.size());
+        assertNull(list.get(500_050));
+        runUiTasks();
+
+        assertEquals(500_051L, list.get(500_050));
+        assertEquals(3, list.getFetchedPages());
+        assertTrue(changes.contains("500000-500100 replaced"));
+    }
+
+    @Test
+    void get_KeepsAtMostCachedPages() throws Exception {
+        PagedList<Long> list = pagedList(8);
+
+        for (int i = 0; i < 50; i++) {
+            list.get(i * PAGE_SIZE * 10);
+            runUiTasks();
+        }
+
+        assertTrue(list.getLoadedPages() <= 8);
+        assertEquals((long) 490 * PAGE_SIZE + 1, list.get(490 * PAGE_SIZE));
+    }
+
+    @Test
+    void get_SkipsPagesScrolledPastBeforeTheyLoad() throws Exception {
+        PagedList<Long> list = pagedList(4);
+        gated = true;
+
+        for (int i = 0; i < 20; i++) {
+            list.get(i * PAGE_SIZE * 100);
+        }
+        gate.countDown();
+        runUiTasks();
+
+        assertTrue(list.getFetchedPages() <= 6, "fetched " + list.getFetchedPages());
+        assertEquals((long) 1900 * PAGE_SIZE + 1, list.get(1900 * PAGE_SIZE));
+    }
+
+    @Test
+    void indexOf_SearchesLoadedPagesOnly() throws Exception {
+        PagedList<Long> list = pagedList(PagedList.DEFAULT_CACHED_PAGES);
+
+        list.get(0);
+        runUiTasks();
+
+        assertEquals(41, list.indexOf(42L));
+        assertEquals(-1, list.indexOf(900_000L));
+        assertEquals(List.of(0L, 100L), fetchedAfter.stream().sorted().toList());
+    }
+
+    @Test
+    void emptyIndex_HasNoRows() {
+        PagedList<Long> list = new PagedList<>(loader, PageIndex.empty(PAGE_SIZE), this::fetch);
+
+        assertTrue(list.isEmpty());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+    }
+}
@@ -0,0 +1,146 @@
+package org.abrohamovich.controller;
+
+import org.abrohamovich.service.DatabaseExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TypeAheadTest {
+    private static final List<String> NAMES = List.of("Horror", "Historical", "History of Art", "Humor", "Poetry");
+
+    private final LinkedBlockingQueue<Runnable> uiQueue = new LinkedBlockingQueue<>();
+    private final List<String> searches = new CopyOnWriteArrayList<>();
+    private final List<List<String>> delivered = new ArrayList<>();
+    private DatabaseExecutor executor;
+    private BackgroundLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        executor = new DatabaseExecutor(2, Duration.ofSeconds(5));
+        loader = new BackgroundLoader(executor, uiQueue::add);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    private TypeAhead<String> typeAhead(int limit, boolean refine) {
+        return TypeAhead.<String>builder()
+                .loader(loader)
+                .all(() -> {
+                    searches.add("");
+                    return NAMES;
+                })
+                .search(query -> {
+                    searches.add(query);
+                    return NAMES.stream()
+                            .filter(name -> TypeAhead.containsIgnoreCase(name, query))
+                            .limit(limit > 0 ? limit : Long.MAX_VALUE)
+                            .toList();
+                })
+                .limit(limit)
+                .refine(refine ? TypeAhead::containsIgnoreCase : null)
+                .debounce(Duration.ofMillis(20))
+                .onResults(delivered::add)
+                .onFailure(e -> fail(e))
+                .build();
+    }
+
+    private void runUiTasks(int expected) throws InterruptedException {
+        for (int i = 0; i < expected; i++) {
+            Runnable task = uiQueue.poll(2, TimeUnit.SECONDS);
+            assertNotNull(task, "UI callback was not delivered");
+            task.run();
+        }
+    }
+
+    @Test
+    void query_DebouncesKeystrokesIntoOneSearch() throws Exception {
+        TypeAhead<String> typeAhead = typeAhead(0, false);
+
+        typeAhead.query("h");
+        typeAhead.query("hi");
+        typeAhead.query("his");
+        runUiTasks(4);
+
+        assertEquals(List.of("his"), searches);
+        assertEquals(List.of(List.of("Historical", "History of Art")), delivered);
+    }
+
+    @Test
+    void query_AnswersRepeatedQueryFromCache() throws Exception {
+        TypeAhead<String> typeAhead = typeAhead(0, false);
+
+        typeAhead.query("hor");
+        runUiTasks(2);
+        typeAhead.query("hum");
+        runUiTasks(2);
+        typeAhead.query(" HOR ");
+
+        assertEquals(List.of("hor", "hum"), searches);
+        assertEquals(List.of("Horror"), delivered.getLast());
+        assertTrue(uiQueue.isEmpty());
+    }
+
+    @Test
+    void query_RefinesCompleteBroaderResultInMemory() throws Exception {
+        TypeAhead<String> typeAhead = typeAhead(10, true);
+
+        typeAhead.query("h");
+        runUiTasks(2);
+        typeAhead.query("hist");
+        typeAhead.query("histo");
+
+        assertEquals(List.of("h"), searches);
+        assertEquals(List.of("Historical", "History of Art"), delivered.getLast());
+        assertEquals(1, typeAhead.getDatabaseQueries());
+    }
+
+    @Test
+    void query_SearchesDatabaseWhenBroaderResultWasTruncated() throws Exception {
+        TypeAhead<String> typeAhead = typeAhead(2, true);
+
+        typeAhead.query("h");
+        runUiTasks(2);
+        typeAhead.query("hu");
+        runUiTasks(2);
+
+        assertEquals(List.of("h", "hu"), searches);
+        assertEquals(List.of("Humor"), delivered.getLast());
+    }
+
+    @Test
+    void query_DoesNotRefineFromUnlimitedListWhenSearchIsLimited() throws Exception {
+        TypeAhead<String> typeAhead = typeAhead(10, true);
+
+        typeAhead.refresh();
+        runUiTasks(1);
+        typeAhead.query("poe");
+        runUiTasks(2);
+
+        assertEquals(List.of("", "poe"), searches);
+    }
+
+    @Test
+    void refresh_DropsCacheAndReloadsCurrentQuery() throws Exception {
+        TypeAhead<String> typeAhead = typeAhead(0, true);
+
+        typeAhead.query("poe");
+        runUiTasks(2);
+        typeAhead.refresh();
+        runUiTasks(1);
+
+        assertEquals(List.of("poe", "poe"), searches);
+        assertEquals(List.of("Poetry"), delivered.getLast());
+    }
+}
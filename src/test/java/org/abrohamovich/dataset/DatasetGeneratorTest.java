@@ -0,0 +1,105 @@
+package org.abrohamovich.dataset;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.repository.ReadWriteRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatasetGeneratorTest {
+    private static final DatasetSize TINY = new DatasetSize(600, 40, 30, 5, 8, 6, 100);
+
+    private final List<EntityManagerFactory> factories = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        factories.forEach(EntityManagerFactory::close);
+    }
+
+    @Test
+    void generate_WritesRequestedVolumesAndLoans() {
+        EntityManagerFactory emf = database("dataset_volumes");
+
+        DatasetReport report = new DatasetGenerator(ReadWriteRouter.primaryOnly(emf), TINY, 7L, 2, 100).generate();
+
+        assertEquals(600, report.books());
+        assertEquals(600L, count(emf, "SELECT COUNT(*) FROM t_book"));
+        assertEquals(40L, count(emf, "SELECT COUNT(*) FROM t_patron"));
+        assertEquals(30L, count(emf, "SELECT COUNT(*) FROM t_author"));
+        assertEquals(8L, count(emf, "SELECT COUNT(*) FROM t_genre"));
+        assertTrue(report.loans() > 80 && report.loans() <= 100);
+        assertEquals(report.loans(), count(emf, "SELECT COUNT(*) FROM t_book WHERE status = 'CHECKED_OUT' "
+                + "AND patron_id IS NOT NULL AND due_date IS NOT NULL"));
+        assertEquals(0L, count(emf, "SELECT COUNT(*) FROM t_book b WHERE NOT EXISTS "
+                + "(SELECT 1 FROM t_book_author a WHERE a.book_id = b.id)"));
+    }
+
+    @Test
+    void generate_SkewsGenresTowardsFewPopularOnes() {
+        EntityManagerFactory emf = database("dataset_skew");
+
+        new DatasetGenerator(ReadWriteRouter.primaryOnly(emf), TINY, 7L, 1, 600).generate();
+
+        long[] books = rows(emf, "SELECT COUNT(*) FROM t_book_genre GROUP BY genre_id").stream()
+                .mapToLong(row -> ((Number) row).longValue())
+                .sorted()
+                .toArray();
+        assertTrue(books[books.length - 1] > 3 * books[0], Arrays.toString(books));
+    }
+
+    @Test
+    void generate_SameSeedProducesSameDataRegardlessOfChunking() {
+        EntityManagerFactory first = database("dataset_first");
+        EntityManagerFactory second = database("dataset_second");
+        EntityManagerFactory other = database("dataset_other");
+
+        new DatasetGenerator(ReadWriteRouter.primaryOnly(first), TINY, 11L, 3, 70).generate();
+        new DatasetGenerator(ReadWriteRouter.primaryOnly(second), TINY, 11L, 1, 600).generate();
+        new DatasetGenerator(ReadWriteRouter.primaryOnly(other), TINY, 12L, 3, 70).generate();
+
+        assertEquals(fingerprint(first), fingerprint(second));
+        assertNotEquals(fingerprint(first), fingerprint(other));
+    }
+
+    private EntityManagerFactory database(String name) {
+        EntityManagerFactory emf = Persistence.createEntityManagerFactory("test-persistence-unit", Map.of(
+                "jakarta.persistence.jdbc.url",
+                "jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=PostgreSQL",
+                "hibernate.show_sql", "false"
+        ));
+        factories.add(emf);
+        return emf;
+    }
+
+    private static List<String> fingerprint(EntityManagerFactory emf) {
+        return rows(emf, "SELECT b.isbn, b.title, b.language, b.number_of_pages, b.format, b.status, b.due_date, "
+                + "p.name, pa.card_id, "
+                + "(SELECT MIN(g.name) || '/' || COUNT(*) FROM t_book_genre bg JOIN t_genre g ON g.id = bg.genre_id "
+                + "WHERE bg.book_id = b.id), "
+                + "(SELECT MIN(a.full_name) || '/' || COUNT(*) FROM t_book_author ba JOIN t_author a ON a.id = ba.author_id "
+                + "WHERE ba.book_id = b.id) "
+                + "FROM t_book b JOIN t_publisher p ON p.id = b.publisher_id LEFT JOIN t_patron pa ON pa.id = b.patron_id "
+                + "ORDER BY b.isbn").stream()
+                .map(row -> Arrays.toString((Object[]) row))
+                .toList();
+    }
+
+    private static long count(EntityManagerFactory emf, String sql) {
+        return ((Number) rows(emf, sql).getFirst()).longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> rows(EntityManagerFactory emf, String sql) {
+        try (EntityManager em = emf.createEntityManager()) {
+            return em.createNativeQuery(sql).getResultList();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.abrohamovich.loadtest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.dataset.DatasetGenerator;
+import org.abrohamovich.dataset.DatasetSize;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.mapper.PatronMapper;
+import org.abrohamovich.repository.*;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.service.BookServiceCRUD;
+import org.abrohamovich.service.CirculationServiceDefault;
+import org.abrohamovich.service.PatronServiceCRUD;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadTestTest {
+    private EntityManagerFactory emf;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit", Map.of(
+                "jakarta.persistence.jdbc.url",
+                "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=PostgreSQL",
+                "hibernate.show_sql", "false"
+        ));
+        ReadWriteRouter router = ReadWriteRouter.primaryOnly(emf);
+        new DatasetGenerator(router, new DatasetSize(300, 30, 20, 5, 8, 6, 30), 3L, 1, 300).generate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void run_ReportsEveryOperationAndUndoesItsChanges() throws InterruptedException {
+        long loansBefore = count("SELECT COUNT(*) FROM t_book WHERE status = 'CHECKED_OUT'");
+        ReadWriteRouter router = ReadWriteRouter.primaryOnly(emf);
+        BookBitmapIndex bitmapIndex = new BookBitmapIndex();
+        BookRepository bookRepository = new BookRepository(router);
+        PatronRepository patronRepository = new PatronRepository(router);
+        LoadTest loadTest = new LoadTest(
+                new BookServiceCRUD(bookRepository, BookMapper.INSTANCE, bitmapIndex),
+                new PatronServiceCRUD(patronRepository, PatronMapper.INSTANCE),
+                new CirculationServiceDefault(new CirculationRepository(router), bookRepository, patronRepository,
+                        BookMapper.INSTANCE, bitmapIndex),
+                LoadTestOptions.builder()
+                        .librarians(2).patrons(4).librarianRate(25).patronRate(10)
+                        .warmup(Duration.ofMillis(500)).duration(Duration.ofSeconds(3))
+                        .build());
+
+        LoadTestReport report = loadTest.run();
+
+        assertTrue(report.completed() > 50, report.toText());
+        for (Operation operation : new Operation[]{Operation.SEARCH_TITLE, Operation.SEARCH_PATRON, Operation.CHECKOUT}) {
+            assertTrue(report.operations().containsKey(operation), report.toText());
+        }
+        report.operations().forEach((operation, result) -> assertEquals(0, result.failed(), operation + " failed"));
+        assertTrue(report.toJson().contains("\"SEARCH_TITLE\":{\"throughput\":"));
+        assertTrue(report.toPercentileDistributions().contains("1/(1-Percentile)"));
+        assertEquals(loansBefore, count("SELECT COUNT(*) FROM t_book WHERE status = 'CHECKED_OUT'"));
+        assertEquals(0L, count("SELECT COUNT(*) FROM t_book WHERE isbn LIKE 'LT-%'"));
+    }
+
+    @Test
+    void constructor_ThrowsIllegalArgumentException_WhenThereAreNoUsers() {
+        assertThrows(IllegalArgumentException.class, () -> new LoadTest(null, null, null,
+                LoadTestOptions.builder().librarians(0).patrons(0).build()));
+    }
+
+    private long count(String sql) {
+        try (EntityManager em = emf.createEntityManager()) {
+            return ((Number) em.createNativeQuery(sql).getSingleResult()).longValue();
+        }
+    }
+}
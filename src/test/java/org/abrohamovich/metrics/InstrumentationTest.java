@@ -0,0 +1,107 @@
+package org.abrohamovich.metrics;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.exceptions.GenreNotFoundException;
+import org.abrohamovich.mapper.GenreMapper;
+import org.abrohamovich.paging.PageRequest;
+import org.abrohamovich.repository.GenreRepository;
+import org.abrohamovich.repository.ReadWriteRouter;
+import org.abrohamovich.service.GenreServiceCRUD;
+import org.abrohamovich.service.interfaces.GenreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentationTest {
+    private EntityManagerFactory emf;
+    private InMemoryMetricsRegistry registry;
+    private GenreRepository repository;
+    private GenreService service;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit");
+        registry = new InMemoryMetricsRegistry();
+        repository = Instrumentation.repository(GenreRepository.class, ReadWriteRouter.primaryOnly(emf), registry);
+        service = Instrumentation.service(GenreService.class, new GenreServiceCRUD(repository, GenreMapper.INSTANCE), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void repository_TimesEveryPublicMethodByEntityAndOperation() {
+        GenreDto saved = service.save(GenreDto.builder().name("Thriller").description("Suspense").build());
+        repository.findAll();
+        repository.findAll(PageRequest.first(10));
+        repository.findById(saved.getId());
+
+        Map<MethodTag, MethodStatistics> statistics = byTag();
+        assertEquals(1, statistics.get(new MethodTag("repository", "genre", "save")).calls());
+        assertEquals(1, statistics.get(new MethodTag("repository", "genre", "findAll()")).calls());
+        assertEquals(1, statistics.get(new MethodTag("repository", "genre", "findAll(PageRequest)")).calls());
+        assertEquals(1, statistics.get(new MethodTag("repository", "genre", "findById")).calls());
+        assertTrue(statistics.get(new MethodTag("repository", "genre", "save")).latency().maxNanos() > 0);
+        assertEquals(1, statistics.get(new MethodTag("service", "genre", "save")).calls());
+    }
+
+    @Test
+    void service_CountsErrorsByExceptionTypeAndRethrowsThem() {
+        assertThrows(GenreNotFoundException.class, () -> service.findById(42L));
+        assertThrows(GenreNotFoundException.class, () -> service.findById(43L));
+        assertThrows(IllegalArgumentException.class, () -> service.findByName(" "));
+
+        Map<MethodTag, MethodStatistics> statistics = byTag();
+        MethodStatistics findById = statistics.get(new MethodTag("service", "genre", "findById"));
+        assertEquals(2, findById.calls());
+        assertEquals(Map.of("GenreNotFoundException", 2L), findById.errors());
+        assertEquals(Map.of("IllegalArgumentException", 1L),
+                statistics.get(new MethodTag("service", "genre", "findByName")).errors());
+        assertEquals(2, statistics.get(new MethodTag("repository", "genre", "findById")).calls());
+    }
+
+    @Test
+    void reporter_DumpsHottestMethodsAsTextAndJson() {
+        service.findAll();
+        List<String> reports = new ArrayList<>();
+        MetricsReporter text = new MetricsReporter(registry, MetricsReporter.Format.TEXT, reports::add);
+        MetricsReporter json = new MetricsReporter(registry, MetricsReporter.Format.JSON, reports::add);
+
+        String textReport = text.report();
+        String jsonReport = json.report();
+
+        assertTrue(textReport.contains("service genre.findAll() calls=1 errors=0"), textReport);
+        assertTrue(textReport.contains("repository genre.findAll() calls=1"), textReport);
+        assertTrue(jsonReport.startsWith("{\"intervalSeconds\":"), jsonReport);
+        assertTrue(jsonReport.contains("{\"layer\":\"service\",\"entity\":\"genre\",\"operation\":\"findAll()\",\"calls\":1,\"errors\":{},"), jsonReport);
+        assertTrue(jsonReport.contains("\"callsPerSecond\":"), jsonReport);
+        assertThrows(IllegalArgumentException.class, () -> text.start(Duration.ZERO));
+        assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    void entityOf_StripsLayerSuffix() {
+        assertEquals("book", Instrumentation.entityOf("BookRepository", "Repository"));
+        assertEquals("circulation", Instrumentation.entityOf("CirculationService", "Service"));
+        assertEquals("misc", Instrumentation.entityOf("Misc", "Service"));
+    }
+
+    private Map<MethodTag, MethodStatistics> byTag() {
+        return registry.snapshot().stream().collect(Collectors.toMap(MethodStatistics::tag, Function.identity()));
+    }
+}
@@ -3,7 +3,22 @@ package org.abrohamovich.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.BookSummary;
 import org.abrohamovich.entity.*;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
+import org.abrohamovich.search.BookFacet;
+import org.abrohamovich.search.BookFilter;
+import org.abrohamovich.search.BookQuery;
+import org.abrohamovich.search.BookSearchResult;
+import org.abrohamovich.search.BookSort;
+import org.abrohamovich.search.FacetCount;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +27,8 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -126,6 +143,13 @@ class BookRepositoryTest {
         }
     }
 
+    private static Book copyOf(Book book) {
+        return Book.builder().title(book.getTitle()).isbn(book.getIsbn()).language(book.getLanguage())
+                .numberOfPages(book.getNumberOfPages()).authors(book.getAuthors()).genres(book.getGenres())
+                .categories(book.getCategories()).publisher(book.getPublisher()).status(Status.AVAILABLE)
+                .format(book.getFormat()).receiptDate(book.getReceiptDate()).build();
+    }
+
     @Test
     void save_ReturnsOptionalOfBook() {
         Optional<Book> saved1 = repo.save(book1);
@@ -141,6 +165,151 @@ class BookRepositoryTest {
         assertEquals(book3, saved3.get());
     }
 
+    @Test
+    void findFullById_LoadsAllRelationsWithBoundedQueries() {
+        persistBooks();
+        Statistics statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        Optional<Book> full = repo.findFullById(book3.getId());
+
+        assertTrue(full.isPresent());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertTrue(Hibernate.isInitialized(full.get().getAuthors()));
+        assertTrue(Hibernate.isInitialized(full.get().getGenres()));
+        assertTrue(Hibernate.isInitialized(full.get().getCategories()));
+        assertTrue(Hibernate.isInitialized(full.get().getPublisher()));
+        assertEquals(2, full.get().getAuthors().size());
+        assertEquals("HarperCollins", full.get().getPublisher().getName());
+
+        BookDto dto = BookMapper.INSTANCE.toDto(full.get());
+        assertEquals(2, dto.getAuthors().size());
+        assertEquals(1, dto.getGenres().size());
+        assertEquals(1, dto.getCategories().size());
+        assertEquals("HarperCollins", dto.getPublisher().getName());
+    }
+
+    @Test
+    void findFullById_ReturnsEmptyOptional() {
+        assertTrue(repo.findFullById(42L).isEmpty());
+    }
+
+    @Test
+    void findById_MapsWithoutUnloadedRelations() {
+        persistBooks();
+
+        BookDto dto = BookMapper.INSTANCE.toDto(repo.findById(book1.getId()).orElseThrow());
+
+        assertEquals(book1.getTitle(), dto.getTitle());
+        assertNull(dto.getPublisher());
+        assertTrue(dto.getAuthors().isEmpty());
+    }
+
+    @Test
+    void saveAll_PersistsAllBooks() {
+        List<Book> saved = repo.saveAll(List.of(book1, book2, book3));
+
+        assertEquals(3, saved.size());
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(3L, em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult());
+            assertEquals("Some title 1", em.find(Book.class, book1.getId()).getTitle());
+        }
+    }
+
+    @Test
+    void upsertAllByIsbn_InsertsNewBooksWithLinks() {
+        List<Book> loaded = repo.upsertAllByIsbn(List.of(book1, book2, book3));
+
+        assertEquals(3, loaded.size());
+        assertTrue(book1.getId() > 0);
+        Book found = repo.findFullById(book3.getId()).orElseThrow();
+        assertEquals("Some title 3", found.getTitle());
+        assertEquals(2, found.getAuthors().size());
+        assertEquals(book3.getGenres(), found.getGenres());
+        assertEquals(book3.getPublisher().getId(), found.getPublisher().getId());
+    }
+
+    @Test
+    void upsertAllByIsbn_UpdatesBooksWithKnownIsbnAndKeepsStatus() {
+        persistBooks();
+        long id = book2.getId();
+        Book changed = Book.builder().title("Renamed").isbn(book2.getIsbn()).language("english").numberOfPages(10)
+                .authors(book1.getAuthors()).genres(book1.getGenres()).categories(book1.getCategories())
+                .publisher(book1.getPublisher()).status(Status.AVAILABLE).format(Format.PAPERBACK)
+                .receiptDate(LocalDate.now()).build();
+
+        List<Book> upserted = repo.upsertAllByIsbn(List.of(changed));
+
+        assertEquals(id, changed.getId());
+        assertEquals(Status.CHECKED_OUT, upserted.getFirst().getStatus());
+        Book found = repo.findFullById(id).orElseThrow();
+        assertEquals("Renamed", found.getTitle());
+        assertEquals(Status.CHECKED_OUT, found.getStatus());
+        assertEquals(book1.getGenres(), found.getGenres());
+        assertEquals(1, found.getAuthors().size());
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(3L, em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult());
+        }
+    }
+
+    @Test
+    void saveAll_InsertsEveryCopyOfAnIsbn() {
+        Book copy = copyOf(book1);
+
+        List<Book> saved = repo.saveAll(List.of(book1, copy));
+
+        assertEquals(2, saved.size());
+        assertNotEquals(book1.getId(), copy.getId());
+        assertEquals(book1.getAuthors(), repo.findFullById(copy.getId()).orElseThrow().getAuthors());
+    }
+
+    @Test
+    void upsertAllByIsbn_RefusesIsbnSharedByTwoCopies() {
+        Book copy = copyOf(book1);
+        repo.saveAll(List.of(book1, copy));
+        Book renamed = copyOf(book1);
+        renamed.setTitle("Renamed");
+
+        assertTrue(repo.upsertAllByIsbn(List.of(renamed)).isEmpty());
+        assertTrue(repo.upsertAllByIsbn(List.of(copyOf(book2), copyOf(book2))).isEmpty());
+
+        assertEquals("Some title 1", repo.findById(book1.getId()).orElseThrow().getTitle());
+        assertEquals("Some title 1", repo.findById(copy.getId()).orElseThrow().getTitle());
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(2L, em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult());
+        }
+    }
+
+    @Test
+    void upsertAllByIsbn_RollsBackWholeBatchOnFailure() {
+        persistBooks();
+        Book renamed = Book.builder().title("Renamed").isbn(book1.getIsbn()).language("english").numberOfPages(10)
+                .authors(book1.getAuthors()).genres(book1.getGenres()).categories(book1.getCategories())
+                .publisher(book1.getPublisher()).status(Status.AVAILABLE).format(Format.PAPERBACK)
+                .receiptDate(LocalDate.now()).build();
+        Book broken = Book.builder().title("Broken").isbn("978-0-0000-0000-0").language("english").numberOfPages(10)
+                .authors(book1.getAuthors()).genres(book1.getGenres()).categories(book1.getCategories())
+                .publisher(Publisher.builder().id(999_999).name("Missing").build()).status(Status.AVAILABLE)
+                .format(Format.PAPERBACK).receiptDate(LocalDate.now()).build();
+
+        assertTrue(repo.upsertAllByIsbn(List.of(renamed, broken)).isEmpty());
+
+        assertEquals("Some title 1", repo.findById(book1.getId()).orElseThrow().getTitle());
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals(3L, em.createQuery("SELECT COUNT(b) FROM Book b", Long.class).getSingleResult());
+        }
+    }
+
+    @Test
+    void upsertAllByIsbn_LeavesIdsUsableBySequenceGenerator() {
+        repo.upsertAllByIsbn(List.of(book1));
+
+        assertTrue(repo.save(book2).isPresent());
+        assertEquals(1, repo.upsertAllByIsbn(List.of(book3)).size());
+        assertEquals(3, Set.of(book1.getId(), book2.getId(), book3.getId()).size());
+    }
+
     @Test
     void findById_ReturnsOptionalOfBook() {
         persistBooks();
@@ -242,6 +411,315 @@ class BookRepositoryTest {
         assertArrayEquals(List.of(book1, book2, book3).toArray(), res.toArray());
     }
 
+    @Test
+    void findAllPage_WalksBooksByKeyset() {
+        persistBooks();
+
+        Page<Book> first = repo.findAll(PageRequest.first(2));
+        Page<Book> second = repo.findAll(first.next());
+
+        assertEquals(List.of(book1, book2), first.getItems());
+        assertTrue(first.hasNext());
+        assertEquals(book2.getId(), first.getNextCursor());
+        assertEquals(List.of(book3), second.getItems());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findSummaries_ReturnsIdAndTitleOfEveryBook() {
+        persistBooks();
+
+        List<BookSummary> res = repo.findSummaries();
+
+        assertEquals(List.of(
+                new BookSummary(book1.getId(), book1.getTitle()),
+                new BookSummary(book2.getId(), book2.getTitle()),
+                new BookSummary(book3.getId(), book3.getTitle())), res);
+        assertEquals(book1.getTitle(), res.getFirst().toString());
+    }
+
+    @Test
+    void findSummariesPage_WalksSummariesByKeyset() {
+        persistBooks();
+
+        Page<BookSummary> first = repo.findSummaries(PageRequest.first(2));
+        Page<BookSummary> second = repo.findSummaries(first.next());
+
+        assertEquals(2, first.getItems().size());
+        assertEquals(book2.getId(), first.getNextCursor());
+        assertEquals(List.of(new BookSummary(book3.getId(), book3.getTitle())), second.getItems());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findPageIndex_ReturnsFirstIdOfEveryPage() {
+        persistBooks();
+
+        PageIndex index = repo.findPageIndex(2);
+
+        assertEquals(3, index.getTotal());
+        assertEquals(2, index.getPageCount());
+        assertEquals(List.of(new BookSummary(book3.getId(), book3.getTitle())),
+                repo.findSummaries(index.request(1)).getItems());
+        assertEquals(book1.getId(), repo.findSummaries(index.request(0)).getItems().getFirst().id());
+    }
+
+    @Test
+    void findPageIndex_LocatesPagesInAnyOrder() {
+        persistBooks();
+
+        PageIndex index = repo.findPageIndex(1);
+
+        assertEquals(3, index.getPageCount());
+        assertEquals(book3.getId(), repo.findSummaries(index.request(2)).getItems().getFirst().id());
+        assertEquals(book2.getId(), repo.findSummaries(index.request(1)).getItems().getFirst().id());
+        repo.deleteById(book3.getId());
+        assertEquals(book2.getId(), index.request(2).getAfterId());
+        assertTrue(repo.findSummaries(index.request(2)).getItems().isEmpty());
+    }
+
+    @Test
+    void findPageIndex_ReturnsEmptyIndexForEmptyTable() {
+        PageIndex index = repo.findPageIndex(2);
+
+        assertEquals(0, index.getTotal());
+        assertEquals(0, index.getPageCount());
+    }
+
+    @Test
+    void findSummariesByTitle_ReturnsMatchingSummaries() {
+        persistBooks();
+
+        List<BookSummary> res = repo.findSummariesByTitle("ssome");
+
+        assertEquals(List.of(new BookSummary(book2.getId(), book2.getTitle())), res);
+    }
+
+    @Test
+    void searchByTitle_RanksPrefixMatchesFirstAndAppliesLimit() {
+        persistBooks();
+
+        List<BookSummary> res = repo.searchByTitle("some title", 2);
+
+        assertEquals(List.of(
+                new BookSummary(book1.getId(), book1.getTitle()),
+                new BookSummary(book3.getId(), book3.getTitle())), res);
+    }
+
+    @Test
+    void searchByTitle_MatchesInfixIgnoringCase() {
+        persistBooks();
+
+        List<BookSummary> res = repo.searchByTitle("TITLE 2", 10);
+
+        assertEquals(List.of(new BookSummary(book2.getId(), book2.getTitle())), res);
+    }
+
+    @Test
+    void searchByTitle_MatchesWildcardsLiterally() {
+        persistBooks();
+        book1.setTitle("100% Pure_Title!");
+        repo.update(book1);
+
+        assertEquals(List.of(new BookSummary(book1.getId(), "100% Pure_Title!")), repo.searchByTitle("0% pure_", 10));
+        assertEquals(List.of(new BookSummary(book1.getId(), "100% Pure_Title!")), repo.searchByTitle("title!", 10));
+        assertEquals(1, repo.searchByTitle("%", 10).size());
+        assertEquals(1, repo.searchByTitle("_", 10).size());
+    }
+
+    @Test
+    void findByGenreIdsPage_ReturnsBooksAfterCursor() {
+        persistBooks();
+
+        Page<Book> res = repo.findByGenreIds(List.of(1L), PageRequest.after(book1.getId(), 10));
+
+        assertEquals(List.of(book2), res.getItems());
+        assertFalse(res.hasNext());
+    }
+
+    @Test
+    void streamAll_StreamsAllBooksInIdOrder() {
+        persistBooks();
+
+        try (Stream<Book> res = repo.streamAll()) {
+            assertEquals(List.of(book1, book2, book3), res.toList());
+        }
+    }
+
+    @Test
+    void streamExportRows_StreamsScalarColumnsWithPublisherName() {
+        persistBooks();
+
+        try (Stream<Object[]> res = repo.streamExportRows()) {
+            List<Object[]> rows = res.toList();
+            assertEquals(3, rows.size());
+            assertEquals(book1.getId(), rows.get(0)[0]);
+            assertEquals("Some title 1", rows.get(0)[1]);
+            assertEquals(book3.getPublisher().getName(), rows.get(2)[8]);
+        }
+    }
+
+    @Test
+    void streamRelationNames_StreamsNamesInBookIdOrder() {
+        persistBooks();
+
+        try (Stream<Object[]> res = repo.streamRelationNames(BookFacet.GENRE)) {
+            List<Long> bookIds = res.map(row -> (Long) row[0]).toList();
+            assertEquals(List.of(book1.getId(), book2.getId(), book2.getId(), book3.getId()), bookIds);
+        }
+    }
+
+    @Test
+    void streamByAuthorIds_StreamsMatchingBooks() {
+        persistBooks();
+
+        try (Stream<Book> res = repo.streamByAuthorIds(List.of(1L, 2L))) {
+            assertEquals(List.of(book3), res.toList());
+        }
+    }
+
+    @Test
+    void findIdsByFilter_EvaluatesAndOrNot() {
+        persistBooks();
+        long author1 = book1.getAuthors().iterator().next().getId();
+        long genre1 = book1.getGenres().iterator().next().getId();
+
+        assertEquals(List.of(book1.getId(), book3.getId()), repo.findIdsByFilter(BookFilter.author(author1)));
+        assertEquals(List.of(book1.getId()), repo.findIdsByFilter(
+                BookFilter.and(BookFilter.author(author1), BookFilter.genre(genre1))));
+        assertEquals(List.of(book2.getId(), book3.getId()), repo.findIdsByFilter(
+                BookFilter.or(BookFilter.language("russian"), BookFilter.status(Status.NOT_AVAILABLE))));
+        assertEquals(List.of(book3.getId()), repo.findIdsByFilter(
+                BookFilter.and(BookFilter.format(Format.PAPERBACK), BookFilter.not(BookFilter.genre(genre1)))));
+        assertEquals(List.of(book1.getId(), book2.getId(), book3.getId()), repo.findIdsByFilter(BookFilter.all()));
+    }
+
+    @Test
+    void countByFilter_CountsMatchingBooks() {
+        persistBooks();
+        List<Long> authorIds = book3.getAuthors().stream().map(Author::getId).toList();
+
+        assertEquals(1, repo.countByFilter(BookFilter.allOf(BookFacet.AUTHOR, authorIds)));
+        assertEquals(3, repo.countByFilter(BookFilter.anyOf(BookFacet.AUTHOR, authorIds)));
+    }
+
+    @Test
+    void findSummariesByFilter_WalksMatchesByKeyset() {
+        persistBooks();
+        BookFilter filter = BookFilter.not(BookFilter.language("russian"));
+
+        Page<BookSummary> first = repo.findSummariesByFilter(filter, PageRequest.first(1));
+        Page<BookSummary> second = repo.findSummariesByFilter(filter, first.next());
+
+        assertEquals(List.of(new BookSummary(book1.getId(), book1.getTitle())), first.getItems());
+        assertEquals(List.of(new BookSummary(book3.getId(), book3.getTitle())), second.getItems());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void findSummariesByIds_ReturnsSummariesInIdOrder() {
+        persistBooks();
+
+        List<BookSummary> res = repo.findSummariesByIds(List.of(book3.getId(), book1.getId()));
+
+        assertEquals(List.of(new BookSummary(book1.getId(), book1.getTitle()),
+                new BookSummary(book3.getId(), book3.getTitle())), res);
+    }
+
+    @Test
+    void findByIds_ReturnsBooksInIdOrder() {
+        persistBooks();
+
+        List<Book> res = repo.findByIds(List.of(book3.getId(), book1.getId(), book3.getId()));
+
+        assertEquals(List.of(book1.getId(), book3.getId()), res.stream().map(Book::getId).toList());
+        assertTrue(repo.findByIds(List.of()).isEmpty());
+    }
+
+    @Test
+    void streamFacetValues_StreamsBookGenreLinks() {
+        persistBooks();
+
+        try (Stream<Object[]> res = repo.streamFacetValues(BookFacet.GENRE)) {
+            assertEquals(4, res.filter(row -> row[0] instanceof Long && row[1] instanceof Long).count());
+        }
+        try (Stream<Object[]> res = repo.streamFacetValues(BookFacet.STATUS)) {
+            assertEquals(Set.of(Status.AVAILABLE, Status.CHECKED_OUT, Status.NOT_AVAILABLE),
+                    res.map(row -> row[1]).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    void update_ReturnsBookWithInitializedRelations() {
+        persistBooks();
+
+        Book updated = repo.update(book2).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(updated.getGenres()));
+        assertEquals(2, BookMapper.INSTANCE.toDto(updated).getGenres().size());
+    }
+
+    @Test
+    void search_CombinesCriteriaAndCountsFacets() {
+        persistBooks();
+        long author1 = book1.getAuthors().iterator().next().getId();
+
+        BookSearchResult res = repo.search(BookQuery.builder()
+                .title("title").authorIds(Set.of(author1)).format(Format.PAPERBACK)
+                .receivedFrom(LocalDate.now().minusDays(1)).receivedTo(LocalDate.now())
+                .build());
+
+        assertEquals(List.of(new BookSummary(book1.getId(), book1.getTitle()),
+                new BookSummary(book3.getId(), book3.getTitle())), res.items());
+        assertEquals(2, res.total());
+        assertFalse(res.hasMore());
+        assertEquals(List.of(new FacetCount("english", "english", 1), new FacetCount("ukrainian", "ukrainian", 1)), res.languages());
+        assertEquals(List.of(new FacetCount("AVAILABLE", "AVAILABLE", 1), new FacetCount("NOT_AVAILABLE", "NOT_AVAILABLE", 1)), res.statuses());
+        assertEquals(List.of("Horror", "Thriller"), res.genres().stream().map(FacetCount::label).toList());
+    }
+
+    @Test
+    void search_SortsAndPagesByOffset() {
+        persistBooks();
+        long publisher1 = book1.getPublisher().getId();
+
+        BookSearchResult res = repo.search(BookQuery.builder()
+                .publisherId(publisher1).sort(BookSort.TITLE).descending(true).offset(0).limit(1)
+                .build());
+
+        assertEquals(List.of(new BookSummary(book1.getId(), book1.getTitle())), res.items());
+        assertEquals(2, res.total());
+        assertTrue(res.hasMore());
+        long thriller = book1.getGenres().iterator().next().getId();
+        assertEquals(new FacetCount(String.valueOf(thriller), "Thriller", 2), res.genres().getFirst());
+        assertEquals(List.of("Thriller", "Romance"), res.genres().stream().map(FacetCount::label).toList());
+    }
+
+    @Test
+    void search_MatchesTitleWildcardsLiterally() {
+        persistBooks();
+        book1.setTitle("100% Pure_Title!");
+        repo.update(book1);
+
+        BookSearchResult percent = repo.search(BookQuery.builder().title("%").build());
+        BookSearchResult underscore = repo.search(BookQuery.builder().title("e_t").build());
+
+        assertEquals(List.of(new BookSummary(book1.getId(), "100% Pure_Title!")), percent.items());
+        assertEquals(1, percent.total());
+        assertEquals(List.of(new BookSummary(book1.getId(), "100% Pure_Title!")), underscore.items());
+    }
+
+    @Test
+    void search_ReturnsEmptyResultWhenNothingMatches() {
+        persistBooks();
+
+        BookSearchResult res = repo.search(BookQuery.builder().language("latin").build());
+
+        assertTrue(res.items().isEmpty());
+        assertEquals(0, res.total());
+        assertTrue(res.genres().isEmpty());
+    }
+
     @Test
     void update_UpdatesExistingBook() {
         persistBooks();
@@ -266,6 +744,23 @@ class BookRepositoryTest {
         }
     }
 
+    @Test
+    void updateAll_UpdatesCatalogDataAndKeepsCirculationState() {
+        persistBooks();
+
+        book1.setTitle("Updated title 1");
+        book3.setStatus(Status.AVAILABLE);
+
+        List<Book> updated = repo.updateAll(List.of(book1, book3));
+
+        assertEquals(2, updated.size());
+        assertEquals(Status.NOT_AVAILABLE, updated.get(1).getStatus());
+        try (EntityManager em = emf.createEntityManager()) {
+            assertEquals("Updated title 1", em.find(Book.class, book1.getId()).getTitle());
+            assertEquals(Status.NOT_AVAILABLE, em.find(Book.class, book3.getId()).getStatus());
+        }
+    }
+
     @Test
     void deleteById_DeletesBook() {
         persistBooks();
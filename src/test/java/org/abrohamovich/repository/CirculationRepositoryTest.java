@@ -0,0 +1,270 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.entity.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CirculationRepositoryTest {
+    private static final LocalDate DUE = LocalDate.of(2025, 2, 1);
+
+    private CirculationRepository repo;
+    private EntityManagerFactory emf;
+    private final List<Book> books = new ArrayList<>();
+    private final List<Patron> patrons = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit");
+        repo = new CirculationRepository(emf);
+
+        Publisher publisher = Publisher.builder()
+                .name("Penguin Random House")
+                .foundationDate(LocalDate.of(1927, 7, 1))
+                .address("1745 Broadway, New York, NY 10019, USA")
+                .email("contact@penguinrandomhouse.com")
+                .website("https://www.penguinrandomhouse.com")
+                .build();
+        for (int i = 1; i <= 4; i++) {
+            books.add(Book.builder().title("Some title " + i).isbn("978-0-0000-000" + i).language("English")
+                    .numberOfPages(100 + i).publisher(publisher).status(Status.AVAILABLE).format(Format.PAPERBACK)
+                    .receiptDate(LocalDate.of(2024, 1, 1))
+                    .build());
+        }
+        for (int i = 1; i <= 3; i++) {
+            patrons.add(Patron.builder().cardId("C100" + i).fullName("Patron " + i)
+                    .email("patron" + i + "@example.com").phone("555-000-000" + i)
+                    .address(i + " Main St, Springfield")
+                    .dateOfBirth(LocalDate.of(1990, 5, i))
+                    .registerDate(LocalDate.of(2024, 1, 15))
+                    .build());
+        }
+        try (EntityManager em = emf.createEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(publisher);
+            books.forEach(em::persist);
+            patrons.forEach(em::persist);
+            em.getTransaction().commit();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void checkout_LendsAvailableBook() {
+        assertTrue(repo.checkout(bookId(0), patronId(0), DUE));
+
+        Book book = reload(bookId(0));
+        assertEquals(Status.CHECKED_OUT, book.getStatus());
+        assertEquals(DUE, book.getDueDate());
+        assertEquals(List.of(bookId(0)), repo.findLoans(patronId(0)).stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void checkout_RefusesBookOnLoanOrUnknownPatron() {
+        assertTrue(repo.checkout(bookId(0), patronId(0), DUE));
+
+        assertFalse(repo.checkout(bookId(0), patronId(1), DUE));
+        assertFalse(repo.checkout(bookId(1), 999L, DUE));
+        assertFalse(repo.checkout(999L, patronId(1), DUE));
+        assertEquals(Status.AVAILABLE, reload(bookId(1)).getStatus());
+        assertTrue(repo.findLoans(patronId(1)).isEmpty());
+    }
+
+    @Test
+    void checkout_AllowsSeveralLoansPerPatron() {
+        assertTrue(repo.checkout(bookId(0), patronId(0), DUE));
+        assertTrue(repo.checkout(bookId(1), patronId(0), DUE));
+        assertTrue(repo.checkout(bookId(2), patronId(0), DUE));
+
+        assertEquals(List.of(bookId(0), bookId(1), bookId(2)),
+                repo.findLoans(patronId(0)).stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void checkoutAll_SkipsBooksThatAreNotAvailable() {
+        assertTrue(repo.checkout(bookId(1), patronId(2), DUE));
+
+        int lent = repo.checkoutAll(List.of(
+                new CirculationRepository.Loan(bookId(0), patronId(0), DUE),
+                new CirculationRepository.Loan(bookId(1), patronId(0), DUE),
+                new CirculationRepository.Loan(bookId(2), patronId(1), DUE.plusDays(1))));
+
+        assertEquals(2, lent);
+        assertEquals(List.of(bookId(0)), repo.findLoans(patronId(0)).stream().map(Book::getId).toList());
+        assertEquals(DUE.plusDays(1), reload(bookId(2)).getDueDate());
+        assertEquals(List.of(bookId(1)), repo.findLoans(patronId(2)).stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void returnBook_ClearsLoanOnlyForItsPatron() {
+        assertTrue(repo.checkout(bookId(0), patronId(0), DUE));
+
+        assertFalse(repo.returnBook(bookId(0), patronId(1)));
+        assertTrue(repo.returnBook(bookId(0), patronId(0)));
+        assertFalse(repo.returnBook(bookId(0), patronId(0)));
+
+        Book book = reload(bookId(0));
+        assertEquals(Status.AVAILABLE, book.getStatus());
+        assertNull(book.getDueDate());
+        assertTrue(repo.findLoans(patronId(0)).isEmpty());
+    }
+
+    @Test
+    void renew_MovesDueDateOnlyForItsPatron() {
+        assertTrue(repo.checkout(bookId(0), patronId(0), DUE));
+
+        assertFalse(repo.renew(bookId(0), patronId(1), DUE.plusDays(14)));
+        assertFalse(repo.renew(bookId(1), patronId(0), DUE.plusDays(14)));
+        assertTrue(repo.renew(bookId(0), patronId(0), DUE.plusDays(14)));
+
+        assertEquals(DUE.plusDays(14), reload(bookId(0)).getDueDate());
+    }
+
+    @Test
+    void withdrawAndRestore_ChangeOnlyBooksInTheExpectedStatus() {
+        assertTrue(repo.checkout(bookId(1), patronId(0), DUE));
+
+        assertTrue(repo.withdraw(bookId(0)));
+        assertFalse(repo.withdraw(bookId(0)));
+        assertFalse(repo.withdraw(bookId(1)));
+        assertEquals(Status.NOT_AVAILABLE, reload(bookId(0)).getStatus());
+        assertEquals(Status.CHECKED_OUT, reload(bookId(1)).getStatus());
+
+        assertFalse(repo.restore(bookId(1)));
+        assertTrue(repo.restore(bookId(0)));
+        assertFalse(repo.restore(bookId(0)));
+        assertEquals(Status.AVAILABLE, reload(bookId(0)).getStatus());
+    }
+
+    @Test
+    void update_KeepsLoanMadeWhileBookWasBeingEdited() {
+        Book edited = reload(bookId(0));
+        assertTrue(repo.checkout(bookId(0), patronId(0), DUE));
+
+        edited.setTitle("Edited title");
+        Book updated = new BookRepository(emf).update(edited).orElseThrow();
+
+        assertEquals(Status.CHECKED_OUT, updated.getStatus());
+        assertEquals(patronId(0), updated.getPatron().getId());
+        assertEquals(DUE, updated.getDueDate());
+        Book stored = reload(bookId(0));
+        assertEquals("Edited title", stored.getTitle());
+        assertEquals(Status.CHECKED_OUT, stored.getStatus());
+        assertEquals(DUE, stored.getDueDate());
+        assertEquals(List.of(bookId(0)), repo.findLoans(patronId(0)).stream().map(Book::getId).toList());
+    }
+
+    @Test
+    void checkout_LendsContendedBookExactlyOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(patrons.size());
+        try {
+            for (int round = 0; round < 20; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Boolean>> attempts = new ArrayList<>();
+                for (int p = 0; p < patrons.size(); p++) {
+                    long patronId = patronId(p);
+                    attempts.add(pool.submit(() -> {
+                        start.await();
+                        return repo.checkout(bookId(0), patronId, DUE);
+                    }));
+                }
+                start.countDown();
+                int lent = 0;
+                for (Future<Boolean> attempt : attempts) {
+                    lent += attempt.get(30, TimeUnit.SECONDS) ? 1 : 0;
+                }
+                assertEquals(1, lent);
+                long holder = repo.findLoans(patronId(0)).isEmpty()
+                        ? repo.findLoans(patronId(1)).isEmpty() ? patronId(2) : patronId(1)
+                        : patronId(0);
+                assertTrue(repo.returnBook(bookId(0), holder));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentCheckoutsAndReturns_LoseNoUpdates() throws Exception {
+        int threads = 8;
+        int operationsPerThread = 250;
+        AtomicIntegerArray checkouts = new AtomicIntegerArray(books.size());
+        AtomicIntegerArray returns = new AtomicIntegerArray(books.size());
+        AtomicInteger operations = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < operationsPerThread; i++) {
+                    int book = random.nextInt(books.size());
+                    long patronId = patronId(random.nextInt(patrons.size()));
+                    if (random.nextBoolean()) {
+                        if (repo.checkout(bookId(book), patronId, DUE)) {
+                            checkouts.incrementAndGet(book);
+                        }
+                    } else if (repo.returnBook(bookId(book), patronId)) {
+                        returns.incrementAndGet(book);
+                    }
+                    operations.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> worker : workers) {
+            worker.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+        assertEquals(threads * operationsPerThread, operations.get());
+
+        int lent = 0;
+        for (int book = 0; book < books.size(); book++) {
+            int outstanding = checkouts.get(book) - returns.get(book);
+            Book stored = reload(bookId(book));
+            assertTrue(outstanding == 0 || outstanding == 1, "book " + book + " outstanding " + outstanding);
+            assertEquals(outstanding == 1 ? Status.CHECKED_OUT : Status.AVAILABLE, stored.getStatus());
+            assertEquals(outstanding == 1, stored.getDueDate() != null);
+            lent += outstanding;
+        }
+        int loans = 0;
+        for (int p = 0; p < patrons.size(); p++) {
+            loans += repo.findLoans(patronId(p)).size();
+        }
+        assertEquals(lent, loans);
+    }
+
+    private long bookId(int index) {
+        return books.get(index).getId();
+    }
+
+    private long patronId(int index) {
+        return patrons.get(index).getId();
+    }
+
+    private Book reload(long id) {
+        try (EntityManager em = emf.createEntityManager()) {
+            return em.find(Book.class, id);
+        }
+    }
+}
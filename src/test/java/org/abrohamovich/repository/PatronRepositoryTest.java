@@ -3,7 +3,9 @@ package org.abrohamovich.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import org.abrohamovich.dto.PatronSummary;
 import org.abrohamovich.entity.*;
+import org.abrohamovich.paging.PageIndex;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -203,6 +206,56 @@ class PatronRepositoryTest {
         assertEquals(2, res.size());
     }
 
+    @Test
+    void findSummaries_ReturnsNameAndCardIdOfEveryPatron() {
+        persist();
+
+        List<PatronSummary> res = repo.findSummaries();
+
+        assertEquals(3, res.size());
+        assertEquals(new PatronSummary(patron1.getId(), patron1.getFullName(), patron1.getCardId()), res.getFirst());
+        assertEquals(patron1.getFullName() + ", '" + patron1.getCardId() + "'", res.getFirst().toString());
+    }
+
+    @Test
+    void findPageIndex_ReturnsFirstIdOfEveryPage() {
+        persist();
+
+        PageIndex index = repo.findPageIndex(2);
+
+        assertEquals(3, index.getTotal());
+        assertEquals(2, index.getPageCount());
+        assertEquals(List.of(new PatronSummary(patron3.getId(), patron3.getFullName(), patron3.getCardId())),
+                repo.findSummaries(index.request(1)).getItems());
+    }
+
+    @Test
+    void findSummariesByFullName_ReturnsMatchingSummaries() {
+        persist();
+
+        List<PatronSummary> res = repo.findSummariesByFullName("smith");
+
+        assertEquals(List.of(new PatronSummary(patron1.getId(), patron1.getFullName(), patron1.getCardId())), res);
+    }
+
+    @Test
+    void findSummariesByFullName_StopsAtLimit() {
+        persist();
+
+        assertEquals(List.of(new PatronSummary(patron1.getId(), patron1.getFullName(), patron1.getCardId())),
+                repo.findSummariesByFullName("", 1));
+        assertEquals(3, repo.findSummariesByFullName("", 10).size());
+    }
+
+    @Test
+    void streamByFullName_StreamsMatchingPatrons() {
+        persist();
+
+        try (Stream<Patron> res = repo.streamByFullName("smith")) {
+            assertEquals(List.of(patron1), res.toList());
+        }
+    }
+
     @Test
     void findByEmail_ReturnsOptionalOfPatron() {
         persist();
@@ -263,6 +316,15 @@ class PatronRepositoryTest {
         assertEquals(3, res.size());
     }
 
+    @Test
+    void streamAll_StreamsAllPatronsInIdOrder() {
+        persist();
+
+        try (Stream<Patron> res = repo.streamAll()) {
+            assertEquals(List.of(patron1, patron2, patron3), res.toList());
+        }
+    }
+
     @Test
     void update_ReturnsOptionalOfUpdatedPatron() {
         String fullName = patron1.getFullName();
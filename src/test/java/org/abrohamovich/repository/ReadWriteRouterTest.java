@@ -0,0 +1,123 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.entity.Genre;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRouterTest {
+    private static final Duration STICKINESS = Duration.ofSeconds(2);
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+    private static final Duration LAG_CHECK = Duration.ofMillis(500);
+
+    private EntityManagerFactory primary;
+    private EntityManagerFactory replica;
+    private AtomicLong clock;
+    private AtomicReference<Duration> lag;
+    private ReadWriteRouter router;
+    private GenreRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        primary = createEntityManagerFactory("primary");
+        replica = createEntityManagerFactory("replica");
+        clock = new AtomicLong();
+        lag = new AtomicReference<>(Duration.ZERO);
+        router = new ReadWriteRouter(primary, replica, lag::get, STICKINESS, MAX_LAG, LAG_CHECK, clock::get);
+        repo = new GenreRepository(router);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void findByName_ReadsFromReplica() {
+        persist(replica, "Replicated");
+
+        assertTrue(repo.findByName("Replicated").isPresent());
+        assertEquals(1, router.getReplicaReads());
+        assertEquals(0, router.getPrimaryReads());
+    }
+
+    @Test
+    void save_WritesToPrimaryAndKeepsReadsOnPrimaryDuringStickiness() {
+        Genre saved = repo.save(genre("Fresh")).orElseThrow();
+
+        try (EntityManager em = primary.createEntityManager()) {
+            assertNotNull(em.find(Genre.class, saved.getId()));
+        }
+        clock.addAndGet(STICKINESS.toNanos() - 1);
+        assertTrue(repo.findById(saved.getId()).isPresent());
+
+        clock.addAndGet(1);
+        assertTrue(repo.findById(saved.getId()).isEmpty());
+        assertEquals(1, router.getPrimaryReads());
+        assertEquals(1, router.getReplicaReads());
+    }
+
+    @Test
+    void findByName_FallsBackToPrimaryWhileReplicaLags() {
+        persist(primary, "Lagging");
+        lag.set(Duration.ofSeconds(5));
+
+        assertTrue(repo.findByName("Lagging").isPresent());
+
+        lag.set(Duration.ZERO);
+        assertTrue(repo.findByName("Lagging").isPresent());
+
+        clock.addAndGet(LAG_CHECK.toNanos());
+        assertTrue(repo.findByName("Lagging").isEmpty());
+    }
+
+    @Test
+    void findByName_FallsBackToPrimaryWhenLagCannotBeMeasured() {
+        persist(primary, "Unknown");
+        router = new ReadWriteRouter(primary, replica, () -> {
+            throw new IllegalStateException("replica is down");
+        }, STICKINESS, MAX_LAG, LAG_CHECK, clock::get);
+
+        assertTrue(new GenreRepository(router).findByName("Unknown").isPresent());
+        assertEquals(1, router.getPrimaryReads());
+    }
+
+    @Test
+    void primaryOnly_RoutesEveryReadToPrimary() {
+        ReadWriteRouter primaryOnly = ReadWriteRouter.primaryOnly(primary);
+
+        assertSame(primary, primaryOnly.forRead());
+        assertSame(primary, primaryOnly.forWrite());
+        assertFalse(primaryOnly.hasReplica());
+    }
+
+    private static EntityManagerFactory createEntityManagerFactory(String database) {
+        return Persistence.createEntityManagerFactory("test-persistence-unit", Map.of(
+                "jakarta.persistence.jdbc.url",
+                "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=false;MODE=PostgreSQL",
+                "hibernate.show_sql", "false"));
+    }
+
+    private static void persist(EntityManagerFactory emf, String name) {
+        try (EntityManager em = emf.createEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(genre(name));
+            em.getTransaction().commit();
+        }
+    }
+
+    private static Genre genre(String name) {
+        return Genre.builder().name(name).description("Routing test genre").build();
+    }
+}
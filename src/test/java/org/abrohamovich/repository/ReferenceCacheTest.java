@@ -0,0 +1,111 @@
+package org.abrohamovich.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.config.CacheStatistics;
+import org.abrohamovich.entity.Genre;
+import org.abrohamovich.entity.Publisher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReferenceCacheTest {
+    private EntityManagerFactory emf;
+    private GenreRepository genreRepo;
+    private PublisherRepository publisherRepo;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit", Map.of(
+                "jakarta.persistence.sharedCache.mode", "ENABLE_SELECTIVE",
+                "hibernate.cache.use_second_level_cache", "true",
+                "hibernate.cache.use_query_cache", "true",
+                "hibernate.cache.region.factory_class", "jcache",
+                "hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider",
+                "hibernate.javax.cache.missing_cache_strategy", "create",
+                "hibernate.generate_statistics", "true"
+        ));
+        genreRepo = new GenreRepository(emf);
+        publisherRepo = new PublisherRepository(emf);
+
+        genreRepo.saveAll(List.of(
+                Genre.builder().name("Thriller").description("Suspense").build(),
+                Genre.builder().name("Romance").description("Relationships").build()));
+        emf.getCache().evictAll();
+        emf.unwrap(org.hibernate.SessionFactory.class).getStatistics().clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    @Test
+    void findAll_IsServedFromQueryCacheOnRepeatedCalls() {
+        assertEquals(2, genreRepo.findAll().size());
+        assertEquals(2, genreRepo.findAll().size());
+        assertEquals(2, genreRepo.findAll().size());
+
+        CacheStatistics.Region queries = CacheStatistics.of(emf).region(QueryCache.REFERENCE_REGION);
+        assertEquals(1, queries.misses());
+        assertEquals(2, queries.hits());
+    }
+
+    @Test
+    void findById_IsServedFromEntityCacheAfterFirstLoad() {
+        long id = genreRepo.findAll().getFirst().getId();
+        emf.getCache().evict(Genre.class);
+
+        genreRepo.findById(id);
+        genreRepo.findById(id);
+
+        CacheStatistics.Region genres = CacheStatistics.of(emf).region("library-genre");
+        assertEquals(1, genres.misses());
+        assertEquals(1, genres.hits());
+        assertEquals(0.5, genres.hitRatio());
+    }
+
+    @Test
+    void update_EvictsCachedQueryResults() {
+        Genre genre = genreRepo.findByName("Thriller").orElseThrow();
+        genre.setDescription("Tension");
+        genreRepo.update(genre);
+
+        assertEquals("Tension", genreRepo.findByName("Thriller").orElseThrow().getDescription());
+        assertEquals("Tension", genreRepo.findById(genre.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void save_EvictsCachedFindAll() {
+        assertTrue(publisherRepo.findAll().isEmpty());
+
+        publisherRepo.save(Publisher.builder()
+                .name("Penguin")
+                .foundationDate(LocalDate.of(1935, 7, 30))
+                .address("London")
+                .email("info@penguin.com")
+                .website("penguin.com")
+                .build());
+
+        assertEquals(1, publisherRepo.findAll().size());
+    }
+
+    @Test
+    void deleteById_EvictsCachedEntity() {
+        long id = genreRepo.findByName("Romance").orElseThrow().getId();
+        genreRepo.findById(id);
+
+        genreRepo.deleteById(id);
+
+        assertTrue(genreRepo.findById(id).isEmpty());
+        assertEquals(1, genreRepo.findAll().size());
+    }
+}
@@ -0,0 +1,152 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.CategoryDto;
+import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.entity.Format;
+import org.abrohamovich.entity.Status;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.abrohamovich.search.BookFilter.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookBitmapIndexTest {
+    private BookBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookBitmapIndex();
+        index.put(book(1L, Set.of(1L), Set.of(1L), Set.of(1L, 2L), "english", Status.AVAILABLE, Format.PAPERBACK));
+        index.put(book(2L, Set.of(2L), Set.of(1L, 2L), Set.of(3L), "russian", Status.CHECKED_OUT, Format.HARDCOVER));
+        index.put(book(3L, Set.of(1L, 2L), Set.of(3L), Set.of(2L), "ukrainian", Status.NOT_AVAILABLE, Format.PAPERBACK));
+    }
+
+    @Test
+    void ids_IntersectsAllOfTheGivenIds() {
+        assertEquals(List.of(3L), index.ids(allOf(BookFacet.AUTHOR, List.of(1L, 2L))));
+        assertEquals(List.of(2L), index.ids(allOf(BookFacet.GENRE, List.of(1L, 2L))));
+        assertEquals(List.of(1L, 3L), index.ids(category(2L)));
+    }
+
+    @Test
+    void ids_EvaluatesOrAndNot() {
+        assertEquals(List.of(2L, 3L), index.ids(or(language("russian"), status(Status.NOT_AVAILABLE))));
+        assertEquals(List.of(3L), index.ids(and(format(Format.PAPERBACK), not(genre(1L)))));
+        assertEquals(List.of(2L), index.ids(not(format(Format.PAPERBACK))));
+        assertEquals(List.of(1L, 2L, 3L), index.ids(and()));
+        assertEquals(List.of(), index.ids(or()));
+        assertEquals(List.of(), index.ids(genre(42L)));
+    }
+
+    @Test
+    void put_ReplacesPreviousValues() {
+        index.put(book(1L, Set.of(2L), Set.of(3L), Set.of(3L), "english", Status.CHECKED_OUT, Format.PAPERBACK));
+
+        assertEquals(List.of(3L), index.ids(author(1L)));
+        assertEquals(List.of(1L, 3L), index.ids(genre(3L)));
+        assertEquals(List.of(1L, 2L), index.ids(status(Status.CHECKED_OUT)));
+        assertEquals(0, index.count(status(Status.AVAILABLE)));
+    }
+
+    @Test
+    void replace_MovesBookBetweenValuesOfOneFacet() {
+        index.replace(1L, BookFacet.STATUS, Status.AVAILABLE, Status.CHECKED_OUT);
+        index.replace(42L, BookFacet.STATUS, Status.AVAILABLE, Status.CHECKED_OUT);
+
+        assertEquals(List.of(1L, 2L), index.ids(status(Status.CHECKED_OUT)));
+        assertEquals(0, index.count(status(Status.AVAILABLE)));
+        assertEquals(List.of(1L), index.ids(language("english")));
+        assertEquals(3, index.size());
+
+        index.remove(1L);
+        assertEquals(List.of(2L), index.ids(status(Status.CHECKED_OUT)));
+    }
+
+    @Test
+    void remove_DropsBookFromEveryBitmap() {
+        index.remove(3L);
+
+        assertEquals(2, index.size());
+        assertEquals(List.of(1L), index.ids(author(1L)));
+        assertEquals(List.of(1L, 2L), index.ids(all()));
+        assertEquals(List.of(2L), index.ids(not(language("english"))));
+    }
+
+    @Test
+    void page_WalksMatchesByKeyset() {
+        Page<Long> first = index.page(all(), PageRequest.first(2));
+        Page<Long> second = index.page(all(), first.next());
+
+        assertEquals(List.of(1L, 2L), first.getItems());
+        assertEquals(List.of(3L), second.getItems());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void add_BuildsIndexFromFacetValues() {
+        BookBitmapIndex built = new BookBitmapIndex();
+        built.add(7L, BookFacet.GENRE, 1L);
+        built.add(7L, BookFacet.LANGUAGE, "english");
+        built.add(8L, BookFacet.GENRE, 1L);
+
+        assertEquals(List.of(7L, 8L), built.ids(genre(1L)));
+        assertEquals(List.of(8L), built.ids(not(language("english"))));
+    }
+
+    @Test
+    void rebuild_SwapsInLoadedIndexAndReplaysWritesMadeMeanwhile() {
+        index.rebuild(fresh -> {
+            fresh.add(1L, BookFacet.STATUS, Status.AVAILABLE);
+            index.remove(3L);
+            index.replace(1L, BookFacet.STATUS, Status.AVAILABLE, Status.CHECKED_OUT);
+            assertEquals(List.of(1L, 2L), index.ids(all()));
+            fresh.add(3L, BookFacet.STATUS, Status.NOT_AVAILABLE);
+            fresh.add(4L, BookFacet.STATUS, Status.AVAILABLE);
+        });
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(1L, 4L), index.ids(all()));
+        assertEquals(List.of(1L), index.ids(status(Status.CHECKED_OUT)));
+        assertEquals(List.of(4L), index.ids(status(Status.AVAILABLE)));
+        assertEquals(List.of(), index.ids(genre(1L)));
+    }
+
+    @Test
+    void rebuild_KeepsPreviousIndexWhenLoaderFails() {
+        assertThrows(IllegalStateException.class, () -> index.rebuild(fresh -> {
+            throw new IllegalStateException("Connection lost");
+        }));
+        index.remove(3L);
+
+        assertEquals(List.of(1L, 2L), index.ids(all()));
+        index.rebuild(fresh -> fresh.add(5L, BookFacet.GENRE, 1L));
+        assertEquals(List.of(5L), index.ids(all()));
+    }
+
+    @Test
+    void put_ThrowsIllegalArgumentExceptionForIdOutOfRange() {
+        BookDto book = book(1L + Integer.MAX_VALUE, Set.of(), Set.of(), Set.of(), "english", Status.AVAILABLE, Format.PAPERBACK);
+
+        assertThrows(IllegalArgumentException.class, () -> index.put(book));
+    }
+
+    private static BookDto book(long id, Set<Long> authors, Set<Long> genres, Set<Long> categories,
+                                String language, Status status, Format format) {
+        BookDto book = new BookDto();
+        book.setId(id);
+        book.setLanguage(language);
+        book.setStatus(status);
+        book.setFormat(format);
+        authors.forEach(author -> book.getAuthors().add(AuthorDto.builder().id(author).build()));
+        genres.forEach(genre -> book.getGenres().add(GenreDto.builder().id(genre).build()));
+        categories.forEach(category -> book.getCategories().add(CategoryDto.builder().id(category).build()));
+        return book;
+    }
+}
@@ -0,0 +1,122 @@
+package org.abrohamovich.search;
+
+import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.AuthorSummary;
+import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.dto.PatronSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+    private AuthorNameIndex authors;
+    private PatronNameIndex patrons;
+    private AuthorSummary marquez;
+    private AuthorSummary austen;
+    private AuthorSummary garcilaso;
+
+    @BeforeEach
+    void setUp() {
+        authors = new AuthorNameIndex();
+        patrons = new PatronNameIndex();
+        authors.put(author(1L, "Gabriel García Márquez", "Colombian"));
+        authors.put(author(2L, "Jane Austen", "British"));
+        authors.put(author(3L, "Garcilaso de la Vega", "Spanish"));
+        marquez = new AuthorSummary(1L, "Gabriel García Márquez", "Colombian");
+        austen = new AuthorSummary(2L, "Jane Austen", "British");
+        garcilaso = new AuthorSummary(3L, "Garcilaso de la Vega", "Spanish");
+    }
+
+    @Test
+    void search_MatchesIgnoringAccentsAndCase() {
+        assertEquals(List.of(marquez), authors.search("GARCIA", 10));
+        assertEquals(List.of(marquez), authors.search("márquez", 10));
+    }
+
+    @Test
+    void search_MatchesTokenPrefixes() {
+        assertEquals(List.of(marquez, garcilaso), authors.search("garc", 10));
+        assertEquals(List.of(austen), authors.search("ja", 10));
+    }
+
+    @Test
+    void search_MatchesInfixes() {
+        assertEquals(List.of(austen), authors.search("ust", 10));
+        assertEquals(List.of(garcilaso), authors.search("ilas", 10));
+    }
+
+    @Test
+    void search_RequiresEveryTermAndRanksExactTokensFirst() {
+        authors.put(author(4L, "Anne Calorcan", "Irish"));
+        authors.put(author(5L, "Lorcan Dunne", "Irish"));
+        authors.put(author(6L, "Federico Lorca", "Spanish"));
+
+        assertEquals(List.of(6L, 5L, 4L), authors.search("lorca", 10).stream().map(AuthorSummary::id).toList());
+        assertEquals(List.of(marquez), authors.search("garcia gab", 10));
+        assertTrue(authors.search("garcia austen", 10).isEmpty());
+    }
+
+    @Test
+    void search_AppliesLimit() {
+        assertEquals(1, authors.search("ga", 1).size());
+    }
+
+    @Test
+    void put_ReplacesPreviousTokens() {
+        authors.put(author(2L, "Jane Eyre", "British"));
+
+        assertTrue(authors.search("austen", 10).isEmpty());
+        assertEquals(List.of(new AuthorSummary(2L, "Jane Eyre", "British")), authors.search("eyre", 10));
+        assertEquals(3, authors.size());
+    }
+
+    @Test
+    void remove_DropsEntry() {
+        authors.remove(1L);
+
+        assertTrue(authors.search("garcia", 10).isEmpty());
+        assertEquals(2, authors.size());
+    }
+
+    @Test
+    void search_MatchesPatronCardIdsAndEmails() {
+        patrons.put(PatronDto.builder().id(7L).fullName("John Smith").cardId("LIB-0042").email("john.smith@mail.com").build());
+        PatronSummary smith = new PatronSummary(7L, "John Smith", "LIB-0042");
+
+        assertEquals(List.of(smith), patrons.search("lib-0042", 10));
+        assertEquals(List.of(smith), patrons.search("0042", 10));
+        assertEquals(List.of(smith), patrons.search("smith@mail", 10));
+    }
+
+    @Test
+    void rebuild_SwapsInLoadedIndexAndReplaysWritesMadeMeanwhile() {
+        authors.rebuild(Stream.of(author(1L, "Gabriel García Márquez", "Colombian"), author(2L, "Jane Austen", "British"))
+                .peek(author -> {
+                    if (author.getId() == 2L) {
+                        assertEquals(List.of(garcilaso), authors.search("vega", 10));
+                        authors.remove(1L);
+                        authors.put(author(4L, "Jane Eyre", "British"));
+                    }
+                }));
+
+        assertTrue(authors.isReady());
+        assertEquals(2, authors.size());
+        assertTrue(authors.search("garcia", 10).isEmpty());
+        assertTrue(authors.search("vega", 10).isEmpty());
+        assertEquals(List.of(austen, new AuthorSummary(4L, "Jane Eyre", "British")), authors.search("jane", 10));
+    }
+
+    @Test
+    void search_ReturnsEmptyListForBlankQuery() {
+        assertTrue(authors.search("  ", 10).isEmpty());
+        assertTrue(authors.search("-", 10).isEmpty());
+    }
+
+    private static AuthorDto author(long id, String fullName, String nationality) {
+        return AuthorDto.builder().id(id).fullName(fullName).nationality(nationality).build();
+    }
+}
@@ -0,0 +1,130 @@
+package org.abrohamovich.service;
+
+import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.exceptions.GenreNotFoundException;
+import org.abrohamovich.service.interfaces.GenreService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncServiceTest {
+
+    @Mock
+    private GenreService genreService;
+
+    private DatabaseExecutor executor;
+    private AsyncService<GenreService> genres;
+
+    @BeforeEach
+    void setUp() {
+        executor = new DatabaseExecutor(4, Duration.ofSeconds(5));
+        genres = new AsyncService<>(genreService, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void supply_ReturnsServiceResultOnVirtualThread() throws Exception {
+        GenreDto genre = GenreDto.builder().id(1L).name("Horror").build();
+        AtomicInteger virtual = new AtomicInteger();
+        when(genreService.findById(1L)).thenAnswer(invocation -> {
+            if (Thread.currentThread().isVirtual()) {
+                virtual.incrementAndGet();
+            }
+            return genre;
+        });
+
+        assertEquals(genre, genres.supply(s -> s.findById(1L)).get(1, TimeUnit.SECONDS));
+        assertEquals(1, virtual.get());
+    }
+
+    @Test
+    void supply_PropagatesServiceExceptions() {
+        when(genreService.findById(42L)).thenThrow(new GenreNotFoundException("Genre with id 42 not found"));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> genres.supply(s -> s.findById(42L)).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(GenreNotFoundException.class, e.getCause());
+    }
+
+    @Test
+    void submit_BoundsConcurrencyToPermits() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executor.submit(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(2);
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertEquals(4, peak.get());
+        assertEquals(4, executor.getAvailablePermits());
+    }
+
+    @Test
+    void submit_TimesOutAndInterruptsTheCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        CompletableFuture<Object> future = executor.submit(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }, Duration.ofMillis(50));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void cancel_InterruptsRunningCallAndReleasesPermit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Object> future = executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        future.cancel(true);
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+        executor.submit(() -> 1).get(1, TimeUnit.SECONDS);
+        assertEquals(4, executor.getAvailablePermits());
+    }
+
+    @Test
+    void constructor_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new DatabaseExecutor(0, Duration.ofSeconds(1)));
+    }
+}
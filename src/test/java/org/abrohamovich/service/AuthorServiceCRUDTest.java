@@ -1,12 +1,14 @@
 package org.abrohamovich.service;
 
 import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.AuthorSummary;
 import org.abrohamovich.entity.Author;
 import org.abrohamovich.entity.Sex;
 import org.abrohamovich.exceptions.AuthorNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.mapper.AuthorMapper;
 import org.abrohamovich.repository.AuthorRepository;
+import org.abrohamovich.search.AuthorNameIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +31,8 @@ public class AuthorServiceCRUDTest {
     private AuthorRepository authorRepository;
     @Mock
     private AuthorMapper authorMapper;
+    @Mock
+    private AuthorNameIndex authorNameIndex;
     private Author author1;
     private AuthorDto authorDto1;
     private Author author2;
@@ -213,6 +217,29 @@ public class AuthorServiceCRUDTest {
         verify(authorMapper).toEntity(authorDto2);
         verify(authorRepository).update(author2);
         verify(authorMapper).toDto(author2);
+        verify(authorNameIndex).put(authorDto2);
+    }
+
+    @Test
+    void search_UsesNameIndexWhenReady() {
+        List<AuthorSummary> summaries = List.of(new AuthorSummary(2L, "Gabriel García Márquez", "Colombian"));
+        when(authorNameIndex.isReady()).thenReturn(true);
+        when(authorNameIndex.search("garcia", 5)).thenReturn(summaries);
+
+        List<AuthorSummary> result = authorServiceCRUD.search("garcia", 5);
+
+        assertEquals(summaries, result);
+        verifyNoInteractions(authorRepository);
+    }
+
+    @Test
+    void search_FallsBackToRepositoryWhenIndexIsNotReady() {
+        List<AuthorSummary> summaries = List.of(new AuthorSummary(2L, "Gabriel García Márquez", "Colombian"));
+        when(authorNameIndex.isReady()).thenReturn(false);
+        when(authorRepository.findSummariesByFullName("garcia", 5)).thenReturn(summaries);
+
+        assertEquals(summaries, authorServiceCRUD.search("garcia", 5));
+        verify(authorNameIndex, never()).search(anyString(), anyInt());
     }
 
     @Test
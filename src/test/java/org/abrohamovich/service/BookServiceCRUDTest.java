@@ -5,7 +5,15 @@ import org.abrohamovich.entity.*;
 import org.abrohamovich.exceptions.BookNotFoundException;
 import org.abrohamovich.exceptions.EntityException;
 import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.paging.Page;
+import org.abrohamovich.paging.PageIndex;
+import org.abrohamovich.paging.PageRequest;
 import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.search.BookFacet;
+import org.abrohamovich.search.BookFilter;
+import org.abrohamovich.search.BookQuery;
+import org.abrohamovich.search.BookSearchResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -31,6 +39,9 @@ class BookServiceCRUDTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private BookBitmapIndex bitmapIndex;
+
     private Book book1;
     private BookDto bookDto1;
 
@@ -65,6 +76,7 @@ class BookServiceCRUDTest {
         verify(bookMapper).toEntity(bookDto1);
         verify(bookRepository).save(book1);
         verify(bookMapper).toDto(book1);
+        verify(bitmapIndex).put(bookDto1);
     }
 
     @Test
@@ -86,6 +98,80 @@ class BookServiceCRUDTest {
         verify(bookMapper, never()).toDto(any());
     }
 
+    @Test
+    void saveAll_ReportsInvalidRowsAndSavesValidOnes() {
+        BookDto invalid = BookDto.builder().title(" ").build();
+        when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
+        when(bookRepository.saveAll(List.of(book1))).thenReturn(List.of(book1));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        BulkResult<BookDto> result = bookServiceCRUD.saveAll(List.of(invalid, bookDto1));
+
+        assertEquals(List.of(bookDto1), result.getSucceeded());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(0, result.getFailures().getFirst().getIndex());
+        verify(bookRepository, never()).save(any());
+    }
+
+    @Test
+    void saveAll_FallsBackToSingleRowsWhenBatchFails() {
+        when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
+        when(bookRepository.saveAll(List.of(book1))).thenReturn(List.of());
+        when(bookRepository.save(book1)).thenReturn(Optional.empty());
+
+        BulkResult<BookDto> result = bookServiceCRUD.saveAll(List.of(bookDto1));
+
+        assertTrue(result.getSucceeded().isEmpty());
+        assertTrue(result.hasFailures());
+        assertEquals(0, result.getFailures().getFirst().getIndex());
+        verify(bookRepository).save(book1);
+    }
+
+    @Test
+    void saveAll_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.saveAll(null));
+        verify(bookRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void upsertAllByIsbn_UpsertsValidRowsInOneCall() {
+        BookDto invalid = BookDto.builder().title(" ").build();
+        when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
+        when(bookRepository.upsertAllByIsbn(List.of(book1))).thenReturn(List.of(book1));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        BulkResult<BookDto> result = bookServiceCRUD.upsertAllByIsbn(List.of(invalid, bookDto1));
+
+        assertEquals(List.of(bookDto1), result.getSucceeded());
+        assertEquals(0, result.getFailures().getFirst().getIndex());
+        verify(bookRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void upsertAllByIsbn_FailsRowsRepeatingAnIsbn() {
+        BookDto copy = BookDto.builder()
+                .title("Book One").isbn(bookDto1.getIsbn()).language("English").numberOfPages(130)
+                .authors(bookDto1.getAuthors()).genres(bookDto1.getGenres()).categories(bookDto1.getCategories())
+                .publisher(bookDto1.getPublisher())
+                .status(Status.AVAILABLE).format(Format.HARDCOVER).receiptDate(LocalDate.now())
+                .build();
+        when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
+        when(bookRepository.upsertAllByIsbn(List.of(book1))).thenReturn(List.of(book1));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        BulkResult<BookDto> result = bookServiceCRUD.upsertAllByIsbn(List.of(bookDto1, copy));
+
+        assertEquals(List.of(bookDto1), result.getSucceeded());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().getFirst().getIndex());
+    }
+
+    @Test
+    void upsertAllByIsbn_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.upsertAllByIsbn(null));
+        verify(bookRepository, never()).upsertAllByIsbn(any());
+    }
+
     @Test
     void findById_ReturnsBookDto() {
         when(bookRepository.findById(1L)).thenReturn(Optional.of(book1));
@@ -108,6 +194,28 @@ class BookServiceCRUDTest {
         verify(bookMapper, never()).toDto(any());
     }
 
+    @Test
+    void findFullById_ReturnsBookDtoWithRelations() {
+        when(bookRepository.findFullById(1L)).thenReturn(Optional.of(book1));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        BookDto result = bookServiceCRUD.findFullById(1L);
+
+        assertEquals(1L, result.getId());
+        assertEquals(1, result.getAuthors().size());
+        assertNotNull(result.getPublisher());
+        verify(bookRepository).findFullById(1L);
+        verify(bookRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void findFullById_ThrowsBookNotFoundException() {
+        when(bookRepository.findFullById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(BookNotFoundException.class, () -> bookServiceCRUD.findFullById(1L));
+        verify(bookMapper, never()).toDto(any());
+    }
+
     @Test
     void findByIsbn_ReturnsBooks() {
         when(bookRepository.findByIsbn(bookDto1.getIsbn())).thenReturn(List.of(book1));
@@ -143,6 +251,21 @@ class BookServiceCRUDTest {
         verify(bookMapper).toDto(book1);
     }
 
+    @Test
+    void findByGenres_UsesBitmapIndexWhenReady() {
+        List<GenreDto> genres = List.of(GenreDto.builder().id(1L).build(), GenreDto.builder().id(2L).build());
+        when(bitmapIndex.isReady()).thenReturn(true);
+        when(bitmapIndex.ids(BookFilter.allOf(BookFacet.GENRE, List.of(1L, 2L)), 0, 2)).thenReturn(List.of(1L, 2L));
+        when(bookRepository.findByIds(List.of(1L, 2L))).thenReturn(List.of(book1, Book.builder().id(2L).title("Book Two").build()));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        Page<BookDto> result = bookServiceCRUD.findByGenres(genres, PageRequest.first(1));
+
+        assertEquals(List.of(bookDto1), result.getItems());
+        assertEquals(book1.getId(), result.getNextCursor());
+        verify(bookRepository, never()).findByGenreIds(anyList(), any());
+    }
+
     @Test
     void findByAuthors_ThrowsIllegalArgumentException() {
         assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findByAuthors(null));
@@ -289,8 +412,154 @@ class BookServiceCRUDTest {
         verify(bookMapper).toDto(book1);
     }
 
+    @Test
+    void findAllPage_ReturnsPageOfBookDtos() {
+        PageRequest pageRequest = PageRequest.first(1);
+        when(bookRepository.findAll(pageRequest)).thenReturn(Page.of(List.of(book1, book1), pageRequest, Book::getId));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        Page<BookDto> result = bookServiceCRUD.findAll(pageRequest);
+
+        assertEquals(List.of(bookDto1), result.getItems());
+        assertEquals(book1.getId(), result.getNextCursor());
+        verify(bookRepository, never()).findAll();
+    }
+
+    @Test
+    void findByTitlePage_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findByTitle("title", null));
+        verify(bookRepository, never()).findByTitle(anyString(), any());
+    }
+
+    @Test
+    void findSummaries_ReturnsSummariesWithoutMapping() {
+        List<BookSummary> summaries = List.of(new BookSummary(1L, "Book One"));
+        when(bookRepository.findSummaries()).thenReturn(summaries);
+
+        List<BookSummary> result = bookServiceCRUD.findSummaries();
+
+        assertEquals(summaries, result);
+        verify(bookRepository, never()).findAll();
+        verifyNoInteractions(bookMapper);
+    }
+
+    @Test
+    void findSummariesPage_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findSummaries(null));
+        verify(bookRepository, never()).findSummaries(any());
+    }
+
+    @Test
+    void findPageIndex_ReturnsRepositoryIndex() {
+        PageIndex index = PageIndex.of(List.of(1L, 201L), 250, 200);
+        when(bookRepository.findPageIndex(200)).thenReturn(index);
+
+        assertEquals(index, bookServiceCRUD.findPageIndex(200));
+    }
+
+    @Test
+    void findPageIndex_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findPageIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findPageIndex(PageRequest.MAX_SIZE + 1));
+        verify(bookRepository, never()).findPageIndex(anyInt());
+    }
+
+    @Test
+    void findSummariesByTitle_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findSummariesByTitle(" "));
+        verify(bookRepository, never()).findSummariesByTitle(anyString());
+    }
+
+    @Test
+    void searchByTitle_ReturnsRankedSummaries() {
+        List<BookSummary> summaries = List.of(new BookSummary(1L, "Book One"));
+        when(bookRepository.searchByTitle("Book", 10)).thenReturn(summaries);
+
+        List<BookSummary> result = bookServiceCRUD.searchByTitle(" Book ", 10);
+
+        assertEquals(summaries, result);
+        verify(bookRepository, never()).findByTitle(anyString());
+    }
+
+    @Test
+    void searchByTitle_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.searchByTitle("", 10));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.searchByTitle("Book", 0));
+        verify(bookRepository, never()).searchByTitle(anyString(), anyInt());
+    }
+
+    @Test
+    void findSummariesByFilter_UsesBitmapIndexWhenReady() {
+        BookFilter filter = BookFilter.genre(1L);
+        List<BookSummary> summaries = List.of(new BookSummary(1L, "Book One"), new BookSummary(2L, "Book Two"));
+        when(bitmapIndex.isReady()).thenReturn(true);
+        when(bitmapIndex.ids(filter, 0, 2)).thenReturn(List.of(1L, 2L));
+        when(bookRepository.findSummariesByIds(List.of(1L, 2L))).thenReturn(summaries);
+
+        Page<BookSummary> result = bookServiceCRUD.findSummariesByFilter(filter, PageRequest.first(1));
+
+        assertEquals(List.of(summaries.getFirst()), result.getItems());
+        assertEquals(1L, result.getNextCursor());
+        verify(bookRepository, never()).findSummariesByFilter(any(), any());
+    }
+
+    @Test
+    void findSummariesByFilter_FallsBackToRepositoryWhenIndexIsNotReady() {
+        BookFilter filter = BookFilter.genre(1L);
+        Page<BookSummary> page = Page.of(List.of(new BookSummary(1L, "Book One")), PageRequest.first(10), BookSummary::id);
+        when(bitmapIndex.isReady()).thenReturn(false);
+        when(bookRepository.findSummariesByFilter(filter, PageRequest.first(10))).thenReturn(page);
+
+        assertEquals(page, bookServiceCRUD.findSummariesByFilter(filter, PageRequest.first(10)));
+        verify(bitmapIndex, never()).ids(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void findIdsByFilter_UsesBitmapIndexWhenReady() {
+        BookFilter filter = BookFilter.not(BookFilter.status(Status.AVAILABLE));
+        when(bitmapIndex.isReady()).thenReturn(true);
+        when(bitmapIndex.ids(filter)).thenReturn(List.of(2L, 3L));
+        when(bitmapIndex.count(filter)).thenReturn(2L);
+
+        assertEquals(List.of(2L, 3L), bookServiceCRUD.findIdsByFilter(filter));
+        assertEquals(2L, bookServiceCRUD.countByFilter(filter));
+        verifyNoInteractions(bookRepository);
+    }
+
+    @Test
+    void findByFilter_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findIdsByFilter(null));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.countByFilter(null));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findSummariesByFilter(null, PageRequest.first(10)));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.findSummariesByFilter(BookFilter.all(), null));
+        verifyNoInteractions(bookRepository, bitmapIndex);
+    }
+
+    @Test
+    void search_ReturnsRepositoryResult() {
+        BookQuery query = BookQuery.builder().title("Book").status(Status.AVAILABLE).limit(10).build();
+        BookSearchResult result = new BookSearchResult(List.of(new BookSummary(1L, "Book One")), 1, 0,
+                List.of(), List.of(), List.of());
+        when(bookRepository.search(query)).thenReturn(result);
+
+        assertEquals(result, bookServiceCRUD.search(query));
+        verify(bookRepository).search(query);
+        verifyNoInteractions(bookMapper);
+    }
+
+    @Test
+    void search_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.search(null));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.search(BookQuery.builder().offset(-1).build()));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.search(BookQuery.builder().limit(0).build()));
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.search(BookQuery.builder()
+                .receivedFrom(LocalDate.now()).receivedTo(LocalDate.now().minusDays(1)).build()));
+        verify(bookRepository, never()).search(any());
+    }
+
     @Test
     void update_ReturnsUpdatedBookDto() {
+        when(bookRepository.findById(bookDto1.getId())).thenReturn(Optional.of(book1));
         when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
         when(bookRepository.update(book1)).thenReturn(Optional.of(book1));
         when(bookMapper.toDto(book1)).thenReturn(bookDto1);
@@ -302,6 +571,7 @@ class BookServiceCRUDTest {
         verify(bookMapper).toEntity(bookDto1);
         verify(bookRepository).update(book1);
         verify(bookMapper).toDto(book1);
+        verify(bitmapIndex).put(bookDto1);
     }
 
     @Test
@@ -313,6 +583,7 @@ class BookServiceCRUDTest {
 
     @Test
     void update_ThrowsBookNotFoundException() {
+        when(bookRepository.findById(bookDto1.getId())).thenReturn(Optional.of(book1));
         when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
         when(bookRepository.update(book1)).thenReturn(Optional.empty());
 
@@ -322,6 +593,60 @@ class BookServiceCRUDTest {
         verify(bookMapper, never()).toDto(any());
     }
 
+    @Test
+    void update_ThrowsBookNotFoundExceptionWhenBookIsMissing() {
+        when(bookRepository.findById(bookDto1.getId())).thenReturn(Optional.empty());
+
+        assertThrows(BookNotFoundException.class, () -> bookServiceCRUD.update(bookDto1));
+        verify(bookRepository, never()).update(any());
+    }
+
+    @Test
+    void update_RejectsStatusChange() {
+        when(bookRepository.findById(bookDto1.getId())).thenReturn(Optional.of(book1));
+        bookDto1.setStatus(Status.NOT_AVAILABLE);
+
+        assertThrows(IllegalArgumentException.class, () -> bookServiceCRUD.update(bookDto1));
+        verify(bookRepository, never()).update(any());
+        verify(bitmapIndex, never()).put(any());
+    }
+
+    @Test
+    void updateAll_ReturnsUpdatedBookDtos() {
+        when(bookRepository.findByIds(List.of(1L))).thenReturn(List.of(book1));
+        when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
+        when(bookRepository.updateAll(List.of(book1))).thenReturn(List.of(book1));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        BulkResult<BookDto> result = bookServiceCRUD.updateAll(List.of(bookDto1));
+
+        assertEquals(List.of(bookDto1), result.getSucceeded());
+        assertFalse(result.hasFailures());
+        verify(bookRepository, never()).update(any());
+    }
+
+    @Test
+    void updateAll_FailsRowsThatChangeThePatron() {
+        Book checkedOut = Book.builder().id(2L).title("Book Two").status(Status.CHECKED_OUT)
+                .patron(Patron.builder().id(7L).build()).build();
+        BookDto returned = BookDto.builder()
+                .id(2L).title("Book Two").isbn(bookDto1.getIsbn()).language("English").numberOfPages(130)
+                .authors(bookDto1.getAuthors()).genres(bookDto1.getGenres()).categories(bookDto1.getCategories())
+                .publisher(bookDto1.getPublisher())
+                .status(Status.CHECKED_OUT).format(Format.HARDCOVER).receiptDate(LocalDate.now())
+                .build();
+        when(bookRepository.findByIds(List.of(1L, 2L))).thenReturn(List.of(book1, checkedOut));
+        when(bookMapper.toEntity(bookDto1)).thenReturn(book1);
+        when(bookRepository.updateAll(List.of(book1))).thenReturn(List.of(book1));
+        when(bookMapper.toDto(book1)).thenReturn(bookDto1);
+
+        BulkResult<BookDto> result = bookServiceCRUD.updateAll(List.of(bookDto1, returned));
+
+        assertEquals(List.of(bookDto1), result.getSucceeded());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(1, result.getFailures().getFirst().getIndex());
+    }
+
     @Test
     void delete_DeletesBook() {
         when(bookRepository.findById(bookDto1.getId())).thenReturn(Optional.of(book1));
@@ -330,6 +655,7 @@ class BookServiceCRUDTest {
 
         verify(bookRepository).findById(bookDto1.getId());
         verify(bookRepository).deleteById(bookDto1.getId());
+        verify(bitmapIndex).remove(bookDto1.getId());
     }
 
     @Test
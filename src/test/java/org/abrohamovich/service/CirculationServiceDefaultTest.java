@@ -0,0 +1,196 @@
+package org.abrohamovich.service;
+
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.entity.Book;
+import org.abrohamovich.entity.Patron;
+import org.abrohamovich.entity.Status;
+import org.abrohamovich.exceptions.BookNotAvailableException;
+import org.abrohamovich.exceptions.BookNotFoundException;
+import org.abrohamovich.exceptions.BookNotWithdrawnException;
+import org.abrohamovich.exceptions.EntityException;
+import org.abrohamovich.exceptions.LoanNotFoundException;
+import org.abrohamovich.exceptions.PatronNotFoundException;
+import org.abrohamovich.mapper.BookMapper;
+import org.abrohamovich.repository.BookRepository;
+import org.abrohamovich.repository.CirculationRepository;
+import org.abrohamovich.repository.PatronRepository;
+import org.abrohamovich.search.BookBitmapIndex;
+import org.abrohamovich.search.BookFacet;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class CirculationServiceDefaultTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 1, 10);
+    private static final LocalDate DUE = LocalDate.of(2025, 1, 24);
+
+    @Mock
+    private CirculationRepository circulationRepository;
+    @Mock
+    private BookRepository bookRepository;
+    @Mock
+    private PatronRepository patronRepository;
+    @Mock
+    private BookMapper bookMapper;
+    @Mock
+    private BookBitmapIndex bitmapIndex;
+    private CirculationServiceDefault service;
+    private Patron patron;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        service = new CirculationServiceDefault(circulationRepository, bookRepository, patronRepository, bookMapper,
+                bitmapIndex, clock, Period.ofDays(14));
+        patron = Patron.builder().id(2L).fullName("Name").build();
+    }
+
+    @Test
+    void checkout_ReturnsDueDateAndUpdatesIndex() {
+        when(circulationRepository.checkout(1L, 2L, DUE)).thenReturn(true);
+
+        assertEquals(DUE, service.checkout(1L, 2L));
+        verify(bitmapIndex).replace(1L, BookFacet.STATUS, Status.AVAILABLE, Status.CHECKED_OUT);
+    }
+
+    @Test
+    void checkout_ThrowsBookNotAvailableException_WhenBookIsOnLoan() {
+        when(circulationRepository.checkout(1L, 2L, DUE)).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(Status.CHECKED_OUT)));
+        when(patronRepository.findById(2L)).thenReturn(Optional.of(patron));
+
+        assertThrows(BookNotAvailableException.class, () -> service.checkout(1L, 2L));
+        verifyNoInteractions(bitmapIndex);
+    }
+
+    @Test
+    void checkout_ThrowsNotFoundExceptions_WhenBookOrPatronIsMissing() {
+        when(circulationRepository.checkout(anyLong(), anyLong(), eq(DUE))).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+        when(bookRepository.findById(3L)).thenReturn(Optional.of(book(Status.AVAILABLE)));
+        when(patronRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertThrows(BookNotFoundException.class, () -> service.checkout(1L, 2L));
+        assertThrows(PatronNotFoundException.class, () -> service.checkout(3L, 2L));
+    }
+
+    @Test
+    void checkout_ThrowsEntityException_WhenAvailableBookIsRefused() {
+        when(circulationRepository.checkout(1L, 2L, DUE)).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(Status.AVAILABLE)));
+        when(patronRepository.findById(2L)).thenReturn(Optional.of(patron));
+
+        EntityException e = assertThrows(EntityException.class, () -> service.checkout(1L, 2L));
+        assertFalse(e instanceof BookNotAvailableException);
+    }
+
+    @Test
+    void checkout_ThrowsIllegalArgumentException_WhenIdIsInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> service.checkout(0L, 2L));
+        assertThrows(IllegalArgumentException.class, () -> service.checkout(1L, -1L));
+        verifyNoInteractions(circulationRepository);
+    }
+
+    @Test
+    void returnBook_UpdatesIndex() {
+        when(circulationRepository.returnBook(1L, 2L)).thenReturn(true);
+
+        service.returnBook(1L, 2L);
+
+        verify(bitmapIndex).replace(1L, BookFacet.STATUS, Status.CHECKED_OUT, Status.AVAILABLE);
+    }
+
+    @Test
+    void returnBook_ThrowsLoanNotFoundException_WhenBookIsHeldByAnotherPatron() {
+        when(circulationRepository.returnBook(1L, 2L)).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(Status.CHECKED_OUT)));
+        when(patronRepository.findById(2L)).thenReturn(Optional.of(patron));
+        when(patronRepository.findByBookId(1L)).thenReturn(Optional.of(Patron.builder().id(5L).build()));
+
+        assertThrows(LoanNotFoundException.class, () -> service.returnBook(1L, 2L));
+        verifyNoInteractions(bitmapIndex);
+    }
+
+    @Test
+    void renew_ReturnsNewDueDate() {
+        when(circulationRepository.renew(1L, 2L, DUE)).thenReturn(true);
+
+        assertEquals(DUE, service.renew(1L, 2L));
+    }
+
+    @Test
+    void renew_ThrowsLoanNotFoundException_WhenBookIsNotOnLoan() {
+        when(circulationRepository.renew(1L, 2L, DUE)).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(Status.AVAILABLE)));
+        when(patronRepository.findById(2L)).thenReturn(Optional.of(patron));
+
+        assertThrows(LoanNotFoundException.class, () -> service.renew(1L, 2L));
+    }
+
+    @Test
+    void withdraw_UpdatesIndex() {
+        when(circulationRepository.withdraw(1L)).thenReturn(true);
+
+        service.withdraw(1L);
+
+        verify(bitmapIndex).replace(1L, BookFacet.STATUS, Status.AVAILABLE, Status.NOT_AVAILABLE);
+    }
+
+    @Test
+    void withdraw_ThrowsBookNotAvailableException_WhenBookIsOnLoan() {
+        when(circulationRepository.withdraw(1L)).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(Status.CHECKED_OUT)));
+
+        assertThrows(BookNotAvailableException.class, () -> service.withdraw(1L));
+        assertThrows(IllegalArgumentException.class, () -> service.withdraw(0L));
+        verifyNoInteractions(bitmapIndex);
+    }
+
+    @Test
+    void restore_UpdatesIndex() {
+        when(circulationRepository.restore(1L)).thenReturn(true);
+
+        service.restore(1L);
+
+        verify(bitmapIndex).replace(1L, BookFacet.STATUS, Status.NOT_AVAILABLE, Status.AVAILABLE);
+    }
+
+    @Test
+    void restore_ThrowsNotWithdrawnOrNotFound_WhenRefused() {
+        when(circulationRepository.restore(anyLong())).thenReturn(false);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(book(Status.AVAILABLE)));
+        when(bookRepository.findById(3L)).thenReturn(Optional.empty());
+
+        assertThrows(BookNotWithdrawnException.class, () -> service.restore(1L));
+        assertThrows(BookNotFoundException.class, () -> service.restore(3L));
+        verifyNoInteractions(bitmapIndex);
+    }
+
+    @Test
+    void findLoans_ReturnsMappedBooks() {
+        Book book = book(Status.CHECKED_OUT);
+        BookDto bookDto = BookDto.builder().id(1L).status(Status.CHECKED_OUT).dueDate(DUE).build();
+        when(circulationRepository.findLoans(2L)).thenReturn(List.of(book));
+        when(bookMapper.toDto(book)).thenReturn(bookDto);
+
+        assertEquals(List.of(bookDto), service.findLoans(2L));
+    }
+
+    private static Book book(Status status) {
+        return Book.builder().id(1L).title("Book One").status(status).build();
+    }
+}
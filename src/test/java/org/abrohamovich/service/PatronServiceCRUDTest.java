@@ -2,6 +2,7 @@ package org.abrohamovich.service;
 
 import org.abrohamovich.dto.BookDto;
 import org.abrohamovich.dto.PatronDto;
+import org.abrohamovich.dto.PatronSummary;
 import org.abrohamovich.dto.PublisherDto;
 import org.abrohamovich.entity.Format;
 import org.abrohamovich.entity.Patron;
@@ -11,6 +12,7 @@ import org.abrohamovich.exceptions.PatronAlreadyExistException;
 import org.abrohamovich.exceptions.PatronNotFoundException;
 import org.abrohamovich.mapper.PatronMapper;
 import org.abrohamovich.repository.PatronRepository;
+import org.abrohamovich.search.PatronNameIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +36,8 @@ public class PatronServiceCRUDTest {
     private PatronRepository patronRepository;
     @Mock
     private PatronMapper patronMapper;
+    @Mock
+    private PatronNameIndex patronNameIndex;
     private Patron patron;
     private PatronDto patronDto;
     private BookDto bookDto;
@@ -72,6 +76,7 @@ public class PatronServiceCRUDTest {
         assertEquals(patronDto, result);
         verify(patronRepository).save(patron);
         verify(patronMapper).toDto(patron);
+        verify(patronNameIndex).put(patronDto);
     }
 
     @Test
@@ -204,6 +209,37 @@ public class PatronServiceCRUDTest {
         verify(patronRepository, never()).findByFullName(anyString());
     }
 
+    @Test
+    void search_UsesNameIndexWhenReady() {
+        List<PatronSummary> summaries = List.of(new PatronSummary(1L, "Name", "WG$EE$y4574573"));
+        when(patronNameIndex.isReady()).thenReturn(true);
+        when(patronNameIndex.search("nam", 10)).thenReturn(summaries);
+
+        List<PatronSummary> result = patronServiceCRUD.search("nam", 10);
+
+        assertEquals(summaries, result);
+        verifyNoInteractions(patronRepository);
+    }
+
+    @Test
+    void search_FallsBackToRepositoryWhenIndexIsNotReady() {
+        List<PatronSummary> summaries = List.of(new PatronSummary(1L, "Name", "WG$EE$y4574573"));
+        when(patronNameIndex.isReady()).thenReturn(false);
+        when(patronRepository.findSummariesByFullName("nam", 10)).thenReturn(summaries);
+
+        List<PatronSummary> result = patronServiceCRUD.search("nam", 10);
+
+        assertEquals(summaries, result);
+        verify(patronNameIndex, never()).search(anyString(), anyInt());
+    }
+
+    @Test
+    void search_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> patronServiceCRUD.search(" ", 10));
+        assertThrows(IllegalArgumentException.class, () -> patronServiceCRUD.search("nam", 0));
+        verifyNoInteractions(patronNameIndex);
+    }
+
     @Test
     void findByEmail_ReturnsPatronDto() {
         when(patronRepository.findByEmail("test@gmail.com")).thenReturn(Optional.of(patron));
@@ -356,6 +392,7 @@ public class PatronServiceCRUDTest {
         patronServiceCRUD.delete(patronDto);
 
         verify(patronRepository).deleteById(1L);
+        verify(patronNameIndex).remove(1L);
     }
 
     @Test
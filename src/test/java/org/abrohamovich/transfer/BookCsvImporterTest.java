@@ -0,0 +1,193 @@
+package org.abrohamovich.transfer;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.dto.BookDto;
+import org.abrohamovich.dto.GenreDto;
+import org.abrohamovich.entity.Sex;
+import org.abrohamovich.mapper.*;
+import org.abrohamovich.repository.*;
+import org.abrohamovich.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookCsvImporterTest {
+    private static final String HEADER = "title,isbn,language,pages,format,status,receipt_date,publisher,authors,genres,categories\n";
+
+    @TempDir
+    Path dir;
+    private EntityManagerFactory emf;
+    private BookServiceCRUD bookService;
+    private AuthorServiceCRUD authorService;
+    private GenreServiceCRUD genreService;
+    private CategoryServiceCRUD categoryService;
+    private PublisherServiceCRUD publisherService;
+
+    @BeforeEach
+    void setUp() {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit");
+        bookService = new BookServiceCRUD(new BookRepository(emf), BookMapper.INSTANCE);
+        authorService = new AuthorServiceCRUD(new AuthorRepository(emf), AuthorMapper.INSTANCE);
+        genreService = new GenreServiceCRUD(new GenreRepository(emf), GenreMapper.INSTANCE);
+        categoryService = new CategoryServiceCRUD(new CategoryRepository(emf), CategoryMapper.INSTANCE);
+        publisherService = new PublisherServiceCRUD(new PublisherRepository(emf), PublisherMapper.INSTANCE);
+        authorService.save(AuthorDto.builder().fullName("Frank Herbert").sex(Sex.MALE)
+                .dateOfBirth(LocalDate.of(1920, 10, 8)).nationality("American").build());
+        genreService.save(GenreDto.builder().name("Science Fiction").description("Speculative fiction").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    private BookCsvImporter importer(int chunkSize) {
+        return new BookCsvImporter(bookService, authorService, genreService, categoryService, publisherService,
+                ImportOptions.builder()
+                        .chunkSize(chunkSize)
+                        .parallelism(2)
+                        .publisherFoundationDate(LocalDate.of(1900, 1, 1))
+                        .build());
+    }
+
+    private Path csv(String rows) throws IOException {
+        Path file = dir.resolve("books.csv");
+        Files.writeString(file, HEADER + rows);
+        return file;
+    }
+
+    private static String row(int i) {
+        return "Book " + i + ",978-" + i + ",English," + (100 + i) + ",PAPERBACK,,2020-01-01,Ace,Frank Herbert,science fiction,Novel\n";
+    }
+
+    @Test
+    void importFile_ImportsRowsResolvesReferencesAndRejectsUnknownAuthors() throws IOException {
+        Path source = csv(row(1) + row(2) + "\"Dune, Messiah\",978-3,English,256,HARDCOVER,AVAILABLE,2020-01-01,Ace,Frank Herbert|Brian Herbert,Science Fiction,Novel|Classic\n");
+
+        ImportReport report = importer(2).importFile(source, dir.resolve("cp"), dir.resolve("errors.csv"));
+
+        assertEquals(3, report.rowsRead());
+        assertEquals(2, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(3, report.createdReferences());
+        assertTrue(report.rowsPerSecond() > 0);
+        assertEquals(1, genreService.findAll().size());
+        assertEquals(2, categoryService.findAll().size());
+        assertEquals(1, publisherService.findAll().size());
+        BookDto book = bookService.findFullById(bookService.findByTitle("Book 1").getFirst().getId());
+        assertEquals("Ace", book.getPublisher().getName());
+        assertEquals(Set.of("Science Fiction"), book.getGenres().stream().map(GenreDto::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void importFile_WritesRejectedRowsToErrorReport() throws IOException {
+        Path source = csv(row(1) + ",978-2,English,0,PAPERBACK,,2020-01-01,Ace,Frank Herbert,Drama,Novel\n"
+                + "Book 3,978-3,English,12,SCROLL,,2020-01-01,Ace,Frank Herbert,Drama,Novel\n"
+                + "Book 4,978-4,English,12,PAPERBACK,,2020-01-01,Ace,Nobody Known,Drama,Novel\n");
+
+        ImportReport report = importer(10).importFile(source, dir.resolve("cp"), dir.resolve("errors.csv"));
+
+        assertEquals(4, report.rowsRead());
+        assertEquals(1, report.imported());
+        assertEquals(3, report.rejected());
+        List<String> errors = Files.readAllLines(dir.resolve("errors.csv"));
+        assertEquals(4, errors.size());
+        assertTrue(errors.get(0).startsWith("line,errors,title"));
+        assertTrue(errors.get(1).startsWith("3,Title is null or blank; Number of pages is less than 1"));
+        assertTrue(errors.get(2).startsWith("4,Invalid format 'SCROLL'"));
+        assertTrue(errors.get(3).startsWith("5,Unknown author 'Nobody Known'"));
+    }
+
+    @Test
+    void importFile_CreatesUnknownAuthorsFromTemplate() throws IOException {
+        Path source = csv("Book 1,978-1,English,12,PAPERBACK,,2020-01-01,Ace,Brian Herbert,Drama,Novel\n");
+        BookCsvImporter importer = new BookCsvImporter(bookService, authorService, genreService, categoryService,
+                publisherService, ImportOptions.builder()
+                .publisherFoundationDate(LocalDate.of(1900, 1, 1))
+                .authorTemplate(AuthorDto.builder().sex(Sex.MALE).dateOfBirth(LocalDate.of(1900, 1, 1)).nationality("Unknown").build())
+                .build());
+
+        ImportReport report = importer.importFile(source, dir.resolve("cp"), dir.resolve("errors.csv"));
+
+        assertEquals(1, report.imported());
+        assertEquals(1, authorService.findByFullName("Brian Herbert").size());
+    }
+
+    @Test
+    void importFile_ResumesFromCheckpoint() throws IOException {
+        Path source = csv(row(1) + row(2) + row(3) + row(4) + row(5));
+        Path checkpointFile = dir.resolve("cp");
+        ImportCheckpoint checkpoint = ImportCheckpoint.open(checkpointFile, source);
+        checkpoint.advance(2, 0, 0);
+
+        ImportReport report = importer(2).importFile(source, checkpointFile, dir.resolve("errors.csv"));
+
+        assertEquals(2, report.skipped());
+        assertEquals(3, report.rowsRead());
+        assertEquals(3, bookService.findAll().size());
+        assertTrue(bookService.findByTitle("Book 1").isEmpty());
+        ImportCheckpoint done = ImportCheckpoint.open(checkpointFile, source);
+        assertTrue(done.isCompleted());
+        assertEquals(5, done.getCommittedRows());
+
+        ImportReport again = importer(2).importFile(source, checkpointFile, dir.resolve("errors.csv"));
+        assertEquals(0, again.rowsRead());
+        assertEquals(3, bookService.findAll().size());
+    }
+
+    @Test
+    void importFile_ResumesPendingChunkWithoutDuplicatingCommittedRows() throws IOException {
+        Path seed = dir.resolve("seed.csv");
+        Files.writeString(seed, HEADER + row(1));
+        importer(2).importFile(seed, dir.resolve("seed-cp"), dir.resolve("seed-errors.csv"));
+        Path source = csv(row(1) + row(2) + row(3) + row(4));
+        Path checkpointFile = dir.resolve("cp");
+        ImportCheckpoint.open(checkpointFile, source).begin(2, bookService.countByIsbns(List.of("978-1", "978-2")));
+        importer(2).importFile(seed, dir.resolve("crashed-cp"), dir.resolve("crashed-errors.csv"));
+
+        ImportReport report = importer(2).importFile(source, checkpointFile, dir.resolve("errors.csv"));
+
+        assertEquals(4, report.rowsRead());
+        assertEquals(4, report.imported());
+        assertEquals(2, bookService.findByIsbn("978-1").size());
+        assertEquals(1, bookService.findByIsbn("978-2").size());
+        assertEquals(5, bookService.findAll().size());
+        assertEquals(1, Files.readAllLines(dir.resolve("errors.csv")).size());
+        assertEquals(0, ImportCheckpoint.open(checkpointFile, source).getPendingRows());
+    }
+
+    @Test
+    void importFile_RejectsCheckpointOfAnotherFile() throws IOException {
+        Path source = csv(row(1));
+        Path checkpointFile = dir.resolve("cp");
+        ImportCheckpoint.open(checkpointFile, source).advance(1, 1, 0);
+        Files.writeString(source, HEADER + row(1) + row(2));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importer(2).importFile(source, checkpointFile, dir.resolve("errors.csv")));
+    }
+
+    @Test
+    void importFile_MissingColumn_ThrowsIllegalArgumentException() throws IOException {
+        Path source = dir.resolve("bad.csv");
+        Files.writeString(source, "title,isbn\nDune,1\n");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> importer(2).importFile(source, dir.resolve("cp"), dir.resolve("errors.csv")));
+    }
+}
@@ -0,0 +1,138 @@
+package org.abrohamovich.transfer;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.abrohamovich.dto.AuthorDto;
+import org.abrohamovich.entity.Patron;
+import org.abrohamovich.entity.Sex;
+import org.abrohamovich.mapper.*;
+import org.abrohamovich.repository.*;
+import org.abrohamovich.service.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogExporterTest {
+    private static final String BOOKS = """
+            title,isbn,language,pages,format,status,receipt_date,publisher,authors,genres,categories
+            Dune,978-1,English,412,HARDCOVER,AVAILABLE,2020-01-01,Ace,Frank Herbert|Brian Herbert,Science Fiction,Novel|Classic
+            "Quotes ""and"", commas",978-2,English,100,PAPERBACK,AVAILABLE,2021-02-03,Ace,Frank Herbert,Drama,Novel
+            """;
+
+    @TempDir
+    Path dir;
+    private EntityManagerFactory emf;
+    private CatalogExporter exporter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        emf = Persistence.createEntityManagerFactory("test-persistence-unit");
+        BookRepository bookRepository = new BookRepository(emf);
+        PatronRepository patronRepository = new PatronRepository(emf);
+        AuthorRepository authorRepository = new AuthorRepository(emf);
+        GenreRepository genreRepository = new GenreRepository(emf);
+        CategoryRepository categoryRepository = new CategoryRepository(emf);
+        PublisherRepository publisherRepository = new PublisherRepository(emf);
+        exporter = new CatalogExporter(bookRepository, patronRepository, authorRepository, genreRepository,
+                categoryRepository, publisherRepository);
+
+        Path source = dir.resolve("source.csv");
+        Files.writeString(source, BOOKS);
+        new BookCsvImporter(new BookServiceCRUD(bookRepository, BookMapper.INSTANCE),
+                new AuthorServiceCRUD(authorRepository, AuthorMapper.INSTANCE),
+                new GenreServiceCRUD(genreRepository, GenreMapper.INSTANCE),
+                new CategoryServiceCRUD(categoryRepository, CategoryMapper.INSTANCE),
+                new PublisherServiceCRUD(publisherRepository, PublisherMapper.INSTANCE),
+                ImportOptions.builder()
+                        .publisherFoundationDate(LocalDate.of(1950, 1, 1))
+                        .authorTemplate(AuthorDto.builder().sex(Sex.MALE).dateOfBirth(LocalDate.of(1920, 1, 1)).nationality("American").build())
+                        .build())
+                .importFile(source, dir.resolve("source.checkpoint"), dir.resolve("source.errors.csv"));
+        patronRepository.save(Patron.builder().cardId("C-1").fullName("Ann Reader").email("ann@example.com")
+                .phone("555-0100").address("1 Main St").dateOfBirth(LocalDate.of(1990, 5, 6))
+                .registerDate(LocalDate.of(2020, 1, 1)).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (emf != null) {
+            emf.close();
+        }
+    }
+
+    private static List<List<String>> readCsv(Path file) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(Files.newBufferedReader(file))) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void export_BooksCsv_FlattensRelationsInImportLayout() throws IOException {
+        Path target = dir.resolve("books.csv");
+
+        ExportReport report = exporter.export(ExportTable.BOOKS, ExportFormat.CSV, false, target);
+
+        assertEquals(2, report.rows());
+        assertEquals(Files.size(target), report.bytes());
+        List<List<String>> records = readCsv(target);
+        assertEquals(ExportTable.BOOKS.getColumns(), records.get(0));
+        assertEquals(List.of("Dune", "978-1", "English", "412", "HARDCOVER", "AVAILABLE", "2020-01-01", "Ace",
+                "Brian Herbert|Frank Herbert", "Science Fiction", "Classic|Novel"), records.get(1).subList(1, 12));
+        assertEquals(List.of("Quotes \"and\", commas", "978-2", "English", "100", "PAPERBACK", "AVAILABLE",
+                "2021-02-03", "Ace", "Frank Herbert", "Drama", "Novel"), records.get(2).subList(1, 12));
+        assertFalse(Files.exists(dir.resolve("books.csv.part")));
+    }
+
+    @Test
+    void export_BooksNdjsonGzip_WritesOneJsonObjectPerLine() throws IOException {
+        Path target = dir.resolve("books.ndjson.gz");
+
+        exporter.export(ExportTable.BOOKS, ExportFormat.NDJSON, true, target);
+
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(target)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"title\":\"Dune\",\"isbn\":\"978-1\",\"language\":\"English\",\"pages\":412"));
+        assertTrue(lines.get(0).contains("\"authors\":[\"Brian Herbert\",\"Frank Herbert\"]"));
+        assertTrue(lines.get(1).contains("\"title\":\"Quotes \\\"and\\\", commas\""));
+    }
+
+    @Test
+    void exportAll_WritesEveryTable() throws IOException {
+        List<ExportReport> reports = exporter.exportAll(dir.resolve("out"), ExportFormat.CSV, false);
+
+        assertEquals(ExportTable.values().length, reports.size());
+        assertEquals(List.of(2L, 1L, 2L, 2L, 2L, 1L), reports.stream().map(ExportReport::rows).toList());
+        List<List<String>> patrons = readCsv(dir.resolve("out").resolve("patrons.csv"));
+        assertEquals(List.of("C-1", "Ann Reader", "ann@example.com", "555-0100", "1 Main St", "1990-05-06", "2020-01-01"),
+                patrons.get(1).subList(1, 8));
+    }
+
+    @Test
+    void export_NullTarget_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exporter.export(ExportTable.BOOKS, ExportFormat.CSV, false, null));
+    }
+}
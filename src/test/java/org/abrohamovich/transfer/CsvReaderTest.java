@@ -0,0 +1,64 @@
+package org.abrohamovich.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTest {
+
+    private static List<List<String>> readAll(String csv) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    @Test
+    void next_SplitsPlainFields() throws IOException {
+        assertEquals(List.of(List.of("a", "b", ""), List.of("c", "d", "e")), readAll("a,b,\nc,d,e"));
+    }
+
+    @Test
+    void next_HandlesQuotesEscapedQuotesAndEmbeddedNewlines() throws IOException {
+        List<List<String>> records = readAll("\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\r\nlast,,\r\n");
+
+        assertEquals(List.of(List.of("x, y", "say \"hi\"", "two\nlines"), List.of("last", "", "")), records);
+    }
+
+    @Test
+    void next_SkipsByteOrderMarkAndBlankLines() throws IOException {
+        assertEquals(List.of(List.of("title"), List.of("Dune")), readAll("﻿title\n\n\r\nDune\n"));
+    }
+
+    @Test
+    void getLine_ReportsStartLineOfRecord() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader("h\n\"a\nb\"\nc\n"))) {
+            reader.next();
+            reader.next();
+            assertEquals(2, reader.getLine());
+            reader.next();
+            assertEquals(4, reader.getLine());
+        }
+    }
+
+    @Test
+    void csvWriter_OutputReadsBackUnchanged() throws IOException {
+        List<String> fields = List.of("plain", "with,comma", "with \"quote\"", "multi\nline", "");
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            writer.write(fields);
+        }
+
+        assertEquals(List.of(fields), readAll(out.toString()));
+    }
+}